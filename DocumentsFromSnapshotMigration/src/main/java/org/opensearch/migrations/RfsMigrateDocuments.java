@@ -31,14 +31,20 @@ import org.opensearch.migrations.bulkload.common.DocumentExceptionAllowlist;
 import org.opensearch.migrations.bulkload.common.FileSystemRepo;
 import org.opensearch.migrations.bulkload.common.OpenSearchClient;
 import org.opensearch.migrations.bulkload.common.OpenSearchClientFactory;
+import org.opensearch.migrations.bulkload.common.RestClient;
 import org.opensearch.migrations.bulkload.common.S3Repo;
 import org.opensearch.migrations.bulkload.common.S3Uri;
+import org.opensearch.migrations.bulkload.common.SnapshotBlobBlockCache;
 import org.opensearch.migrations.bulkload.common.SnapshotReadFailures;
 import org.opensearch.migrations.bulkload.common.SourceRepo;
+import org.opensearch.migrations.bulkload.common.bulk.SourceValidationMode;
 import org.opensearch.migrations.bulkload.common.http.ConnectionContext;
 import org.opensearch.migrations.bulkload.lucene.FieldMappingContext;
+import org.opensearch.migrations.bulkload.pipeline.AdaptiveBatchingConfig;
 import org.opensearch.migrations.bulkload.pipeline.DocumentMigrationBootstrap;
+import org.opensearch.migrations.bulkload.pipeline.ShardPrefetcher;
 import org.opensearch.migrations.bulkload.pipeline.adapter.LuceneSnapshotSource;
+import org.opensearch.migrations.bulkload.pipeline.adapter.RemoteClusterDocumentSource;
 import org.opensearch.migrations.bulkload.solr.SolrBackupIndexMetadataFactory;
 import org.opensearch.migrations.bulkload.solr.SolrBackupLayout;
 import org.opensearch.migrations.bulkload.solr.SolrMultiCollectionSource;
@@ -47,16 +53,19 @@ import org.opensearch.migrations.bulkload.solr.SolrShardPartition;
 import org.opensearch.migrations.bulkload.solr.SolrSnapshotReader;
 import org.opensearch.migrations.bulkload.tracing.IWorkCoordinationContexts;
 import org.opensearch.migrations.bulkload.tracing.RfsContexts;
+import org.opensearch.migrations.bulkload.workcoordination.ClusterThroughputGovernor;
 import org.opensearch.migrations.bulkload.workcoordination.CoordinateWorkHttpClient;
 import org.opensearch.migrations.bulkload.workcoordination.IWorkCoordinator;
 import org.opensearch.migrations.bulkload.workcoordination.LeaseExpireTrigger;
 import org.opensearch.migrations.bulkload.workcoordination.OpenSearchWorkCoordinator;
 import org.opensearch.migrations.bulkload.workcoordination.ScopedWorkCoordinator;
+import org.opensearch.migrations.bulkload.workcoordination.ThroughputGovernorSettings;
 import org.opensearch.migrations.bulkload.workcoordination.WorkCoordinatorFactory;
 import org.opensearch.migrations.bulkload.workcoordination.WorkItemTimeProvider;
 import org.opensearch.migrations.bulkload.worker.CompletionStatus;
 import org.opensearch.migrations.bulkload.worker.ShardWorkPreparer;
 import org.opensearch.migrations.bulkload.worker.WorkItemCursor;
+import org.opensearch.migrations.cluster.ClusterReader;
 import org.opensearch.migrations.cluster.SnapshotReaderRegistry;
 import org.opensearch.migrations.jcommander.EnvVarParameterPuller;
 import org.opensearch.migrations.jcommander.JsonCommandLineParser;
@@ -190,6 +199,15 @@ public class RfsMigrateDocuments {
                 "For use when the default AWS ones won't work for a particular context."))
         public String s3Endpoint = null;
 
+        @Parameter(required = false,
+            names = { "--s3-stream-blobs", "--s3StreamBlobs" },
+            description = "Optional. Stream shard blobs directly from ranged S3 GetObject responses into the " +
+                "Lucene directory instead of first downloading them under --s3-local-dir, so each byte is written " +
+                "to local disk once. Snapshot metadata files are still downloaded to --s3-local-dir. " +
+                "Always enabled with --experimental-range-read-shards. Default: false",
+            arity = 0)
+        public boolean s3StreamBlobs = false;
+
         @Parameter(required = false,
             names = { "--lucene-dir", "--luceneDir" },
             description = "The absolute path to the directory where we'll put the Lucene docs. Required when --source-type is SNAPSHOT.")
@@ -206,6 +224,9 @@ public class RfsMigrateDocuments {
         @ParametersDelegate
         public ConnectionContext.CoordinatorArgs coordinatorArgs = new ConnectionContext.CoordinatorArgs();
 
+        @ParametersDelegate
+        public ConnectionContext.SourceArgs sourceArgs = new ConnectionContext.SourceArgs();
+
         @Parameter(required = false,
             names = { "--index-allowlist", "--indexAllowlist" },
             description = ("Optional.  List of index names to migrate (e.g. 'logs_2024_01, logs_2024_02').  " +
@@ -307,6 +328,15 @@ public class RfsMigrateDocuments {
                 "ON: always emit _type. OFF: never emit _type.")
         public EmitDocTypeMode emitDocType = EmitDocTypeMode.AUTO;
 
+        @Parameter(required = false,
+            names = { "--source-validation", "--sourceValidation" },
+            description = "Optional. How document sources are checked before being written into a bulk request " +
+                "when no document transformer is configured. " +
+                "FULL (default): parse every source as JSON. " +
+                "STRUCTURAL: a cheap scan for line breaks and unbalanced brackets or strings. " +
+                "TRUST: write sources as-is, relying on the source cluster having parsed them at index time.")
+        public SourceValidationMode sourceValidation = SourceValidationMode.FULL;
+
         @ParametersDelegate
         private DocParams docTransformationParams = new DocParams();
 
@@ -361,6 +391,111 @@ public class RfsMigrateDocuments {
         )
         public boolean useRecoverySource = false;
 
+        @Parameter(required = false,
+            names = { "--experimental-range-read-shards" },
+            description = "Read each shard's Lucene files in place from the snapshot repository with ranged " +
+                "blob reads instead of unpacking the whole shard to --lucene-dir first. Documents start flowing " +
+                "as soon as the segment metadata has been read and --max-shard-size-bytes no longer applies. " +
+                "Supported for ES 7+ / OpenSearch snapshots; older snapshots are still unpacked.",
+            arity = 0
+        )
+        public boolean rangeReadShards = false;
+
+        @Parameter(required = false,
+            names = { "--range-read-block-cache-bytes" },
+            description = "Optional. Memory budget for the block cache used by --experimental-range-read-shards. " +
+                "Default: 256 MiB"
+        )
+        public long rangeReadBlockCacheBytes = SnapshotBlobBlockCache.DEFAULT_MAX_CACHE_BYTES;
+
+        @Parameter(required = false,
+            names = { "--experimental-adaptive-batching" },
+            description = "Adapt each shard's bulk request size and number of requests in flight to the target: " +
+                "back off on 429 / rejected execution responses, retries and slow requests, and grow back while " +
+                "requests stay healthy. --documents-size-per-bulk-request and --max-connections become upper bounds.",
+            arity = 0
+        )
+        public boolean adaptiveBatching = false;
+
+        @Parameter(required = false,
+            names = { "--adaptive-batch-min-bytes" },
+            description = "Optional. The smallest bulk request size --experimental-adaptive-batching backs off to. " +
+                "Default: 1 MiB"
+        )
+        public long adaptiveBatchMinBytes = 1024 * 1024L;
+
+        @Parameter(required = false,
+            names = { "--adaptive-batch-target-latency" },
+            converter = DurationConverter.class,
+            description = "Optional. Bulk requests slower than this are made smaller by " +
+                "--experimental-adaptive-batching. Default: PT10S"
+        )
+        public Duration adaptiveBatchTargetLatency = Duration.ofSeconds(10);
+
+        @Parameter(required = false,
+            names = { "--experimental-cluster-max-bulk-bytes-per-second" },
+            description = "Share a bulk throughput budget of at most this many document bytes per second across " +
+                "all workers, leased through the coordination index. The budget is cut when workers report " +
+                "429 / rejected execution responses from the target and grows back while they don't. " +
+                "Default: 0 (each worker is only limited by its own settings)"
+        )
+        public long clusterMaxBulkBytesPerSecond = 0;
+
+        @Parameter(required = false,
+            names = { "--cluster-min-bulk-bytes-per-second" },
+            description = "Optional. The smallest budget --experimental-cluster-max-bulk-bytes-per-second is cut to. " +
+                "Default: 1 MiB"
+        )
+        public long clusterMinBulkBytesPerSecond = 1024 * 1024L;
+
+        @Parameter(required = false,
+            names = { "--experimental-shard-aware-batching-window" },
+            description = "Read this many bulk requests' worth of documents at a time and regroup them so that each " +
+                "bulk request only holds documents routed to the same target shard. Up to this many times " +
+                "--documents-size-per-bulk-request is buffered per shard being migrated, and requests are only " +
+                "full when the window is at least the target index's shard count. Default: 0 (disabled)"
+        )
+        public int shardAwareBatchingWindow = 0;
+
+        @Parameter(required = false,
+            names = { "--experimental-sub-partition-doc-count" },
+            description = "Split shards with more than this many Lucene doc slots into ranges of this many docs " +
+                "that different workers lease and checkpoint independently. A shard is split by the first worker " +
+                "to lease it. Each worker opens the whole shard, so this works best with " +
+                "--experimental-range-read-shards. Also splits the cores of local Solr backups; cores of Solr " +
+                "backups in S3 are only split with --experimental-split-downloaded-solr-cores. Not applied to " +
+                "delta migrations. Default: 0 (disabled)"
+        )
+        public long subPartitionDocCount = 0;
+
+        @Parameter(required = false,
+            names = { "--experimental-split-downloaded-solr-cores" },
+            description = "Let --experimental-sub-partition-doc-count split the cores of Solr backups in S3. Every " +
+                "worker that leases a range of a core downloads and opens the whole core, so a core split into N " +
+                "ranges is downloaded N times; set this only when target throughput rather than download time is " +
+                "the bottleneck. Default: false"
+        )
+        public boolean splitDownloadedSolrCores = false;
+
+        @Parameter(required = false,
+            names = { "--experimental-prefetch-next-shard-max-bytes" },
+            description = "While migrating its work item, lease the next one and download/unpack its shard in the " +
+                "background, then migrate it straight after the first instead of exiting. The next shard is only " +
+                "prepared if it takes at most this many bytes of local disk on top of the current one; otherwise " +
+                "its lease is released. Shards read with --experimental-range-read-shards take no local disk. " +
+                "Not applied to delta or Solr migrations. Default: 0 (disabled)"
+        )
+        public long prefetchNextShardMaxBytes = 0;
+
+        @Parameter(required = false,
+            names = { "--experimental-live-source-slices-per-shard" },
+            description = "When documents are read from a live cluster with --source-host, split each index into " +
+                "this many sliced-search slices per primary shard. Every slice is a work item, so this bounds how " +
+                "many workers migrate an index in parallel. Elasticsearch before 5.0 cannot slice and reads each " +
+                "index as one work item. Default: 1"
+        )
+        public int liveSourceSlicesPerShard = 1;
+
         @Parameter(required = false,
             names = { "--position-gap-stopword", "--positionGapStopword" },
             description = "Optional. Token used to fill skipped Lucene positions when reconstructing analyzed-text " +
@@ -454,6 +589,26 @@ public class RfsMigrateDocuments {
             return;
         }
 
+        if (args.sourceArgs.getHost() != null) {
+            if (args.snapshotName != null || args.snapshotLocalDir != null || areAnyS3ArgsProvided) {
+                throw new ParameterException(
+                    "--source-host reads documents from a live cluster and cannot be combined with snapshot args."
+                );
+            }
+            if (args.experimental.experimentalDeltaMode != null || args.experimental.previousSnapshotName != null) {
+                throw new ParameterException("--experimental-delta-mode requires snapshots and cannot be used with --source-host.");
+            }
+            if (args.experimental.prefetchNextShardMaxBytes > 0) {
+                throw new ParameterException(
+                    "--experimental-prefetch-next-shard-max-bytes cannot be used with --source-host."
+                );
+            }
+            if (args.experimental.liveSourceSlicesPerShard < 1) {
+                throw new ParameterException("--experimental-live-source-slices-per-shard must be at least 1.");
+            }
+            return;
+        }
+
         if (args.snapshotName == null) {
             throw new ParameterException("--snapshot-name is required when --source-type is SNAPSHOT.");
         }
@@ -489,6 +644,11 @@ public class RfsMigrateDocuments {
                     "When --experimental-delta-mode is specified, --experimental-previous-snapshot-name must be provided."
                 );
             }
+            if (args.experimental.prefetchNextShardMaxBytes > 0) {
+                throw new ParameterException(
+                    "--experimental-prefetch-next-shard-max-bytes cannot be used with --experimental-delta-mode."
+                );
+            }
             log.atWarn().setMessage("EXPERIMENTAL FEATURE: Delta snapshot migration mode {} is enabled. " +
                     "This feature is experimental and should not be used in production.")
                     .addArgument(args.experimental.experimentalDeltaMode).log();
@@ -513,7 +673,8 @@ public class RfsMigrateDocuments {
             LeaseExpireTrigger processManager,
             AtomicReference<WorkItemCursor> progressCursor,
             AtomicReference<Runnable> cancellationRunnableRef,
-            WorkItemTimeProvider workItemTimeProvider
+            WorkItemTimeProvider workItemTimeProvider,
+            ShardPrefetcher prefetcher
         ) throws IOException, InterruptedException, NoWorkLeftException;
     }
 
@@ -584,11 +745,20 @@ public class RfsMigrateDocuments {
             ? null
             : () -> transformationLoader.getTransformerFactoryLoader(docTransformerConfig);
 
+        var liveSourceReader = arguments.sourceArgs.getHost() == null
+            ? null
+            : SnapshotReaderRegistry.getRemoteReader(
+                arguments.sourceArgs.toConnectionContext(), arguments.versionStrictness.allowLooseVersionMatches);
+        var sourceVersion = liveSourceReader != null ? liveSourceReader.getVersion() : arguments.sourceVersion;
+
         boolean emitDocType = resolveEmitDocType(
-            arguments.emitDocType, arguments.sourceVersion, docTransformerConfig);
+            arguments.emitDocType, sourceVersion, docTransformerConfig);
 
         MigrationSourceFactory sourceFactory;
-        if (arguments.sourceVersion != null && arguments.sourceVersion.getFlavor() == Flavor.SOLR) {
+        if (liveSourceReader != null) {
+            sourceFactory = buildLiveClusterSourceFactory(arguments, liveSourceReader, targetClient,
+                docTransformerSupplier, useServerGeneratedIds, emitDocType, context);
+        } else if (arguments.sourceVersion != null && arguments.sourceVersion.getFlavor() == Flavor.SOLR) {
             sourceFactory = buildSolrSourceFactory(arguments, targetClient, docTransformerSupplier, useServerGeneratedIds, context);
         } else {
             sourceFactory = buildElasticsearchSourceFactory(arguments, targetClient,
@@ -614,6 +784,8 @@ public class RfsMigrateDocuments {
         var coordinatorFactory = new WorkCoordinatorFactory(
             coordinatorInfo.version(), arguments.indexNameSuffix, completionRetryConfig);
         var cleanShutdownCompleted = new AtomicBoolean(false);
+        // The coordinator holding the current lease; a prefetched work item is leased under another worker id
+        var activeCoordinatorRef = new AtomicReference<IWorkCoordinator>();
 
         try (var workCoordinator = coordinatorFactory.get(
                  new CoordinateWorkHttpClient(coordinatorInfo.connectionContext()),
@@ -621,10 +793,12 @@ public class RfsMigrateDocuments {
                  workerId,
                 Clock.systemUTC(),
                 workItemRef::set);
+             var prefetcher = buildShardPrefetcher(workerId, arguments, coordinatorFactory, coordinatorInfo, context,
+                 workItemRef, progressCursor, activeCoordinatorRef);
              var processManager = new LeaseExpireTrigger(
                 w -> exitOnLeaseTimeout(
                         workItemRef,
-                        workCoordinator,
+                        activeCoordinatorRef.get(),
                         w,
                         progressCursor,
                         workItemTimeProvider,
@@ -638,7 +812,10 @@ public class RfsMigrateDocuments {
                 Thread.currentThread().setName("Cleanup-Hook-Thread");
                 log.atWarn().setMessage("Received shutdown signal. Trying to mark progress and shutdown cleanly.").log();
                 try {
-                    executeCleanShutdownProcess(workItemRef, progressCursor, workCoordinator, cleanShutdownCompleted,
+                    if (prefetcher != null) {
+                        prefetcher.releaseUnstarted();
+                    }
+                    executeCleanShutdownProcess(workItemRef, progressCursor, activeCoordinatorRef.get(), cleanShutdownCompleted,
                             context.getWorkCoordinationContext()::createSuccessorWorkItemsContext,
                             context.getWorkCoordinationContext()::createReleaseWorkItemContext);
                     log.atInfo().setMessage("Clean shutdown completed.").log();
@@ -652,10 +829,12 @@ public class RfsMigrateDocuments {
                 }
             }));
 
+            activeCoordinatorRef.set(workCoordinator);
             MDC.put(LOGGING_MDC_WORKER_ID, workerId);
 
             var status = sourceFactory.buildAndRun(
-                workCoordinator, processManager, progressCursor, cancellationRunnableRef, workItemTimeProvider);
+                workCoordinator, processManager, progressCursor, cancellationRunnableRef, workItemTimeProvider,
+                prefetcher);
             cleanShutdownCompleted.set(true);
             if (status == CompletionStatus.NOTHING_DONE) {
                 log.atInfo().setMessage("Work exists but none available to this worker. Exiting with exit code " + NO_WORK_AVAILABLE_EXIT_CODE).log();
@@ -682,6 +861,45 @@ public class RfsMigrateDocuments {
         }
     }
 
+    /**
+     * Builds the prefetcher for --experimental-prefetch-next-shard-max-bytes, or returns null when it is disabled.
+     * It leases through its own coordinator because the coordination index allows one lease per worker id. When
+     * the prefetched item is taken, the shutdown and lease timeout handling switch over to it and its coordinator.
+     */
+    private static ShardPrefetcher buildShardPrefetcher(
+        String workerId,
+        Args arguments,
+        WorkCoordinatorFactory coordinatorFactory,
+        CoordinatorInfo coordinatorInfo,
+        RootDocumentMigrationContext context,
+        AtomicReference<IWorkCoordinator.WorkItemAndDuration> workItemRef,
+        AtomicReference<WorkItemCursor> progressCursor,
+        AtomicReference<IWorkCoordinator> activeCoordinatorRef
+    ) {
+        if (arguments.experimental.prefetchNextShardMaxBytes <= 0) {
+            return null;
+        }
+        if (arguments.sourceVersion != null && arguments.sourceVersion.getFlavor() == Flavor.SOLR) {
+            log.atWarn().setMessage("--experimental-prefetch-next-shard-max-bytes is not supported for Solr backups; ignoring it").log();
+            return null;
+        }
+        log.atInfo().setMessage("Prefetching the next shard while migrating, within {} bytes of local disk")
+            .addArgument(arguments.experimental.prefetchNextShardMaxBytes).log();
+        var prefetchCoordinator = coordinatorFactory.get(
+            new CoordinateWorkHttpClient(coordinatorInfo.connectionContext()),
+            TOLERABLE_CLIENT_SERVER_CLOCK_DIFFERENCE_SECONDS,
+            workerId + ShardPrefetcher.WORKER_ID_SUFFIX,
+            Clock.systemUTC(),
+            workItem -> {});
+        return new ShardPrefetcher(prefetchCoordinator, arguments.experimental.prefetchNextShardMaxBytes,
+            context.getWorkCoordinationContext()::createReleaseWorkItemContext,
+            workItem -> {
+                progressCursor.set(null);
+                activeCoordinatorRef.set(prefetchCoordinator);
+                workItemRef.set(workItem);
+            });
+    }
+
     /**
      * If {@code e} (or a wrapped cause) is a non-retriable snapshot read failure, log a labeled ERROR
      * line naming the reason, snapshot path, and context, then return the dedicated
@@ -712,7 +930,8 @@ public class RfsMigrateDocuments {
         boolean emitDocType,
         RootDocumentMigrationContext context
     ) {
-        return (workCoordinator, processManager, progressCursor, cancellationRunnableRef, workItemTimeProvider) -> {
+        return (workCoordinator, processManager, progressCursor, cancellationRunnableRef, workItemTimeProvider,
+                prefetcher) -> {
             DocumentExceptionAllowlist allowlist = buildDocumentExceptionAllowlist(arguments);
 
             var luceneDirPath = Paths.get(arguments.luceneDir);
@@ -722,20 +941,32 @@ public class RfsMigrateDocuments {
                     arguments.sourceVersion,
                     arguments.versionStrictness.allowLooseVersionMatches);
 
-            SourceRepo sourceRepo = (snapshotLocalDirPath == null)
-                ? S3Repo.create(
+            SourceRepo sourceRepo;
+            if (snapshotLocalDirPath == null) {
+                var s3Repo = S3Repo.create(
                     Paths.get(arguments.s3LocalDir),
                     new S3Uri(arguments.s3RepoUri),
                     arguments.s3Region,
                     Optional.ofNullable(arguments.s3Endpoint).map(URI::create).orElse(null),
-                    finder)
-                : new FileSystemRepo(snapshotLocalDirPath, finder);
+                    finder);
+                sourceRepo = (arguments.s3StreamBlobs || arguments.experimental.rangeReadShards)
+                    ? s3Repo.withStreamingBlobReads()
+                    : s3Repo;
+            } else {
+                sourceRepo = new FileSystemRepo(snapshotLocalDirPath, finder);
+            }
 
             var sourceResourceProvider = SnapshotReaderRegistry.getSnapshotReader(
                 arguments.sourceVersion, sourceRepo, arguments.versionStrictness.allowLooseVersionMatches);
 
             var extractor = SnapshotExtractor.create(
                 arguments.sourceVersion, sourceResourceProvider, sourceRepo);
+            if (arguments.experimental.rangeReadShards) {
+                log.atInfo().setMessage("Range-reading shards in place with a {} byte block cache")
+                    .addArgument(arguments.experimental.rangeReadBlockCacheBytes).log();
+                extractor = extractor.withRangeReads(new SnapshotBlobBlockCache(
+                    SnapshotBlobBlockCache.DEFAULT_BLOCK_SIZE_BYTES, arguments.experimental.rangeReadBlockCacheBytes));
+            }
 
             var sourceBuilder = LuceneSnapshotSource.builder(extractor, arguments.snapshotName, luceneDirPath)
                 .maxShardSizeBytes(arguments.maxShardSizeBytes)
@@ -764,7 +995,41 @@ public class RfsMigrateDocuments {
             return prepareAndMigrate(documentSource,
                 workCoordinator, processManager, targetClient, docTransformerSupplier,
                 useServerGeneratedIds, allowlist, progressCursor, cancellationRunnableRef,
-                workItemTimeProvider, arguments, context);
+                workItemTimeProvider, prefetcher, arguments, context);
+        };
+    }
+
+    /**
+     * Reads documents straight from the live cluster at --source-host with sliced point-in-time or scroll
+     * searches, one work item per slice, instead of from a snapshot.
+     */
+    private static MigrationSourceFactory buildLiveClusterSourceFactory(
+        Args arguments,
+        ClusterReader sourceReader,
+        OpenSearchClient targetClient,
+        Supplier<IJsonTransformer> docTransformerSupplier,
+        boolean useServerGeneratedIds,
+        boolean emitDocType,
+        RootDocumentMigrationContext context
+    ) {
+        return (workCoordinator, processManager, progressCursor, cancellationRunnableRef, workItemTimeProvider,
+                prefetcher) -> {
+            DocumentExceptionAllowlist allowlist = buildDocumentExceptionAllowlist(arguments);
+            log.atInfo().setMessage("Reading documents from the live source cluster {} with {} slice(s) per shard")
+                .addArgument(sourceReader)
+                .addArgument(arguments.experimental.liveSourceSlicesPerShard)
+                .log();
+            var sourceClient = new RestClient(arguments.sourceArgs.toConnectionContext(), arguments.maxConnections);
+            var documentSource = RemoteClusterDocumentSource.builder(
+                    sourceClient, sourceReader.getVersion(), sourceReader.getIndexMetadata())
+                .slicesPerShard(arguments.experimental.liveSourceSlicesPerShard)
+                .emitDocType(emitDocType)
+                .build();
+
+            return prepareAndMigrate(documentSource,
+                workCoordinator, processManager, targetClient, docTransformerSupplier,
+                useServerGeneratedIds, allowlist, progressCursor, cancellationRunnableRef,
+                workItemTimeProvider, prefetcher, arguments, context);
         };
     }
 
@@ -779,6 +1044,7 @@ public class RfsMigrateDocuments {
         AtomicReference<WorkItemCursor> progressCursor,
         AtomicReference<Runnable> cancellationRunnableRef,
         WorkItemTimeProvider workItemTimeProvider,
+        ShardPrefetcher prefetcher,
         Args arguments,
         RootDocumentMigrationContext context
     ) throws IOException, InterruptedException, NoWorkLeftException {
@@ -795,14 +1061,59 @@ public class RfsMigrateDocuments {
             .transformerSupplier(docTransformerSupplier)
             .allowServerGeneratedIds(useServerGeneratedIds)
             .allowlist(allowlist)
+            .sourceValidationMode(arguments.sourceValidation)
+            .adaptiveBatching(arguments.experimental.adaptiveBatching
+                ? new AdaptiveBatchingConfig(
+                    arguments.experimental.adaptiveBatchMinBytes, arguments.experimental.adaptiveBatchTargetLatency)
+                : null)
+            .throughputGovernor(buildThroughputGovernor(workCoordinator, arguments))
+            .batchGroupingWindow(arguments.experimental.shardAwareBatchingWindow)
+            .subPartitionDocCount(arguments.experimental.subPartitionDocCount)
             .workCoordinator(scopedWorkCoordinator)
             .workItemTimeProvider(workItemTimeProvider)
             .maxInitialLeaseDuration(arguments.initialLeaseDuration)
             .cursorConsumer(progressCursor::set)
             .cancellationTriggerConsumer(cancellationRunnableRef::set)
+            .prefetcher(prefetcher)
             .build();
 
-        return runner.migrateOneShard(context::createReindexContext);
+        try {
+            return runner.migrateOneShard(context::createReindexContext);
+        } finally {
+            closeDocumentSource(documentSource);
+        }
+    }
+
+    /** Releases what the source still holds, e.g. the shard readers that a snapshot source keeps open. */
+    private static void closeDocumentSource(org.opensearch.migrations.bulkload.pipeline.source.DocumentSource source) {
+        try {
+            source.close();
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            log.atWarn().setMessage("Could not close the document source").setCause(e).log();
+        }
+    }
+
+    private static ClusterThroughputGovernor buildThroughputGovernor(IWorkCoordinator workCoordinator, Args arguments) {
+        if (arguments.experimental.clusterMaxBulkBytesPerSecond <= 0) {
+            return null;
+        }
+        if (!(workCoordinator instanceof OpenSearchWorkCoordinator openSearchWorkCoordinator)) {
+            throw new IllegalStateException("--experimental-cluster-max-bulk-bytes-per-second requires the " +
+                "coordination index, but the work coordinator is a " + workCoordinator.getClass().getSimpleName());
+        }
+        var settings = new ThroughputGovernorSettings(
+            arguments.experimental.clusterMaxBulkBytesPerSecond,
+            Math.min(arguments.experimental.clusterMinBulkBytesPerSecond,
+                arguments.experimental.clusterMaxBulkBytesPerSecond),
+            arguments.numBytesPerBulkRequest);
+        log.atInfo().setMessage("Sharing a bulk throughput budget of {} to {} bytes/s across all workers")
+            .addArgument(settings::minBytesPerSecond)
+            .addArgument(settings::maxBytesPerSecond)
+            .log();
+        return new ClusterThroughputGovernor(openSearchWorkCoordinator, settings);
     }
 
     @SuppressWarnings({"java:S100", "java:S1172", "java:S1186"})
@@ -1108,7 +1419,7 @@ public class RfsMigrateDocuments {
         var successorStartingCheckpointNum = progressCursor.getProgressCheckpointNum();
         var successorWorkItem = new IWorkCoordinator.WorkItemAndDuration
                 .WorkItem(workItem.getIndexName(), workItem.getShardNumber(),
-                successorStartingCheckpointNum);
+                successorStartingCheckpointNum, workItem.getEndingDocId());
         ArrayList<String> successorWorkItemIds = new ArrayList<>();
         successorWorkItemIds.add(successorWorkItem.toString());
         return successorWorkItemIds;
@@ -1135,7 +1446,8 @@ public class RfsMigrateDocuments {
         boolean useServerGeneratedIds,
         RootDocumentMigrationContext context
     ) {
-        return (workCoordinator, processManager, progressCursor, cancellationRunnableRef, workItemTimeProvider) -> {
+        return (workCoordinator, processManager, progressCursor, cancellationRunnableRef, workItemTimeProvider,
+                prefetcher) -> {
             DocumentExceptionAllowlist allowlist = buildDocumentExceptionAllowlist(arguments);
 
             Path backupDir;
@@ -1234,12 +1546,13 @@ public class RfsMigrateDocuments {
 
             var solrMajor = arguments.sourceVersion.getMajor();
             var indexMetadataFactory = new SolrBackupIndexMetadataFactory(backupDir, schemas, collectionPreparer);
-            var documentSource = new SolrMultiCollectionSource(backupDir, schemas, collectionPreparer, shardPreparer, solrMajor);
+            var documentSource = new SolrMultiCollectionSource(backupDir, schemas, collectionPreparer, shardPreparer,
+                solrMajor, arguments.experimental.splitDownloadedSolrCores);
 
             return prepareAndMigrate(documentSource,
                 workCoordinator, processManager, targetClient, docTransformerSupplier,
                 useServerGeneratedIds, allowlist, progressCursor, cancellationRunnableRef,
-                workItemTimeProvider, arguments, context);
+                workItemTimeProvider, prefetcher, arguments, context);
         };
     }
 
@@ -13,12 +13,17 @@ import java.util.function.Supplier;
 import org.opensearch.migrations.bulkload.common.DocumentExceptionAllowlist;
 import org.opensearch.migrations.bulkload.common.OpenSearchClient;
 import org.opensearch.migrations.bulkload.common.RfsException;
+import org.opensearch.migrations.bulkload.common.bulk.SourceValidationMode;
+import org.opensearch.migrations.bulkload.pipeline.adapter.GovernedDocumentSink;
 import org.opensearch.migrations.bulkload.pipeline.adapter.OpenSearchDocumentSink;
+import org.opensearch.migrations.bulkload.pipeline.sink.DocumentSink;
 import org.opensearch.migrations.bulkload.pipeline.source.DocumentSource;
+import org.opensearch.migrations.bulkload.workcoordination.ClusterThroughputGovernor;
 import org.opensearch.migrations.bulkload.workcoordination.IWorkCoordinator;
 import org.opensearch.migrations.bulkload.workcoordination.ScopedWorkCoordinator;
 import org.opensearch.migrations.bulkload.workcoordination.WorkItemTimeProvider;
 import org.opensearch.migrations.bulkload.worker.CompletionStatus;
+import org.opensearch.migrations.bulkload.worker.ShardWorkPreparer;
 import org.opensearch.migrations.bulkload.worker.WorkItemCursor;
 import org.opensearch.migrations.reindexer.tracing.IDocumentMigrationContexts;
 import org.opensearch.migrations.transform.IJsonTransformer;
@@ -63,6 +68,20 @@ public class DocumentMigrationBootstrap {
     private final boolean allowServerGeneratedIds = false;
     @Builder.Default
     private final DocumentExceptionAllowlist allowlist = DocumentExceptionAllowlist.empty();
+    @Builder.Default
+    private final SourceValidationMode sourceValidationMode = SourceValidationMode.FULL;
+    @Builder.Default
+    private final AdaptiveBatchingConfig adaptiveBatching = null;
+    @Builder.Default
+    private final ClusterThroughputGovernor throughputGovernor = null;
+    @Builder.Default
+    private final int batchGroupingWindow = 0;
+    /** When positive, shards with more doc slots than this are split into sub-partitions of this size */
+    @Builder.Default
+    private final long subPartitionDocCount = 0;
+    /** When set, the next work item is leased and prepared while the first one migrates, then migrated too */
+    @Builder.Default
+    private final ShardPrefetcher prefetcher = null;
 
     @Builder.Default
     private final ScopedWorkCoordinator workCoordinator = null;
@@ -78,7 +97,8 @@ public class DocumentMigrationBootstrap {
     /**
      * Acquire and migrate a single shard via work coordination.
      * Each JVM invocation processes one work item, then exits so the
-     * orchestrator can restart the process for the next shard.
+     * orchestrator can restart the process for the next shard. With a {@link ShardPrefetcher}, it also
+     * processes the one work item that was prefetched while the first was migrating.
      *
      * @return WORK_COMPLETED if a shard was migrated, NOTHING_DONE if no work was available
      */
@@ -90,22 +110,29 @@ public class DocumentMigrationBootstrap {
         }
         var source = documentSource;
         var contextRef = new AtomicReference<IDocumentMigrationContexts.IDocumentReindexContext>();
-        var sink = new OpenSearchDocumentSink(
+        DocumentSink sink = new OpenSearchDocumentSink(
             targetClient, transformerSupplier, allowServerGeneratedIds, allowlist,
             () -> {
                 var ctx = contextRef.get();
                 return ctx != null ? ctx.createBulkRequest() : null;
-            }
+            },
+            sourceValidationMode,
+            batchGroupingWindow > 0
         );
+        if (throughputGovernor != null) {
+            sink = new GovernedDocumentSink(sink, throughputGovernor);
+        }
         try {
-            var pipelineConfig = new PipelineConfig(source, sink, maxDocsPerBatch, maxBytesPerBatch, batchConcurrency);
+            var pipelineConfig = new PipelineConfig(source, sink, maxDocsPerBatch, maxBytesPerBatch, batchConcurrency,
+                adaptiveBatching, batchGroupingWindow);
             Supplier<IDocumentMigrationContexts.IDocumentReindexContext> wrappedContextSupplier = () -> {
                 var ctx = contextSupplier.get();
                 contextRef.set(ctx);
                 return ctx;
             };
+            CompletionStatus status;
             try (var context = wrappedContextSupplier.get()) {
-                return workCoordinator.ensurePhaseCompletion(wc -> {
+                status = workCoordinator.ensurePhaseCompletion(wc -> {
                     try {
                         return wc.acquireNextWorkItem(maxInitialLeaseDuration, context::createOpeningContext);
                     } catch (InterruptedException e) {
@@ -114,33 +141,68 @@ public class DocumentMigrationBootstrap {
                     } catch (IOException e) {
                         throw new RuntimeException(e);
                     }
-                }, new IWorkCoordinator.WorkAcquisitionOutcomeVisitor<>() {
-                    @Override
-                    public CompletionStatus onAlreadyCompleted() {
-                        return CompletionStatus.NOTHING_DONE;
-                    }
-
-                    @Override
-                    public CompletionStatus onAcquiredWork(IWorkCoordinator.WorkItemAndDuration workItem) {
-                        return runPartitionMigration(workItem, pipelineConfig, context);
-                    }
-
-                    @Override
-                    public CompletionStatus onNoAvailableWorkToBeDone() {
-                        return CompletionStatus.NOTHING_DONE;
-                    }
-                }, context::createCloseContext);
+                }, migrationVisitor(pipelineConfig, context, prefetcher != null), context::createCloseContext);
+            }
+            if (status == CompletionStatus.WORK_COMPLETED && prefetcher != null) {
+                migratePrefetchedWorkItem(pipelineConfig, wrappedContextSupplier);
             }
+            return status;
         } finally {
             closeQuietly(source);
             closeQuietly(sink);
         }
     }
 
+    private IWorkCoordinator.WorkAcquisitionOutcomeVisitor<CompletionStatus> migrationVisitor(
+        PipelineConfig pipelineConfig,
+        IDocumentMigrationContexts.IDocumentReindexContext context,
+        boolean prefetchNext
+    ) {
+        return new IWorkCoordinator.WorkAcquisitionOutcomeVisitor<>() {
+            @Override
+            public CompletionStatus onAlreadyCompleted() {
+                return CompletionStatus.NOTHING_DONE;
+            }
+
+            @Override
+            public CompletionStatus onAcquiredWork(IWorkCoordinator.WorkItemAndDuration workItem) {
+                return runPartitionMigration(workItem, pipelineConfig, context, prefetchNext);
+            }
+
+            @Override
+            public CompletionStatus onNoAvailableWorkToBeDone() {
+                return CompletionStatus.NOTHING_DONE;
+            }
+        };
+    }
+
+    /**
+     * Migrates the work item that the prefetcher leased while the first one was migrating, if there is one. Its
+     * lease belongs to the prefetcher's coordinator, which therefore also completes it. Items with less than half
+     * an initial lease left are handed back rather than risk losing the lease partway through.
+     */
+    private void migratePrefetchedWorkItem(
+        PipelineConfig pipelineConfig,
+        Supplier<IDocumentMigrationContexts.IDocumentReindexContext> contextSupplier
+    ) throws IOException, InterruptedException {
+        var prefetched = prefetcher.takePrefetched(maxInitialLeaseDuration.dividedBy(2));
+        if (prefetched.isEmpty()) {
+            return;
+        }
+        var workItem = prefetched.get();
+        log.info("Moving on to prefetched work item: {}", workItem.getWorkItem());
+        try (var context = contextSupplier.get()) {
+            workCoordinator.withWorkCoordinator(prefetcher.getWorkCoordinator())
+                .ensurePhaseCompletion(wc -> workItem, migrationVisitor(pipelineConfig, context, false),
+                    context::createCloseContext);
+        }
+    }
+
     private CompletionStatus runPartitionMigration(
         IWorkCoordinator.WorkItemAndDuration workItem,
         PipelineConfig pipelineConfig,
-        IDocumentMigrationContexts.IDocumentReindexContext context
+        IDocumentMigrationContexts.IDocumentReindexContext context,
+        boolean prefetchNext
     ) {
         var wi = workItem.getWorkItem();
         log.info("Pipeline acquired work item: {}", wi);
@@ -152,11 +214,20 @@ public class DocumentMigrationBootstrap {
         var partition = resolvePartition(wi);
         long startingOffset = wi.getStartingDocId() != null && wi.getStartingDocId() >= 0
             ? wi.getStartingDocId() : 0;
+        long endingOffset = resolveEndingOffset(wi, partition, startingOffset, context);
+        if (endingOffset <= startingOffset) {
+            log.info("Pipeline work item {} has no documents left before its sub-partition boundary", wi);
+            return CompletionStatus.WORK_COMPLETED;
+        }
+        if (prefetchNext) {
+            prefetcher.start(maxInitialLeaseDuration, context::createOpeningContext, documentSource, this::resolvePartition);
+        }
 
         var pipeline = new DocumentMigrationPipeline(
             pipelineConfig.source(), pipelineConfig.sink(),
             pipelineConfig.maxDocsPerBatch(), pipelineConfig.maxBytesPerBatch(),
-            1, pipelineConfig.batchConcurrency()
+            1, pipelineConfig.batchConcurrency(), pipelineConfig.adaptiveBatching(),
+            pipelineConfig.batchGroupingWindow()
         );
         var progressMonitor = new PipelineProgressMonitor(pipeline);
         progressMonitor.start();
@@ -167,7 +238,7 @@ public class DocumentMigrationBootstrap {
         var migrationError = new AtomicReference<Throwable>();
         var finishScheduler = Schedulers.newSingle("pipelineFinishScheduler");
 
-        var disposable = pipeline.migratePartition(partition, wi.getIndexName(), startingOffset)
+        var disposable = pipeline.migratePartition(partition, wi.getIndexName(), startingOffset, endingOffset)
             .subscribeOn(finishScheduler)
             .doFirst(() -> {
                 if (workItemTimeProvider != null) {
@@ -230,6 +301,35 @@ public class DocumentMigrationBootstrap {
         }
     }
 
+    /**
+     * Sub-partition work items carry their own end. A whole-shard item is split on first lease when
+     * sub-partitioning is enabled and the source can read doc ranges; it then covers only its first range.
+     */
+    private long resolveEndingOffset(
+        IWorkCoordinator.WorkItemAndDuration.WorkItem wi,
+        org.opensearch.migrations.bulkload.pipeline.model.Partition partition,
+        long startingOffset,
+        IDocumentMigrationContexts.IDocumentReindexContext context
+    ) {
+        if (wi.getEndingDocId() != null) {
+            return wi.getEndingDocId();
+        }
+        if (subPartitionDocCount <= 0) {
+            return Long.MAX_VALUE;
+        }
+        long docCount = documentSource.partitionDocCount(partition);
+        if (docCount < 0) {
+            return Long.MAX_VALUE;
+        }
+        try (var splitContext = context.createSuccessorWorkItemsContext()) {
+            return ShardWorkPreparer.splitIntoSubPartitions(
+                workCoordinator.workCoordinator, wi.getIndexName(), wi.getShardNumber(),
+                startingOffset, docCount, subPartitionDocCount, splitContext::getCreateUnassignedWorkItemContext);
+        } catch (IOException e) {
+            throw new RfsException("Unable to create sub-partition work items for " + wi, e);
+        }
+    }
+
     private org.opensearch.migrations.bulkload.pipeline.model.Partition resolvePartition(
             IWorkCoordinator.WorkItemAndDuration.WorkItem wi) {
         var partitions = documentSource.listPartitions(wi.getIndexName());
@@ -0,0 +1,210 @@
+package org.opensearch.migrations.bulkload.pipeline;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.opensearch.migrations.bulkload.pipeline.model.Partition;
+import org.opensearch.migrations.bulkload.pipeline.source.DocumentSource;
+import org.opensearch.migrations.bulkload.tracing.IWorkCoordinationContexts;
+import org.opensearch.migrations.bulkload.workcoordination.IWorkCoordinator;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Leases the next work item and prepares its partition in the background while the current one is migrated,
+ * so that downloading a shard overlaps indexing the previous one.
+ *
+ * <p>A worker can only hold one lease at a time, so the next item is leased through its own
+ * {@link IWorkCoordinator}, acting under {@link #WORKER_ID_SUFFIX the worker's id with a suffix}, and must
+ * be completed through that coordinator too. A prefetched item that is never started is handed back with
+ * {@link #releaseUnstarted()}. Closing the prefetcher releases such an item and closes the coordinator.
+ */
+@Slf4j
+public class ShardPrefetcher implements AutoCloseable {
+    public static final String WORKER_ID_SUFFIX = "-prefetch";
+
+    /** The coordinator that holds the prefetched lease */
+    @Getter
+    private final IWorkCoordinator workCoordinator;
+    private final long maxLocalBytes;
+    private final Supplier<IWorkCoordinationContexts.IReleaseWorkItemContext> releaseContextSupplier;
+    private final Consumer<IWorkCoordinator.WorkItemAndDuration> handoffConsumer;
+    private final ExecutorService executor;
+    private final AtomicReference<IWorkCoordinator.WorkItemAndDuration> leasedWorkItem = new AtomicReference<>();
+    private Future<?> pendingPrefetch;
+
+    /**
+     * @param workCoordinator        a coordinator for a worker id that holds no other lease
+     * @param maxLocalBytes          the most local disk space the prepared partition may take
+     * @param releaseContextSupplier context for handing back a lease that will not be worked on
+     * @param handoffConsumer        told about a prefetched item when it is taken, before any work starts on it
+     */
+    public ShardPrefetcher(
+        IWorkCoordinator workCoordinator,
+        long maxLocalBytes,
+        Supplier<IWorkCoordinationContexts.IReleaseWorkItemContext> releaseContextSupplier,
+        Consumer<IWorkCoordinator.WorkItemAndDuration> handoffConsumer
+    ) {
+        this.workCoordinator = workCoordinator;
+        this.maxLocalBytes = maxLocalBytes;
+        this.releaseContextSupplier = releaseContextSupplier;
+        this.handoffConsumer = handoffConsumer;
+        this.executor = Executors.newSingleThreadExecutor(r -> {
+            var t = new Thread(r, "shard-prefetch");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Starts leasing the next available work item and preparing its partition. Only one prefetch may be
+     * started.
+     */
+    public synchronized void start(
+        Duration leaseDuration,
+        Supplier<IWorkCoordinationContexts.IAcquireNextWorkItemContext> acquireContextSupplier,
+        DocumentSource documentSource,
+        Function<IWorkCoordinator.WorkItemAndDuration.WorkItem, Partition> partitionResolver
+    ) {
+        if (pendingPrefetch != null) {
+            throw new IllegalStateException("The next work item has already been prefetched");
+        }
+        pendingPrefetch = executor.submit(
+            () -> prefetch(leaseDuration, acquireContextSupplier, documentSource, partitionResolver));
+    }
+
+    private void prefetch(
+        Duration leaseDuration,
+        Supplier<IWorkCoordinationContexts.IAcquireNextWorkItemContext> acquireContextSupplier,
+        DocumentSource documentSource,
+        Function<IWorkCoordinator.WorkItemAndDuration.WorkItem, Partition> partitionResolver
+    ) {
+        try {
+            var workItem = workCoordinator.acquireNextWorkItem(leaseDuration, acquireContextSupplier)
+                .visit(new IWorkCoordinator.WorkAcquisitionOutcomeVisitor<IWorkCoordinator.WorkItemAndDuration>() {
+                    @Override
+                    public IWorkCoordinator.WorkItemAndDuration onAlreadyCompleted() {
+                        return null;
+                    }
+
+                    @Override
+                    public IWorkCoordinator.WorkItemAndDuration onAcquiredWork(
+                        IWorkCoordinator.WorkItemAndDuration workItem
+                    ) {
+                        return workItem;
+                    }
+
+                    @Override
+                    public IWorkCoordinator.WorkItemAndDuration onNoAvailableWorkToBeDone() {
+                        return null;
+                    }
+                });
+            if (workItem == null) {
+                log.info("No work item available to prefetch");
+                return;
+            }
+            leasedWorkItem.set(workItem);
+            log.atInfo().setMessage("Prefetching work item {}, leased until {}")
+                .addArgument(workItem::getWorkItem)
+                .addArgument(workItem::getLeaseExpirationTime)
+                .log();
+            var partition = partitionResolver.apply(workItem.getWorkItem());
+            if (!documentSource.preparePartition(partition, maxLocalBytes)) {
+                releaseUnstarted();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.atWarn().setMessage("Interrupted while prefetching the next work item").log();
+            releaseUnstarted();
+        } catch (Exception e) {
+            log.atWarn().setCause(e).setMessage("Failed to prefetch the next work item").log();
+            releaseUnstarted();
+        }
+    }
+
+    /**
+     * Waits for the prefetch to finish and takes its work item, which the caller must then work on and complete
+     * through {@link #getWorkCoordinator()}. An item whose lease has less than {@code minRemainingLease} left is
+     * released instead, since it was leased long before it could be started.
+     *
+     * @return the prepared work item, or empty if none was prefetched
+     */
+    public Optional<IWorkCoordinator.WorkItemAndDuration> takePrefetched(Duration minRemainingLease)
+        throws InterruptedException {
+        synchronized (this) {
+            if (pendingPrefetch == null) {
+                return Optional.empty();
+            }
+            try {
+                pendingPrefetch.get();
+            } catch (ExecutionException e) {
+                log.atWarn().setCause(e.getCause()).setMessage("Prefetch failed").log();
+            }
+        }
+        var workItem = leasedWorkItem.get();
+        if (workItem == null) {
+            return Optional.empty();
+        }
+        if (workItem.getLeaseExpirationTime().isBefore(Instant.now().plus(minRemainingLease))) {
+            log.atWarn().setMessage("Lease on prefetched work item {} expires at {}, too soon to start it")
+                .addArgument(workItem::getWorkItem)
+                .addArgument(workItem::getLeaseExpirationTime)
+                .log();
+            releaseUnstarted();
+            return Optional.empty();
+        }
+        if (!leasedWorkItem.compareAndSet(workItem, null)) {
+            return Optional.empty();
+        }
+        handoffConsumer.accept(workItem);
+        return Optional.of(workItem);
+    }
+
+    /**
+     * Hands the prefetched lease back without progress so that another worker can take the item immediately.
+     * A no-op once the item has been taken. Safe to call from shutdown hooks.
+     */
+    public void releaseUnstarted() {
+        var workItem = leasedWorkItem.getAndSet(null);
+        if (workItem == null) {
+            return;
+        }
+        var workItemId = workItem.getWorkItem().toString();
+        log.atInfo().setMessage("Releasing the lease on prefetched work item {}").addArgument(workItemId).log();
+        try {
+            workCoordinator.releaseWorkItem(workItemId, releaseContextSupplier);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.atWarn().setMessage("Interrupted while releasing prefetched work item {}").addArgument(workItemId).log();
+        } catch (IOException e) {
+            log.atWarn().setCause(e).setMessage("Could not release prefetched work item {}; its lease will lapse")
+                .addArgument(workItemId).log();
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        executor.shutdownNow();
+        try {
+            if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                log.warn("Shard prefetch did not stop within 5 seconds");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        releaseUnstarted();
+        workCoordinator.close();
+    }
+}
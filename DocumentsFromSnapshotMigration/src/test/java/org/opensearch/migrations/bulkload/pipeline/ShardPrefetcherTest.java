@@ -0,0 +1,83 @@
+package org.opensearch.migrations.bulkload.pipeline;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.opensearch.migrations.bulkload.pipeline.model.Partition;
+import org.opensearch.migrations.bulkload.pipeline.source.DocumentSource;
+import org.opensearch.migrations.bulkload.workcoordination.IWorkCoordinator;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ShardPrefetcherTest {
+    private static final long MAX_LOCAL_BYTES = 1024;
+    private static final Duration LEASE = Duration.ofMinutes(10);
+
+    private final IWorkCoordinator coordinator = Mockito.mock(IWorkCoordinator.class);
+    private final DocumentSource source = Mockito.mock(DocumentSource.class);
+    private final Partition partition = Mockito.mock(Partition.class);
+    private final List<IWorkCoordinator.WorkItemAndDuration> handedOff = new ArrayList<>();
+
+    private IWorkCoordinator.WorkItemAndDuration leaseNextItem(Duration leaseLeft) throws Exception {
+        var workItem = new IWorkCoordinator.WorkItemAndDuration(Instant.now().plus(leaseLeft),
+            new IWorkCoordinator.WorkItemAndDuration.WorkItem("idx", 3, 0L));
+        when(coordinator.acquireNextWorkItem(any(), any())).thenReturn(workItem);
+        return workItem;
+    }
+
+    private Optional<IWorkCoordinator.WorkItemAndDuration> prefetchAndTake() throws Exception {
+        try (var prefetcher = new ShardPrefetcher(coordinator, MAX_LOCAL_BYTES, () -> null, handedOff::add)) {
+            prefetcher.start(LEASE, () -> null, source, wi -> partition);
+            return prefetcher.takePrefetched(LEASE.dividedBy(2));
+        }
+    }
+
+    @Test
+    void preparedItemIsHandedOffWithItsLease() throws Exception {
+        var workItem = leaseNextItem(LEASE);
+        when(source.preparePartition(partition, MAX_LOCAL_BYTES)).thenReturn(true);
+
+        assertEquals(Optional.of(workItem), prefetchAndTake());
+        assertEquals(List.of(workItem), handedOff);
+        verify(coordinator, never()).releaseWorkItem(any(), any());
+    }
+
+    @Test
+    void itemThatDoesNotFitTheDiskBudgetIsReleased() throws Exception {
+        var workItem = leaseNextItem(LEASE);
+        when(source.preparePartition(any(), anyLong())).thenReturn(false);
+
+        assertEquals(Optional.empty(), prefetchAndTake());
+        assertEquals(List.of(), handedOff);
+        verify(coordinator).releaseWorkItem(eq(workItem.getWorkItem().toString()), any());
+    }
+
+    @Test
+    void itemWhoseLeaseIsNearlyOverIsReleased() throws Exception {
+        var workItem = leaseNextItem(Duration.ofMinutes(1));
+        when(source.preparePartition(partition, MAX_LOCAL_BYTES)).thenReturn(true);
+
+        assertEquals(Optional.empty(), prefetchAndTake());
+        verify(coordinator).releaseWorkItem(eq(workItem.getWorkItem().toString()), any());
+    }
+
+    @Test
+    void nothingIsTakenWhenNoWorkIsAvailable() throws Exception {
+        when(coordinator.acquireNextWorkItem(any(), any())).thenReturn(new IWorkCoordinator.NoAvailableWorkToBeDone());
+
+        assertEquals(Optional.empty(), prefetchAndTake());
+        verify(source, never()).preparePartition(any(), anyLong());
+    }
+}
@@ -2,6 +2,7 @@ package org.opensearch.migrations.bulkload.common;
 
 import java.io.IOException;
 import java.net.HttpURLConnection;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.BitSet;
@@ -9,7 +10,10 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -21,10 +25,13 @@ import org.opensearch.migrations.bulkload.common.bulk.BulkNdjson;
 import org.opensearch.migrations.bulkload.common.bulk.BulkOperationConverter;
 import org.opensearch.migrations.bulkload.common.bulk.BulkOperationSpec;
 import org.opensearch.migrations.bulkload.common.bulk.IndexOp;
+import org.opensearch.migrations.bulkload.common.bulk.SourceValidationMode;
+import org.opensearch.migrations.bulkload.common.bulk.TargetShardRouting;
 import org.opensearch.migrations.bulkload.common.bulk.operations.IndexOperationMeta;
 import org.opensearch.migrations.bulkload.common.http.CompressionMode;
 import org.opensearch.migrations.bulkload.common.http.ConnectionContext;
 import org.opensearch.migrations.bulkload.common.http.HttpResponse;
+import org.opensearch.migrations.bulkload.common.http.ResponseBodyDecoder;
 import org.opensearch.migrations.bulkload.pipeline.model.Document;
 import org.opensearch.migrations.bulkload.tracing.IRfsContexts;
 import org.opensearch.migrations.parsing.BulkResponseParser;
@@ -33,6 +40,9 @@ import org.opensearch.migrations.reindexer.FailedRequestsLogger;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.PooledByteBufAllocator;
 import lombok.extern.slf4j.Slf4j;
 import reactor.core.publisher.Mono;
 import reactor.util.retry.Retry;
@@ -60,6 +70,8 @@ public abstract class OpenSearchClient {
     private static final Retry BULK_RETRY_STRATEGY = Retry.backoff(BULK_MAX_RETRY_ATTEMPTS, BULK_BACKOFF)
         .maxBackoff(BULK_MAX_BACKOFF);
     public static final int BULK_TRUNCATED_RESPONSE_MAX_LENGTH = 1500;
+    /** Raw bulk bodies are built in pooled heap memory so that in-flight batches recycle the same arenas */
+    private static final ByteBufAllocator BULK_BODY_ALLOCATOR = PooledByteBufAllocator.DEFAULT;
     public static final String SNAPSHOT_PREFIX_STR = "_snapshot/";
 
     protected final RestClient client;
@@ -153,6 +165,63 @@ public abstract class OpenSearchClient {
         return new AwarenessAttributeSettings(true, attributeValues.get());
     }
 
+    /*
+     * Get the settings that decide which shard of an existing index a document is routed to.  Returns an Optional;
+     * empty when the target doesn't expose cluster state or the name doesn't resolve to exactly one index.
+     */
+    public Optional<TargetShardRouting> getShardRouting(String indexName) {
+        if (version.getFlavor() == Flavor.AMAZON_SERVERLESS_OPENSEARCH) {
+            log.info("Serverless target detected, skipping shard routing lookup (not supported)");
+            return Optional.empty();
+        }
+
+        String statePath = "_cluster/state/metadata/" + indexName
+            + "?flat_settings=true&filter_path=metadata.indices.*.routing_num_shards,"
+            + "metadata.indices.*.settings.index.number_of_shards,"
+            + "metadata.indices.*.settings.index.routing_partition_size";
+        var getResponse = client.getAsync(statePath, null)
+            .flatMap(resp -> {
+                if (resp.statusCode == HttpURLConnection.HTTP_OK || resp.statusCode == HttpURLConnection.HTTP_NOT_FOUND) {
+                    return Mono.just(resp);
+                } else {
+                    String errorMessage = "Could not retrieve cluster state for index: " + indexName + ". " + getString(resp);
+                    return Mono.error(new OperationFailed(errorMessage, resp));
+                }
+            })
+            .doOnError(e -> log.error(e.getMessage()))
+            .retryWhen(CHECK_IF_ITEM_EXISTS_RETRY_STRATEGY)
+            .block();
+        assert getResponse != null : ("getResponse should not be null; it should either be a valid response or " +
+            "an exception should have been thrown.");
+        if (getResponse.statusCode == HttpURLConnection.HTTP_NOT_FOUND) {
+            return Optional.empty();
+        }
+
+        JsonNode indices;
+        try {
+            indices = OBJECT_MAPPER.readTree(getResponse.body).path("metadata").path("indices");
+        } catch (Exception e) {
+            throw new OperationFailed("Could not parse cluster state for index: " + indexName, getResponse);
+        }
+        if (indices.size() != 1) {
+            log.atInfo().setMessage("Index {} resolved to {} indices; not routing bulk batches by shard")
+                .addArgument(indexName)
+                .addArgument(indices::size)
+                .log();
+            return Optional.empty();
+        }
+        var indexMetadata = indices.elements().next();
+        var settings = indexMetadata.path("settings");
+        int numberOfShards = settings.path("index.number_of_shards").asInt(0);
+        if (numberOfShards < 1) {
+            return Optional.empty();
+        }
+        // Clusters that predate routing_num_shards route straight to the primary count
+        int routingNumShards = indexMetadata.path("routing_num_shards").asInt(numberOfShards);
+        int routingPartitionSize = settings.path("index.routing_partition_size").asInt(1);
+        return Optional.of(new TargetShardRouting(numberOfShards, routingNumShards, routingPartitionSize));
+    }
+
     /*
      * Create a legacy template if it does not already exist.  Returns an Optional; if the template was created, it
      * will be the created object and empty otherwise.
@@ -467,12 +536,7 @@ public abstract class OpenSearchClient {
         final var pendingDocs = new ArrayList<BulkOperationSpec>(docs);
         return executeBulkWithRetry(
             indexName,
-            () -> {
-                List<BulkOperationSpec> operationsToSend = allowServerGeneratedIds
-                    ? pendingDocs.stream().map(this::stripDocumentId).collect(Collectors.toList())
-                    : pendingDocs;
-                return BulkNdjson.toBulkNdjsonBytes(operationsToSend, OBJECT_MAPPER);
-            },
+            () -> postBulkRequest(indexName, buildBulkNdjsonBytes(pendingDocs, allowServerGeneratedIds), context),
             pendingDocs,
             () -> {},
             context,
@@ -482,14 +546,37 @@ public abstract class OpenSearchClient {
 
     /**
      * Send a bulk request using raw document bytes, skipping the BulkOperationSpec deserialization.
-     * Builds NDJSON directly from Document raw source bytes — avoids byte[]→Map→byte[] round-trip.
+     * Builds NDJSON directly from Document raw source bytes into a pooled buffer — avoids the
+     * byte[]→Map→byte[] round-trip and the per-attempt body allocation. The pooled body is reused for
+     * retries until a response changes the pending set, and released once the request terminates.
      */
     public Mono<BulkResponse> sendBulkRequestRaw(String indexName, List<Document> docs,
                                                   IRfsContexts.IRequestContext context,
                                                   boolean allowServerGeneratedIds,
                                                   DocumentExceptionAllowlist allowlist) {
+        return sendBulkRequestRaw(indexName, docs, context, allowServerGeneratedIds, allowlist,
+            SourceValidationMode.FULL);
+    }
+
+    /**
+     * As {@link #sendBulkRequestRaw(String, List, IRfsContexts.IRequestContext, boolean, DocumentExceptionAllowlist)},
+     * checking each document source according to {@code validationMode} before it is written.
+     */
+    public Mono<BulkResponse> sendBulkRequestRaw(String indexName, List<Document> docs,
+                                                  IRfsContexts.IRequestContext context,
+                                                  boolean allowServerGeneratedIds,
+                                                  DocumentExceptionAllowlist allowlist,
+                                                  SourceValidationMode validationMode) {
         final var pendingRawDocs = new ArrayList<>(docs);
         final var pendingOps = new ArrayList<BulkOperationSpec>();
+        final var pooledBody = new AtomicReference<ByteBuf>();
+
+        Runnable releasePooledBody = () -> {
+            var body = pooledBody.getAndSet(null);
+            if (body != null) {
+                body.release();
+            }
+        };
 
         // On first error, convert raw docs to ops for compaction tracking
         Runnable lazyConvert = () -> {
@@ -499,31 +586,37 @@ public abstract class OpenSearchClient {
                 }
                 pendingRawDocs.clear();
             }
+            // The response has been received, and compaction is about to change what is pending
+            releasePooledBody.run();
         };
 
         return executeBulkWithRetry(
             indexName,
             () -> {
                 if (pendingOps.isEmpty() && !pendingRawDocs.isEmpty()) {
-                    return buildRawNdjsonBytes(pendingRawDocs, indexName, allowServerGeneratedIds);
+                    var body = pooledBody.get();
+                    if (body == null) {
+                        body = BulkNdjson.toRawNdjsonByteBuf(pendingRawDocs, indexName, allowServerGeneratedIds,
+                            validationMode, BULK_BODY_ALLOCATOR);
+                        pooledBody.set(body);
+                    }
+                    return client.postAsyncByteBuf(getBulkRequestPath(indexName), body, getBulkRequestHeaders(),
+                        context, BulkResponse.decoder(allowlist));
                 }
-                List<BulkOperationSpec> operationsToSend = allowServerGeneratedIds
-                    ? pendingOps.stream().map(this::stripDocumentId).collect(Collectors.toList())
-                    : pendingOps;
-                return BulkNdjson.toBulkNdjsonBytes(operationsToSend, OBJECT_MAPPER);
+                return postBulkRequest(indexName, buildBulkNdjsonBytes(pendingOps, allowServerGeneratedIds), context);
             },
             pendingOps,
             lazyConvert,
             context,
             allowlist
-        );
+        ).doFinally(signal -> releasePooledBody.run());
     }
 
     /**
      * Shared bulk request execution with retry, error handling, and compaction.
      *
      * @param indexName         target index
-     * @param bodyBuilder       builds the NDJSON body bytes for each attempt
+     * @param sendAttempt       posts the NDJSON body for each attempt
      * @param pendingOps        mutable list of pending operations (compacted on partial success)
      * @param preCompactHook    called before compaction to allow lazy initialization of pendingOps
      * @param context           request context for metrics
@@ -531,49 +624,53 @@ public abstract class OpenSearchClient {
      */
     private Mono<BulkResponse> executeBulkWithRetry(
         String indexName,
-        java.util.function.Supplier<byte[]> bodyBuilder,
+        Supplier<Mono<BulkResponse>> sendAttempt,
         ArrayList<BulkOperationSpec> pendingOps,
         Runnable preCompactHook,
         IRfsContexts.IRequestContext context,
         DocumentExceptionAllowlist allowlist
     ) {
         final AtomicInteger attemptCounter = new AtomicInteger(0);
+        final AtomicInteger sentAttempts = new AtomicInteger(0);
+        final AtomicBoolean throttled = new AtomicBoolean(false);
 
         return Mono.defer(() -> {
-            var bodyBytes = bodyBuilder.get();
-            return postBulkRequest(indexName, bodyBytes, context)
-                .flatMap(response -> {
-                    var resp = new BulkResponse(response.statusCode, response.statusText, response.headers, response.body);
-
-                    if (!resp.hasBadStatusCode() && !resp.hasFailedOperations()) {
-                        return Mono.just(resp);
-                    }
-                    log.atInfo()
-                        .setMessage("Bulk response on index '{}' contains errors: {}")
-                        .addArgument(indexName)
-                        .addArgument(() -> truncateMessageIfNeeded(response.body, BULK_TRUNCATED_RESPONSE_MAX_LENGTH))
-                        .log();
+            sentAttempts.incrementAndGet();
+            return sendAttempt.get();
+        })
+        .flatMap(resp -> {
+            if (!resp.hasBadStatusCode() && !resp.hasFailedOperations()) {
+                return Mono.just(resp);
+            }
+            if (resp.isRejectedByTarget()) {
+                throttled.set(true);
+            }
+            log.atInfo()
+                .setMessage("Bulk response on index '{}' contains errors: {}")
+                .addArgument(indexName)
+                .addArgument(() -> truncateMessageIfNeeded(resp.body, BULK_TRUNCATED_RESPONSE_MAX_LENGTH))
+                .log();
 
-                    // Allow lazy initialization of pendingOps (e.g., raw→ops conversion)
-                    preCompactHook.run();
+            // Allow lazy initialization of pendingOps (e.g., raw→ops conversion)
+            preCompactHook.run();
 
-                    int successCount = compactPendingDocs(pendingOps, resp, allowlist);
+            int successCount = compactPendingDocs(pendingOps, resp, allowlist);
 
-                    if (pendingOps.isEmpty()) {
-                        return Mono.just(resp);
-                    }
-                    log.atWarn()
-                        .setMessage("After bulk request attempt {} on index '{}', {} more documents have succeeded, {} remain. The error response message was: {}")
-                        .addArgument(attemptCounter.incrementAndGet())
-                        .addArgument(indexName)
-                        .addArgument(successCount)
-                        .addArgument(pendingOps::size)
-                        .addArgument(truncateMessageIfNeeded(response.body, BULK_TRUNCATED_RESPONSE_MAX_LENGTH))
-                        .log();
-                    return Mono.error(new OperationFailed(resp.getFailureMessage(), resp));
-                });
+            if (pendingOps.isEmpty()) {
+                return Mono.just(resp);
+            }
+            log.atWarn()
+                .setMessage("After bulk request attempt {} on index '{}', {} more documents have succeeded, {} remain. The error response message was: {}")
+                .addArgument(attemptCounter.incrementAndGet())
+                .addArgument(indexName)
+                .addArgument(successCount)
+                .addArgument(pendingOps::size)
+                .addArgument(truncateMessageIfNeeded(resp.body, BULK_TRUNCATED_RESPONSE_MAX_LENGTH))
+                .log();
+            return Mono.error(new OperationFailed(resp.getFailureMessage(), resp));
         })
         .retryWhen(getBulkRetryStrategy())
+        .map(resp -> resp.withRetryStats(sentAttempts.get() - 1, throttled.get()))
         .doOnError(error -> {
             if (!pendingOps.isEmpty()) {
                 failedRequestsLogger.logBulkFailure(
@@ -592,18 +689,26 @@ public abstract class OpenSearchClient {
         });
     }
 
-    private Mono<HttpResponse> postBulkRequest(String indexName, byte[] bodyBytes,
+    private Mono<BulkResponse> postBulkRequest(String indexName, byte[] bodyBytes,
                                                        IRfsContexts.IRequestContext context) {
+        return client.postAsyncBytes(getBulkRequestPath(indexName), bodyBytes, getBulkRequestHeaders(), context)
+            .map(response -> new BulkResponse(response.statusCode, response.statusText, response.headers, response.body));
+    }
+
+    private Map<String, List<String>> getBulkRequestHeaders() {
         var additionalHeaders = new HashMap<String, List<String>>();
         if (CompressionMode.GZIP_BODY_COMPRESSION.equals(compressionMode)) {
             RestClient.addGzipRequestHeaders(additionalHeaders);
             RestClient.addGzipResponseHeaders(additionalHeaders);
         }
-        return client.postAsyncBytes(getBulkRequestPath(indexName), bodyBytes, additionalHeaders, context);
+        return additionalHeaders;
     }
 
-    private byte[] buildRawNdjsonBytes(List<Document> docs, String indexName, boolean stripIds) {
-        return BulkNdjson.toRawNdjsonBytes(docs, indexName, stripIds, OBJECT_MAPPER);
+    private byte[] buildBulkNdjsonBytes(List<BulkOperationSpec> pendingOps, boolean allowServerGeneratedIds) {
+        List<BulkOperationSpec> operationsToSend = allowServerGeneratedIds
+            ? pendingOps.stream().map(this::stripDocumentId).collect(Collectors.toList())
+            : pendingOps;
+        return BulkNdjson.toBulkNdjsonBytes(operationsToSend, OBJECT_MAPPER);
     }
 
     private static BulkOperationSpec docToBulkOp(Document doc, String indexName) {
@@ -616,7 +721,7 @@ public abstract class OpenSearchClient {
      * @return number of successful documents removed
      */
     private int compactPendingDocs(ArrayList<BulkOperationSpec> pendingDocs, BulkResponse resp, DocumentExceptionAllowlist allowlist) {
-        BitSet failedPositions = BulkResponseParser.getFailedPositions(resp.body, allowlist);
+        BitSet failedPositions = resp.getFailedPositions(allowlist);
         if (failedPositions == null) {
             // Can't parse response - assume all failed, retry all
             return 0;
@@ -637,8 +742,79 @@ public abstract class OpenSearchClient {
     }
 
     public static class BulkResponse extends HttpResponse {
+        private static final Pattern REJECTION_PATTERN =
+            Pattern.compile("rejected_execution_exception|\"status\"\\s*:\\s*429\\b");
+
+        /** Failed item positions parsed while the response was received, or null to parse them from the body */
+        private final BitSet failedPositions;
+        /** How many extra attempts were sent before this response ended the retry loop */
+        private final int retriedAttempts;
+        /** Whether any attempt that led to this response was rejected because the target was overloaded */
+        private final boolean throttled;
+
         public BulkResponse(int statusCode, String statusText, Map<String, String> headers, String body) {
+            this(statusCode, statusText, headers, body, null);
+        }
+
+        BulkResponse(int statusCode, String statusText, Map<String, String> headers, String body, BitSet failedPositions) {
+            this(statusCode, statusText, headers, body, failedPositions, 0, false);
+        }
+
+        private BulkResponse(int statusCode, String statusText, Map<String, String> headers, String body,
+                             BitSet failedPositions, int retriedAttempts, boolean throttled) {
             super(statusCode, statusText, headers, body);
+            this.failedPositions = failedPositions;
+            this.retriedAttempts = retriedAttempts;
+            this.throttled = throttled;
+        }
+
+        /** Returns a copy of this response annotated with what it took to get it. */
+        public BulkResponse withRetryStats(int retriedAttempts, boolean throttled) {
+            return new BulkResponse(statusCode, statusText, headers, body, failedPositions, retriedAttempts, throttled);
+        }
+
+        public int getRetriedAttempts() {
+            return retriedAttempts;
+        }
+
+        public boolean isThrottled() {
+            return throttled;
+        }
+
+        /**
+         * Whether the target turned this request, or some of its items, away because it was overloaded:
+         * a 429 status, or a thread pool rejection reported for individual items.
+         */
+        public boolean isRejectedByTarget() {
+            return statusCode == 429 || (body != null && REJECTION_PATTERN.matcher(body).find());
+        }
+
+        /**
+         * Decodes a bulk response straight from the response bytes. Failed positions are found with a streaming
+         * parse that stops at {@code "errors":false}; the body is only decoded into a String when something
+         * failed, since it is then needed for logging and failure messages.
+         */
+        public static ResponseBodyDecoder<BulkResponse> decoder(DocumentExceptionAllowlist allowlist) {
+            return (statusCode, statusText, headers, body) -> {
+                var failedPositions = body != null ? BulkResponseParser.getFailedPositions(body, allowlist) : null;
+                var response = new BulkResponse(statusCode, statusText, headers, null, failedPositions);
+                if (response.hasBadStatusCode() || response.hasFailedOperations()) {
+                    return new BulkResponse(statusCode, statusText, headers,
+                        body != null ? body.toString(StandardCharsets.UTF_8) : null, failedPositions);
+                }
+                return response;
+            };
+        }
+
+        /**
+         * Returns a BitSet where bit i is set if item i failed and was not allowlisted, or null if the
+         * response could not be parsed.
+         */
+        public BitSet getFailedPositions(DocumentExceptionAllowlist allowlist) {
+            if (failedPositions != null) {
+                return failedPositions;
+            }
+            return body != null ? BulkResponseParser.getFailedPositions(body, allowlist) : null;
         }
 
         public boolean hasBadStatusCode() {
@@ -646,6 +822,10 @@ public abstract class OpenSearchClient {
         }
 
         public boolean hasFailedOperations() {
+            if (body == null) {
+                // Decoded from bytes: only a parsed response with no failed items counts as a success
+                return failedPositions == null || !failedPositions.isEmpty();
+            }
             // The OpenSearch Bulk API response body is JSON and contains a top-level "errors" field that indicates
             // whether any of the individual operations in the bulk request failed. Rather than marshalling the entire
             // response as JSON, just check for the string value.
@@ -661,6 +841,9 @@ public abstract class OpenSearchClient {
         }
 
         public List<String> getSuccessfulDocs(DocumentExceptionAllowlist allowlist) {
+            if (body == null) {
+                throw new IllegalStateException("The body of this bulk response was not retained");
+            }
             try {
                 return BulkResponseParser.findSuccessDocs(body, allowlist);
             } catch (IOException ioe) {
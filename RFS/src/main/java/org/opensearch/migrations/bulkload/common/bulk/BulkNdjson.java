@@ -11,15 +11,20 @@ import java.util.Map;
 import java.util.Objects;
 
 import org.opensearch.migrations.bulkload.common.ObjectMapperFactory;
+import org.opensearch.migrations.bulkload.common.bulk.metadata.BaseMetadata;
 import org.opensearch.migrations.bulkload.common.bulk.operations.BaseOperationMeta;
-import org.opensearch.migrations.bulkload.common.bulk.operations.DeleteOperationMeta;
-import org.opensearch.migrations.bulkload.common.bulk.operations.IndexOperationMeta;
 import org.opensearch.migrations.bulkload.pipeline.model.Document;
 
 import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufOutputStream;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.UnpooledByteBufAllocator;
 import lombok.Getter;
 import lombok.SneakyThrows;
 import lombok.experimental.UtilityClass;
@@ -32,6 +37,7 @@ public final class BulkNdjson {
     private static final ObjectMapper OBJECT_MAPPER = ObjectMapperFactory.createDefaultMapper();
     private static final JsonFactory JSON_FACTORY = new JsonFactory();
     private static final byte[] NEWLINE_BYTES = "\n".getBytes(StandardCharsets.UTF_8);
+    private static final int ACTION_LINE_OVERHEAD_BYTES = 48;
 
     /**
      * Write a single operation to an output stream in NDJSON format.
@@ -50,8 +56,27 @@ public final class BulkNdjson {
         // optional source/payload
         if (op.isIncludeDocument() && op.getDocument() != null) {
             out.write(NEWLINE_BYTES);
-            out.write(mapper.writeValueAsBytes(op.getDocument()));
+            var unparsedSource = op.getDocument() instanceof LazyJsonDocument lazy ? lazy.unparsedSource() : null;
+            if (unparsedSource != null && !containsLineBreak(unparsedSource)) {
+                // Untouched by any transformer, so the original source can be written as-is
+                validateJsonBytes(unparsedSource);
+                out.write(unparsedSource);
+            } else {
+                out.write(mapper.writeValueAsBytes(op.getDocument()));
+            }
+        }
+    }
+
+    /**
+     * Line breaks can only occur in JSON as whitespace between tokens, but would split an NDJSON line.
+     */
+    private static boolean containsLineBreak(byte[] bytes) {
+        for (byte b : bytes) {
+            if (b == '\n' || b == '\r') {
+                return true;
+            }
         }
+        return false;
     }
 
     /**
@@ -87,6 +112,66 @@ public final class BulkNdjson {
         }
     }
 
+    /**
+     * Check raw source bytes according to {@code mode} before they are written into a bulk body.
+     *
+     * @return whether the source has line breaks between its tokens, which would split the NDJSON line
+     * unless the source is rewritten onto one line
+     */
+    static boolean validateSource(byte[] bytes, SourceValidationMode mode) throws IOException {
+        return switch (mode) {
+            case FULL -> {
+                validateJsonBytes(bytes);
+                yield containsLineBreak(bytes);
+            }
+            case STRUCTURAL -> validateJsonStructure(bytes);
+            // the caller vouches for the source
+            case TRUST -> false;
+        };
+    }
+
+    /**
+     * Single pass over the bytes that rejects raw line breaks inside strings (which are invalid JSON) and
+     * unbalanced strings, objects or arrays (which indicate a truncated source). It does not check tokens,
+     * so it accepts some invalid JSON that {@link #validateJsonBytes} would reject.
+     *
+     * @return whether there are line breaks between tokens, e.g. in a pretty-printed source
+     */
+    static boolean validateJsonStructure(byte[] bytes) throws IOException {
+        int depth = 0;
+        boolean inString = false;
+        boolean spansLines = false;
+        for (int i = 0; i < bytes.length; i++) {
+            byte b = bytes[i];
+            if (b == '\n' || b == '\r') {
+                if (inString) {
+                    throw new IOException("Raw source bytes contain a line break inside a string at offset " + i);
+                }
+                spansLines = true;
+            } else if (inString) {
+                if (b == '\\') {
+                    // an escaped line break is still a raw one
+                    i++;
+                    if (i < bytes.length && (bytes[i] == '\n' || bytes[i] == '\r')) {
+                        throw new IOException("Raw source bytes contain a line break inside a string at offset " + i);
+                    }
+                } else if (b == '"') {
+                    inString = false;
+                }
+            } else if (b == '"') {
+                inString = true;
+            } else if (b == '{' || b == '[') {
+                depth++;
+            } else if ((b == '}' || b == ']') && --depth < 0) {
+                throw new IOException("Raw source bytes close an unopened object or array at offset " + i);
+            }
+        }
+        if (inString || depth != 0) {
+            throw new IOException("Raw source bytes end inside an unterminated string, object or array");
+        }
+        return spansLines;
+    }
+
     /**
      * Write a list of {@link Document} records as raw NDJSON bytes, skipping the
      * byte[]→Map→byte[] round-trip for document bodies.
@@ -94,28 +179,117 @@ public final class BulkNdjson {
      * @param docs       the documents to write
      * @param indexName  the target index name
      * @param stripIds   whether to strip document IDs (for server-generated IDs)
-     * @param mapper     the ObjectMapper to use for action-line serialization
      * @return the raw NDJSON bytes
      */
-    public static byte[] toRawNdjsonBytes(
+    public static byte[] toRawNdjsonBytes(List<? extends Document> docs, String indexName, boolean stripIds) {
+        var buf = toRawNdjsonByteBuf(docs, indexName, stripIds, UnpooledByteBufAllocator.DEFAULT);
+        try {
+            return ByteBufUtil.getBytes(buf);
+        } finally {
+            buf.release();
+        }
+    }
+
+    /**
+     * Write a list of {@link Document} records as NDJSON into a single buffer from {@code allocator}.
+     * Action lines are streamed with a {@link JsonGenerator} straight into the buffer and source bytes are
+     * appended as-is, so with a pooled allocator a batch costs no garbage beyond the generator itself.
+     * The buffer is sized up front from the source lengths to avoid growth copies.
+     *
+     * <p>The caller owns the returned buffer and must release it once the request using it has completed.
+     *
+     * @param docs       the documents to write
+     * @param indexName  the target index name
+     * @param stripIds   whether to strip document IDs (for server-generated IDs)
+     * @param allocator  the allocator to take the body buffer from
+     * @return a heap buffer holding the NDJSON body, with a reference count of one
+     */
+    public static ByteBuf toRawNdjsonByteBuf(
         List<? extends Document> docs,
-        String indexName, boolean stripIds, ObjectMapper mapper
+        String indexName, boolean stripIds, ByteBufAllocator allocator
     ) {
-        try (var baos = new ByteArrayOutputStream()) {
+        return toRawNdjsonByteBuf(docs, indexName, stripIds, SourceValidationMode.FULL, allocator);
+    }
+
+    /**
+     * As {@link #toRawNdjsonByteBuf(List, String, boolean, ByteBufAllocator)}, checking each source
+     * according to {@code validationMode}.
+     */
+    public static ByteBuf toRawNdjsonByteBuf(
+        List<? extends Document> docs,
+        String indexName, boolean stripIds, SourceValidationMode validationMode, ByteBufAllocator allocator
+    ) {
+        var buf = allocator.heapBuffer(estimateRawNdjsonLength(docs, indexName));
+        try (var gen = JSON_FACTORY.createGenerator((OutputStream) new ByteBufOutputStream(buf))) {
+            // Lines are separated explicitly below; the default root separator would add a space
+            gen.setRootValueSeparator(null);
             for (var doc : docs) {
                 String opType = doc.operation() == Document.Operation.DELETE ? "delete" : "index";
-                String docId = stripIds ? null : doc.id();
-                String routing = doc.hints().get(Document.HINT_ROUTING);
-                var meta = doc.operation() == Document.Operation.DELETE
-                    ? DeleteOperationMeta.builder().id(docId).index(indexName).routing(routing).build()
-                    : IndexOperationMeta.builder().id(docId).index(indexName).routing(routing).build();
-                writeRawOperation(opType, meta, doc.source(), baos, mapper);
-                baos.write(NEWLINE_BYTES);
+                writeActionLine(gen, opType, stripIds ? null : doc.id(), indexName,
+                    doc.hints().get(Document.HINT_ROUTING));
+                gen.flush();
+                var source = doc.source();
+                if (source != null && source.length > 0) {
+                    var spansLines = validateSource(source, validationMode);
+                    buf.writeByte('\n');
+                    if (spansLines) {
+                        writeOnOneLine(gen, source);
+                    } else {
+                        buf.writeBytes(source);
+                    }
+                }
+                buf.writeByte('\n');
             }
-            return baos.toByteArray();
         } catch (IOException e) {
+            buf.release();
             throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            buf.release();
+            throw e;
+        }
+        return buf;
+    }
+
+    /**
+     * Re-serialize a source whose tokens are separated by line breaks, so that it fits on its NDJSON line.
+     */
+    private static void writeOnOneLine(JsonGenerator gen, byte[] source) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(source)) {
+            parser.nextToken();
+            gen.copyCurrentStructure(parser);
+        }
+        gen.flush();
+    }
+
+    /**
+     * Write {@code {"<op>":{"_id":...,"_index":...,"routing":...}}} without going through an
+     * {@link ObjectMapper}. Field order matches {@link BaseMetadata}'s property order and null fields are
+     * omitted, so the output is identical to serializing the equivalent {@link BaseOperationMeta}.
+     */
+    static void writeActionLine(JsonGenerator gen, String operationType, String id, String index, String routing)
+        throws IOException {
+        gen.writeStartObject();
+        gen.writeObjectFieldStart(operationType);
+        if (id != null) {
+            gen.writeStringField("_id", id);
+        }
+        if (index != null) {
+            gen.writeStringField("_index", index);
+        }
+        if (routing != null) {
+            gen.writeStringField("routing", routing);
+        }
+        gen.writeEndObject();
+        gen.writeEndObject();
+    }
+
+    private static int estimateRawNdjsonLength(List<? extends Document> docs, String indexName) {
+        long estimate = 0;
+        for (var doc : docs) {
+            // action line with id, index and punctuation, plus the source and both newlines
+            estimate += ACTION_LINE_OVERHEAD_BYTES + indexName.length() + doc.id().length() + doc.sourceLength() + 2L;
         }
+        return (int) Math.min(estimate, Integer.MAX_VALUE - 8L);
     }
 
     /**
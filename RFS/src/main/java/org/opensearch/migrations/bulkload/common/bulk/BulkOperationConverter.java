@@ -2,6 +2,7 @@ package org.opensearch.migrations.bulkload.common.bulk;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 import org.opensearch.migrations.bulkload.common.ObjectMapperFactory;
@@ -17,11 +18,15 @@ import lombok.experimental.UtilityClass;
  * Converts pipeline IR {@link Document} to bulk API {@link BulkOperationSpec}.
  * Single source of truth for this conversion — used by both {@code OpenSearchClient}
  * and {@code OpenSearchDocumentSink}.
+ *
+ * <p>Also converts to and from the map form of a {@link BulkOperationSpec} that document transformers
+ * operate on, without copying the document body in either direction.
  */
 @UtilityClass
 public class BulkOperationConverter {
 
     private static final ObjectMapper OBJECT_MAPPER = ObjectMapperFactory.createDefaultMapper();
+    private static final String DOCUMENT_KEY = "document";
 
     /**
      * Convert a {@link Document} to a {@link BulkOperationSpec} for the given index.
@@ -36,6 +41,45 @@ public class BulkOperationConverter {
             throw new UncheckedIOException(e);
         }
 
+        return toBulkOperation(doc, indexName, document);
+    }
+
+    /**
+     * Convert a {@link Document} to the map form of its {@link BulkOperationSpec} for a transformer. The
+     * source is wrapped in a {@link LazyJsonDocument}, so it is only parsed if the transformer reads it.
+     */
+    public static Map<String, Object> toTransformInput(Document doc, String indexName) {
+        Map<String, Object> asMap = OBJECT_MAPPER.convertValue(toBulkOperation(doc, indexName, null),
+            new TypeReference<LinkedHashMap<String, Object>>() {});
+        asMap.put(DOCUMENT_KEY, doc.source() != null ? new LazyJsonDocument(doc.source()) : new LinkedHashMap<>());
+        return asMap;
+    }
+
+    /**
+     * Convert one element of a transformer's output back to a {@link BulkOperationSpec}. Only the
+     * operation fields go through Jackson; the document map the transformer returned is used as it is.
+     *
+     * @throws IllegalArgumentException if the element or its document is not a map
+     */
+    @SuppressWarnings("unchecked")
+    public static BulkOperationSpec fromTransformOutput(Object transformed) {
+        if (!(transformed instanceof Map<?, ?> transformedMap)) {
+            throw new IllegalArgumentException("Transformed bulk operation must be a map, but was "
+                + (transformed == null ? "null" : transformed.getClass().getName()));
+        }
+        var fields = new LinkedHashMap<>((Map<String, Object>) transformedMap);
+        var document = fields.remove(DOCUMENT_KEY);
+        var op = OBJECT_MAPPER.convertValue(fields, BulkOperationSpec.class);
+        if (document instanceof Map<?, ?> documentMap) {
+            op.setDocument((Map<String, Object>) documentMap);
+        } else if (document != null) {
+            throw new IllegalArgumentException("Transformed bulk operation document must be a map, but was "
+                + document.getClass().getName());
+        }
+        return op;
+    }
+
+    private static BulkOperationSpec toBulkOperation(Document doc, String indexName, Map<String, Object> document) {
         String routing = doc.hints().get(Document.HINT_ROUTING);
         String type = doc.hints().get(Document.HINT_TYPE);
 
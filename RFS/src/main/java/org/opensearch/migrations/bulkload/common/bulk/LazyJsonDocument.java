@@ -0,0 +1,103 @@
+package org.opensearch.migrations.bulkload.common.bulk;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.AbstractMap;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.opensearch.migrations.bulkload.common.ObjectMapperFactory;
+import org.opensearch.migrations.transform.ILazyJsonObject;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * A document source that is parsed into a map only when a transformer first reads or changes it.
+ * Until then {@link BulkNdjson} writes the original source bytes, so documents a transformer passes
+ * through untouched skip the byte[]→Map→byte[] round-trip.
+ *
+ * <p>Not thread-safe, like the maps it stands in for.
+ */
+public final class LazyJsonDocument extends AbstractMap<String, Object> implements ILazyJsonObject {
+    private static final ObjectMapper OBJECT_MAPPER = ObjectMapperFactory.createDefaultMapper();
+
+    private final byte[] source;
+    private LinkedHashMap<String, Object> parsed;
+
+    public LazyJsonDocument(byte[] source) {
+        this.source = source;
+    }
+
+    /**
+     * @return the original source bytes, or null once the document has been parsed
+     */
+    public byte[] unparsedSource() {
+        return parsed == null ? source : null;
+    }
+
+    @Override
+    public boolean isMaterialized() {
+        return parsed != null;
+    }
+
+    private Map<String, Object> parsed() {
+        if (parsed == null) {
+            LinkedHashMap<String, Object> value;
+            try {
+                value = OBJECT_MAPPER.readValue(source, new TypeReference<>() {});
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            parsed = value != null ? value : new LinkedHashMap<>();
+        }
+        return parsed;
+    }
+
+    @Override
+    public int size() {
+        return parsed().size();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return parsed().containsKey(key);
+    }
+
+    @Override
+    public Object get(Object key) {
+        return parsed().get(key);
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        return parsed().put(key, value);
+    }
+
+    @Override
+    public Object remove(Object key) {
+        return parsed().remove(key);
+    }
+
+    @Override
+    public void clear() {
+        parsed().clear();
+    }
+
+    @Override
+    public Set<String> keySet() {
+        return parsed().keySet();
+    }
+
+    @Override
+    public Collection<Object> values() {
+        return parsed().values();
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return parsed().entrySet();
+    }
+}
@@ -0,0 +1,23 @@
+package org.opensearch.migrations.bulkload.common.bulk;
+
+/**
+ * How much checking raw document source bytes get before they are written into a bulk body.
+ * A source that is not a single line of JSON would desynchronise the NDJSON framing of the whole
+ * request, so the cost of checking is traded against how far the source can be trusted.
+ */
+public enum SourceValidationMode {
+    /** Tokenise every source with Jackson's streaming parser, re-serializing any that span lines. */
+    FULL,
+    /**
+     * A single allocation-free pass that rejects line breaks inside strings and unbalanced brackets or strings.
+     * Catches truncated sources without the cost of full tokenisation; sources with line breaks between their
+     * tokens are re-serialized onto one line, as with {@link #FULL}.
+     */
+    STRUCTURAL,
+    /**
+     * Write sources as-is. Appropriate for snapshot {@code _source}, which the source cluster already
+     * parsed when the document was indexed, as long as clients did not send pretty-printed documents;
+     * a line break in a trusted source fails the bulk request on the target instead of here.
+     */
+    TRUST
+}
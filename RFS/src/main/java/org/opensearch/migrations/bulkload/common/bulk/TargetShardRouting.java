@@ -0,0 +1,88 @@
+package org.opensearch.migrations.bulkload.common.bulk;
+
+/**
+ * Reproduces the target cluster's document-to-shard routing for one index, so that a bulk request can be
+ * limited to documents that land on the same primary.
+ *
+ * <p>Mirrors OpenSearch's {@code OperationRouting}: the routing value (or the {@code _id} when there is none) is
+ * hashed with the 32-bit x86 variant of murmur3 over its UTF-16 code units, offset by the {@code _id}'s hash
+ * within the routing partition for partitioned indices, and scaled down from the routing shard count to the
+ * primary shard count.
+ *
+ * @param numberOfShards       {@code index.number_of_shards}
+ * @param routingNumShards     the index's {@code routing_num_shards} from the cluster state
+ * @param routingPartitionSize {@code index.routing_partition_size}, 1 when the index is not partitioned
+ */
+public record TargetShardRouting(int numberOfShards, int routingNumShards, int routingPartitionSize) {
+    /** Returned by {@link #shardFor} when the target will choose the document's id, and so its shard. */
+    public static final int UNKNOWN_SHARD = -1;
+
+    public TargetShardRouting {
+        if (numberOfShards < 1) {
+            throw new IllegalArgumentException("numberOfShards must be >= 1, got " + numberOfShards);
+        }
+        if (routingNumShards < numberOfShards || routingNumShards % numberOfShards != 0) {
+            throw new IllegalArgumentException("routingNumShards (" + routingNumShards
+                + ") must be a multiple of numberOfShards (" + numberOfShards + ")");
+        }
+        if (routingPartitionSize < 1) {
+            throw new IllegalArgumentException("routingPartitionSize must be >= 1, got " + routingPartitionSize);
+        }
+    }
+
+    /**
+     * @param id      the document id, or null when the target generates it
+     * @param routing the custom routing value, or null
+     * @return the primary shard number, or {@link #UNKNOWN_SHARD}
+     */
+    public int shardFor(String id, String routing) {
+        String effectiveRouting = routing != null ? routing : id;
+        if (effectiveRouting == null) {
+            return UNKNOWN_SHARD;
+        }
+        int partitionOffset = 0;
+        if (routingPartitionSize > 1) {
+            if (id == null) {
+                return UNKNOWN_SHARD;
+            }
+            partitionOffset = Math.floorMod(murmur3Hash(id), routingPartitionSize);
+        }
+        int hash = murmur3Hash(effectiveRouting) + partitionOffset;
+        return Math.floorMod(hash, routingNumShards) / (routingNumShards / numberOfShards);
+    }
+
+    /**
+     * murmur3_x86_32 with seed 0 over the little-endian bytes of each UTF-16 code unit, computed straight from
+     * the chars: every 4-byte block is exactly two code units.
+     */
+    static int murmur3Hash(String value) {
+        final int c1 = 0xcc9e2d51;
+        final int c2 = 0x1b873593;
+        int h1 = 0;
+        int length = value.length();
+        int pairedEnd = length & ~1;
+        for (int i = 0; i < pairedEnd; i += 2) {
+            int k1 = (value.charAt(i) & 0xFFFF) | (value.charAt(i + 1) << 16);
+            k1 *= c1;
+            k1 = Integer.rotateLeft(k1, 15);
+            k1 *= c2;
+            h1 ^= k1;
+            h1 = Integer.rotateLeft(h1, 13);
+            h1 = h1 * 5 + 0xe6546b64;
+        }
+        if (pairedEnd != length) {
+            int k1 = value.charAt(pairedEnd) & 0xFFFF;
+            k1 *= c1;
+            k1 = Integer.rotateLeft(k1, 15);
+            k1 *= c2;
+            h1 ^= k1;
+        }
+        h1 ^= length * 2;
+        h1 ^= h1 >>> 16;
+        h1 *= 0x85ebca6b;
+        h1 ^= h1 >>> 13;
+        h1 *= 0xc2b2ae35;
+        h1 ^= h1 >>> 16;
+        return h1;
+    }
+}
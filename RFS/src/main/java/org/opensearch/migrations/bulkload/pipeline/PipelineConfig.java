@@ -12,11 +12,15 @@ import org.opensearch.migrations.bulkload.pipeline.source.DocumentSource;
  * @param maxDocsPerBatch  max documents per bulk batch
  * @param maxBytesPerBatch max bytes per bulk batch
  * @param batchConcurrency max concurrent bulk writes in flight
+ * @param adaptiveBatching adaptive batching settings, or null for fixed batching
+ * @param batchGroupingWindow batches' worth of documents regrouped by the sink's grouping key, or 0
  */
 public record PipelineConfig(
     DocumentSource source,
     DocumentSink sink,
     int maxDocsPerBatch,
     long maxBytesPerBatch,
-    int batchConcurrency
+    int batchConcurrency,
+    AdaptiveBatchingConfig adaptiveBatching,
+    int batchGroupingWindow
 ) {}
@@ -0,0 +1,51 @@
+package org.opensearch.migrations.bulkload.pipeline.adapter;
+
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+import org.opensearch.migrations.bulkload.pipeline.model.BatchResult;
+import org.opensearch.migrations.bulkload.pipeline.model.CollectionMetadata;
+import org.opensearch.migrations.bulkload.pipeline.model.Document;
+import org.opensearch.migrations.bulkload.pipeline.sink.DocumentSink;
+import org.opensearch.migrations.bulkload.workcoordination.ClusterThroughputGovernor;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link DocumentSink} decorator that holds each batch until the {@link ClusterThroughputGovernor} admits its
+ * bytes, then reports how the write went so that the shared budget can follow the target's capacity.
+ */
+public class GovernedDocumentSink implements DocumentSink {
+    private final DocumentSink delegate;
+    private final ClusterThroughputGovernor governor;
+
+    public GovernedDocumentSink(DocumentSink delegate, ClusterThroughputGovernor governor) {
+        this.delegate = delegate;
+        this.governor = governor;
+    }
+
+    @Override
+    public Mono<Void> createCollection(CollectionMetadata metadata) {
+        return delegate.createCollection(metadata);
+    }
+
+    @Override
+    public Mono<BatchResult> writeBatch(String collectionName, List<Document> batch) {
+        long bytesInBatch = batch.stream()
+            .mapToLong(Document::sourceLength)
+            .sum();
+        return governor.acquire(bytesInBatch)
+            .then(Mono.defer(() -> delegate.writeBatch(collectionName, batch)))
+            .doOnNext(result -> governor.recordBulkOutcome(result.retriedAttempts(), result.throttled()));
+    }
+
+    @Override
+    public Mono<ToIntFunction<Document>> batchGrouping(String collectionName) {
+        return delegate.batchGrouping(collectionName);
+    }
+
+    @Override
+    public void close() throws Exception {
+        delegate.close();
+    }
+}
@@ -1,8 +1,12 @@
 package org.opensearch.migrations.bulkload.pipeline.adapter;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
 import java.util.stream.Collectors;
 
 import org.opensearch.migrations.bulkload.common.DocumentExceptionAllowlist;
@@ -10,6 +14,8 @@ import org.opensearch.migrations.bulkload.common.ObjectMapperFactory;
 import org.opensearch.migrations.bulkload.common.OpenSearchClient;
 import org.opensearch.migrations.bulkload.common.bulk.BulkOperationConverter;
 import org.opensearch.migrations.bulkload.common.bulk.BulkOperationSpec;
+import org.opensearch.migrations.bulkload.common.bulk.SourceValidationMode;
+import org.opensearch.migrations.bulkload.common.bulk.TargetShardRouting;
 import org.opensearch.migrations.bulkload.pipeline.model.BatchResult;
 import org.opensearch.migrations.bulkload.pipeline.model.CollectionMetadata;
 import org.opensearch.migrations.bulkload.pipeline.model.Document;
@@ -31,6 +37,9 @@ import reactor.core.scheduler.Schedulers;
  *
  * <p>Supports optional document transformation via {@link IJsonTransformer} and
  * configurable exception allowlisting for idempotent migrations.
+ *
+ * <p>When shard-aware batching is enabled, {@link #batchGrouping} groups documents by the primary shard of
+ * the target index they route to, using the index's routing settings read from the target's cluster state.
  */
 @Slf4j
 public class OpenSearchDocumentSink implements DocumentSink {
@@ -42,6 +51,9 @@ public class OpenSearchDocumentSink implements DocumentSink {
     private final boolean allowServerGeneratedIds;
     private final DocumentExceptionAllowlist allowlist;
     private final Supplier<IRfsContexts.IRequestContext> requestContextSupplier;
+    private final SourceValidationMode sourceValidationMode;
+    private final boolean shardAwareBatching;
+    private final Map<String, Mono<Optional<TargetShardRouting>>> shardRoutingByIndex = new ConcurrentHashMap<>();
 
     public OpenSearchDocumentSink(
         OpenSearchClient client,
@@ -49,12 +61,47 @@ public class OpenSearchDocumentSink implements DocumentSink {
         boolean allowServerGeneratedIds,
         DocumentExceptionAllowlist allowlist,
         Supplier<IRfsContexts.IRequestContext> requestContextSupplier
+    ) {
+        this(client, transformerSupplier, allowServerGeneratedIds, allowlist, requestContextSupplier,
+            SourceValidationMode.FULL);
+    }
+
+    /**
+     * @param sourceValidationMode how raw source bytes are checked on the no-transform fast path.
+     *                             Sources that a transformer reads are re-serialized, and those it
+     *                             leaves untouched are fully validated.
+     */
+    public OpenSearchDocumentSink(
+        OpenSearchClient client,
+        Supplier<IJsonTransformer> transformerSupplier,
+        boolean allowServerGeneratedIds,
+        DocumentExceptionAllowlist allowlist,
+        Supplier<IRfsContexts.IRequestContext> requestContextSupplier,
+        SourceValidationMode sourceValidationMode
+    ) {
+        this(client, transformerSupplier, allowServerGeneratedIds, allowlist, requestContextSupplier,
+            sourceValidationMode, false);
+    }
+
+    /**
+     * @param shardAwareBatching whether to offer the target shard of each document as its batch grouping key
+     */
+    public OpenSearchDocumentSink(
+        OpenSearchClient client,
+        Supplier<IJsonTransformer> transformerSupplier,
+        boolean allowServerGeneratedIds,
+        DocumentExceptionAllowlist allowlist,
+        Supplier<IRfsContexts.IRequestContext> requestContextSupplier,
+        SourceValidationMode sourceValidationMode,
+        boolean shardAwareBatching
     ) {
         this.client = client;
         this.transformer = transformerSupplier != null ? transformerSupplier.get() : null;
         this.allowServerGeneratedIds = allowServerGeneratedIds;
         this.allowlist = allowlist != null ? allowlist : DocumentExceptionAllowlist.empty();
         this.requestContextSupplier = requestContextSupplier;
+        this.sourceValidationMode = sourceValidationMode != null ? sourceValidationMode : SourceValidationMode.FULL;
+        this.shardAwareBatching = shardAwareBatching;
     }
 
     @Override
@@ -98,33 +145,61 @@ public class OpenSearchDocumentSink implements DocumentSink {
         if (transformer == null) {
             // Fast path: skip byte[]→Map→byte[] round-trip, write raw source bytes directly
             bulkMono = client.sendBulkRequestRaw(collectionName, batch,
-                requestContext, allowServerGeneratedIds, allowlist);
+                requestContext, allowServerGeneratedIds, allowlist, sourceValidationMode);
         } else {
-            var bulkOps = batch.stream()
-                .map(doc -> BulkOperationConverter.fromDocument(doc, collectionName))
-                .collect(Collectors.toList());
-            List<BulkOperationSpec> opsToSend = applyTransformation(bulkOps);
+            List<BulkOperationSpec> opsToSend = applyTransformation(collectionName, batch);
             bulkMono = client.sendBulkRequest(collectionName, opsToSend,
                 requestContext, allowServerGeneratedIds, allowlist);
         }
 
-        return bulkMono.then(Mono.just(new BatchResult(batch.size(), bytesInBatch)));
+        return bulkMono
+            .map(resp -> new BatchResult(batch.size(), bytesInBatch, resp.getRetriedAttempts(), resp.isThrottled()))
+            .defaultIfEmpty(new BatchResult(batch.size(), bytesInBatch));
     }
 
-    @SuppressWarnings("unchecked")
-    private List<BulkOperationSpec> applyTransformation(List<BulkOperationSpec> ops) {
-        if (transformer == null) {
-            return ops;
+    /**
+     * Groups documents by the primary shard they route to. Server-generated ids are routed by the target,
+     * so there is nothing to group by; a transformer that rewrites ids or routing only makes the grouping
+     * less effective. If the routing settings can't be read, batches are left ungrouped.
+     */
+    @Override
+    public Mono<ToIntFunction<Document>> batchGrouping(String collectionName) {
+        if (!shardAwareBatching || allowServerGeneratedIds) {
+            return Mono.empty();
         }
-        var asMaps = ops.stream()
-            .map(op -> OBJECT_MAPPER.convertValue(op, Map.class))
-            .toList();
-        var transformed = transformer.transformJson(asMaps);
-        if (transformed instanceof List) {
-            return ((List<Map<String, Object>>) transformed).stream()
-                .map(item -> OBJECT_MAPPER.convertValue(item, BulkOperationSpec.class))
-                .collect(Collectors.toList());
+        return shardRoutingByIndex.computeIfAbsent(collectionName, indexName ->
+                Mono.fromCallable(() -> client.getShardRouting(indexName))
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .onErrorResume(e -> {
+                        log.atWarn().setCause(e)
+                            .setMessage("Unable to read shard routing for index {}; bulk batches will not be grouped by shard")
+                            .addArgument(indexName)
+                            .log();
+                        return Mono.just(Optional.empty());
+                    })
+                    .cache())
+            .filter(Optional::isPresent)
+            .map(Optional::get)
+            .filter(routing -> routing.numberOfShards() > 1)
+            .map(OpenSearchDocumentSink::shardOf);
+    }
+
+    private static ToIntFunction<Document> shardOf(TargetShardRouting routing) {
+        return doc -> routing.shardFor(doc.id(), doc.hints().get(Document.HINT_ROUTING));
+    }
+
+    /**
+     * Transforms the batch with one call to the transformer. Sources are handed over as
+     * {@link org.opensearch.migrations.bulkload.common.bulk.LazyJsonDocument}s, so a document whose body the
+     * transformer never reads is neither parsed nor re-serialized on its way to the bulk request.
+     */
+    private List<BulkOperationSpec> applyTransformation(String collectionName, List<Document> batch) {
+        var inputs = new ArrayList<Object>(batch.size());
+        for (var doc : batch) {
+            inputs.add(BulkOperationConverter.toTransformInput(doc, collectionName));
         }
-        return ops;
+        return transformer.transformJsonBatch(inputs).stream()
+            .map(BulkOperationConverter::fromTransformOutput)
+            .collect(Collectors.toList());
     }
 }
@@ -72,6 +72,10 @@ public class OpenSearchWorkCoordinator_ES_6_8 extends OpenSearchWorkCoordinator
             return indexName + "/doc/" + workItemId + "/_update?refresh=true";
         }
 
+        protected String getPathForUpdatesWithoutRefresh(String docId) {
+            return indexName + "/doc/" + docId + "/_update";
+        }
+
         protected String getPathForBulkUpdates() {
             return indexName + "/doc/_bulk?refresh=true";
         }
@@ -72,6 +72,10 @@ public class OpenSearchWorkCoordinator_OS_2_11 extends OpenSearchWorkCoordinator
             return indexName + "/_update/" + workItemId + "?refresh=true";
         }
 
+        protected String getPathForUpdatesWithoutRefresh(String docId) {
+            return indexName + "/_update/" + docId;
+        }
+
         protected String getPathForBulkUpdates() {
             return indexName + "/_bulk?refresh=true";
         }
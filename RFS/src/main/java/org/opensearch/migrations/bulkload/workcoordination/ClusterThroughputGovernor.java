@@ -0,0 +1,103 @@
+package org.opensearch.migrations.bulkload.workcoordination;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Paces this worker's bulk writes against a byte budget shared by every worker in the migration.
+ *
+ * <p>Bytes are leased from the coordination index in chunks and spent locally. A batch may start as long as
+ * the local balance is positive, even if it is larger than the balance; the overdraft is paid off by later
+ * leases, so batches larger than a chunk are never starved. When the cluster-wide budget for the current
+ * second is used up, callers wait for the next second.
+ *
+ * <p>Each lease also reports the bulk requests and target rejections seen since the previous one, which is
+ * what the coordination index uses to raise or lower the shared budget.
+ *
+ * <p>The governor fails open: if the coordination index cannot be reached, writes proceed unthrottled.
+ */
+@Slf4j
+public class ClusterThroughputGovernor {
+    static final Duration MAX_WAIT_JITTER = Duration.ofMillis(200);
+
+    @FunctionalInterface
+    interface ThroughputLeaser {
+        OpenSearchWorkCoordinator.ThroughputLease lease(long requestedBytes, long bulkRequests, long bulkRejections)
+            throws IOException;
+    }
+
+    private final ThroughputLeaser leaser;
+    private final long leaseChunkBytes;
+    private final AtomicLong unreportedRequests = new AtomicLong();
+    private final AtomicLong unreportedRejections = new AtomicLong();
+    // Guarded by this; negative while a large batch is being paid off
+    private long availableBytes;
+
+    public ClusterThroughputGovernor(OpenSearchWorkCoordinator coordinator, ThroughputGovernorSettings settings) {
+        this((requested, requests, rejections) ->
+            coordinator.leaseThroughput(requested, requests, rejections, settings), settings.leaseChunkBytes());
+    }
+
+    ClusterThroughputGovernor(ThroughputLeaser leaser, long leaseChunkBytes) {
+        this.leaser = leaser;
+        this.leaseChunkBytes = leaseChunkBytes;
+    }
+
+    /** Completes once this worker may send a bulk request of {@code bytes}. */
+    public Mono<Void> acquire(long bytes) {
+        return Mono.fromCallable(() -> tryAcquire(bytes))
+            .subscribeOn(Schedulers.boundedElastic())
+            .filter(Boolean::booleanValue)
+            .repeatWhenEmpty(attempts -> attempts.concatMap(i -> Mono.delay(untilNextWindow())))
+            .then();
+    }
+
+    /** Records the outcome of a bulk write so that it is reported with the next lease. */
+    public void recordBulkOutcome(int retriedAttempts, boolean throttled) {
+        unreportedRequests.addAndGet(1L + retriedAttempts);
+        if (throttled) {
+            unreportedRejections.incrementAndGet();
+        }
+    }
+
+    synchronized boolean tryAcquire(long bytes) {
+        if (availableBytes <= 0) {
+            long requests = unreportedRequests.getAndSet(0);
+            long rejections = unreportedRejections.getAndSet(0);
+            try {
+                var lease = leaser.lease(Math.max(bytes, leaseChunkBytes) - availableBytes, requests, rejections);
+                availableBytes += lease.grantedBytes();
+                log.atDebug().setMessage("Leased {} bulk bytes from a cluster budget of {} bytes/s")
+                    .addArgument(lease::grantedBytes)
+                    .addArgument(lease::clusterBytesPerSecond)
+                    .log();
+            } catch (Exception e) {
+                unreportedRequests.addAndGet(requests);
+                unreportedRejections.addAndGet(rejections);
+                log.atWarn().setCause(e)
+                    .setMessage("Unable to lease bulk throughput from the coordination index; proceeding unthrottled")
+                    .log();
+                // Spend a chunk unmetered rather than retrying the coordination index for every batch
+                availableBytes = Math.max(bytes, leaseChunkBytes);
+            }
+            if (availableBytes <= 0) {
+                return false;
+            }
+        }
+        availableBytes -= bytes;
+        return true;
+    }
+
+    private static Duration untilNextWindow() {
+        long millisIntoSecond = System.currentTimeMillis() % 1000;
+        // Jittered so that waiting workers don't all contend for the governor document at once
+        return Duration.ofMillis(1000 - millisIntoSecond
+            + ThreadLocalRandom.current().nextLong(MAX_WAIT_JITTER.toMillis() + 1));
+    }
+}
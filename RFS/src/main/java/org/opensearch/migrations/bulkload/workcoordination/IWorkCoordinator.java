@@ -232,11 +232,18 @@ public interface IWorkCoordinator extends AutoCloseable {
             String indexName;
             Integer shardNumber;
             Long startingDocId;
+            /** Exclusive upper bound for a sub-partition of the shard, or null to read to the end of the shard */
+            Long endingDocId;
 
             public WorkItem(String indexName, Integer shardNumber, Long startingDocId) {
+                this(indexName, shardNumber, startingDocId, null);
+            }
+
+            public WorkItem(String indexName, Integer shardNumber, Long startingDocId, Long endingDocId) {
                 this.indexName = indexName;
                 this.shardNumber = shardNumber;
                 this.startingDocId = startingDocId;
+                this.endingDocId = endingDocId;
             }
 
             /**
@@ -244,7 +251,8 @@ public interface IWorkCoordinator extends AutoCloseable {
              * The index name is base64url-encoded (no padding) so it cannot collide with the
              * {@link #SEPARATOR} regardless of what characters the source index name contains
              * (see opensearch-project/opensearch-migrations#2880).  The {@code shard_setup}
-             * sentinel is preserved verbatim so existing bootstrap logic is unaffected.
+             * sentinel is preserved verbatim so existing bootstrap logic is unaffected.  The ending doc id is
+             * only appended for sub-partitions, so whole-shard ids keep their original form.
              */
             @Override
             public String toString() {
@@ -258,6 +266,9 @@ public interface IWorkCoordinator extends AutoCloseable {
                 if (startingDocId != null) {
                     name += SEPARATOR + startingDocId;
                 }
+                if (endingDocId != null) {
+                    name += SEPARATOR + endingDocId;
+                }
                 return name;
             }
 
@@ -266,7 +277,7 @@ public interface IWorkCoordinator extends AutoCloseable {
                     return new WorkItem(input, null, null);
                 }
                 var components = input.split(SEPARATOR + "+");
-                if (components.length != 3) {
+                if (components.length != 3 && components.length != 4) {
                     throw new IllegalArgumentException("Illegal work item: '" + input + "'");
                 }
                 final String indexName;
@@ -276,7 +287,8 @@ public interface IWorkCoordinator extends AutoCloseable {
                     throw new IllegalArgumentException("Illegal work item: '" + input
                             + "' (index name segment is not valid base64url)", e);
                 }
-                return new WorkItem(indexName, Integer.parseInt(components[1]), Long.parseLong(components[2]));
+                return new WorkItem(indexName, Integer.parseInt(components[1]), Long.parseLong(components[2]),
+                    components.length == 4 ? Long.parseLong(components[3]) : null);
             }
         }
     }
@@ -92,6 +92,17 @@ public abstract class OpenSearchWorkCoordinator implements IWorkCoordinator {
     public static final String SUCCESSOR_ITEMS_FIELD_NAME = "successor_items";
     public static final String SUCCESSOR_ITEM_DELIMITER = ",";
 
+    /**
+     * Id of the document that holds the cluster-wide bulk throughput budget.  It has no expiration field,
+     * so none of the work item queries ever match it.
+     */
+    public static final String THROUGHPUT_GOVERNOR_DOC_ID = "throughput_governor";
+    static final int THROUGHPUT_LEASE_RETRY_ON_CONFLICT = 5;
+    // Rate adjustments applied once per one-second window, based on the previous window's reports
+    static final int THROUGHPUT_REJECTION_PERCENT_THRESHOLD = 1;
+    static final int THROUGHPUT_DECREASE_PERCENT = 70;
+    static final int THROUGHPUT_INCREASE_STEPS = 20;
+
     public static final int CREATED_RESPONSE_CODE = 201;
     public static final int CONFLICT_RESPONSE_CODE = 409;
 
@@ -277,6 +288,9 @@ public abstract class OpenSearchWorkCoordinator implements IWorkCoordinator {
 
     protected abstract String getPathForUpdates(String workItemId);
 
+    /** Like {@link #getPathForUpdates} but without forcing a refresh, for documents that are only ever read by id. */
+    protected abstract String getPathForUpdatesWithoutRefresh(String docId);
+
     protected abstract String getPathForBulkUpdates();
 
     protected abstract String getPathForSingleDocumentUpdateByQuery();
@@ -667,6 +681,112 @@ public abstract class OpenSearchWorkCoordinator implements IWorkCoordinator {
             .log();
     }
 
+    /**
+     * @param grantedBytes          bytes of the current second's cluster-wide budget granted to this worker
+     * @param clusterBytesPerSecond the cluster-wide budget for the current second
+     */
+    public record ThroughputLease(long grantedBytes, long clusterBytesPerSecond) {}
+
+    /**
+     * Leases up to {@code requestedBytes} of the current second's cluster-wide bulk byte budget, reporting the
+     * bulk requests and target rejections this worker saw since its previous lease.
+     *
+     * <p>The budget lives in the {@link #THROUGHPUT_GOVERNOR_DOC_ID} document and is maintained by the update
+     * script using the server's clock.  When a new second starts, the previous second's reports from all workers
+     * adjust the budget: it is cut to {@value #THROUGHPUT_DECREASE_PERCENT}% when more than
+     * {@value #THROUGHPUT_REJECTION_PERCENT_THRESHOLD}% of requests were rejected, and otherwise grows by
+     * 1/{@value #THROUGHPUT_INCREASE_STEPS} of the maximum while workers are sending.
+     *
+     * @return the lease, which grants nothing when the budget for this second is used up or the update lost
+     *         too many version conflicts
+     */
+    public ThroughputLease leaseThroughput(
+        long requestedBytes,
+        long bulkRequests,
+        long bulkRejections,
+        ThroughputGovernorSettings settings
+    ) throws IOException {
+        final var leaseThroughputBodyTemplate = "{\n"
+            + "  \"scripted_upsert\": true,\n"
+            + "  \"upsert\": {\n"
+            + "    \"scriptVersion\": \"" + SCRIPT_VERSION_TEMPLATE + "\",\n"
+            + "    \"windowStartSeconds\": 0,\n"
+            + "    \"bytesPerSecond\": {MAX_BYTES_PER_SECOND},\n"
+            + "    \"grantedBytes\": 0,\n"
+            + "    \"bulkRequests\": 0,\n"
+            + "    \"bulkRejections\": 0,\n"
+            + "    \"lastGrantedBytes\": 0\n"
+            + "  },\n"
+            + "  \"script\": {\n"
+            + "    \"lang\": \"painless\",\n"
+            + "    \"params\": { \n"
+            + "      \"requestedBytes\": {REQUESTED_BYTES},\n"
+            + "      \"bulkRequests\": {BULK_REQUESTS},\n"
+            + "      \"bulkRejections\": {BULK_REJECTIONS},\n"
+            + "      \"minBytesPerSecond\": {MIN_BYTES_PER_SECOND},\n"
+            + "      \"maxBytesPerSecond\": {MAX_BYTES_PER_SECOND}\n"
+            + "    },\n"
+            + "    \"source\": \""
+            + "      if (ctx._source.scriptVersion != \\\"" + SCRIPT_VERSION_TEMPLATE + "\\\") {"
+            + "        throw new IllegalArgumentException(\\\"scriptVersion mismatch.  Not all participants are using the same script: sourceVersion=\\\" + ctx._source.scriptVersion);"
+            + "      }"
+            + "      long serverTimeSeconds = System.currentTimeMillis() / 1000;"
+            + "      long minRate = params.minBytesPerSecond;"
+            + "      long maxRate = params.maxBytesPerSecond;"
+            + "      long rate = ctx._source.bytesPerSecond;"
+            + "      if (ctx._source.windowStartSeconds != serverTimeSeconds) {"
+            + "        long requests = ctx._source.bulkRequests;"
+            + "        long rejections = ctx._source.bulkRejections;"
+            + "        if (rejections * 100 > requests * " + THROUGHPUT_REJECTION_PERCENT_THRESHOLD + ") {"
+            + "          rate = rate * " + THROUGHPUT_DECREASE_PERCENT + " / 100;"
+            + "        } else if (requests > 0) {"
+            + "          rate = rate + maxRate / " + THROUGHPUT_INCREASE_STEPS + ";"
+            + "        }"
+            + "        ctx._source.bytesPerSecond = rate < minRate ? minRate : (rate > maxRate ? maxRate : rate);"
+            + "        ctx._source.windowStartSeconds = serverTimeSeconds;"
+            + "        ctx._source.grantedBytes = 0;"
+            + "        ctx._source.bulkRequests = 0;"
+            + "        ctx._source.bulkRejections = 0;"
+            + "      }"
+            + "      ctx._source.bulkRequests += params.bulkRequests;"
+            + "      ctx._source.bulkRejections += params.bulkRejections;"
+            + "      long requested = params.requestedBytes;"
+            + "      long remaining = ctx._source.bytesPerSecond - ctx._source.grantedBytes;"
+            + "      long granted = remaining <= 0 ? 0 : (requested < remaining ? requested : remaining);"
+            + "      ctx._source.grantedBytes += granted;"
+            + "      ctx._source.lastGrantedBytes = granted;"
+            + "\"\n"
+            + "  }\n"
+            + "}";
+
+        var body = leaseThroughputBodyTemplate.replace(SCRIPT_VERSION_TEMPLATE, SCRIPT_VERSION)
+            .replace("{REQUESTED_BYTES}", Long.toString(requestedBytes))
+            .replace("{BULK_REQUESTS}", Long.toString(bulkRequests))
+            .replace("{BULK_REJECTIONS}", Long.toString(bulkRejections))
+            .replace("{MIN_BYTES_PER_SECOND}", Long.toString(settings.minBytesPerSecond()))
+            .replace("{MAX_BYTES_PER_SECOND}", Long.toString(settings.maxBytesPerSecond()));
+
+        var response = httpClient.makeJsonRequest(
+            AbstractedHttpClient.POST_METHOD,
+            getPathForUpdatesWithoutRefresh(THROUGHPUT_GOVERNOR_DOC_ID)
+                + "?retry_on_conflict=" + THROUGHPUT_LEASE_RETRY_ON_CONFLICT + "&_source=true",
+            null,
+            body
+        );
+        if (response.getStatusCode() == CONFLICT_RESPONSE_CODE) {
+            return new ThroughputLease(0, -1);
+        }
+        if ((response.getStatusCode() / 100) != 2) {
+            throw new IllegalStateException("Unexpected response leasing throughput.  Response: "
+                + response.toDiagnosticString());
+        }
+        var governorDoc = objectMapper.readTree(response.getPayloadBytes()).path("get").path(SOURCE_FIELD_NAME);
+        return new ThroughputLease(
+            governorDoc.path("lastGrantedBytes").asLong(),
+            governorDoc.path("bytesPerSecond").asLong()
+        );
+    }
+
     private int numWorkItemsNotYetCompleteInternal(
         Supplier<IWorkCoordinationContexts.IPendingWorkItemsContext> contextSupplier
     ) throws IOException, InterruptedException {
@@ -22,6 +22,14 @@ public class ScopedWorkCoordinator {
         this.leaseExpireTrigger = leaseExpireTrigger;
     }
 
+    /**
+     * Scopes work held by another coordinator, e.g. one acting under a different worker id, to the same
+     * lease expiration trigger.
+     */
+    public ScopedWorkCoordinator withWorkCoordinator(IWorkCoordinator otherWorkCoordinator) {
+        return new ScopedWorkCoordinator(otherWorkCoordinator, leaseExpireTrigger);
+    }
+
     public interface WorkItemGetter {
         @NonNull
         IWorkCoordinator.WorkAcquisitionOutcome tryAcquire(IWorkCoordinator wc);
@@ -0,0 +1,24 @@
+package org.opensearch.migrations.bulkload.workcoordination;
+
+/**
+ * Bounds for the cluster-wide bulk throughput budget shared by all workers through the coordination index.
+ *
+ * @param maxBytesPerSecond the starting and largest budget across all workers
+ * @param minBytesPerSecond the smallest budget that rejection feedback can cut it to
+ * @param leaseChunkBytes   how many bytes a worker asks for at a time; larger chunks mean fewer coordination
+ *                          requests but a less even split of the budget between workers
+ */
+public record ThroughputGovernorSettings(long maxBytesPerSecond, long minBytesPerSecond, long leaseChunkBytes) {
+    public ThroughputGovernorSettings {
+        if (minBytesPerSecond < 1) {
+            throw new IllegalArgumentException("minBytesPerSecond must be >= 1, got " + minBytesPerSecond);
+        }
+        if (maxBytesPerSecond < minBytesPerSecond) {
+            throw new IllegalArgumentException("maxBytesPerSecond (" + maxBytesPerSecond
+                + ") must be >= minBytesPerSecond (" + minBytesPerSecond + ")");
+        }
+        if (leaseChunkBytes < 1) {
+            throw new IllegalArgumentException("leaseChunkBytes must be >= 1, got " + leaseChunkBytes);
+        }
+    }
+}
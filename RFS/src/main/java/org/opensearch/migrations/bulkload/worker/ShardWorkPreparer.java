@@ -3,10 +3,12 @@ package org.opensearch.migrations.bulkload.worker;
 import java.io.IOException;
 import java.time.Duration;
 import java.util.List;
+import java.util.function.Supplier;
 import java.util.stream.IntStream;
 
 import org.opensearch.migrations.bulkload.common.FilterScheme;
 import org.opensearch.migrations.bulkload.pipeline.source.DocumentSource;
+import org.opensearch.migrations.bulkload.tracing.IWorkCoordinationContexts;
 import org.opensearch.migrations.bulkload.workcoordination.IWorkCoordinator;
 import org.opensearch.migrations.bulkload.workcoordination.ScopedWorkCoordinator;
 import org.opensearch.migrations.reindexer.tracing.IDocumentMigrationContexts;
@@ -20,6 +22,10 @@ import lombok.extern.slf4j.Slf4j;
  * This class adds workitemes (leasable mutexes) via the WorkCoordinator so that future
  * runs of the DocumentMigrationBootstrap can pick one of those items and migrate the documents for
  * that section of work.
+ *
+ * <p>Large shards can additionally be split into doc-range sub-partitions with
+ * {@link #splitIntoSubPartitions}; that happens when a shard's work item is first leased, since a
+ * shard's doc count is only known once it has been opened.
  */
 @Slf4j
 public class ShardWorkPreparer {
@@ -86,6 +92,53 @@ public class ShardWorkPreparer {
         }, context::createWorkCompletionContext);
     }
 
+    /**
+     * Creates unassigned work items for every {@code subPartitionDocCount}-doc range of a shard past the one
+     * that {@code startingDocId} falls in, and returns where the leased whole-shard item should stop. Range
+     * boundaries are fixed multiples of {@code subPartitionDocCount}, so a retried or resumed shard item
+     * produces the same ranges again, which the coordinator leaves untouched.
+     *
+     * @param shardDocCount the exclusive upper bound of doc ids in the shard
+     * @return the exclusive ending doc id for the leased item, or {@link Long#MAX_VALUE} if the shard
+     *         fits in a single sub-partition
+     */
+    public static long splitIntoSubPartitions(
+        IWorkCoordinator workCoordinator,
+        String indexName,
+        int shardNumber,
+        long startingDocId,
+        long shardDocCount,
+        long subPartitionDocCount,
+        Supplier<IWorkCoordinationContexts.ICreateUnassignedWorkItemContext> contextSupplier
+    ) throws IOException {
+        if (subPartitionDocCount < 1) {
+            throw new IllegalArgumentException("subPartitionDocCount must be >= 1, got " + subPartitionDocCount);
+        }
+        // A resumed item that already sits on a boundary has nothing left before the next sub-partition
+        long firstEnd = Math.max(subPartitionDocCount,
+            (startingDocId + subPartitionDocCount - 1) / subPartitionDocCount * subPartitionDocCount);
+        if (firstEnd >= shardDocCount) {
+            return Long.MAX_VALUE;
+        }
+        int created = 0;
+        for (long start = firstEnd; start < shardDocCount; start += subPartitionDocCount) {
+            long end = Math.min(start + subPartitionDocCount, shardDocCount);
+            var subPartition = new IWorkCoordinator.WorkItemAndDuration.WorkItem(indexName, shardNumber, start, end);
+            if (workCoordinator.createUnassignedWorkItem(subPartition.toString(), contextSupplier)) {
+                created++;
+            }
+        }
+        log.atInfo()
+            .setMessage("Split shard {} of index {} ({} docs) into sub-partitions of {} docs; created {} new work items")
+            .addArgument(shardNumber)
+            .addArgument(indexName)
+            .addArgument(shardDocCount)
+            .addArgument(subPartitionDocCount)
+            .addArgument(created)
+            .log();
+        return firstEnd;
+    }
+
     @SneakyThrows
     private static void prepareShardWorkItems(
         IWorkCoordinator workCoordinator,
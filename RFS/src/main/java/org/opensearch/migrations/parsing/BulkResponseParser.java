@@ -1,6 +1,7 @@
 package org.opensearch.migrations.parsing;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.BitSet;
 import java.util.List;
@@ -10,6 +11,8 @@ import org.opensearch.migrations.bulkload.common.DocumentExceptionAllowlist;
 import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.experimental.UtilityClass;
@@ -81,24 +84,56 @@ public class BulkResponseParser {
      * If response can't be parsed, returns null to indicate all docs should be retried.
      */
     public static BitSet getFailedPositions(String bulkResponse, DocumentExceptionAllowlist allowlist) {
-        var failedPositions = new BitSet();
-        boolean foundItems = false;
         try (var parser = jsonFactory.createParser(bulkResponse)) {
-            if (parser.nextToken() != JsonToken.START_OBJECT) {
-                return null; // Can't parse - retry all
-            }
-            while (parser.nextToken() != JsonToken.END_OBJECT) {
-                if ("items".equals(parser.currentName())) {
-                    scanItemPositions(parser, failedPositions, allowlist);
-                    foundItems = true;
-                } else {
-                    parser.skipChildren();
-                }
-            }
+            return getFailedPositions(parser, allowlist);
+        } catch (IOException e) {
+            log.warn("Unable to parse bulk response", e);
+            return null; // Can't parse - retry all
+        }
+    }
+
+    /**
+     * As {@link #getFailedPositions(String, DocumentExceptionAllowlist)}, streaming straight over the response
+     * bytes so that the body never has to be decoded into a String. The buffer's reader index is not moved.
+     */
+    public static BitSet getFailedPositions(ByteBuf bulkResponse, DocumentExceptionAllowlist allowlist) {
+        try (var parser = bulkResponse.hasArray()
+            ? jsonFactory.createParser(bulkResponse.array(),
+                bulkResponse.arrayOffset() + bulkResponse.readerIndex(), bulkResponse.readableBytes())
+            : jsonFactory.createParser((InputStream) new ByteBufInputStream(bulkResponse.duplicate()))) {
+            return getFailedPositions(parser, allowlist);
         } catch (IOException e) {
             log.warn("Unable to parse bulk response", e);
             return null; // Can't parse - retry all
         }
+    }
+
+    /**
+     * Walks the response token by token without building a tree. OpenSearch and Elasticsearch write
+     * {@code "errors"} before {@code "items"}, so a successful response is answered after a handful of
+     * tokens without reading any of the per-item results.
+     */
+    private static BitSet getFailedPositions(JsonParser parser, DocumentExceptionAllowlist allowlist) throws IOException {
+        var failedPositions = new BitSet();
+        boolean foundItems = false;
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            return null; // Can't parse - retry all
+        }
+        while (parser.nextToken() != JsonToken.END_OBJECT) {
+            var fieldName = parser.currentName();
+            if ("errors".equals(fieldName)) {
+                if (parser.nextToken() == JsonToken.VALUE_FALSE) {
+                    return failedPositions; // No item failed
+                }
+                parser.skipChildren();
+            } else if ("items".equals(fieldName)) {
+                scanItemPositions(parser, failedPositions, allowlist);
+                foundItems = true;
+            } else {
+                parser.nextToken();
+                parser.skipChildren();
+            }
+        }
         if (!foundItems) {
             return null; // No items field - retry all
         }
@@ -1,10 +1,14 @@
 package org.opensearch.migrations.bulkload.common;
 
+import java.io.IOException;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.opensearch.migrations.Version;
 import org.opensearch.migrations.bulkload.common.bulk.BulkOperationSpec;
@@ -14,7 +18,9 @@ import org.opensearch.migrations.bulkload.common.bulk.operations.IndexOperationM
 import org.opensearch.migrations.bulkload.common.http.CompressionMode;
 import org.opensearch.migrations.bulkload.common.http.ConnectionContext;
 import org.opensearch.migrations.bulkload.common.http.HttpResponse;
+import org.opensearch.migrations.bulkload.common.http.ResponseBodyDecoder;
 import org.opensearch.migrations.bulkload.http.BulkRequestGenerator;
+import org.opensearch.migrations.bulkload.pipeline.model.Document;
 import org.opensearch.migrations.bulkload.http.BulkRequestGenerator.BulkItemResponseEntry;
 import org.opensearch.migrations.bulkload.tracing.IRfsContexts;
 import org.opensearch.migrations.bulkload.tracing.IRfsContexts.ICheckedIdempotentPutRequestContext;
@@ -26,6 +32,8 @@ import com.fasterxml.jackson.core.StreamReadFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.json.JsonMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import lombok.SneakyThrows;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -47,6 +55,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -394,6 +403,93 @@ class OpenSearchClientTest {
         }
     }
 
+    @Test
+    void testBulkRequestRaw_reusesPooledBodyAcrossRetries_andReleasesIt() {
+        var docId = "tt1979320";
+        var bulkSuccess = bulkItemResponse(false, List.of(itemEntry(docId)));
+        var sentBodies = new ArrayList<ByteBuf>();
+        var sentContents = new ArrayList<String>();
+        when(restClient.postAsyncByteBuf(any(), any(), any(), any(), any())).thenAnswer(invocation -> {
+            ByteBuf body = invocation.getArgument(1);
+            ResponseBodyDecoder<?> decoder = invocation.getArgument(4);
+            sentBodies.add(body);
+            sentContents.add(body.toString(StandardCharsets.UTF_8));
+            return sentBodies.size() == 1
+                ? Mono.error(new IOException("connection reset"))
+                : Mono.just(decodeResponse(decoder, bulkSuccess));
+        });
+        doReturn(Retry.fixedDelay(2, Duration.ofMillis(10))).when(openSearchClient).getBulkRetryStrategy();
+
+        var doc = new Document(docId, "{\"field\":\"value\"}".getBytes(StandardCharsets.UTF_8),
+            Document.Operation.UPSERT, Map.of(), Map.of());
+
+        // Action
+        openSearchClient.sendBulkRequestRaw(
+            "testIndex",
+            List.of(doc),
+            mock(IRfsContexts.IRequestContext.class),
+            false,
+            DocumentExceptionAllowlist.empty()
+        ).block();
+
+        // Assertions
+        assertThat(sentBodies.size(), equalTo(2));
+        assertThat(sentBodies.get(1) == sentBodies.get(0), equalTo(true));
+        assertThat(sentContents.get(1), equalTo(sentContents.get(0)));
+        assertThat(sentContents.get(0), containsString("{\"field\":\"value\"}"));
+        assertThat(sentBodies.get(0).refCnt(), equalTo(0));
+        verify(restClient, never()).postAsyncBytes(any(), any(), any(), any());
+    }
+
+    @Test
+    void testBulkRequestRaw_reportsRetriesAndThrottling() {
+        var docId = "tt1979320";
+        var rejected = new HttpResponse(429, "Too Many Requests", null,
+            "{\"error\":{\"type\":\"es_rejected_execution_exception\"},\"status\":429}");
+        var bulkSuccess = bulkItemResponse(false, List.of(itemEntry(docId)));
+        var attempts = new AtomicInteger();
+        when(restClient.postAsyncByteBuf(any(), any(), any(), any(), any())).thenAnswer(invocation -> {
+            ResponseBodyDecoder<?> decoder = invocation.getArgument(4);
+            return Mono.just(decodeResponse(decoder, attempts.getAndIncrement() == 0 ? rejected : bulkSuccess));
+        });
+        doReturn(Retry.fixedDelay(2, Duration.ofMillis(10))).when(openSearchClient).getBulkRetryStrategy();
+
+        var doc = new Document(docId, "{\"field\":\"value\"}".getBytes(StandardCharsets.UTF_8),
+            Document.Operation.UPSERT, Map.of(), Map.of());
+
+        // Action
+        var response = openSearchClient.sendBulkRequestRaw(
+            "testIndex",
+            List.of(doc),
+            mock(IRfsContexts.IRequestContext.class),
+            false,
+            DocumentExceptionAllowlist.empty()
+        ).block();
+
+        // Assertions
+        assertThat(response.getRetriedAttempts(), equalTo(1));
+        assertThat(response.isThrottled(), equalTo(true));
+    }
+
+    @Test
+    void testBulkResponseDecoder_skipsBodyForSuccessfulResponse() {
+        var decoder = OpenSearchClient.BulkResponse.decoder(DocumentExceptionAllowlist.empty());
+
+        var success = decodeResponse(decoder, bulkItemResponse(false, List.of(itemEntry("1"))));
+        assertThat(success.body, equalTo(null));
+        assertThat(success.hasFailedOperations(), equalTo(false));
+
+        var failure = decodeResponse(decoder, bulkItemResponse(true, List.of(itemEntry("1"), itemEntryFailure("2"))));
+        assertThat(failure.hasFailedOperations(), equalTo(true));
+        assertThat(failure.body, containsString("version conflict"));
+        assertThat(failure.getFailedPositions(DocumentExceptionAllowlist.empty()).nextSetBit(0), equalTo(1));
+    }
+
+    private static <T> T decodeResponse(ResponseBodyDecoder<T> decoder, HttpResponse response) {
+        var bytes = Unpooled.wrappedBuffer(response.body.getBytes(StandardCharsets.UTF_8));
+        return decoder.decode(response.statusCode, response.statusText, Map.of(), bytes);
+    }
+
     @Test
     void testNonBulkRequest_doesNotAddGzipHeaders() {
         when(restClient.getAsync(any(), any())).thenReturn(Mono.just(new HttpResponse(404, "", null, "does not exist")));
@@ -0,0 +1,147 @@
+package org.opensearch.migrations.bulkload.common.bulk;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import org.opensearch.migrations.bulkload.common.ObjectMapperFactory;
+import org.opensearch.migrations.bulkload.common.bulk.operations.DeleteOperationMeta;
+import org.opensearch.migrations.bulkload.common.bulk.operations.IndexOperationMeta;
+import org.opensearch.migrations.bulkload.pipeline.model.Document;
+
+import io.netty.buffer.PooledByteBufAllocator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BulkNdjsonTest {
+    private static final List<Document> DOCS = List.of(
+        new Document("d1", "{\"a\":1}".getBytes(StandardCharsets.UTF_8), Document.Operation.UPSERT,
+            Map.of(Document.HINT_ROUTING, "r1"), Map.of()),
+        new Document("d\"2", "{\"b\":\"x\"}".getBytes(StandardCharsets.UTF_8), Document.Operation.UPSERT,
+            Map.of(), Map.of()),
+        new Document("d3", null, Document.Operation.DELETE, Map.of(), Map.of())
+    );
+
+    @Test
+    void toRawNdjsonByteBuf_matchesMapperSerializedActionLines() throws Exception {
+        var mapper = ObjectMapperFactory.createDefaultMapper();
+        var expected = new ByteArrayOutputStream();
+        BulkNdjson.writeRawOperation("index",
+            IndexOperationMeta.builder().id("d1").index("idx").routing("r1").build(),
+            DOCS.get(0).source(), expected, mapper);
+        expected.write('\n');
+        BulkNdjson.writeRawOperation("index",
+            IndexOperationMeta.builder().id("d\"2").index("idx").build(),
+            DOCS.get(1).source(), expected, mapper);
+        expected.write('\n');
+        BulkNdjson.writeRawOperation("delete",
+            DeleteOperationMeta.builder().id("d3").index("idx").build(),
+            null, expected, mapper);
+        expected.write('\n');
+
+        var buf = BulkNdjson.toRawNdjsonByteBuf(DOCS, "idx", false, PooledByteBufAllocator.DEFAULT);
+        try {
+            assertEquals(expected.toString(StandardCharsets.UTF_8), buf.toString(StandardCharsets.UTF_8));
+        } finally {
+            buf.release();
+        }
+    }
+
+    @Test
+    void toRawNdjsonBytes_omitsIdsWhenStripped() {
+        var ndjson = new String(BulkNdjson.toRawNdjsonBytes(DOCS.subList(0, 1), "idx", true), StandardCharsets.UTF_8);
+        assertEquals("{\"index\":{\"_index\":\"idx\",\"routing\":\"r1\"}}\n{\"a\":1}\n", ndjson);
+    }
+
+    @Test
+    void toRawNdjsonByteBuf_releasesBufferOnInvalidSource() {
+        var allocator = new PooledByteBufAllocator(false);
+        var docs = List.of(new Document("bad", "{\"a\":".getBytes(StandardCharsets.UTF_8),
+            Document.Operation.UPSERT, Map.of(), Map.of()));
+
+        assertThrows(UncheckedIOException.class, () -> BulkNdjson.toRawNdjsonByteBuf(docs, "idx", false, allocator));
+        assertEquals(0, allocator.metric().heapArenas().stream().mapToLong(a -> a.numActiveAllocations()).sum());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "{\"a\":1}",
+        "{\"a\":[1,{\"b\":\"}]\\\"{\"}]}",
+        "{\"s\":\"escaped \\\\\"}",
+        "{\n\"a\":1}",
+        "{\r\n  \"a\": [1,\n 2]\r\n}"
+    })
+    void validateJsonStructure_acceptsBalancedJsonWithLineBreaksBetweenTokens(String json) {
+        assertDoesNotThrow(() -> BulkNdjson.validateJsonStructure(json.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "{\"a\":1",
+        "{\"a\":1}}",
+        "{\"a\":\"unterminated}",
+        "{\"a\":\"x\ny\"}",
+        "{\"a\":\"x\\\ny\"}",
+        "{\"a\":\"x\\\"}"
+    })
+    void validateJsonStructure_rejectsTruncatedJsonOrLineBreaksInStrings(String json) {
+        assertThrows(IOException.class, () -> BulkNdjson.validateJsonStructure(json.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void validateJsonStructure_reportsLineBreaksBetweenTokens() throws IOException {
+        assertFalse(BulkNdjson.validateJsonStructure("{\"a\":1}".getBytes(StandardCharsets.UTF_8)));
+        assertTrue(BulkNdjson.validateJsonStructure("{\n\"a\":1}".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "FULL", "STRUCTURAL" })
+    void toRawNdjsonByteBuf_rewritesSourcesThatSpanLinesOntoOneLine(SourceValidationMode mode) {
+        var prettyPrinted = "{\r\n  \"a\": [1, 2],\n  \"s\": \"x y\"\n}";
+        var docs = List.of(new Document("d1", prettyPrinted.getBytes(StandardCharsets.UTF_8),
+            Document.Operation.UPSERT, Map.of(), Map.of()));
+
+        var buf = BulkNdjson.toRawNdjsonByteBuf(docs, "idx", false, mode, PooledByteBufAllocator.DEFAULT);
+        try {
+            assertEquals("{\"index\":{\"_id\":\"d1\",\"_index\":\"idx\"}}\n{\"a\":[1,2],\"s\":\"x y\"}\n",
+                buf.toString(StandardCharsets.UTF_8));
+        } finally {
+            buf.release();
+        }
+    }
+
+    @Test
+    void toRawNdjsonByteBuf_trustModeSkipsValidation() {
+        var docs = List.of(new Document("d1", "{\"a\":".getBytes(StandardCharsets.UTF_8),
+            Document.Operation.UPSERT, Map.of(), Map.of()));
+
+        var buf = BulkNdjson.toRawNdjsonByteBuf(docs, "idx", false, SourceValidationMode.TRUST,
+            PooledByteBufAllocator.DEFAULT);
+        try {
+            assertEquals("{\"index\":{\"_id\":\"d1\",\"_index\":\"idx\"}}\n{\"a\":\n",
+                buf.toString(StandardCharsets.UTF_8));
+        } finally {
+            buf.release();
+        }
+    }
+
+    @Test
+    void writeOperation_reserializesUnparsedSourcesThatSpanLines() {
+        var op = BulkOperationConverter.fromTransformOutput(BulkOperationConverter.toTransformInput(
+            new Document("d1", "{\n  \"a\": 1\n}".getBytes(StandardCharsets.UTF_8), Document.Operation.UPSERT,
+                Map.of(), Map.of()), "idx"));
+
+        assertEquals("{\"index\":{\"_id\":\"d1\",\"_index\":\"idx\"}}\n{\"a\":1}\n",
+            BulkNdjson.toBulkNdjson(List.of(op), ObjectMapperFactory.createDefaultMapper()));
+    }
+}
@@ -0,0 +1,64 @@
+package org.opensearch.migrations.bulkload.common.bulk;
+
+import java.nio.charset.StandardCharsets;
+
+import org.apache.lucene.util.StringHelper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TargetShardRoutingTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = { "", "a", "ab", "abc", "doc-1", "hello world", "été", "😀 emoji" })
+    void murmur3HashMatchesHashingTheUtf16Bytes(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_16LE);
+        assertEquals(StringHelper.murmurhash3_x86_32(bytes, 0, bytes.length, 0), TargetShardRouting.murmur3Hash(value));
+    }
+
+    @Test
+    void routesByIdScaledFromRoutingShards() {
+        var routing = new TargetShardRouting(5, 640, 1);
+        for (int i = 0; i < 100; i++) {
+            String id = "doc-" + i;
+            int expected = Math.floorMod(TargetShardRouting.murmur3Hash(id), 640) / 128;
+            assertEquals(expected, routing.shardFor(id, null));
+        }
+    }
+
+    @Test
+    void customRoutingOverridesTheId() {
+        var routing = new TargetShardRouting(8, 8, 1);
+        int shard = routing.shardFor("user-42", null);
+        for (int i = 0; i < 20; i++) {
+            assertEquals(shard, routing.shardFor("doc-" + i, "user-42"));
+        }
+    }
+
+    @Test
+    void partitionedIndexOffsetsRoutingByTheId() {
+        var routing = new TargetShardRouting(6, 6, 3);
+        for (int i = 0; i < 50; i++) {
+            String id = "doc-" + i;
+            int offset = Math.floorMod(TargetShardRouting.murmur3Hash(id), 3);
+            assertEquals(Math.floorMod(TargetShardRouting.murmur3Hash("tenant") + offset, 6),
+                routing.shardFor(id, "tenant"));
+        }
+    }
+
+    @Test
+    void unknownWithoutIdOrRouting() {
+        assertEquals(TargetShardRouting.UNKNOWN_SHARD, new TargetShardRouting(3, 3, 1).shardFor(null, null));
+        assertEquals(TargetShardRouting.UNKNOWN_SHARD, new TargetShardRouting(3, 3, 2).shardFor(null, "r"));
+    }
+
+    @Test
+    void rejectsRoutingShardsThatAreNotAMultipleOfTheShardCount() {
+        assertThrows(IllegalArgumentException.class, () -> new TargetShardRouting(3, 4, 1));
+        assertThrows(IllegalArgumentException.class, () -> new TargetShardRouting(0, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new TargetShardRouting(2, 2, 0));
+    }
+}
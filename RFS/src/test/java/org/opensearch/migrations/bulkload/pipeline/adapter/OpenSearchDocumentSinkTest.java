@@ -4,18 +4,27 @@ import java.util.List;
 import java.util.Map;
 
 import org.opensearch.migrations.bulkload.common.DocumentExceptionAllowlist;
+import org.opensearch.migrations.bulkload.common.ObjectMapperFactory;
 import org.opensearch.migrations.bulkload.common.OpenSearchClient;
+import org.opensearch.migrations.bulkload.common.bulk.BulkNdjson;
+import org.opensearch.migrations.bulkload.common.bulk.BulkOperationSpec;
+import org.opensearch.migrations.bulkload.common.bulk.LazyJsonDocument;
+import org.opensearch.migrations.bulkload.common.bulk.SourceValidationMode;
 import org.opensearch.migrations.bulkload.pipeline.model.Document;
 import org.opensearch.migrations.transform.IJsonTransformer;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import reactor.core.publisher.Mono;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyList;
@@ -37,7 +46,7 @@ class OpenSearchDocumentSinkTest {
 
     @Test
     void writeBatch_noTransformer_usesRawPath() {
-        when(client.sendBulkRequestRaw(anyString(), anyList(), any(), anyBoolean(), any())).thenReturn(OK);
+        when(client.sendBulkRequestRaw(anyString(), anyList(), any(), anyBoolean(), any(), any())).thenReturn(OK);
         var sink = new OpenSearchDocumentSink(client, null, false, DocumentExceptionAllowlist.empty(), null);
         var docs = List.of(doc("d1", "{\"a\":1}"), doc("d2", "{\"b\":2}"));
 
@@ -45,10 +54,23 @@ class OpenSearchDocumentSinkTest {
 
         assertNotNull(result);
         assertEquals(2, result.docsInBatch());
-        verify(client).sendBulkRequestRaw(eq("idx"), eq(docs), isNull(), eq(false), any());
+        verify(client).sendBulkRequestRaw(eq("idx"), eq(docs), isNull(), eq(false), any(), eq(SourceValidationMode.FULL));
         verify(client, never()).sendBulkRequest(anyString(), anyList(), any(), anyBoolean(), any());
     }
 
+    @Test
+    void writeBatch_noTransformer_passesConfiguredValidationMode() {
+        when(client.sendBulkRequestRaw(anyString(), anyList(), any(), anyBoolean(), any(), any())).thenReturn(OK);
+        var sink = new OpenSearchDocumentSink(client, null, false, DocumentExceptionAllowlist.empty(), null,
+            SourceValidationMode.TRUST);
+        var docs = List.of(doc("d1", "{\"a\":1}"));
+
+        sink.writeBatch("idx", docs).block();
+
+        verify(client).sendBulkRequestRaw(eq("idx"), eq(docs), isNull(), eq(false), any(),
+            eq(SourceValidationMode.TRUST));
+    }
+
     @Test
     void writeBatch_withTransformer_usesTransformPath() {
         when(client.sendBulkRequest(anyString(), anyList(), any(), anyBoolean(), any())).thenReturn(OK);
@@ -60,12 +82,12 @@ class OpenSearchDocumentSinkTest {
         sink.writeBatch("idx", docs).block();
 
         verify(client).sendBulkRequest(eq("idx"), anyList(), isNull(), eq(false), any());
-        verify(client, never()).sendBulkRequestRaw(anyString(), anyList(), any(), anyBoolean(), any());
+        verify(client, never()).sendBulkRequestRaw(anyString(), anyList(), any(), anyBoolean(), any(), any());
     }
 
     @Test
     void writeBatch_returnsBatchResultWithCorrectByteCounts() {
-        when(client.sendBulkRequestRaw(anyString(), anyList(), any(), anyBoolean(), any())).thenReturn(OK);
+        when(client.sendBulkRequestRaw(anyString(), anyList(), any(), anyBoolean(), any(), any())).thenReturn(OK);
         var sink = new OpenSearchDocumentSink(client, null, false, DocumentExceptionAllowlist.empty(), null);
         byte[] src1 = "{\"x\":1}".getBytes();
         byte[] src2 = "{\"y\":2}".getBytes();
@@ -83,7 +105,7 @@ class OpenSearchDocumentSinkTest {
 
     @Test
     void writeBatch_nullSourceBytes_countsAsZeroBytes() {
-        when(client.sendBulkRequestRaw(anyString(), anyList(), any(), anyBoolean(), any())).thenReturn(OK);
+        when(client.sendBulkRequestRaw(anyString(), anyList(), any(), anyBoolean(), any(), any())).thenReturn(OK);
         var sink = new OpenSearchDocumentSink(client, null, false, DocumentExceptionAllowlist.empty(), null);
         var docs = List.of(
             new Document("d1", null, Document.Operation.DELETE, Map.of(), Map.of())
@@ -96,9 +118,23 @@ class OpenSearchDocumentSinkTest {
         assertEquals(0, result.bytesInBatch());
     }
 
+    @Test
+    void writeBatch_reportsRetryFeedback() {
+        var retried = new OpenSearchClient.BulkResponse(200, "", null, "{}").withRetryStats(2, true);
+        when(client.sendBulkRequestRaw(anyString(), anyList(), any(), anyBoolean(), any(), any()))
+            .thenReturn(Mono.just(retried));
+        var sink = new OpenSearchDocumentSink(client, null, false, DocumentExceptionAllowlist.empty(), null);
+
+        var result = sink.writeBatch("idx", List.of(doc("d1", "{\"a\":1}"))).block();
+
+        assertNotNull(result);
+        assertEquals(2, result.retriedAttempts());
+        assertTrue(result.throttled());
+    }
+
     @Test
     void writeBatch_clientError_propagates() {
-        when(client.sendBulkRequestRaw(anyString(), anyList(), any(), anyBoolean(), any()))
+        when(client.sendBulkRequestRaw(anyString(), anyList(), any(), anyBoolean(), any(), any()))
             .thenReturn(Mono.error(new RuntimeException("bulk failed")));
 
         var sink = new OpenSearchDocumentSink(client, null, false, DocumentExceptionAllowlist.empty(), null);
@@ -152,7 +188,29 @@ class OpenSearchDocumentSinkTest {
         sink.writeBatch("idx", docs).block();
 
         verify(client).sendBulkRequest(eq("idx"), anyList(), isNull(), eq(false), any());
-        verify(client, never()).sendBulkRequestRaw(anyString(), anyList(), any(), anyBoolean(), any());
+        verify(client, never()).sendBulkRequestRaw(anyString(), anyList(), any(), anyBoolean(), any(), any());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void writeBatch_transformerThatSkipsSources_sendsThemUnparsed() {
+        when(client.sendBulkRequest(anyString(), anyList(), any(), anyBoolean(), any())).thenReturn(OK);
+        IJsonTransformer renameIndex = input -> {
+            for (var op : (List<Map<String, Object>>) input) {
+                ((Map<String, Object>) op.get("operation")).put("_index", "renamed");
+            }
+            return input;
+        };
+        var sink = new OpenSearchDocumentSink(client, () -> renameIndex, false, DocumentExceptionAllowlist.empty(), null);
+
+        sink.writeBatch("idx", List.of(doc("d1", "{ \"a\" : 1 }"))).block();
+
+        ArgumentCaptor<List<BulkOperationSpec>> sent = ArgumentCaptor.forClass(List.class);
+        verify(client).sendBulkRequest(eq("idx"), sent.capture(), isNull(), eq(false), any());
+        var document = assertInstanceOf(LazyJsonDocument.class, sent.getValue().get(0).getDocument());
+        assertFalse(document.isMaterialized());
+        assertEquals("{\"index\":{\"_id\":\"d1\",\"_index\":\"renamed\"}}\n{ \"a\" : 1 }\n",
+            BulkNdjson.toBulkNdjson(sent.getValue(), ObjectMapperFactory.createDefaultMapper()));
     }
 
     private static Document doc(String id, String json) {
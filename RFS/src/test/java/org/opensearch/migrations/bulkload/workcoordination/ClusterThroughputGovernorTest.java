@@ -0,0 +1,99 @@
+package org.opensearch.migrations.bulkload.workcoordination;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ClusterThroughputGovernorTest {
+
+    private record LeaseCall(long requestedBytes, long bulkRequests, long bulkRejections) {}
+
+    /** Grants queued amounts (or everything requested once the queue is empty) and records each call. */
+    private static class FakeLeaser implements ClusterThroughputGovernor.ThroughputLeaser {
+        final ArrayDeque<Long> grants = new ArrayDeque<>();
+        final List<LeaseCall> calls = new ArrayList<>();
+        boolean failing;
+
+        @Override
+        public OpenSearchWorkCoordinator.ThroughputLease lease(long requestedBytes, long bulkRequests, long bulkRejections)
+            throws IOException {
+            calls.add(new LeaseCall(requestedBytes, bulkRequests, bulkRejections));
+            if (failing) {
+                throw new IOException("coordinator unavailable");
+            }
+            long granted = grants.isEmpty() ? requestedBytes : Math.min(requestedBytes, grants.poll());
+            return new OpenSearchWorkCoordinator.ThroughputLease(granted, 1000);
+        }
+    }
+
+    @Test
+    void spendsLeasedChunkLocallyBeforeLeasingAgain() {
+        var leaser = new FakeLeaser();
+        var governor = new ClusterThroughputGovernor(leaser, 100);
+
+        assertTrue(governor.tryAcquire(30));
+        assertTrue(governor.tryAcquire(30));
+        assertTrue(governor.tryAcquire(30));
+        assertEquals(1, leaser.calls.size());
+        assertEquals(100, leaser.calls.get(0).requestedBytes());
+
+        assertTrue(governor.tryAcquire(30));
+        assertEquals(2, leaser.calls.size());
+    }
+
+    @Test
+    void largeBatchOverdraftsAndIsPaidOffByLaterLeases() {
+        var leaser = new FakeLeaser();
+        leaser.grants.add(100L);
+        leaser.grants.add(0L);
+        var governor = new ClusterThroughputGovernor(leaser, 100);
+
+        assertTrue(governor.tryAcquire(250));
+        assertFalse(governor.tryAcquire(10));
+        assertEquals(250, leaser.calls.get(1).requestedBytes());
+
+        assertTrue(governor.tryAcquire(10));
+        assertEquals(250, leaser.calls.get(2).requestedBytes());
+    }
+
+    @Test
+    void reportsOutcomesWithTheNextLease() {
+        var leaser = new FakeLeaser();
+        var governor = new ClusterThroughputGovernor(leaser, 10);
+        assertTrue(governor.tryAcquire(10));
+
+        governor.recordBulkOutcome(0, false);
+        governor.recordBulkOutcome(2, true);
+        assertTrue(governor.tryAcquire(10));
+
+        assertEquals(new LeaseCall(10, 4, 1), leaser.calls.get(1));
+    }
+
+    @Test
+    void failsOpenAndKeepsUnreportedOutcomesWhenLeasingFails() {
+        var leaser = new FakeLeaser();
+        leaser.failing = true;
+        var governor = new ClusterThroughputGovernor(leaser, 10);
+        governor.recordBulkOutcome(1, true);
+
+        assertTrue(governor.tryAcquire(10));
+
+        leaser.failing = false;
+        assertTrue(governor.tryAcquire(10));
+        assertEquals(new LeaseCall(10, 2, 1), leaser.calls.get(1));
+    }
+
+    @Test
+    void acquire_completesOnceBytesAreGranted() {
+        var governor = new ClusterThroughputGovernor(new FakeLeaser(), 100);
+
+        governor.acquire(50).block();
+    }
+}
@@ -3,6 +3,7 @@ package org.opensearch.migrations.bulkload.workcoordination;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.AbstractMap;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
@@ -105,6 +106,26 @@ class OpenSearchWorkCoodinatorTest {
         }
     }
 
+    @ParameterizedTest
+    @MethodSource("provideTestedVersions")
+    public void testLeaseThroughputParsesGrantWithoutForcingRefresh(Version version) throws Exception {
+        var factory = new WorkCoordinatorFactory(version);
+        var response = new TestResponse(200, "ok",
+            "{\"result\": \"updated\", \"get\": {\"_source\": {\"lastGrantedBytes\": 512, \"bytesPerSecond\": 700}}}");
+        var paths = new ArrayList<String>();
+        AbstractedHttpClient client = (method, path, headers, payload) -> {
+            paths.add(path);
+            return response;
+        };
+        try (var workCoordinator = factory.get(client, 2, "testWorker")) {
+            var lease = workCoordinator.leaseThroughput(1024, 3, 1, new ThroughputGovernorSettings(1000, 10, 1024));
+            Assertions.assertEquals(512, lease.grantedBytes());
+            Assertions.assertEquals(700, lease.clusterBytesPerSecond());
+        }
+        Assertions.assertTrue(paths.get(0).contains(OpenSearchWorkCoordinator.THROUGHPUT_GOVERNOR_DOC_ID));
+        Assertions.assertFalse(paths.get(0).contains("refresh"));
+    }
+
     private static TestResponse getThrottleResponse() throws JsonProcessingException {
         var resultJson = Map.of(OpenSearchWorkCoordinator.RESULT_OPENSSEARCH_FIELD_NAME, THROTTLE_RESULT_VALUE);
         return new TestResponse(429, "THROTTLED", new ObjectMapper().writeValueAsString(resultJson));
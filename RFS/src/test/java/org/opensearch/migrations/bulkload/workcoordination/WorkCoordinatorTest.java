@@ -298,6 +298,30 @@ public class WorkCoordinatorTest {
         }
     }
 
+    @ParameterizedTest
+    @MethodSource("containerVersions")
+    public void testLeaseThroughputSharesBudgetAndBacksOffOnRejections(SearchClusterContainer.ContainerVersion version) throws Exception {
+        setupOpenSearchContainer(version);
+        var testContext = WorkCoordinationTestContext.factory().withAllTracking();
+        var settings = new ThroughputGovernorSettings(1_000_000, 1000, 100_000);
+
+        try (var workerA = factory.get(httpClientSupplier.get(), 3600, "workerA");
+             var workerB = factory.get(httpClientSupplier.get(), 3600, "workerB")) {
+            var first = workerA.leaseThroughput(2_000_000, 0, 0, settings);
+            Assertions.assertEquals(1_000_000, first.grantedBytes());
+            Assertions.assertEquals(1_000_000, first.clusterBytesPerSecond());
+
+            // Half of workerB's requests were rejected; that is applied when the next second starts
+            workerB.leaseThroughput(1, 10, 5, settings);
+            Thread.sleep(1100);
+            var afterRejections = workerA.leaseThroughput(1, 0, 0, settings);
+            Assertions.assertEquals(700_000, afterRejections.clusterBytesPerSecond());
+
+            // The governor document is not a work item
+            Assertions.assertFalse(workerA.workItemsNotYetComplete(testContext::createItemsPendingContext));
+        }
+    }
+
     @ParameterizedTest
     @MethodSource("containerVersions")
     public void testReleaseWorkItemIsNoopIfLeaseRolledOver(SearchClusterContainer.ContainerVersion version) throws Exception {
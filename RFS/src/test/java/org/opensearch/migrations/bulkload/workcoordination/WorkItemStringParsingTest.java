@@ -93,11 +93,26 @@ class WorkItemStringParsingTest {
         Assertions.assertEquals("shard_setup", sentinel.toString());
     }
 
+    @Test
+    void subPartition_roundTripsEndingDocIdAndWholeShardIdsAreUnchanged() {
+        var subPartition = new IWorkCoordinator.WorkItemAndDuration.WorkItem("my__index", 3, 1000L, 2000L);
+
+        var parsed = IWorkCoordinator.WorkItemAndDuration.WorkItem
+            .valueFromWorkItemString(subPartition.toString());
+
+        Assertions.assertEquals(subPartition, parsed);
+        Assertions.assertEquals(2000L, parsed.getEndingDocId());
+        Assertions.assertEquals(4, subPartition.toString().split("__").length);
+        Assertions.assertNull(wi("my__index", 3, 1000L).getEndingDocId());
+        Assertions.assertNotEquals(subPartition.toString(), wi("my__index", 3, 1000L).toString());
+    }
+
     @ParameterizedTest
     @ValueSource(strings = {
         "not enough parts",
         "only_one_segment",
         "two__segments",
+        "YQ__0__0__10__20",
         // Index-name segment must decode as base64url; a '!' is outside the alphabet.
         "not!base64__0__0"
     })
@@ -0,0 +1,65 @@
+package org.opensearch.migrations.bulkload.worker;
+
+import java.util.List;
+
+import org.opensearch.migrations.bulkload.workcoordination.IWorkCoordinator;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ShardWorkPreparerTest {
+
+    private static IWorkCoordinator.WorkItemAndDuration.WorkItem range(long start, long end) {
+        return new IWorkCoordinator.WorkItemAndDuration.WorkItem("idx", 2, start, end);
+    }
+
+    private static List<IWorkCoordinator.WorkItemAndDuration.WorkItem> createdItems(IWorkCoordinator coordinator) {
+        return Mockito.mockingDetails(coordinator).getInvocations().stream()
+            .filter(invocation -> invocation.getMethod().getName().equals("createUnassignedWorkItem"))
+            .map(invocation -> IWorkCoordinator.WorkItemAndDuration.WorkItem
+                .valueFromWorkItemString(invocation.getArgument(0)))
+            .toList();
+    }
+
+    @Test
+    void splitsTheRestOfTheShardIntoFixedRanges() throws Exception {
+        var coordinator = Mockito.mock(IWorkCoordinator.class);
+        when(coordinator.createUnassignedWorkItem(anyString(), any())).thenReturn(true);
+
+        long end = ShardWorkPreparer.splitIntoSubPartitions(coordinator, "idx", 2, 0, 250, 100, () -> null);
+
+        assertEquals(100, end);
+        assertEquals(List.of(range(100, 200), range(200, 250)), createdItems(coordinator));
+    }
+
+    @Test
+    void resumedItemStopsAtTheNextBoundaryAndRecreatesTheSameRanges() throws Exception {
+        var coordinator = Mockito.mock(IWorkCoordinator.class);
+
+        assertEquals(200, ShardWorkPreparer.splitIntoSubPartitions(coordinator, "idx", 2, 130, 250, 100, () -> null));
+        assertEquals(List.of(range(200, 250)), createdItems(coordinator));
+    }
+
+    @Test
+    void resumedItemOnABoundaryHasNothingLeft() throws Exception {
+        var coordinator = Mockito.mock(IWorkCoordinator.class);
+
+        assertEquals(100, ShardWorkPreparer.splitIntoSubPartitions(coordinator, "idx", 2, 100, 250, 100, () -> null));
+    }
+
+    @Test
+    void smallShardIsNotSplit() throws Exception {
+        var coordinator = Mockito.mock(IWorkCoordinator.class);
+
+        assertEquals(Long.MAX_VALUE,
+            ShardWorkPreparer.splitIntoSubPartitions(coordinator, "idx", 2, 0, 100, 100, () -> null));
+        verify(coordinator, never()).createUnassignedWorkItem(anyString(), any());
+    }
+}
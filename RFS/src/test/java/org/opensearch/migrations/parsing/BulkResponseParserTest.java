@@ -1,18 +1,21 @@
 package org.opensearch.migrations.parsing;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.stream.Collectors;
 
 import org.opensearch.migrations.bulkload.common.DocumentExceptionAllowlist;
 import org.opensearch.migrations.bulkload.http.BulkRequestGenerator;
 
+import io.netty.buffer.Unpooled;
 import org.junit.jupiter.api.Test;
 import org.testcontainers.shaded.com.google.common.collect.Streams;
 
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.nullValue;
 import static org.opensearch.migrations.bulkload.http.BulkRequestGenerator.itemEntry;
 import static org.opensearch.migrations.bulkload.http.BulkRequestGenerator.itemEntryFailure;
 
@@ -117,4 +120,39 @@ class BulkResponseParserTest {
         assertThat(failed.cardinality(), equalTo(1));
         assertThat(failed.nextSetBit(0), equalTo(0));
     }
+
+    @Test
+    void testGetFailedPositions_byteBufMatchesString() {
+        var response = BulkRequestGenerator.bulkItemResponse(true, List.of(
+            itemEntry("a"), itemEntryFailure("b"), itemEntry("c"), itemEntryFailure("d")
+        ));
+        var bytes = response.getBytes(StandardCharsets.UTF_8);
+        var direct = Unpooled.directBuffer(bytes.length).writeBytes(bytes);
+        try {
+            var expected = BulkResponseParser.getFailedPositions(response, DocumentExceptionAllowlist.empty());
+            assertThat(BulkResponseParser.getFailedPositions(Unpooled.wrappedBuffer(bytes),
+                DocumentExceptionAllowlist.empty()), equalTo(expected));
+            assertThat(BulkResponseParser.getFailedPositions(direct, DocumentExceptionAllowlist.empty()),
+                equalTo(expected));
+            assertThat(direct.readerIndex(), equalTo(0));
+        } finally {
+            direct.release();
+        }
+    }
+
+    @Test
+    void testGetFailedPositions_stopsAtErrorsFalse() {
+        // Everything after "errors":false is malformed; the parser must not need to read it
+        var response = "{\"took\":3,\"errors\":false,\"items\":[{\"index\":{ not json";
+        var failed = BulkResponseParser.getFailedPositions(
+            Unpooled.wrappedBuffer(response.getBytes(StandardCharsets.UTF_8)), DocumentExceptionAllowlist.empty());
+        assertThat(failed.isEmpty(), equalTo(true));
+    }
+
+    @Test
+    void testGetFailedPositions_unparsableByteBufRetriesAll() {
+        var failed = BulkResponseParser.getFailedPositions(
+            Unpooled.wrappedBuffer("<html>".getBytes(StandardCharsets.UTF_8)), DocumentExceptionAllowlist.empty());
+        assertThat(failed, nullValue());
+    }
 }
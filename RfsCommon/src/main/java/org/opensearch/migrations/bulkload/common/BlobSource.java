@@ -1,5 +1,6 @@
 package org.opensearch.migrations.bulkload.common;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Path;
 
@@ -18,15 +19,69 @@ public interface BlobSource {
      */
     InputStream readBlob(Path path);
 
+    /**
+     * Reads {@code length} bytes of the blob at the given path starting at {@code offset}.
+     * The default implementation opens the full blob and skips forward; backends that support
+     * positional reads (local files, S3 ranged GETs) should override this.
+     *
+     * @param path   the path to the blob
+     * @param offset the byte offset within the blob to start reading from
+     * @param length the number of bytes to read
+     * @return exactly {@code length} bytes from the blob
+     * @throws SourceRepoAccessor.CouldNotLoadRepoFile if the blob cannot be read or is too short
+     */
+    default byte[] readBlobRange(Path path, long offset, int length) {
+        try (var stream = readBlob(path)) {
+            stream.skipNBytes(offset);
+            var bytes = stream.readNBytes(length);
+            if (bytes.length != length) {
+                throw new IOException("Blob ended after " + bytes.length + " of " + length + " requested bytes");
+            }
+            return bytes;
+        } catch (IOException e) {
+            throw new SourceRepoAccessor.CouldNotLoadRepoFile(
+                "Could not read range [" + offset + ", " + (offset + length) + ") of: " + path, e);
+        }
+    }
+
+    /**
+     * How many parts of a multi-part blob readers should open ahead of the part they are consuming.
+     * Opening a streamed remote blob only starts the transfer, so reading ahead overlaps per-part
+     * request latency with consumption; local files have nothing to overlap.
+     */
+    default int getPartReadAhead() {
+        return 0;
+    }
+
     /**
      * Creates a BlobSource that reads from the local filesystem.
      */
     static BlobSource fromLocalFilesystem() {
-        return path -> {
-            try {
-                return java.nio.file.Files.newInputStream(path);
-            } catch (Exception e) {
-                throw new SourceRepoAccessor.CouldNotLoadRepoFile("Could not load file: " + path, e);
+        return new BlobSource() {
+            @Override
+            public InputStream readBlob(Path path) {
+                try {
+                    return java.nio.file.Files.newInputStream(path);
+                } catch (Exception e) {
+                    throw new SourceRepoAccessor.CouldNotLoadRepoFile("Could not load file: " + path, e);
+                }
+            }
+
+            @Override
+            public byte[] readBlobRange(Path path, long offset, int length) {
+                try (var channel = java.nio.channels.FileChannel.open(path)) {
+                    var buffer = java.nio.ByteBuffer.allocate(length);
+                    while (buffer.hasRemaining()) {
+                        if (channel.read(buffer, offset + buffer.position()) < 0) {
+                            throw new IOException("File ended after " + buffer.position() + " of " + length
+                                + " requested bytes");
+                        }
+                    }
+                    return buffer.array();
+                } catch (Exception e) {
+                    throw new SourceRepoAccessor.CouldNotLoadRepoFile(
+                        "Could not read range [" + offset + ", " + (offset + length) + ") of: " + path, e);
+                }
             }
         };
     }
@@ -19,4 +19,12 @@ public interface SourceRepo {
     public Path getShardMetadataFilePath(String snapshotId, String indexId, int shardId);
 
     public Path getBlobFilePath(String indexId, int shardId, String blobName);
+
+    /**
+     * The BlobSource that reads the paths this repo hands out. Repos that stream blobs straight from
+     * remote storage (rather than materialising them under {@link #getRepoRootDir()}) override this.
+     */
+    public default BlobSource getBlobSource() {
+        return BlobSource.fromLocalFilesystem();
+    }
 }
@@ -14,10 +14,10 @@ public class SourceRepoAccessor {
     }
 
     /**
-     * Convenience constructor for local filesystem access.
+     * Convenience constructor that reads through the repo's own {@link SourceRepo#getBlobSource()}.
      */
     public SourceRepoAccessor(SourceRepo repo) {
-        this(repo, BlobSource.fromLocalFilesystem());
+        this(repo, repo.getBlobSource());
     }
 
     public Path getRepoRootDir() {
@@ -52,10 +52,29 @@ public class SourceRepoAccessor {
         return load(repo.getBlobFilePath(indexId, shardId, blobName));
     }
 
+    /**
+     * Reads a byte range of a shard blob without materialising the whole blob. Used by the
+     * range-read shard directory, which maps Lucene file positions onto snapshot blob parts.
+     */
+    public byte[] getBlobFileRange(String indexId, int shardId, String blobName, long offset, int length) {
+        return loadRange(repo.getBlobFilePath(indexId, shardId, blobName), offset, length);
+    }
+
+    /**
+     * How many parts of a multi-part blob should be opened ahead of the part being read.
+     */
+    public int getPartReadAhead() {
+        return blobSource.getPartReadAhead();
+    }
+
     protected InputStream load(Path path) {
         return blobSource.readBlob(path);
     }
 
+    protected byte[] loadRange(Path path, long offset, int length) {
+        return blobSource.readBlobRange(path, offset, length);
+    }
+
     public static class CouldNotLoadRepoFile extends RuntimeException implements SnapshotReadFailure {
         public CouldNotLoadRepoFile(String message, Throwable cause) {
             super(message, cause);
@@ -31,6 +31,24 @@ class BlobSourceTest {
         }
     }
 
+    @Test
+    void fromLocalFilesystem_readsRange() throws IOException {
+        Path file = tempDir.resolve("range.dat");
+        Files.write(file, "hello world".getBytes(StandardCharsets.UTF_8));
+
+        BlobSource source = BlobSource.fromLocalFilesystem();
+        assertArrayEquals("world".getBytes(StandardCharsets.UTF_8), source.readBlobRange(file, 6, 5));
+        assertThrows(SourceRepoAccessor.CouldNotLoadRepoFile.class, () -> source.readBlobRange(file, 6, 10));
+    }
+
+    @Test
+    void defaultReadBlobRange_skipsIntoStream() {
+        byte[] content = "custom blob".getBytes(StandardCharsets.UTF_8);
+        BlobSource custom = path -> new ByteArrayInputStream(content);
+
+        assertArrayEquals("blob".getBytes(StandardCharsets.UTF_8), custom.readBlobRange(tempDir, 7, 4));
+    }
+
     @Test
     void fromLocalFilesystem_throwsOnMissingFile() {
         BlobSource source = BlobSource.fromLocalFilesystem();
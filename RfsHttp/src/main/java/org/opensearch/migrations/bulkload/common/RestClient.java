@@ -12,17 +12,20 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiFunction;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.opensearch.migrations.bulkload.common.http.CompositeTransformer;
 import org.opensearch.migrations.bulkload.common.http.ConnectionContext;
 import org.opensearch.migrations.bulkload.common.http.GzipPayloadRequestTransformer;
 import org.opensearch.migrations.bulkload.common.http.HttpResponse;
+import org.opensearch.migrations.bulkload.common.http.ResponseBodyDecoder;
 import org.opensearch.migrations.bulkload.common.http.TlsCredentialsProvider;
 import org.opensearch.migrations.bulkload.netty.ReadMeteringHandler;
 import org.opensearch.migrations.bulkload.netty.WriteMeteringHandler;
 import org.opensearch.migrations.bulkload.tracing.IRfsContexts;
 
+import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelOption;
@@ -33,6 +36,7 @@ import io.netty.handler.codec.http.HttpMethod;
 import io.netty.handler.ssl.SslContext;
 import io.netty.handler.ssl.SslContextBuilder;
 import io.netty.handler.ssl.util.InsecureTrustManagerFactory;
+import io.netty.util.internal.PlatformDependent;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import reactor.core.publisher.Mono;
@@ -142,12 +146,80 @@ public class RestClient {
 
     public Mono<HttpResponse> asyncRequestBytes(HttpMethod method, String path, byte[] body, Map<String, List<String>> additionalHeaders,
                                                 @Nullable IRfsContexts.IRequestContext context) {
+        return asyncRequestBuffer(method, path, body != null, Mono.justOrEmpty(body).map(ByteBuffer::wrap),
+            Unpooled::wrappedBuffer, additionalHeaders, context, ResponseBodyDecoder.TO_STRING);
+    }
+
+    /**
+     * Sends {@code body} without copying it: request transformers see a view over the buffer's memory, and
+     * when they pass that view, or a duplicate or slice of it, through to the request the channel is handed a
+     * retained slice of {@code body} over the same bytes, which netty releases once it has been written. The
+     * caller keeps its own reference, which it may release once the returned Mono has produced a response or
+     * terminated even if netty is still writing the body.
+     */
+    public Mono<HttpResponse> asyncRequestByteBuf(HttpMethod method, String path, ByteBuf body, Map<String, List<String>> additionalHeaders,
+                                                  @Nullable IRfsContexts.IRequestContext context) {
+        return asyncRequestByteBuf(method, path, body, additionalHeaders, context, ResponseBodyDecoder.TO_STRING);
+    }
+
+    /**
+     * As {@link #asyncRequestByteBuf(HttpMethod, String, ByteBuf, Map, IRfsContexts.IRequestContext)}, building
+     * the result with {@code responseDecoder} directly from the response bytes instead of a String body.
+     */
+    public <T> Mono<T> asyncRequestByteBuf(HttpMethod method, String path, ByteBuf body, Map<String, List<String>> additionalHeaders,
+                                           @Nullable IRfsContexts.IRequestContext context,
+                                           ResponseBodyDecoder<T> responseDecoder) {
+        var bodyView = body.nioBuffer();
+        return asyncRequestBuffer(method, path, true, Mono.just(bodyView), outboundBodyFor(body, bodyView),
+            additionalHeaders, context, responseDecoder);
+    }
+
+    /**
+     * Turns what the request transformers returned for {@code bodyView} into the buffer handed to the channel.
+     * A buffer that shares {@code body}'s memory becomes a retained slice of {@code body}, so the bytes stay
+     * valid after the caller releases its reference; new bytes (e.g. a gzipped payload) are wrapped as they are.
+     * A heap buffer that can't be told apart from {@code body}'s memory is copied.
+     */
+    static Function<ByteBuffer, ByteBuf> outboundBodyFor(ByteBuf body, ByteBuffer bodyView) {
+        int bodyStart = body.readerIndex();
+        return transformed -> {
+            if (transformed.isDirect() != bodyView.isDirect()) {
+                return Unpooled.wrappedBuffer(transformed);
+            }
+            long offset;
+            if (transformed.hasArray() && bodyView.hasArray()) {
+                if (transformed.array() != bodyView.array()) {
+                    return Unpooled.wrappedBuffer(transformed);
+                }
+                offset = (long) transformed.arrayOffset() + transformed.position()
+                    - bodyView.arrayOffset() - bodyView.position();
+            } else if (transformed.isDirect() && PlatformDependent.hasUnsafe()) {
+                offset = PlatformDependent.directBufferAddress(transformed) + transformed.position()
+                    - PlatformDependent.directBufferAddress(bodyView) - bodyView.position();
+            } else {
+                return Unpooled.copiedBuffer(transformed);
+            }
+            if (offset >= 0 && offset + transformed.remaining() <= bodyView.remaining()) {
+                return body.retainedSlice(bodyStart + (int) offset, transformed.remaining());
+            }
+            if (offset + transformed.remaining() <= 0 || offset >= bodyView.remaining()) {
+                return Unpooled.wrappedBuffer(transformed);
+            }
+            return Unpooled.copiedBuffer(transformed);
+        };
+    }
+
+    private <T> Mono<T> asyncRequestBuffer(HttpMethod method, String path, boolean hasBody, Mono<ByteBuffer> body,
+                                           Function<ByteBuffer, ByteBuf> toOutbound,
+                                           Map<String, List<String>> additionalHeaders,
+                                           @Nullable IRfsContexts.IRequestContext context,
+                                           ResponseBodyDecoder<T> responseDecoder) {
         assert connectionContext.getUri() != null;
         Map<String, List<String>> headers = new HashMap<>();
         headers.put(USER_AGENT_HEADER_NAME, List.of(USER_AGENT));
         var hostHeaderValue = getHostHeaderValue(connectionContext);
         headers.put(HOST_HEADER_NAME, List.of(hostHeaderValue));
-        if (body != null) {
+        if (hasBody) {
             headers.put(CONTENT_TYPE_HEADER_NAME, List.of(JSON_CONTENT_TYPE));
         }
         if (additionalHeaders != null) {
@@ -164,26 +236,24 @@ public class RestClient {
         return new CompositeTransformer(
             new GzipPayloadRequestTransformer(),
             connectionContext.getRequestTransformer()
-        ).transform(method.name(), path, headers, Mono.justOrEmpty(body)
-                .map(ByteBuffer::wrap)
-            )
+        ).transform(method.name(), path, headers, body)
             .flatMap(transformedRequest ->
                 client.doOnRequest((r, conn) -> contextCleanupRef.set(addSizeMetricsHandlersAndGetCleanup(context).apply(r, conn)))
                 .headers(h -> transformedRequest.getHeaders().forEach(h::add))
                 .compress(hasGzipResponseHeaders(transformedRequest.getHeaders()))
                 .request(method)
                 .uri("/" + path)
-                .send(transformedRequest.getBody().map(Unpooled::wrappedBuffer))
-                .responseSingle(
-                    (response, bytes) -> bytes.asString()
-                        .singleOptional()
-                        .map(bodyOp -> new HttpResponse(
-                            response.status().code(),
-                            response.status().reasonPhrase(),
-                            extractHeaders(response.responseHeaders()),
-                            bodyOp.orElse(null)
-                            ))
-                )
+                .send(transformedRequest.getBody().map(toOutbound))
+                .responseSingle((response, bytes) -> {
+                    // The aggregated body is released by reactor-netty once the decoder has returned
+                    var statusCode = response.status().code();
+                    var statusText = response.status().reasonPhrase();
+                    var responseHeaders = extractHeaders(response.responseHeaders());
+                    return bytes
+                        .map(buf -> responseDecoder.decode(statusCode, statusText, responseHeaders, buf))
+                        .switchIfEmpty(Mono.fromSupplier(
+                            () -> responseDecoder.decode(statusCode, statusText, responseHeaders, null)));
+                })
             )
             .doOnError(t -> {
                 if (context != null) {
@@ -240,6 +310,25 @@ public class RestClient {
         return asyncRequestBytes(HttpMethod.POST, path, body, additionalHeaders, context);
     }
 
+    public Mono<HttpResponse> postAsyncByteBuf(
+        String path,
+        ByteBuf body,
+        Map<String, List<String>> additionalHeaders,
+        IRfsContexts.IRequestContext context
+    ) {
+        return asyncRequestByteBuf(HttpMethod.POST, path, body, additionalHeaders, context);
+    }
+
+    public <T> Mono<T> postAsyncByteBuf(
+        String path,
+        ByteBuf body,
+        Map<String, List<String>> additionalHeaders,
+        IRfsContexts.IRequestContext context,
+        ResponseBodyDecoder<T> responseDecoder
+    ) {
+        return asyncRequestByteBuf(HttpMethod.POST, path, body, additionalHeaders, context, responseDecoder);
+    }
+
     public Mono<HttpResponse> postAsync(String path, String body, IRfsContexts.IRequestContext context) {
         return asyncRequest(HttpMethod.POST, path, body, null, context);
     }
@@ -256,6 +345,10 @@ public class RestClient {
         return putAsync(path, body, context).block();
     }
 
+    public Mono<HttpResponse> deleteAsync(String path, String body, IRfsContexts.IRequestContext context) {
+        return asyncRequest(HttpMethod.DELETE, path, body, null, context);
+    }
+
     private static void removeIfPresent(ChannelPipeline p, String name) {
         var h = p.get(name);
         if (h != null) {
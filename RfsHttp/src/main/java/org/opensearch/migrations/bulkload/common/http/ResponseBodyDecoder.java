@@ -0,0 +1,21 @@
+package org.opensearch.migrations.bulkload.common.http;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * Builds a response object straight from the aggregated response body, so that callers which only
+ * need a few facts from a large body can avoid decoding all of it into a String.
+ *
+ * <p>The body buffer is owned by the HTTP client and is only valid for the duration of
+ * {@link #decode}; it is {@code null} when the response has no body.
+ */
+@FunctionalInterface
+public interface ResponseBodyDecoder<T> {
+    ResponseBodyDecoder<HttpResponse> TO_STRING = (statusCode, statusText, headers, body) ->
+        new HttpResponse(statusCode, statusText, headers, body != null ? body.toString(StandardCharsets.UTF_8) : null);
+
+    T decode(int statusCode, String statusText, Map<String, String> headers, ByteBuf body);
+}
@@ -1,12 +1,16 @@
 package org.opensearch.migrations.bulkload.common;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import org.opensearch.migrations.bulkload.common.http.ConnectionContext;
 
+import io.netty.buffer.PooledByteBufAllocator;
 import org.junit.jupiter.api.Test;
+import reactor.netty.http.server.HttpServer;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -68,4 +72,59 @@ class RestClientTest {
         RestClient.addGzipRequestHeaders(headers);
         assertEquals(List.of("gzip"), headers.get("content-encoding"));
     }
+
+    @Test
+    void asyncRequestByteBuf_channelHoldsItsOwnReferenceToThePooledBody() {
+        var server = HttpServer.create()
+            .port(0)
+            .handle((request, response) -> response.sendString(request.receive().aggregate().asString()))
+            .bindNow();
+        try {
+            var restClient = new RestClient(ctx("http://localhost:" + server.port()));
+            var payload = "{\"index\":{}}\n{\"field\":\"value\"}\n";
+            var body = PooledByteBufAllocator.DEFAULT.directBuffer();
+            body.writeCharSequence(payload, StandardCharsets.UTF_8);
+
+            for (int attempt = 0; attempt < 2; attempt++) {
+                var response = restClient.postAsyncByteBuf("_bulk", body, null, null).block();
+                assertEquals(200, response.statusCode);
+                assertEquals(payload, response.body);
+                assertEquals(payload.length(), body.readableBytes());
+            }
+            // Only the caller's reference remains once netty has released what it wrote
+            assertTrue(body.release());
+        } finally {
+            server.disposeNow();
+        }
+    }
+
+    @Test
+    void outboundBodyFor_retainsTheBodyForADuplicateOrSliceOfItsView() {
+        var payload = "{\"index\":{}}\n{\"field\":\"value\"}\n";
+        var body = PooledByteBufAllocator.DEFAULT.directBuffer();
+        body.writeCharSequence(payload, StandardCharsets.UTF_8);
+        var bodyView = body.nioBuffer();
+        var toOutbound = RestClient.outboundBodyFor(body, bodyView);
+
+        var duplicate = toOutbound.apply(bodyView.duplicate());
+        assertEquals(2, body.refCnt());
+        assertEquals(payload, duplicate.toString(StandardCharsets.UTF_8));
+
+        var slice = toOutbound.apply(bodyView.duplicate().position(1).slice());
+        assertEquals(3, body.refCnt());
+        assertEquals(payload.substring(1), slice.toString(StandardCharsets.UTF_8));
+
+        var rewritten = toOutbound.apply(ByteBuffer.wrap(payload.getBytes(StandardCharsets.UTF_8)));
+        assertEquals(3, body.refCnt());
+        assertEquals(payload, rewritten.toString(StandardCharsets.UTF_8));
+        rewritten.release();
+
+        // The views outlive the caller's reference until netty releases them
+        assertFalse(body.release());
+        assertEquals(payload, duplicate.toString(StandardCharsets.UTF_8));
+        duplicate.release();
+        assertEquals(1, body.refCnt());
+        slice.release();
+        assertEquals(0, body.refCnt());
+    }
 }
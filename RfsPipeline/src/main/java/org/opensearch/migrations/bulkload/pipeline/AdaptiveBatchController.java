@@ -0,0 +1,174 @@
+package org.opensearch.migrations.bulkload.pipeline;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.opensearch.migrations.bulkload.pipeline.model.BatchResult;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+/**
+ * AIMD controller for one partition's batch byte target and in-flight batch limit.
+ *
+ * <p>Both start at the configured maximums so that a healthy target sees the same behaviour as
+ * static batching. Each completed batch adjusts them:
+ * <ul>
+ *   <li>Throttled (429 / rejected execution): halve both the byte target and the in-flight limit.</li>
+ *   <li>Retried without throttling (partial failures): drop the in-flight limit by one.</li>
+ *   <li>Slower than the target latency: shrink the byte target by a quarter.</li>
+ *   <li>Otherwise: grow the byte target by a fixed step, and the in-flight limit by one once a
+ *       full window of batches at the current limit has come back healthy.</li>
+ * </ul>
+ *
+ * <p>The in-flight limit is enforced through {@link #acquire()}, an asynchronous permit gate whose
+ * size can change while batches are waiting on it.
+ */
+@Slf4j
+class AdaptiveBatchController {
+    static final double THROTTLED_BACKOFF = 0.5;
+    static final double SLOW_BATCH_BACKOFF = 0.75;
+    /** Healthy batches needed to grow the byte target from its minimum back to its maximum. */
+    static final int BYTES_RECOVERY_STEPS = 20;
+
+    private final long minBytes;
+    private final long maxBytes;
+    private final long bytesIncrement;
+    private final int maxInFlight;
+    private final long targetLatencyNanos;
+
+    // Read without the lock by the batching predicate; written under it
+    private volatile long targetBytes;
+    private int inFlightLimit;
+    private int inFlight;
+    private int healthyStreak;
+    private final ArrayDeque<Waiter> waiters = new ArrayDeque<>();
+
+    AdaptiveBatchController(AdaptiveBatchingConfig config, long maxBytes, int maxInFlight) {
+        this.maxBytes = maxBytes;
+        this.minBytes = Math.min(config.minBytesPerBatch(), maxBytes);
+        this.bytesIncrement = Math.max(1, (maxBytes - minBytes) / BYTES_RECOVERY_STEPS);
+        this.maxInFlight = maxInFlight;
+        this.targetLatencyNanos = config.targetBatchLatency().toNanos();
+        this.targetBytes = maxBytes;
+        this.inFlightLimit = maxInFlight;
+    }
+
+    long getTargetBytes() {
+        return targetBytes;
+    }
+
+    synchronized int getInFlightLimit() {
+        return inFlightLimit;
+    }
+
+    /**
+     * Waits for a slot under the current in-flight limit. The returned permit must be released
+     * exactly once; extra releases are ignored.
+     */
+    Mono<Permit> acquire() {
+        return Mono.create(sink -> {
+            var waiter = new Waiter(sink, new Permit());
+            boolean granted;
+            synchronized (this) {
+                granted = inFlight < inFlightLimit;
+                if (granted) {
+                    inFlight++;
+                } else {
+                    waiters.add(waiter);
+                }
+            }
+            if (granted) {
+                sink.success(waiter.permit);
+            } else {
+                sink.onCancel(() -> cancel(waiter));
+            }
+        });
+    }
+
+    /** Feeds the outcome of a completed batch back into the byte target and in-flight limit. */
+    void onBatchComplete(BatchResult result, long latencyNanos) {
+        long bytesBefore;
+        int limitBefore;
+        long bytesAfter;
+        int limitAfter;
+        synchronized (this) {
+            bytesBefore = targetBytes;
+            limitBefore = inFlightLimit;
+            if (result.throttled()) {
+                targetBytes = Math.max(minBytes, (long) (targetBytes * THROTTLED_BACKOFF));
+                inFlightLimit = Math.max(1, inFlightLimit / 2);
+                healthyStreak = 0;
+            } else if (result.retriedAttempts() > 0) {
+                inFlightLimit = Math.max(1, inFlightLimit - 1);
+                healthyStreak = 0;
+            } else if (latencyNanos > targetLatencyNanos) {
+                targetBytes = Math.max(minBytes, (long) (targetBytes * SLOW_BATCH_BACKOFF));
+                healthyStreak = 0;
+            } else {
+                targetBytes = maxBytes - targetBytes <= bytesIncrement ? maxBytes : targetBytes + bytesIncrement;
+                if (++healthyStreak >= inFlightLimit) {
+                    inFlightLimit = Math.min(maxInFlight, inFlightLimit + 1);
+                    healthyStreak = 0;
+                }
+            }
+            bytesAfter = targetBytes;
+            limitAfter = inFlightLimit;
+        }
+        if (bytesAfter < bytesBefore || limitAfter < limitBefore) {
+            log.atDebug().setMessage("Backing off batching: targetBytes {} -> {}, inFlightLimit {} -> {} "
+                    + "(throttled={}, retriedAttempts={}, latencyMs={})")
+                .addArgument(bytesBefore)
+                .addArgument(bytesAfter)
+                .addArgument(limitBefore)
+                .addArgument(limitAfter)
+                .addArgument(result.throttled())
+                .addArgument(result.retriedAttempts())
+                .addArgument(latencyNanos / 1_000_000)
+                .log();
+        }
+        grantWaiters();
+    }
+
+    private void cancel(Waiter waiter) {
+        boolean wasWaiting;
+        synchronized (this) {
+            wasWaiting = waiters.remove(waiter);
+        }
+        if (!wasWaiting) {
+            // Granted concurrently with the cancel, so nobody downstream will release it
+            waiter.permit.release();
+        }
+    }
+
+    private void grantWaiters() {
+        List<Waiter> granted = new ArrayList<>();
+        synchronized (this) {
+            while (inFlight < inFlightLimit && !waiters.isEmpty()) {
+                inFlight++;
+                granted.add(waiters.poll());
+            }
+        }
+        // Completed outside the lock: downstream starts building and sending the batch on this thread
+        granted.forEach(w -> w.sink.success(w.permit));
+    }
+
+    private record Waiter(MonoSink<Permit> sink, Permit permit) {}
+
+    /** One in-flight slot. */
+    class Permit {
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        void release() {
+            if (released.compareAndSet(false, true)) {
+                synchronized (AdaptiveBatchController.this) {
+                    inFlight--;
+                }
+                grantWaiters();
+            }
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package org.opensearch.migrations.bulkload.pipeline;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Settings for adapting batch size and in-flight batch count to how the target is coping.
+ * The pipeline's static {@code maxBytesPerBatch} and {@code batchConcurrency} become the upper bounds.
+ *
+ * @param minBytesPerBatch    the smallest byte target a batch is shrunk to (must be >= 1)
+ * @param targetBatchLatency  batches slower than this are made smaller (must be positive)
+ */
+public record AdaptiveBatchingConfig(long minBytesPerBatch, Duration targetBatchLatency) {
+    public AdaptiveBatchingConfig {
+        if (minBytesPerBatch < 1) {
+            throw new IllegalArgumentException("minBytesPerBatch must be >= 1, got " + minBytesPerBatch);
+        }
+        Objects.requireNonNull(targetBatchLatency, "targetBatchLatency must not be null");
+        if (targetBatchLatency.isNegative() || targetBatchLatency.isZero()) {
+            throw new IllegalArgumentException("targetBatchLatency must be positive, got " + targetBatchLatency);
+        }
+    }
+}
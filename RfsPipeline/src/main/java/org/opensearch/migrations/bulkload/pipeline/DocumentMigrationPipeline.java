@@ -1,10 +1,17 @@
 package org.opensearch.migrations.bulkload.pipeline;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+import java.util.function.ToIntFunction;
 
+import org.opensearch.migrations.bulkload.pipeline.model.BatchResult;
 import org.opensearch.migrations.bulkload.pipeline.model.Document;
 import org.opensearch.migrations.bulkload.pipeline.model.Partition;
 import org.opensearch.migrations.bulkload.pipeline.model.ProgressCursor;
@@ -13,6 +20,7 @@ import org.opensearch.migrations.bulkload.pipeline.source.DocumentSource;
 
 import lombok.extern.slf4j.Slf4j;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
 
 /**
@@ -35,6 +43,17 @@ import reactor.core.scheduler.Schedulers;
  * </ul>
  * Within a single partition, batch results are emitted in order (via {@code flatMapSequential})
  * even when multiple writes are in flight.
+ *
+ * <p>With an {@link AdaptiveBatchingConfig}, each partition gets its own {@link AdaptiveBatchController}
+ * that shrinks the batch byte target and in-flight limit below the configured maximums when the sink
+ * reports throttling, retries or slow batches, and grows them back while writes stay healthy.
+ *
+ * <p>With a batch grouping window of N, a partition is read N batches' worth of documents at a time and,
+ * when the sink offers a {@link DocumentSink#batchGrouping grouping}, each window is split into batches of
+ * documents sharing a group key (e.g. the target shard), so that every bulk request fans out to as few
+ * target shards as possible. A progress cursor is emitted per window rather than per batch, since batches
+ * within a window no longer cover a contiguous range of the partition. Up to N × {@code maxBytesPerBatch}
+ * is held in memory per partition, and batches are only full when N is at least the number of groups.
  */
 @Slf4j
 public class DocumentMigrationPipeline {
@@ -45,6 +64,8 @@ public class DocumentMigrationPipeline {
     private final long maxBytesPerBatch;
     private final int partitionConcurrency;
     private final int batchConcurrency;
+    private final AdaptiveBatchingConfig adaptiveBatching;
+    private final int batchGroupingWindow;
 
     // Observable state — polled by PipelineProgressMonitor
     private final AtomicLong totalDocs = new AtomicLong();
@@ -76,6 +97,43 @@ public class DocumentMigrationPipeline {
         long maxBytesPerBatch,
         int partitionConcurrency,
         int batchConcurrency
+    ) {
+        this(source, sink, maxDocsPerBatch, maxBytesPerBatch, partitionConcurrency, batchConcurrency, null);
+    }
+
+    /**
+     * Create a pipeline with configurable concurrency and optional adaptive batching.
+     *
+     * @param adaptiveBatching when non-null, {@code maxBytesPerBatch} and {@code batchConcurrency} are
+     *                         upper bounds that each partition adapts within; when null they are fixed
+     */
+    public DocumentMigrationPipeline(
+        DocumentSource source,
+        DocumentSink sink,
+        int maxDocsPerBatch,
+        long maxBytesPerBatch,
+        int partitionConcurrency,
+        int batchConcurrency,
+        AdaptiveBatchingConfig adaptiveBatching
+    ) {
+        this(source, sink, maxDocsPerBatch, maxBytesPerBatch, partitionConcurrency, batchConcurrency, adaptiveBatching, 0);
+    }
+
+    /**
+     * Create a pipeline with configurable concurrency, optional adaptive batching and optional batch grouping.
+     *
+     * @param batchGroupingWindow how many batches' worth of documents to regroup by the sink's
+     *                            {@link DocumentSink#batchGrouping grouping} key at a time (0 disables grouping)
+     */
+    public DocumentMigrationPipeline(
+        DocumentSource source,
+        DocumentSink sink,
+        int maxDocsPerBatch,
+        long maxBytesPerBatch,
+        int partitionConcurrency,
+        int batchConcurrency,
+        AdaptiveBatchingConfig adaptiveBatching,
+        int batchGroupingWindow
     ) {
         this.source = Objects.requireNonNull(source, "source must not be null");
         this.sink = Objects.requireNonNull(sink, "sink must not be null");
@@ -91,10 +149,15 @@ public class DocumentMigrationPipeline {
         if (batchConcurrency < 1) {
             throw new IllegalArgumentException("batchConcurrency must be >= 1, got " + batchConcurrency);
         }
+        if (batchGroupingWindow < 0) {
+            throw new IllegalArgumentException("batchGroupingWindow must be >= 0, got " + batchGroupingWindow);
+        }
         this.maxDocsPerBatch = maxDocsPerBatch;
         this.maxBytesPerBatch = maxBytesPerBatch;
         this.partitionConcurrency = partitionConcurrency;
         this.batchConcurrency = batchConcurrency;
+        this.adaptiveBatching = adaptiveBatching;
+        this.batchGroupingWindow = batchGroupingWindow;
     }
 
     /** Snapshot of pipeline progress, safe to read from any thread. */
@@ -123,36 +186,128 @@ public class DocumentMigrationPipeline {
      * @param partition         the partition to migrate
      * @param collectionName    the target collection name
      * @param startingDocOffset the document offset to resume from (0 for start)
-     * @return a Flux of progress cursors, one per batch written
+     * @return a Flux of progress cursors, one per batch written (or per window when batches are grouped)
      */
     public Flux<ProgressCursor> migratePartition(Partition partition, String collectionName, long startingDocOffset) {
+        return migratePartition(partition, collectionName, startingDocOffset, Long.MAX_VALUE);
+    }
+
+    /**
+     * Migrate the documents in {@code [startingDocOffset, endingDocOffset)} of a partition, so that
+     * disjoint ranges of a large partition can be migrated by different workers.
+     *
+     * @param endingDocOffset the exclusive upper bound, or {@link Long#MAX_VALUE} for the rest of the partition
+     * @return a Flux of progress cursors, one per batch written (or per window when batches are grouped)
+     */
+    public Flux<ProgressCursor> migratePartition(
+        Partition partition,
+        String collectionName,
+        long startingDocOffset,
+        long endingDocOffset
+    ) {
         final long[] cumulativeOffset = { startingDocOffset };
         return Flux.defer(() -> {
             currentPartition.set(partition);
-            return source.readDocuments(partition, startingDocOffset)
-                .subscribeOn(Schedulers.boundedElastic())
-                .bufferUntil(new BatchPredicate(maxDocsPerBatch, maxBytesPerBatch))
-                .flatMapSequential(batch -> {
-                    activeBatches.incrementAndGet();
-                    return sink.writeBatch(collectionName, batch)
-                        .map(result -> {
-                            cumulativeOffset[0] += result.docsInBatch();
-                            totalDocs.addAndGet(result.docsInBatch());
-                            totalBytes.addAndGet(result.bytesInBatch());
-                            return new ProgressCursor(
-                                partition,
-                                cumulativeOffset[0],
-                                result.docsInBatch(),
-                                result.bytesInBatch()
-                            );
-                        })
-                        .doFinally(s -> activeBatches.decrementAndGet());
-                }, batchConcurrency)
+            var controller = adaptiveBatching == null
+                ? null
+                : new AdaptiveBatchController(adaptiveBatching, maxBytesPerBatch, batchConcurrency);
+            LongSupplier maxBytes = controller == null ? () -> maxBytesPerBatch : controller::getTargetBytes;
+            var documents = source.readDocuments(partition, startingDocOffset, endingDocOffset)
+                .subscribeOn(Schedulers.boundedElastic());
+            Mono<ToIntFunction<Document>> grouping = batchGroupingWindow > 0
+                ? sink.batchGrouping(collectionName)
+                : Mono.empty();
+            return grouping
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMapMany(groupKey -> groupKey.isPresent()
+                    ? writeGroupedWindows(collectionName, documents, groupKey.get(), maxBytes, controller)
+                    : documents
+                        .bufferUntil(new BatchPredicate(maxDocsPerBatch, maxBytes))
+                        .flatMapSequential(batch -> writeBatch(collectionName, batch, controller), batchConcurrency))
+                .map(result -> {
+                    cumulativeOffset[0] += result.docsInBatch();
+                    totalDocs.addAndGet(result.docsInBatch());
+                    totalBytes.addAndGet(result.bytesInBatch());
+                    return new ProgressCursor(
+                        partition,
+                        cumulativeOffset[0],
+                        result.docsInBatch(),
+                        result.bytesInBatch()
+                    );
+                })
                 .onErrorMap(e -> !(e instanceof PipelineException),
                     e -> new PipelineException("Failed migrating partition " + partition, e));
         });
     }
 
+    private Mono<BatchResult> writeBatch(String collectionName, List<Document> batch, AdaptiveBatchController controller) {
+        if (controller == null) {
+            return trackActive(sink.writeBatch(collectionName, batch));
+        }
+        return Mono.usingWhen(
+            controller.acquire(),
+            permit -> Mono.defer(() -> {
+                long start = System.nanoTime();
+                return trackActive(sink.writeBatch(collectionName, batch))
+                    .doOnNext(result -> controller.onBatchComplete(result, System.nanoTime() - start));
+            }),
+            permit -> Mono.fromRunnable(permit::release),
+            (permit, e) -> Mono.fromRunnable(permit::release),
+            permit -> Mono.fromRunnable(permit::release)
+        );
+    }
+
+    /**
+     * Reads the partition a window at a time, writing each window as batches of same-key documents and
+     * completing it before the next one starts so that the per-window cursor only covers written documents.
+     */
+    private Flux<BatchResult> writeGroupedWindows(
+        String collectionName,
+        Flux<Document> documents,
+        ToIntFunction<Document> groupKey,
+        LongSupplier maxBytes,
+        AdaptiveBatchController controller
+    ) {
+        int maxDocsPerWindow = (int) Math.min((long) maxDocsPerBatch * batchGroupingWindow, Integer.MAX_VALUE);
+        LongSupplier maxBytesPerWindow = () -> {
+            long bytes = maxBytes.getAsLong();
+            return bytes > Long.MAX_VALUE / batchGroupingWindow ? Long.MAX_VALUE : bytes * batchGroupingWindow;
+        };
+        return documents
+            .bufferUntil(new BatchPredicate(maxDocsPerWindow, maxBytesPerWindow))
+            .concatMap(window -> writeWindow(collectionName, window, groupKey, maxBytes, controller), 1);
+    }
+
+    private Mono<BatchResult> writeWindow(
+        String collectionName,
+        List<Document> window,
+        ToIntFunction<Document> groupKey,
+        LongSupplier maxBytes,
+        AdaptiveBatchController controller
+    ) {
+        var groups = new LinkedHashMap<Integer, List<Document>>();
+        for (var doc : window) {
+            groups.computeIfAbsent(groupKey.applyAsInt(doc), k -> new ArrayList<>()).add(doc);
+        }
+        return Flux.fromIterable(groups.values())
+            .concatMap(group -> Flux.fromIterable(group).bufferUntil(new BatchPredicate(maxDocsPerBatch, maxBytes)))
+            .flatMap(batch -> writeBatch(collectionName, batch, controller), batchConcurrency)
+            .reduce(new BatchResult(0, 0), (total, result) -> new BatchResult(
+                total.docsInBatch() + result.docsInBatch(),
+                total.bytesInBatch() + result.bytesInBatch(),
+                total.retriedAttempts() + result.retriedAttempts(),
+                total.throttled() || result.throttled()
+            ));
+    }
+
+    private Mono<BatchResult> trackActive(Mono<BatchResult> write) {
+        return Mono.defer(() -> {
+            activeBatches.incrementAndGet();
+            return write.doFinally(s -> activeBatches.decrementAndGet());
+        });
+    }
+
     /**
      * Migrate all partitions for a collection. Creates the collection first, then migrates
      * partitions with the configured concurrency.
@@ -185,15 +340,16 @@ public class DocumentMigrationPipeline {
     }
 
     /**
-     * Batching predicate that groups documents by count and byte size.
+     * Batching predicate that groups documents by count and byte size. The byte limit is re-read
+     * for every document so that an adaptive target takes effect on the batch being filled.
      */
     static class BatchPredicate implements java.util.function.Predicate<Document> {
         private final int maxDocs;
-        private final long maxBytes;
+        private final LongSupplier maxBytes;
         private int currentCount;
         private long currentBytes;
 
-        BatchPredicate(int maxDocs, long maxBytes) {
+        BatchPredicate(int maxDocs, LongSupplier maxBytes) {
             this.maxDocs = maxDocs;
             this.maxBytes = maxBytes;
         }
@@ -203,7 +359,7 @@ public class DocumentMigrationPipeline {
             currentCount++;
             currentBytes += doc.sourceLength();
 
-            if (currentCount >= maxDocs || currentBytes >= maxBytes) {
+            if (currentCount >= maxDocs || currentBytes >= maxBytes.getAsLong()) {
                 currentCount = 0;
                 currentBytes = 0;
                 return true;
@@ -4,13 +4,24 @@ package org.opensearch.migrations.bulkload.pipeline.model;
  * Result of writing a single batch to the sink. Contains batch-local stats only —
  * the pipeline is responsible for tracking cumulative offsets via {@link ProgressCursor}.
  *
- * @param docsInBatch  the number of documents written in this batch
- * @param bytesInBatch the total source bytes written in this batch
+ * <p>The write-feedback fields let the pipeline adapt batch size and concurrency to how the
+ * target is coping; sinks that cannot observe them use {@link #BatchResult(long, long)}.
+ *
+ * @param docsInBatch     the number of documents written in this batch
+ * @param bytesInBatch    the total source bytes written in this batch
+ * @param retriedAttempts how many extra write attempts the sink needed before the batch succeeded
+ * @param throttled       whether the target rejected any attempt for being overloaded
  */
 public record BatchResult(
     long docsInBatch,
-    long bytesInBatch
+    long bytesInBatch,
+    int retriedAttempts,
+    boolean throttled
 ) {
+    public BatchResult(long docsInBatch, long bytesInBatch) {
+        this(docsInBatch, bytesInBatch, 0, false);
+    }
+
     public BatchResult {
         if (docsInBatch < 0) {
             throw new IllegalArgumentException("docsInBatch must be >= 0, got " + docsInBatch);
@@ -18,5 +29,8 @@ public record BatchResult(
         if (bytesInBatch < 0) {
             throw new IllegalArgumentException("bytesInBatch must be >= 0, got " + bytesInBatch);
         }
+        if (retriedAttempts < 0) {
+            throw new IllegalArgumentException("retriedAttempts must be >= 0, got " + retriedAttempts);
+        }
     }
 }
@@ -1,6 +1,7 @@
 package org.opensearch.migrations.bulkload.pipeline.sink;
 
 import java.util.List;
+import java.util.function.ToIntFunction;
 
 import org.opensearch.migrations.bulkload.pipeline.model.BatchResult;
 import org.opensearch.migrations.bulkload.pipeline.model.CollectionMetadata;
@@ -36,6 +37,18 @@ public interface DocumentSink extends AutoCloseable {
      */
     Mono<BatchResult> writeBatch(String collectionName, List<Document> batch);
 
+    /**
+     * How documents bound for a collection should be grouped so that each batch touches as little of the
+     * target as possible, e.g. the target shard each document routes to. Documents with the same key are
+     * batched together when the pipeline groups batches; the key is a hint and never affects correctness.
+     *
+     * @param collectionName the target collection name, which must already exist
+     * @return the grouping key function, or empty if this sink has no useful grouping (the default)
+     */
+    default Mono<ToIntFunction<Document>> batchGrouping(String collectionName) {
+        return Mono.empty();
+    }
+
     @Override
     default void close() throws Exception {
         // Default no-op
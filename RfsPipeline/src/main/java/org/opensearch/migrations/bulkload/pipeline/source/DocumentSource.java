@@ -41,6 +41,46 @@ public interface DocumentSource extends AutoCloseable {
      */
     Flux<Document> readDocuments(Partition partition, long startingDocOffset);
 
+    /**
+     * Stream documents for the sub-range {@code [startingDocOffset, endingDocOffset)} of a partition, so that
+     * disjoint ranges of one partition can be migrated independently. Only sources that report a
+     * {@link #partitionDocCount} need to support a bounded range.
+     *
+     * @param endingDocOffset the exclusive upper bound, or {@link Long#MAX_VALUE} to read to the end
+     * @return a cold Flux of documents
+     */
+    default Flux<Document> readDocuments(Partition partition, long startingDocOffset, long endingDocOffset) {
+        if (endingDocOffset == Long.MAX_VALUE) {
+            return readDocuments(partition, startingDocOffset);
+        }
+        return Flux.error(new UnsupportedOperationException(
+            getClass().getSimpleName() + " cannot read a bounded range of partition " + partition));
+    }
+
+    /**
+     * The exclusive upper bound of document offsets in a partition, used to split it into ranges for
+     * {@link #readDocuments(Partition, long, long)}. May open the partition, so call it only for a
+     * partition that is about to be read.
+     *
+     * @return the offset bound, or -1 if this source cannot read bounded ranges (the default)
+     */
+    default long partitionDocCount(Partition partition) {
+        return -1;
+    }
+
+    /**
+     * Make a partition ready to read ahead of {@link #readDocuments}, e.g. by downloading it, so that the
+     * download overlaps the migration of another partition. Unlike the other methods, this may be called from
+     * a background thread while a different partition is being read.
+     *
+     * @param maxLocalBytes the most local disk space that preparing the partition may take
+     * @return whether the partition was prepared; false if it would not fit or this source cannot prepare
+     *         partitions ahead of time (the default)
+     */
+    default boolean preparePartition(Partition partition, long maxLocalBytes) {
+        return false;
+    }
+
     @Override
     default void close() throws Exception {
         // Default no-op for sources that don't hold resources
@@ -0,0 +1,124 @@
+package org.opensearch.migrations.bulkload.pipeline;
+
+import java.time.Duration;
+import java.util.ArrayList;
+
+import org.opensearch.migrations.bulkload.pipeline.model.BatchResult;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class AdaptiveBatchControllerTest {
+    private static final long FAST = Duration.ofMillis(10).toNanos();
+    private static final long SLOW = Duration.ofSeconds(5).toNanos();
+    private static final BatchResult HEALTHY = new BatchResult(10, 100);
+
+    private static AdaptiveBatchController controller(int maxInFlight) {
+        return new AdaptiveBatchController(new AdaptiveBatchingConfig(100, Duration.ofSeconds(1)), 2100, maxInFlight);
+    }
+
+    @Test
+    void startsAtConfiguredMaximums() {
+        var controller = controller(8);
+
+        assertEquals(2100, controller.getTargetBytes());
+        assertEquals(8, controller.getInFlightLimit());
+    }
+
+    @Test
+    void throttledBatch_halvesBytesAndInFlightLimit() {
+        var controller = controller(8);
+
+        controller.onBatchComplete(new BatchResult(10, 100, 1, true), FAST);
+
+        assertEquals(1050, controller.getTargetBytes());
+        assertEquals(4, controller.getInFlightLimit());
+    }
+
+    @Test
+    void backoff_neverGoesBelowMinimums() {
+        var controller = controller(2);
+
+        for (int i = 0; i < 10; i++) {
+            controller.onBatchComplete(new BatchResult(10, 100, 1, true), FAST);
+        }
+
+        assertEquals(100, controller.getTargetBytes());
+        assertEquals(1, controller.getInFlightLimit());
+    }
+
+    @Test
+    void slowOrRetriedBatches_backOffOneDimensionEach() {
+        var controller = controller(8);
+
+        controller.onBatchComplete(HEALTHY, SLOW);
+        assertEquals(1575, controller.getTargetBytes());
+        assertEquals(8, controller.getInFlightLimit());
+
+        controller.onBatchComplete(new BatchResult(10, 100, 2, false), FAST);
+        assertEquals(1575, controller.getTargetBytes());
+        assertEquals(7, controller.getInFlightLimit());
+    }
+
+    @Test
+    void healthyBatches_growAdditivelyBackToMaximums() {
+        var controller = controller(4);
+        controller.onBatchComplete(new BatchResult(10, 100, 1, true), FAST);
+        controller.onBatchComplete(new BatchResult(10, 100, 1, true), FAST);
+        assertEquals(525, controller.getTargetBytes());
+        assertEquals(1, controller.getInFlightLimit());
+
+        controller.onBatchComplete(HEALTHY, FAST);
+        assertEquals(625, controller.getTargetBytes());
+        assertEquals(2, controller.getInFlightLimit());
+
+        for (int i = 0; i < 50; i++) {
+            controller.onBatchComplete(HEALTHY, FAST);
+        }
+        assertEquals(2100, controller.getTargetBytes());
+        assertEquals(4, controller.getInFlightLimit());
+    }
+
+    @Test
+    void acquire_waitsForReleaseOrLimitGrowth() {
+        var controller = controller(2);
+        controller.onBatchComplete(new BatchResult(10, 100, 1, true), FAST);
+        assertEquals(1, controller.getInFlightLimit());
+
+        var permits = new ArrayList<AdaptiveBatchController.Permit>();
+        controller.acquire().subscribe(permits::add);
+        controller.acquire().subscribe(permits::add);
+        controller.acquire().subscribe(permits::add);
+        assertEquals(1, permits.size());
+
+        // A healthy batch raises the limit to 2, which admits one waiter
+        controller.onBatchComplete(HEALTHY, FAST);
+        assertEquals(2, permits.size());
+
+        permits.get(0).release();
+        permits.get(0).release();
+        assertEquals(3, permits.size());
+    }
+
+    @Test
+    void cancelledWaiter_doesNotHoldASlot() {
+        var controller = controller(1);
+        var first = controller.acquire().block();
+        assertNotNull(first);
+
+        var waiting = controller.acquire().subscribe(p -> { });
+        waiting.dispose();
+        first.release();
+
+        var next = new AdaptiveBatchController.Permit[1];
+        controller.acquire().subscribe(p -> next[0] = p);
+        assertNotNull(next[0]);
+
+        var blocked = new AdaptiveBatchController.Permit[1];
+        controller.acquire().subscribe(p -> blocked[0] = p);
+        assertNull(blocked[0]);
+    }
+}
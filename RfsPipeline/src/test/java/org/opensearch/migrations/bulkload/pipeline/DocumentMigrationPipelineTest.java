@@ -0,0 +1,79 @@
+package org.opensearch.migrations.bulkload.pipeline;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.ToIntFunction;
+
+import org.opensearch.migrations.bulkload.pipeline.model.BatchResult;
+import org.opensearch.migrations.bulkload.pipeline.model.CollectionMetadata;
+import org.opensearch.migrations.bulkload.pipeline.model.Document;
+import org.opensearch.migrations.bulkload.pipeline.model.ProgressCursor;
+import org.opensearch.migrations.bulkload.pipeline.sink.DocumentSink;
+import org.opensearch.migrations.bulkload.pipeline.source.SyntheticDocumentSource;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DocumentMigrationPipelineTest {
+    private static final String COLLECTION = "idx";
+
+    /** Records every batch and groups documents by their doc number modulo 3. */
+    private static class GroupingSink implements DocumentSink {
+        final List<List<Document>> batches = new CopyOnWriteArrayList<>();
+
+        static int groupOf(Document doc) {
+            return Integer.parseInt(doc.id().substring(doc.id().lastIndexOf('-') + 1)) % 3;
+        }
+
+        @Override
+        public Mono<Void> createCollection(CollectionMetadata metadata) {
+            return Mono.empty();
+        }
+
+        @Override
+        public Mono<BatchResult> writeBatch(String collectionName, List<Document> batch) {
+            batches.add(batch);
+            return Mono.just(new BatchResult(batch.size(), batch.stream().mapToLong(Document::sourceLength).sum()));
+        }
+
+        @Override
+        public Mono<ToIntFunction<Document>> batchGrouping(String collectionName) {
+            return Mono.just(GroupingSink::groupOf);
+        }
+    }
+
+    private static List<ProgressCursor> migrate(GroupingSink sink, int batchGroupingWindow) {
+        var source = new SyntheticDocumentSource(COLLECTION, 1, 30);
+        var pipeline = new DocumentMigrationPipeline(source, sink, 5, Long.MAX_VALUE, 1, 4, null, batchGroupingWindow);
+        return pipeline.migratePartition(source.listPartitions(COLLECTION).get(0), COLLECTION, 0)
+            .collectList()
+            .block();
+    }
+
+    @Test
+    void groupedWindows_batchOnlySameKeyDocumentsAndReportOneCursorPerWindow() {
+        var sink = new GroupingSink();
+
+        var cursors = migrate(sink, 2);
+
+        assertEquals(List.of(10L, 20L, 30L), cursors.stream().map(ProgressCursor::lastDocProcessed).toList());
+        assertEquals(30, sink.batches.stream().mapToInt(List::size).sum());
+        for (var batch : sink.batches) {
+            int group = GroupingSink.groupOf(batch.get(0));
+            assertEquals(batch.size(), batch.stream().filter(doc -> GroupingSink.groupOf(doc) == group).count());
+        }
+    }
+
+    @Test
+    void withoutGroupingWindow_batchesFollowSourceOrder() {
+        var sink = new GroupingSink();
+
+        var cursors = migrate(sink, 0);
+
+        assertEquals(List.of(5L, 10L, 15L, 20L, 25L, 30L),
+            cursors.stream().map(ProgressCursor::lastDocProcessed).toList());
+        assertEquals(6, sink.batches.size());
+    }
+}
@@ -2,6 +2,8 @@ package org.opensearch.migrations.bulkload.common;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
 
 import org.opensearch.migrations.bulkload.models.ShardFileInfo;
 
@@ -16,7 +18,10 @@ public class PartSliceStream extends InputStream {
     private final ShardFileInfo fileMetadata;
     private final String indexId;
     private final int shardId;
-    private long slice = 0;
+    // Number of slices opened before they are needed, so streamed parts download concurrently
+    private final int readAhead;
+    private final Deque<InputStream> openedAhead = new ArrayDeque<>();
+    private long nextSliceToOpen = 0;
     private InputStream currentStream;
     private boolean initialized = false;
 
@@ -25,6 +30,7 @@ public class PartSliceStream extends InputStream {
         this.fileMetadata = fileMetadata;
         this.indexId = indexId;
         this.shardId = shardId;
+        this.readAhead = Math.max(0, repoAccessor.getPartReadAhead());
     }
 
     protected InputStream openSlice(long slice) {
@@ -38,11 +44,10 @@ public class PartSliceStream extends InputStream {
         if (currentStream != null) {
             currentStream.close();
         }
-        if (slice < fileMetadata.getNumberOfParts()) {
-            currentStream = openSlice(slice++);
-        } else {
-            currentStream = null;
+        while (openedAhead.size() <= readAhead && nextSliceToOpen < fileMetadata.getNumberOfParts()) {
+            openedAhead.add(openSlice(nextSliceToOpen++));
         }
+        currentStream = openedAhead.poll();
         return currentStream;
     }
 
@@ -86,6 +91,9 @@ public class PartSliceStream extends InputStream {
         if (currentStream != null) {
             currentStream.close();
         }
+        while (!openedAhead.isEmpty()) {
+            openedAhead.poll().close();
+        }
         initialized = true;
         currentStream = null;
     }
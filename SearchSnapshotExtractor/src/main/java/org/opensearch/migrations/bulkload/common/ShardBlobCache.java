@@ -0,0 +1,195 @@
+package org.opensearch.migrations.bulkload.common;
+
+import java.io.IOException;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.opensearch.migrations.bulkload.lucene.RfsTunables;
+import org.opensearch.migrations.bulkload.models.ShardFileInfo;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Node-local, content-addressed store of the Lucene files that {@link SnapshotShardUnpacker} downloads.
+ *
+ * <p>A segment file that is unchanged between two snapshots is stored under the same name, length and
+ * checksum in both snapshots' {@link ShardFileInfo}. Entries are keyed by those three values, so unpacking the
+ * base and then the delta of a shard, or retrying a work item on the same node, downloads each file once.
+ * Entries are materialised into a shard directory as hard links (falling back to a copy where the file
+ * system cannot link), so removing a shard directory leaves the cache intact and vice versa.
+ *
+ * <p>The cache is off unless {@link RfsTunables#blobCacheMaxBytes()} gives it a size. It lives beside the
+ * unpacker's base path, in a directory named after it with a {@value #CACHE_DIR_SUFFIX} suffix, so that
+ * cleaning out the base path (e.g. {@code --clean-local-dirs}) doesn't throw the cache away with it. Each hit
+ * touches the entry's modification time, and once the cache grows past its budget the least recently used
+ * entries are removed. An evicted entry that is still linked into a shard directory keeps its data until that
+ * directory is removed too.
+ */
+@Slf4j
+public class ShardBlobCache {
+    public static final String CACHE_DIR_SUFFIX = ".blob-cache";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private static final Map<Path, ShardBlobCache> CACHES = new ConcurrentHashMap<>();
+
+    private final Path cacheDirectory;
+    private final long maxBytes;
+    private final AtomicLong totalBytes = new AtomicLong();
+    private final AtomicLong tempFileCounter = new AtomicLong();
+
+    /** Fetches a file's contents from the repository into {@code target}. */
+    @FunctionalInterface
+    public interface Downloader {
+        void download(ShardFileInfo fileMetadata, Path target) throws IOException;
+    }
+
+    ShardBlobCache(Path cacheDirectory, long maxBytes) throws IOException {
+        this.cacheDirectory = Files.createDirectories(cacheDirectory);
+        this.maxBytes = maxBytes;
+        try (var entries = Files.list(this.cacheDirectory)) {
+            for (var entry : (Iterable<Path>) entries::iterator) {
+                if (entry.getFileName().toString().endsWith(TEMP_SUFFIX)) {
+                    // Left behind by a process that stopped mid-download
+                    Files.deleteIfExists(entry);
+                } else {
+                    totalBytes.addAndGet(Files.size(entry));
+                }
+            }
+        }
+        log.atInfo().setMessage("Opened shard blob cache {} holding {} MB of a {} MB budget")
+            .addArgument(this.cacheDirectory)
+            .addArgument(() -> totalBytes.get() / (1024 * 1024))
+            .addArgument(maxBytes / (1024 * 1024))
+            .log();
+    }
+
+    /**
+     * The cache for {@code luceneFilesBasePath}, shared by every unpacker in the process that uses that path
+     * so that they agree on its size.
+     *
+     * @return null when no cache size has been configured
+     */
+    public static ShardBlobCache forBasePath(Path luceneFilesBasePath) {
+        long maxBytes = RfsTunables.blobCacheMaxBytes();
+        if (maxBytes <= 0) {
+            return null;
+        }
+        return CACHES.computeIfAbsent(luceneFilesBasePath.toAbsolutePath().normalize(), basePath -> {
+            try {
+                return new ShardBlobCache(cacheDirectoryFor(basePath), maxBytes);
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not open shard blob cache under " + basePath, e);
+            }
+        });
+    }
+
+    static Path cacheDirectoryFor(Path luceneFilesBasePath) {
+        var basePath = luceneFilesBasePath.toAbsolutePath().normalize();
+        if (basePath.getFileName() == null) {
+            throw new IllegalArgumentException("The shard blob cache can't sit beside " + basePath);
+        }
+        return basePath.resolveSibling(basePath.getFileName() + CACHE_DIR_SUFFIX);
+    }
+
+    /** Whether a file can be cached; files without a checksum have no content address. */
+    public static boolean isCacheable(ShardFileInfo fileMetadata) {
+        return fileMetadata.getChecksum() != null && !fileMetadata.getName().startsWith("v__");
+    }
+
+    /**
+     * Places the file at {@code target}, from the cache when it holds the file and otherwise by downloading
+     * it and adding it to the cache.
+     *
+     * @return true if the file came from the cache
+     */
+    public boolean materialize(ShardFileInfo fileMetadata, Path target, Downloader downloader) throws IOException {
+        Path entry = cacheDirectory.resolve(entryName(fileMetadata));
+        Files.deleteIfExists(target);
+        try {
+            linkOrCopy(entry, target);
+            Files.setLastModifiedTime(entry, FileTime.fromMillis(System.currentTimeMillis()));
+            return true;
+        } catch (NoSuchFileException e) {
+            // Not cached yet, or evicted
+        }
+
+        Path temp = cacheDirectory.resolve(entry.getFileName() + "." + tempFileCounter.incrementAndGet() + TEMP_SUFFIX);
+        try {
+            downloader.download(fileMetadata, temp);
+            // Link into the shard first so that an eviction racing with the move cannot take the file away
+            linkOrCopy(temp, target);
+            // A concurrent download of the same file may have won; its entry has identical contents
+            boolean replaced = Files.exists(entry);
+            Files.move(temp, entry, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            if (!replaced && totalBytes.addAndGet(fileMetadata.getLength()) > maxBytes) {
+                evict();
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return false;
+    }
+
+    static String entryName(ShardFileInfo fileMetadata) {
+        return fileMetadata.getPhysicalName() + "-" + fileMetadata.getLength() + "-" + fileMetadata.getChecksum();
+    }
+
+    private static void linkOrCopy(Path source, Path target) throws IOException {
+        try {
+            Files.createLink(target, source);
+        } catch (NoSuchFileException e) {
+            throw e;
+        } catch (UnsupportedOperationException | FileSystemException e) {
+            Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private synchronized void evict() throws IOException {
+        if (totalBytes.get() <= maxBytes) {
+            return;
+        }
+        record Entry(Path path, FileTime lastUsed, long size) {}
+        var entries = new ArrayList<Entry>();
+        try (var files = Files.list(cacheDirectory)) {
+            for (var path : (Iterable<Path>) files::iterator) {
+                if (path.getFileName().toString().endsWith(TEMP_SUFFIX)) {
+                    continue;
+                }
+                try {
+                    entries.add(new Entry(path, Files.getLastModifiedTime(path), Files.size(path)));
+                } catch (NoSuchFileException e) {
+                    // Replaced by a concurrent download of the same file
+                }
+            }
+        }
+        entries.sort(Comparator.comparing(Entry::lastUsed));
+        int evicted = 0;
+        for (var entry : entries) {
+            if (totalBytes.get() <= maxBytes) {
+                break;
+            }
+            if (Files.deleteIfExists(entry.path())) {
+                totalBytes.addAndGet(-entry.size());
+                evicted++;
+            }
+        }
+        log.atInfo().setMessage("Evicted {} entries from shard blob cache {}, now holding {} MB")
+            .addArgument(evicted)
+            .addArgument(cacheDirectory)
+            .addArgument(() -> totalBytes.get() / (1024 * 1024))
+            .log();
+    }
+
+    long totalBytes() {
+        return totalBytes.get();
+    }
+}
@@ -0,0 +1,84 @@
+package org.opensearch.migrations.bulkload.common;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bounded LRU cache of fixed-size blocks read from snapshot blobs. Shared by every file of a
+ * range-read shard so that Lucene's repeated small reads (segment headers, postings skip data,
+ * stored-field chunk indexes) are served from memory instead of going back to the repository.
+ *
+ * <p>Loads happen outside the cache lock; two threads missing on the same block may both fetch it,
+ * which is cheaper than serialising every repository read behind a single monitor.
+ */
+@Slf4j
+public class SnapshotBlobBlockCache {
+    public static final int DEFAULT_BLOCK_SIZE_BYTES = 1024 * 1024;
+    public static final long DEFAULT_MAX_CACHE_BYTES = 256L * 1024 * 1024;
+
+    @SuppressWarnings("java:S100") // Record component accessors are valid method names
+    public record BlockKey(String indexId, int shardId, String blobName, long blockIndex) {}
+
+    @Getter
+    private final int blockSizeBytes;
+    @Getter
+    private final long maxCacheBytes;
+
+    private final LinkedHashMap<BlockKey, byte[]> blocks = new LinkedHashMap<>(16, 0.75f, true);
+    private long cachedBytes;
+
+    public SnapshotBlobBlockCache() {
+        this(DEFAULT_BLOCK_SIZE_BYTES, DEFAULT_MAX_CACHE_BYTES);
+    }
+
+    public SnapshotBlobBlockCache(int blockSizeBytes, long maxCacheBytes) {
+        if (blockSizeBytes <= 0) {
+            throw new IllegalArgumentException("blockSizeBytes must be positive: " + blockSizeBytes);
+        }
+        if (maxCacheBytes < 0) {
+            throw new IllegalArgumentException("maxCacheBytes must not be negative: " + maxCacheBytes);
+        }
+        this.blockSizeBytes = blockSizeBytes;
+        this.maxCacheBytes = maxCacheBytes;
+    }
+
+    public byte[] getOrLoad(BlockKey key, Supplier<byte[]> loader) {
+        synchronized (blocks) {
+            var cached = blocks.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        var loaded = loader.get();
+        synchronized (blocks) {
+            var previous = blocks.put(key, loaded);
+            if (previous != null) {
+                cachedBytes -= previous.length;
+            }
+            cachedBytes += loaded.length;
+            evictToBudget();
+        }
+        return loaded;
+    }
+
+    public long getCachedBytes() {
+        synchronized (blocks) {
+            return cachedBytes;
+        }
+    }
+
+    private void evictToBudget() {
+        Iterator<Map.Entry<BlockKey, byte[]>> it = blocks.entrySet().iterator();
+        while (cachedBytes > maxCacheBytes && it.hasNext()) {
+            var eldest = it.next();
+            cachedBytes -= eldest.getValue().length;
+            it.remove();
+            log.atTrace().setMessage("Evicted snapshot blob block {}").addArgument(eldest::getKey).log();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package org.opensearch.migrations.bulkload.common;
+
+import java.io.EOFException;
+import java.io.IOException;
+
+import org.opensearch.migrations.bulkload.models.ShardFileInfo;
+
+/**
+ * Positional, read-only view of a single Lucene file stored in a snapshot. Maps a logical file
+ * offset onto the snapshot's multi-part blobs ({@code <name>.part<N>}, each {@link ShardFileInfo#getPartSize()}
+ * bytes long) and reads aligned blocks through a {@link SnapshotBlobBlockCache}.
+ *
+ * <p>Files whose blob name starts with {@code v__} have no blob at all; their content is the
+ * {@link ShardFileInfo#getMetaHash()} stored inline in the shard metadata, matching the unpack path in
+ * {@link SnapshotShardUnpacker}.
+ */
+public class SnapshotBlobFile {
+    private final SourceRepoAccessor repoAccessor;
+    private final ShardFileInfo fileInfo;
+    private final String indexId;
+    private final int shardId;
+    private final SnapshotBlobBlockCache blockCache;
+    private final long partSize;
+
+    public SnapshotBlobFile(
+        SourceRepoAccessor repoAccessor,
+        ShardFileInfo fileInfo,
+        String indexId,
+        int shardId,
+        SnapshotBlobBlockCache blockCache
+    ) {
+        this.repoAccessor = repoAccessor;
+        this.fileInfo = fileInfo;
+        this.indexId = indexId;
+        this.shardId = shardId;
+        this.blockCache = blockCache;
+        // Single-part files report part_size as Long.MAX_VALUE (or an unused default), so only
+        // trust it when the file was actually split
+        this.partSize = fileInfo.getNumberOfParts() > 1 ? fileInfo.getPartSize() : Math.max(1L, fileInfo.getLength());
+    }
+
+    public String getPhysicalName() {
+        return fileInfo.getPhysicalName();
+    }
+
+    public long getLength() {
+        return fileInfo.getLength();
+    }
+
+    private boolean isVirtual() {
+        return fileInfo.getName().startsWith("v__");
+    }
+
+    /**
+     * Reads {@code length} bytes starting at {@code position} of the logical Lucene file into {@code dst}.
+     */
+    public void readBytes(long position, byte[] dst, int offset, int length) throws IOException {
+        if (position < 0 || length < 0 || position + length > getLength()) {
+            throw new EOFException("Read of " + length + " bytes at " + position + " is past the end of "
+                + getPhysicalName() + " (length " + getLength() + ")");
+        }
+        if (isVirtual()) {
+            var hash = fileInfo.getMetaHash();
+            System.arraycopy(hash.bytes, hash.offset + (int) position, dst, offset, length);
+            return;
+        }
+        try {
+            while (length > 0) {
+                int copied = readFromBlock(position, dst, offset, length);
+                position += copied;
+                offset += copied;
+                length -= copied;
+            }
+        } catch (SourceRepoAccessor.CouldNotLoadRepoFile e) {
+            throw new IOException("Could not read " + getPhysicalName() + " from blob " + fileInfo.getName(), e);
+        }
+    }
+
+    private int readFromBlock(long position, byte[] dst, int offset, int length) {
+        long part = position / partSize;
+        long positionInPart = position - part * partSize;
+        long partLength = Math.min(partSize, getLength() - part * partSize);
+
+        int blockSize = blockCache.getBlockSizeBytes();
+        long blockIndex = positionInPart / blockSize;
+        long blockStart = blockIndex * blockSize;
+        int blockLength = (int) Math.min(blockSize, partLength - blockStart);
+
+        var partName = fileInfo.partName(part);
+        var block = blockCache.getOrLoad(
+            new SnapshotBlobBlockCache.BlockKey(indexId, shardId, partName, blockIndex),
+            () -> repoAccessor.getBlobFileRange(indexId, shardId, partName, blockStart, blockLength)
+        );
+
+        int offsetInBlock = (int) (positionInPart - blockStart);
+        int copied = Math.min(length, block.length - offsetInBlock);
+        System.arraycopy(block, offsetInBlock, dst, offset, copied);
+        return copied;
+    }
+}
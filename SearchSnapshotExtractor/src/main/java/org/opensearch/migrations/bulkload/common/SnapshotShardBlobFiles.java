@@ -0,0 +1,60 @@
+package org.opensearch.migrations.bulkload.common;
+
+import java.nio.file.NoSuchFileException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.opensearch.migrations.bulkload.models.ShardFileInfo;
+
+import lombok.Getter;
+
+/**
+ * The Lucene files of one snapshot shard, addressed by their physical (Lucene) names and read in
+ * place from the repository. This is the range-read alternative to {@link SnapshotShardUnpacker}:
+ * nothing is copied to local disk, so documents can start flowing as soon as the segment metadata
+ * has been read.
+ */
+public class SnapshotShardBlobFiles {
+    @Getter
+    private final String indexId;
+    @Getter
+    private final int shardId;
+    private final Map<String, SnapshotBlobFile> filesByPhysicalName;
+
+    public SnapshotShardBlobFiles(
+        SourceRepoAccessor repoAccessor,
+        Collection<ShardFileInfo> files,
+        String indexId,
+        int shardId,
+        SnapshotBlobBlockCache blockCache
+    ) {
+        this.indexId = indexId;
+        this.shardId = shardId;
+        // Sorted so that listAll() satisfies Lucene's Directory contract
+        this.filesByPhysicalName = new TreeMap<>();
+        for (var fileInfo : files) {
+            filesByPhysicalName.put(
+                fileInfo.getPhysicalName(),
+                new SnapshotBlobFile(repoAccessor, fileInfo, indexId, shardId, blockCache)
+            );
+        }
+    }
+
+    public String[] listFileNames() {
+        return filesByPhysicalName.keySet().toArray(String[]::new);
+    }
+
+    public SnapshotBlobFile getFile(String physicalName) throws NoSuchFileException {
+        var file = filesByPhysicalName.get(physicalName);
+        if (file == null) {
+            throw new NoSuchFileException("No file " + physicalName + " in snapshot shard: Index " + indexId
+                + ", Shard " + shardId);
+        }
+        return file;
+    }
+
+    public long getTotalSizeBytes() {
+        return filesByPhysicalName.values().stream().mapToLong(SnapshotBlobFile::getLength).sum();
+    }
+}
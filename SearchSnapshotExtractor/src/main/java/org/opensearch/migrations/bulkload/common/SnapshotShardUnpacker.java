@@ -1,5 +1,6 @@
 package org.opensearch.migrations.bulkload.common;
 
+import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Set;
@@ -18,7 +19,6 @@ import shadow.lucene9.org.apache.lucene.store.InputStreamDataInput;
 import shadow.lucene9.org.apache.lucene.store.NativeFSLockFactory;
 import shadow.lucene9.org.apache.lucene.util.BytesRef;
 
-@RequiredArgsConstructor
 @Slf4j
 public class SnapshotShardUnpacker {
     // Concurrency for file extractions — I/O-bound (S3 downloads), not CPU-bound,
@@ -30,7 +30,39 @@ public class SnapshotShardUnpacker {
     private final Path targetDirectory;
     private final String indexId;
     private final int shardId;
+    /** Where files are shared with other unpacks on this node, or null to always download them */
+    private final ShardBlobCache blobCache;
+
+    public SnapshotShardUnpacker(
+        SourceRepoAccessor repoAccessor,
+        Set<ShardFileInfo> filesToUnpack,
+        Path targetDirectory,
+        String indexId,
+        int shardId
+    ) {
+        this(repoAccessor, filesToUnpack, targetDirectory, indexId, shardId, null);
+    }
+
+    public SnapshotShardUnpacker(
+        SourceRepoAccessor repoAccessor,
+        Set<ShardFileInfo> filesToUnpack,
+        Path targetDirectory,
+        String indexId,
+        int shardId,
+        ShardBlobCache blobCache
+    ) {
+        this.repoAccessor = repoAccessor;
+        this.filesToUnpack = filesToUnpack;
+        this.targetDirectory = targetDirectory;
+        this.indexId = indexId;
+        this.shardId = shardId;
+        this.blobCache = blobCache;
+    }
 
+    /**
+     * Creates unpackers that write each shard to {@code luceneFilesBasePath/<index name>/<shard id>}, sharing
+     * downloaded files through the {@link ShardBlobCache} beside that base path when one is configured.
+     */
     @RequiredArgsConstructor
     public static class Factory {
         private final SourceRepoAccessor repoAccessor;
@@ -52,7 +84,8 @@ public class SnapshotShardUnpacker {
                 filesToUnpack,
                 targetDirectory,
                 indexId,
-                shardId
+                shardId,
+                ShardBlobCache.forBasePath(luceneFilesBasePath)
             );
         }
     }
@@ -67,7 +100,20 @@ public class SnapshotShardUnpacker {
                     .addArgument(fileMetadata::getName)
                     .addArgument(fileMetadata::getPhysicalName)
                     .log();
-                
+
+                if (blobCache != null && ShardBlobCache.isCacheable(fileMetadata)) {
+                    boolean cached = blobCache.materialize(
+                        fileMetadata,
+                        targetDirectory.resolve(fileMetadata.getPhysicalName()),
+                        this::downloadFile
+                    );
+                    log.atDebug().setMessage("Lucene file {} taken from the blob cache: {}")
+                        .addArgument(fileMetadata::getPhysicalName)
+                        .addArgument(cached)
+                        .log();
+                    return;
+                }
+
                 try (
                     IndexOutput indexOutput = primaryDirectory.createOutput(
                         fileMetadata.getPhysicalName(),
@@ -103,6 +149,15 @@ public class SnapshotShardUnpacker {
         });
     }
 
+    private void downloadFile(ShardFileInfo fileMetadata, Path target) throws IOException {
+        try (
+            var stream = new PartSliceStream(repoAccessor, fileMetadata, indexId, shardId);
+            var output = Files.newOutputStream(target)
+        ) {
+            stream.transferTo(output);
+        }
+    }
+
     public Path unpack() {
         try {
             // Some constants
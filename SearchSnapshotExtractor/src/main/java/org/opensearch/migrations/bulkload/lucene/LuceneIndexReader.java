@@ -3,12 +3,16 @@ package org.opensearch.migrations.bulkload.lucene;
 import java.io.IOException;
 import java.nio.file.Path;
 
+import org.opensearch.migrations.bulkload.common.SnapshotShardBlobFiles;
 import org.opensearch.migrations.bulkload.lucene.version_10.IndexReader10;
+import org.opensearch.migrations.bulkload.lucene.version_10.SnapshotBlobDirectory10;
 import org.opensearch.migrations.bulkload.lucene.version_5.IndexReader5;
 import org.opensearch.migrations.bulkload.lucene.version_6.IndexReader6;
 import org.opensearch.migrations.bulkload.lucene.version_7.IndexReader7;
 import org.opensearch.migrations.bulkload.lucene.version_9.IndexReader9;
+import org.opensearch.migrations.bulkload.lucene.version_9.SnapshotBlobDirectory9;
 import org.opensearch.migrations.cluster.ClusterSnapshotReader;
+import org.opensearch.migrations.cluster.SnapshotCapabilities;
 
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -35,5 +39,37 @@ public interface LuceneIndexReader {
                 case LUCENE_10 -> new IndexReader10(path, caps.softDeletesPossible(), caps.softDeletesFieldName());
             };
         }
+
+        /**
+         * Whether {@link #getRangeReadReader} is available for this snapshot's Lucene version.
+         * Older versions must still be unpacked to local disk.
+         */
+        public boolean supportsRangeReads() {
+            var luceneVersion = snapshotReader.getCapabilities().luceneVersion();
+            return luceneVersion == SnapshotCapabilities.LuceneVersion.LUCENE_9
+                || luceneVersion == SnapshotCapabilities.LuceneVersion.LUCENE_10;
+        }
+
+        /**
+         * Creates a reader that reads the shard's Lucene files in place from the snapshot repository.
+         *
+         * @param path      logical shard path, used only to identify the shard in logs
+         * @param blobFiles the shard's files, read through ranged blob reads
+         */
+        public LuceneIndexReader getRangeReadReader(Path path, SnapshotShardBlobFiles blobFiles) {
+            var caps = snapshotReader.getCapabilities();
+            log.atInfo()
+                .setMessage("Creating range-read IndexReader for Lucene version: {}")
+                .addArgument(caps.luceneVersion())
+                .log();
+            return switch (caps.luceneVersion()) {
+                case LUCENE_9 -> segmentsFileName -> new IndexReader9(path, caps.softDeletesPossible(), caps.softDeletesFieldName())
+                    .getReader(new SnapshotBlobDirectory9(blobFiles), segmentsFileName);
+                case LUCENE_10 -> segmentsFileName -> new IndexReader10(path, caps.softDeletesPossible(), caps.softDeletesFieldName())
+                    .getReader(new SnapshotBlobDirectory10(blobFiles), segmentsFileName);
+                default -> throw new IllegalArgumentException(
+                    "Range reads are not supported for Lucene version: " + caps.luceneVersion());
+            };
+        }
     }
 }
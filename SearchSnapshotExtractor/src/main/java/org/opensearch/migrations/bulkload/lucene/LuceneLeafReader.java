@@ -4,7 +4,6 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 
 
@@ -143,14 +142,14 @@ public interface LuceneLeafReader {
      * Returning Long here keeps the interface version-agnostic; the final numeric type
      * (int vs long vs float vs double vs IP string) is applied in {@link SourceReconstructor}
     /**
-     * Builds a {@code docId -> Long} map for trie-encoded numeric fields. See callers in
-     * {@link SegmentTermIndex#getNumericForDocument} for usage; default returns empty so
-     * versions without trie-numerics (Lucene 6+) inherit a no-op.
+     * Builds a docId-indexed column of decoded values for a trie-encoded numeric field. See callers
+     * in {@link SegmentTermIndex#getNumericForDocument} for usage; default returns
+     * {@link NumericTermColumn#EMPTY} so versions without trie-numerics (Lucene 6+) inherit a no-op.
      *
-     * <p>Called at most once per (segment, field) via {@link SegmentTermIndex}.
+     * <p>Called at most once per (segment, field) via {@link SegmentTermIndex}, which closes the column.
      */
-    default Map<Integer, Long> buildNumericTermIndex(String fieldName) throws IOException {
-        return Collections.emptyMap();
+    default NumericTermColumn buildNumericTermIndex(String fieldName) throws IOException {
+        return NumericTermColumn.EMPTY;
     }
 
     /**
@@ -6,6 +6,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.IntStream;
 
@@ -161,6 +162,11 @@ public class LuceneReader {
 
         var idxStream = (liveDocs != null) ? liveDocs.stream().filter(idx -> idx >= startDocIdInSegment) :
             IntStream.range(startDocIdInSegment, segmentReader.maxDoc());
+        int blockSize = RfsTunables.reconstructionBlockSize();
+        if (mappingContext != null && blockSize > 1) {
+            return readDocBlocksFromSegment(segmentReader, idxStream, blockSize, segmentDocBase,
+                getSegmentReaderDebugInfo, indexDirectoryPath, operation, mappingContext, termIndex, useRecoverySource);
+        }
         // When sourceless reconstruction is active (mappingContext != null), the per-segment
         // SegmentTermIndex holds forward-only streaming cursors that require monotonically
         // non-decreasing docIds. flatMapSequential preserves output ORDER but subscribes
@@ -188,6 +194,146 @@ public class LuceneReader {
             .doFinally(sig -> termIndex.close());
     }
 
+    /**
+     * Sourceless variant of {@link #readDocsFromSegment} that reconstructs blocks of consecutive live docs
+     * with {@link SourceReconstructor#reconstructSourceBlock}. Blocks are dealt round-robin to
+     * {@link RfsTunables#readerParallelism()} stripes. Each stripe runs its blocks one at a time and in order
+     * on a single worker, with its own doc_values view and {@link SegmentTermIndex#newStripeView() stripe view}
+     * of the segment's term index, so its forward-only cursors only ever move forward and are never touched by
+     * another stripe, while decoded numeric columns are built once and shared. Output keeps segment order.
+     */
+    private static Flux<LuceneDocumentChange> readDocBlocksFromSegment(LuceneLeafReader segmentReader,
+            IntStream idxStream, int blockSize, int segmentDocBase, Supplier<String> getSegmentReaderDebugInfo,
+            Path indexDirectoryPath, DocumentChangeType operation, FieldMappingContext mappingContext,
+            SegmentTermIndex termIndex, boolean useRecoverySource) {
+        int stripeCount = Math.max(1, RfsTunables.readerParallelism());
+        var stripes = new ArrayList<BlockStripe>(stripeCount);
+        for (int i = 0; i < stripeCount; i++) {
+            stripes.add(new BlockStripe(segmentReader, i == 0 ? termIndex : termIndex.newStripeView()));
+        }
+        return Flux.fromStream(idxStream.boxed())
+            .buffer(blockSize)
+            .index()
+            .flatMapSequential(indexedBlock -> {
+                var stripe = stripes.get((int) (indexedBlock.getT1() % stripeCount));
+                var block = indexedBlock.getT2();
+                return Mono.fromCallable(() -> {
+                    try {
+                        return getDocumentBlock(segmentReader, stripe.docValueColumns(), block, segmentDocBase,
+                            getSegmentReaderDebugInfo, indexDirectoryPath, operation, mappingContext,
+                            stripe.termIndex, useRecoverySource);
+                    } catch (Exception e) {
+                        log.atError().setMessage("Error reading documents from reader {} starting at index: {}")
+                            .addArgument(getSegmentReaderDebugInfo)
+                            .addArgument(block.get(0))
+                            .setCause(e)
+                            .log();
+                        throw new RuntimeException("Error reading documents from reader starting at index "
+                            + block.get(0) + " from segment " + getSegmentReaderDebugInfo.get(), e);
+                    }
+                }).subscribeOn(stripe.scheduler);
+            }, stripeCount, 1)
+            .concatMapIterable(changes -> changes)
+            .doFinally(sig -> stripes.forEach(BlockStripe::close));
+    }
+
+    /**
+     * Per-stripe state for {@link #readDocBlocksFromSegment}. The scheduler wraps a single Lucene I/O worker,
+     * so tasks run one at a time in the order they were submitted, which is ascending docId order.
+     */
+    private static final class BlockStripe {
+        private final LuceneLeafReader segmentReader;
+        private final SegmentTermIndex termIndex;
+        private final Scheduler scheduler = Schedulers.single(LUCENE_IO_SCHEDULER);
+        private LuceneLeafReader docValueColumns;
+
+        BlockStripe(LuceneLeafReader segmentReader, SegmentTermIndex termIndex) {
+            this.segmentReader = segmentReader;
+            this.termIndex = termIndex;
+        }
+
+        /** Only called from this stripe's scheduler. */
+        LuceneLeafReader docValueColumns() throws IOException {
+            if (docValueColumns == null) {
+                var view = segmentReader.newView();
+                view.initDocValueIterators(view.getDocValueFields());
+                docValueColumns = view;
+            }
+            return docValueColumns;
+        }
+
+        void close() {
+            termIndex.close();
+            scheduler.dispose();
+        }
+    }
+
+    /**
+     * Reads a block of ascending docIds of one segment. When none of them has a _source, the block is
+     * reconstructed column by column; otherwise each document takes the per-document path, since merging
+     * a partial _source and reconstructing must visit the term index in the same docId order.
+     */
+    static List<LuceneDocumentChange> getDocumentBlock(LuceneLeafReader reader, LuceneLeafReader docValueColumns,
+            List<Integer> luceneDocIds, int segmentDocBase, Supplier<String> getSegmentReaderDebugInfo,
+            Path indexDirectoryPath, DocumentChangeType operation, FieldMappingContext mappingContext,
+            SegmentTermIndex termIndex, boolean useRecoverySource) {
+        int count = luceneDocIds.size();
+        var docIds = new int[count];
+        var documents = new LuceneDocument[count];
+        int readable = 0;
+        boolean anyHasSource = false;
+        for (int luceneDocId : luceneDocIds) {
+            var document = readStoredFields(reader, luceneDocId);
+            if (document != null) {
+                docIds[readable] = luceneDocId;
+                documents[readable++] = document;
+                anyHasSource |= hasSource(document, useRecoverySource);
+            }
+        }
+        docIds = Arrays.copyOf(docIds, readable);
+        documents = Arrays.copyOf(documents, readable);
+
+        var reconstructed = anyHasSource
+            ? null
+            : SourceReconstructor.reconstructSourceBlock(reader, docValueColumns, docIds, documents, mappingContext,
+                termIndex);
+        var changes = new ArrayList<LuceneDocumentChange>(readable);
+        for (int i = 0; i < readable; i++) {
+            int luceneDocId = docIds[i];
+            var document = documents[i];
+            Function<String, byte[]> reconstructSource = reconstructed == null
+                ? openSearchDocId -> reconstructSourceBytes(reader, luceneDocId, document, mappingContext,
+                    openSearchDocId, getSegmentReaderDebugInfo, indexDirectoryPath, termIndex)
+                : reconstructSourceFromBlock(reconstructed[i], luceneDocId, getSegmentReaderDebugInfo,
+                    indexDirectoryPath);
+            var change = getDocument(reader, luceneDocId, document, true, segmentDocBase, getSegmentReaderDebugInfo,
+                indexDirectoryPath, operation, mappingContext, termIndex, useRecoverySource, reconstructSource);
+            if (change != null) {
+                changes.add(change);
+            }
+        }
+        return changes;
+    }
+
+    private static Function<String, byte[]> reconstructSourceFromBlock(byte[] reconstructed, int luceneDocId,
+            Supplier<String> getSegmentReaderDebugInfo, Path indexDirectoryPath) {
+        return openSearchDocId -> checkReconstructed(reconstructed, luceneDocId, openSearchDocId,
+            getSegmentReaderDebugInfo, indexDirectoryPath);
+    }
+
+    private static boolean hasSource(LuceneDocument document, boolean useRecoverySource) {
+        for (var field : document.getFields()) {
+            String fieldName = field.name();
+            if (fieldName.equals("_source") || (useRecoverySource && fieldName.equals("_recovery_source"))) {
+                var value = field.utf8Value();
+                if (value != null && value.length > 0) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
     /**
      * Iterate live documents in a segment with bounded concurrency, applying a custom
      * per-document function. Used by Solr to share the live-doc filtering and concurrency
@@ -221,15 +367,34 @@ public class LuceneReader {
     public static LuceneDocumentChange getDocument(LuceneLeafReader reader, int luceneDocId, boolean isLive, int segmentDocBase,
             final Supplier<String> getSegmentReaderDebugInfo, Path indexDirectoryPath, DocumentChangeType operation,
             FieldMappingContext mappingContext, SegmentTermIndex termIndex, boolean useRecoverySource) {
-        LuceneDocument document;
+        LuceneDocument document = readStoredFields(reader, luceneDocId);
+        if (document == null) {
+            return null;
+        }
+        return getDocument(reader, luceneDocId, document, isLive, segmentDocBase, getSegmentReaderDebugInfo,
+            indexDirectoryPath, operation, mappingContext, termIndex, useRecoverySource,
+            openSearchDocId -> reconstructSourceBytes(reader, luceneDocId, document, mappingContext,
+                openSearchDocId, getSegmentReaderDebugInfo, indexDirectoryPath, termIndex));
+    }
+
+    private static LuceneDocument readStoredFields(LuceneLeafReader reader, int luceneDocId) {
         try {
-            document = reader.document(luceneDocId);
+            return reader.document(luceneDocId);
         } catch (IOException e) {
             log.atError().setCause(e).setMessage("Failed to read document at Lucene index location {}")
                 .addArgument(luceneDocId).log();
             return null;
         }
+    }
 
+    /**
+     * @param reconstructSource rebuilds the _source of a document that has none, given its id; returns
+     *                          null if the document should be skipped
+     */
+    private static LuceneDocumentChange getDocument(LuceneLeafReader reader, int luceneDocId, LuceneDocument document,
+            boolean isLive, int segmentDocBase, final Supplier<String> getSegmentReaderDebugInfo,
+            Path indexDirectoryPath, DocumentChangeType operation, FieldMappingContext mappingContext,
+            SegmentTermIndex termIndex, boolean useRecoverySource, Function<String, byte[]> reconstructSource) {
         String openSearchDocId = null;
         String type = null;
         byte[] sourceBytes = null;
@@ -281,7 +446,7 @@ public class LuceneReader {
             }
 
             sourceBytes = resolveSourceBytes(sourceBytes, reader, luceneDocId, document, mappingContext,
-                openSearchDocId, getSegmentReaderDebugInfo, indexDirectoryPath, termIndex);
+                openSearchDocId, termIndex, reconstructSource);
             if (sourceBytes == null) {
                 return null;
             }
@@ -324,12 +489,11 @@ public class LuceneReader {
     private static byte[] resolveSourceBytes(byte[] sourceBytes,
             LuceneLeafReader reader, int luceneDocId,
             LuceneDocument document, FieldMappingContext mappingContext, String openSearchDocId,
-            Supplier<String> getSegmentReaderDebugInfo, Path indexDirectoryPath, SegmentTermIndex termIndex) {
+            SegmentTermIndex termIndex, Function<String, byte[]> reconstructSource) {
         boolean hasSource = sourceBytes != null && sourceBytes.length > 0;
 
         if (!hasSource) {
-            return reconstructSourceBytes(reader, luceneDocId, document, mappingContext,
-                openSearchDocId, getSegmentReaderDebugInfo, indexDirectoryPath, termIndex);
+            return reconstructSource.apply(openSearchDocId);
         }
         if (mappingContext != null) {
             String merged = SourceReconstructor.mergeWithDocValues(
@@ -353,7 +517,13 @@ public class LuceneReader {
         log.atDebug().setMessage("Document {} has no _source, attempting reconstruction from doc_values and stored fields")
             .addArgument(openSearchDocId).log();
         String reconstructed = SourceReconstructor.reconstructSource(reader, luceneDocId, document, mappingContext, termIndex);
-        if (reconstructed == null || reconstructed.isEmpty()) {
+        return checkReconstructed(reconstructed == null ? null : reconstructed.getBytes(java.nio.charset.StandardCharsets.UTF_8),
+            luceneDocId, openSearchDocId, getSegmentReaderDebugInfo, indexDirectoryPath);
+    }
+
+    private static byte[] checkReconstructed(byte[] reconstructed, int luceneDocId, String openSearchDocId,
+            Supplier<String> getSegmentReaderDebugInfo, Path indexDirectoryPath) {
+        if (reconstructed == null || reconstructed.length == 0) {
             log.atWarn().setMessage("Skipping document with index {} from segment {} from source {}, _source is missing and reconstruction failed.")
                 .addArgument(luceneDocId)
                 .addArgument(getSegmentReaderDebugInfo)
@@ -363,7 +533,7 @@ public class LuceneReader {
         }
         log.atDebug().setMessage("Successfully reconstructed _source for document {} from doc_values")
             .addArgument(openSearchDocId).log();
-        return reconstructed.getBytes(java.nio.charset.StandardCharsets.UTF_8);
+        return reconstructed;
     }
 
 }
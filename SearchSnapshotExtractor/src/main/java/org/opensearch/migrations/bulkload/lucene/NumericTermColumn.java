@@ -0,0 +1,177 @@
+package org.opensearch.migrations.bulkload.lucene;
+
+import java.io.IOException;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLong;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Decoded trie-encoded numeric values of one (segment, field), indexed by docId.
+ *
+ * <p>Values live in a primitive {@code long} per doc plus a presence bitset, instead of a boxed
+ * {@code docId -> Long} map: {@code 8 B × maxDoc} for the values and {@code maxDoc / 8} bytes for the
+ * bitset. Value arrays are held on heap while the process-wide budget
+ * ({@link RfsTunables#numericCacheHeapBytes()}) allows it; columns built past the budget spill their
+ * values to a memory-mapped temp file under {@code java.io.tmpdir}, which the OS pages in and out as
+ * docs are read. The temp file is unlinked as soon as it is mapped, so nothing is left behind.
+ *
+ * <p>Built once per (segment, field) by {@link LuceneLeafReader#buildNumericTermIndex} and owned by
+ * {@link SegmentTermIndex}, which shares it read-only with its stripe views and {@link #close()}s it, to return
+ * its heap reservation, once the last of them is closed.
+ */
+@Slf4j
+public final class NumericTermColumn implements AutoCloseable {
+
+    /** A column with no values, for fields without trie-encoded terms. */
+    public static final NumericTermColumn EMPTY = new NumericTermColumn(0, new long[0], null, new long[0], 0);
+
+    /** Heap bytes currently reserved by open on-heap columns across the process. */
+    private static final AtomicLong RESERVED_HEAP_BYTES = new AtomicLong();
+
+    /** Longs per mapped region; keeps each region below the 2 GB limit of a single mapping. */
+    private static final int MAPPED_CHUNK_SHIFT = 27;
+    private static final int MAPPED_CHUNK_MASK = (1 << MAPPED_CHUNK_SHIFT) - 1;
+
+    private final int maxDoc;
+    private long[] heapValues;
+    private LongBuffer[] mappedValues;
+    private long[] present;
+    private long reservedBytes;
+
+    private NumericTermColumn(int maxDoc, long[] heapValues, LongBuffer[] mappedValues, long[] present,
+            long reservedBytes) {
+        this.maxDoc = maxDoc;
+        this.heapValues = heapValues;
+        this.mappedValues = mappedValues;
+        this.present = present;
+        this.reservedBytes = reservedBytes;
+    }
+
+    /** Starts a column for a segment of {@code maxDoc} documents, choosing heap or mapped storage. */
+    public static Builder builder(int maxDoc) throws IOException {
+        return new Builder(maxDoc, RfsTunables.numericCacheHeapBytes());
+    }
+
+    static Builder builder(int maxDoc, long heapBudgetBytes) throws IOException {
+        return new Builder(maxDoc, heapBudgetBytes);
+    }
+
+    /** @return the value for {@code docId}, or {@code null} if the doc has none */
+    public Long get(int docId) {
+        if (docId < 0 || docId >= maxDoc || (present[docId >>> 6] & (1L << docId)) == 0) {
+            return null;
+        }
+        return heapValues != null
+            ? heapValues[docId]
+            : mappedValues[docId >>> MAPPED_CHUNK_SHIFT].get(docId & MAPPED_CHUNK_MASK);
+    }
+
+    /** Whether the values are held in a memory-mapped temp file rather than on heap. */
+    public boolean isMapped() {
+        return mappedValues != null;
+    }
+
+    @Override
+    public void close() {
+        if (this == EMPTY) {
+            return;
+        }
+        RESERVED_HEAP_BYTES.addAndGet(-reservedBytes);
+        reservedBytes = 0;
+        heapValues = null;
+        mappedValues = null;
+        present = null;
+    }
+
+    static long reservedHeapBytes() {
+        return RESERVED_HEAP_BYTES.get();
+    }
+
+    /** Fills a column one (docId, value) pair at a time; the first value for a doc wins. */
+    public static final class Builder {
+        private final int maxDoc;
+        private final long[] present;
+        private final long[] heapValues;
+        private final LongBuffer[] mappedValues;
+        private final long reservedBytes;
+
+        private Builder(int maxDoc, long heapBudgetBytes) throws IOException {
+            this.maxDoc = maxDoc;
+            this.present = new long[(maxDoc + 63) >>> 6];
+            long valueBytes = (long) maxDoc * Long.BYTES;
+            if (reserveHeap(valueBytes, heapBudgetBytes)) {
+                this.reservedBytes = valueBytes;
+                this.heapValues = new long[maxDoc];
+                this.mappedValues = null;
+            } else {
+                this.reservedBytes = 0;
+                this.heapValues = null;
+                this.mappedValues = mapTempFile(maxDoc);
+            }
+        }
+
+        private static boolean reserveHeap(long bytes, long budget) {
+            long reserved;
+            do {
+                reserved = RESERVED_HEAP_BYTES.get();
+                if (reserved + bytes > budget) {
+                    return false;
+                }
+            } while (!RESERVED_HEAP_BYTES.compareAndSet(reserved, reserved + bytes));
+            return true;
+        }
+
+        private static LongBuffer[] mapTempFile(int maxDoc) throws IOException {
+            Path file = Files.createTempFile("rfs-numeric-", ".bin");
+            log.atDebug().setMessage("Numeric term cache budget exhausted, mapping {} values to {}")
+                .addArgument(maxDoc).addArgument(file).log();
+            try (var channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                int chunks = (maxDoc + MAPPED_CHUNK_MASK) >>> MAPPED_CHUNK_SHIFT;
+                var buffers = new LongBuffer[chunks];
+                for (int i = 0; i < chunks; i++) {
+                    long firstDoc = (long) i << MAPPED_CHUNK_SHIFT;
+                    long longs = Math.min(1L << MAPPED_CHUNK_SHIFT, maxDoc - firstDoc);
+                    buffers[i] = channel.map(FileChannel.MapMode.READ_WRITE, firstDoc * Long.BYTES, longs * Long.BYTES)
+                        .asLongBuffer();
+                }
+                return buffers;
+            } finally {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    // Platforms that cannot unlink a mapped file clean it up at exit instead
+                    file.toFile().deleteOnExit();
+                }
+            }
+        }
+
+        /** Records {@code value} for {@code docId} unless the doc already has one. */
+        public void putIfAbsent(int docId, long value) {
+            long bit = 1L << docId;
+            int word = docId >>> 6;
+            if ((present[word] & bit) != 0) {
+                return;
+            }
+            present[word] |= bit;
+            if (heapValues != null) {
+                heapValues[docId] = value;
+            } else {
+                mappedValues[docId >>> MAPPED_CHUNK_SHIFT].put(docId & MAPPED_CHUNK_MASK, value);
+            }
+        }
+
+        public NumericTermColumn build() {
+            return new NumericTermColumn(maxDoc, heapValues, mappedValues, present, reservedBytes);
+        }
+
+        /** Returns the heap reservation of a builder that will not be built, e.g. after a read failure. */
+        public void abandon() {
+            RESERVED_HEAP_BYTES.addAndGet(-reservedBytes);
+        }
+    }
+}
@@ -13,20 +13,120 @@ public final class RfsTunables {
     // --- Reader parallelism ---
 
     /**
-     * Per-segment reader parallelism — number of independent LeafReader views that
-     * process a segment's docId space concurrently via round-robin striping.
+     * Per-segment reader parallelism — number of stripes that reconstruct a sourceless
+     * segment concurrently. Blocks of {@link #RECONSTRUCTION_BLOCK_SIZE_PROP} consecutive docs
+     * are dealt round-robin to the stripes; each stripe owns a LeafReader view and a
+     * {@link SegmentTermIndex} stripe view, and sees its blocks in ascending docId order.
      *
      * <p>System property: {@code -Drfs.reader.parallelism=<int>}
      * <p>Env var fallback: {@code RFS_READER_PARALLELISM}
-     * <p>Default: availableProcessors - 1 (min 1).
+     * <p>Default: 1 (striping is opt-in).
      *
      * <p>Higher values saturate CPU on reconstruction-heavy segments (sourceless fields
      * with doc_values/points/terms recovery). Diminishing returns past the point where
-     * the bulk-loader write pipeline or the SegmentTermIndex monitor become the bottleneck.
+     * the bulk-loader write pipeline becomes the bottleneck. Decoded numeric columns are
+     * shared by all stripes of a segment, but every stripe opens its own postings cursors,
+     * so each extra stripe adds one term dictionary per recovered text field.
      */
     public static final String READER_PARALLELISM_PROP = "rfs.reader.parallelism";
     public static final String READER_PARALLELISM_ENV = "RFS_READER_PARALLELISM";
 
+    /** @return the configured reader parallelism, or the default when unset / unparseable. */
+    public static int readerParallelism() {
+        int defaultParallelism = 1;
+        String raw = System.getProperty(READER_PARALLELISM_PROP);
+        if (raw == null || raw.isBlank()) raw = System.getenv(READER_PARALLELISM_ENV);
+        if (raw == null || raw.isBlank()) return defaultParallelism;
+        try {
+            return Math.max(1, Integer.parseInt(raw.trim()));
+        } catch (NumberFormatException e) {
+            return defaultParallelism;
+        }
+    }
+
+    // --- Block reconstruction ---
+
+    /**
+     * Number of consecutive live documents whose _source is reconstructed together when a segment
+     * has no _source. Each doc_values field is read as a column across the block with forward-only
+     * iterators, instead of re-opening every field's iterator for every document.
+     *
+     * <p>System property: {@code -Drfs.reconstruction.block.size=<int>}
+     * <p>Env var fallback: {@code RFS_RECONSTRUCTION_BLOCK_SIZE}
+     * <p>Default: {@value #DEFAULT_RECONSTRUCTION_BLOCK_SIZE}. A value of 1 or less reconstructs
+     * one document at a time.
+     */
+    public static final String RECONSTRUCTION_BLOCK_SIZE_PROP = "rfs.reconstruction.block.size";
+    public static final String RECONSTRUCTION_BLOCK_SIZE_ENV = "RFS_RECONSTRUCTION_BLOCK_SIZE";
+    public static final int DEFAULT_RECONSTRUCTION_BLOCK_SIZE = 256;
+
+    /** @return the configured reconstruction block size, or the default when unset / unparseable. */
+    public static int reconstructionBlockSize() {
+        String raw = System.getProperty(RECONSTRUCTION_BLOCK_SIZE_PROP);
+        if (raw == null || raw.isBlank()) raw = System.getenv(RECONSTRUCTION_BLOCK_SIZE_ENV);
+        if (raw == null || raw.isBlank()) return DEFAULT_RECONSTRUCTION_BLOCK_SIZE;
+        try {
+            return Integer.parseInt(raw.trim());
+        } catch (NumberFormatException e) {
+            return DEFAULT_RECONSTRUCTION_BLOCK_SIZE;
+        }
+    }
+
+    // --- Trie-encoded numeric cache ---
+
+    /**
+     * Heap budget, in bytes and shared by the whole process, for the docId-indexed value arrays that
+     * {@link SegmentTermIndex} decodes from trie-encoded numeric terms (ES 1.x/2.x segments). Each
+     * cached field costs {@code 8 B × maxDoc}; fields cached once the budget is spent are backed by a
+     * memory-mapped temp file under {@code java.io.tmpdir} instead.
+     *
+     * <p>System property: {@code -Drfs.numeric.cache.heap.bytes=<long>}
+     * <p>Env var fallback: {@code RFS_NUMERIC_CACHE_HEAP_BYTES}
+     * <p>Default: one eighth of the maximum heap. {@code 0} always maps to disk.
+     */
+    public static final String NUMERIC_CACHE_HEAP_BYTES_PROP = "rfs.numeric.cache.heap.bytes";
+    public static final String NUMERIC_CACHE_HEAP_BYTES_ENV = "RFS_NUMERIC_CACHE_HEAP_BYTES";
+
+    /** @return the configured numeric cache heap budget, or the default when unset / unparseable. */
+    public static long numericCacheHeapBytes() {
+        long defaultBudget = Runtime.getRuntime().maxMemory() / 8;
+        String raw = System.getProperty(NUMERIC_CACHE_HEAP_BYTES_PROP);
+        if (raw == null || raw.isBlank()) raw = System.getenv(NUMERIC_CACHE_HEAP_BYTES_ENV);
+        if (raw == null || raw.isBlank()) return defaultBudget;
+        try {
+            return Math.max(0, Long.parseLong(raw.trim()));
+        } catch (NumberFormatException e) {
+            return defaultBudget;
+        }
+    }
+
+    // --- Shard blob cache ---
+
+    /**
+     * Size limit, in bytes, of the node-local cache of unpacked snapshot files that
+     * {@code SnapshotShardUnpacker} shares between the base and delta snapshots of a shard and across
+     * retries of a work item. Least recently used files are evicted past the limit.
+     *
+     * <p>System property: {@code -Drfs.blob.cache.max.bytes=<long>}
+     * <p>Env var fallback: {@code RFS_BLOB_CACHE_MAX_BYTES}
+     * <p>Default: 0, which turns the cache off. The cache is kept beside the Lucene files directory rather
+     * than in it, so the disk it may take has to be budgeted on top of that directory's.
+     */
+    public static final String BLOB_CACHE_MAX_BYTES_PROP = "rfs.blob.cache.max.bytes";
+    public static final String BLOB_CACHE_MAX_BYTES_ENV = "RFS_BLOB_CACHE_MAX_BYTES";
+
+    /** @return the configured blob cache size limit, or 0 (no cache) when unset / unparseable. */
+    public static long blobCacheMaxBytes() {
+        String raw = System.getProperty(BLOB_CACHE_MAX_BYTES_PROP);
+        if (raw == null || raw.isBlank()) raw = System.getenv(BLOB_CACHE_MAX_BYTES_ENV);
+        if (raw == null || raw.isBlank()) return 0;
+        try {
+            return Math.max(0, Long.parseLong(raw.trim()));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
     // --- Position-gap stopword filler ---
 
     /**
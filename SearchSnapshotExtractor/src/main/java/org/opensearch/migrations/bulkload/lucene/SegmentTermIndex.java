@@ -1,11 +1,14 @@
 package org.opensearch.migrations.bulkload.lucene;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -22,9 +25,13 @@ import lombok.extern.slf4j.Slf4j;
  *       {@code PostingsEnum} + one term {@code String} per unique term in the field's
  *       dictionary (heap is bounded by {@code uniqueTerms}, not by corpus size).</li>
  *
- *   <li><b>{@link #numericByField}</b>: fieldName &rarr; docId &rarr; decoded {@code Long}.
- *       Eager {@code HashMap} for trie-encoded numeric fields (Lucene 4-5 / ES 1.x-2.x).
- *       Bounded: {@code 16 B × maxDoc} per cached field, e.g. ~3 MB for a 200k-doc segment.</li>
+ *   <li><b>{@link #numericColumns}</b>: fieldName &rarr; {@link NumericTermColumn}.
+ *       Eagerly decoded trie-encoded numeric values (Lucene 4-5 / ES 1.x-2.x) in a primitive
+ *       docId-indexed array plus presence bitset: {@code 8 B × maxDoc} per cached field, e.g.
+ *       ~1.6 MB for a 200k-doc segment, held on heap up to
+ *       {@link RfsTunables#numericCacheHeapBytes()} and memory-mapped beyond it. Columns are
+ *       immutable once built, so they are shared with every {@link #newStripeView() stripe view}
+ *       and built once per segment rather than once per stripe.</li>
  *
  *   <li><b>{@link #multiTermStreamingByField}</b>: fieldName &rarr;
  *       {@link StreamingMultiTermPostings}. FREQS-only streaming cursor for multi-valued
@@ -37,15 +44,16 @@ import lombok.extern.slf4j.Slf4j;
  *
  * <ul>
  *   <li><b>Per-field upper bound</b>: each cursor's footprint is O(uniqueTerms) for
- *       streaming maps, O(maxDoc) for numericByField. There is no per-doc accumulator —
+ *       streaming maps, O(maxDoc) for numericColumns. There is no per-doc accumulator —
  *       emitted {@code List<String>} results are returned to the caller and become
  *       eligible for GC as soon as the caller drops them.</li>
  *   <li><b>Negative caching</b>: {@code put(fieldName, null)} caches the "no postings"
  *       answer to avoid re-walking the dictionary. Cleared at {@link #close()}.</li>
  *   <li><b>Per-segment owner</b>: a fresh instance is created in
- *       {@link LuceneReader#readDocsFromSegment} per segment per worker, and flows down
- *       to {@link SourceReconstructor}. The Flux's {@code doFinally} hook
- *       {@code close()}s every {@code SegmentTermIndex} on success, error, or cancel.</li>
+ *       {@link LuceneReader#readDocsFromSegment} per segment per worker, plus a stripe view
+ *       per extra reader stripe, and flows down to {@link SourceReconstructor}. The Flux's
+ *       {@code doFinally} hook {@code close()}s every {@code SegmentTermIndex} on success,
+ *       error, or cancel; the shared numeric columns are released with the last of them.</li>
  *   <li><b>No JVM-wide retention</b>: nothing static, nothing in a thread-local. Every
  *       reference path roots to the segment-scoped Flux and dies with it.</li>
  * </ul>
@@ -55,20 +63,59 @@ import lombok.extern.slf4j.Slf4j;
  * <p>Lucene {@code TermsEnum} / {@code PostingsEnum} instances are not safe for
  * concurrent access. All public methods are {@code synchronized} to serialize cursor
  * advance and lazy-build operations within a single {@code SegmentTermIndex}. With
- * {@code parallelism > 1}, each worker has its own instance, so contention on this
- * monitor is bounded to the per-worker pipeline.
+ * {@code parallelism > 1}, each reader stripe has its own view and only touches it
+ * from one thread, so the monitor is uncontended; it only orders a {@link #close()} from
+ * a cancelled subscriber against a lookup that is still in flight. The numeric columns
+ * shared between views sit in a concurrent map, and a column that two stripes ask for at
+ * once is built by one of them while the other waits for it.
+ *
+ * <p>The streaming cursors can't be shared: each one is a forward-only position in the
+ * postings, and stripes read different docIds. Every stripe therefore still decodes its
+ * own term dictionary per recovered text field, which is why striping is opt-in.
  */
 @Slf4j
 public class SegmentTermIndex implements AutoCloseable {
 
     private final Map<String, StreamingFieldPostings> streamingByField = new HashMap<>();
-    private final Map<String, Map<Integer, Long>> numericByField = new HashMap<>();
+    private final SharedNumericColumns numericColumns;
     private final Map<String, StreamingMultiTermPostings> multiTermStreamingByField = new HashMap<>();
     private volatile boolean closed;
 
+    /**
+     * Numeric columns of one segment, shared by an index and its stripe views. They are closed when
+     * the last index using them is.
+     */
+    private static final class SharedNumericColumns {
+        final Map<String, NumericTermColumn> byField = new ConcurrentHashMap<>();
+        final AtomicInteger users = new AtomicInteger(1);
+
+        void release() {
+            if (users.decrementAndGet() == 0) {
+                byField.values().forEach(NumericTermColumn::close);
+                byField.clear();
+            }
+        }
+    }
+
     /** Creates an empty index; fields are populated lazily on first access. */
     public SegmentTermIndex() {
-        // No eager work — all caches are demand-built.
+        this(new SharedNumericColumns());
+    }
+
+    private SegmentTermIndex(SharedNumericColumns numericColumns) {
+        this.numericColumns = numericColumns;
+    }
+
+    /**
+     * Returns an index for another reader stripe of the same segment. It has its own cursors and shares
+     * this index's numeric columns; each of the two must still be closed.
+     */
+    public synchronized SegmentTermIndex newStripeView() {
+        if (closed) {
+            throw new IllegalStateException("SegmentTermIndex has been closed");
+        }
+        numericColumns.users.incrementAndGet();
+        return new SegmentTermIndex(numericColumns);
     }
 
     /**
@@ -115,10 +162,17 @@ public class SegmentTermIndex implements AutoCloseable {
         if (closed) {
             throw new IOException("SegmentTermIndex has been closed");
         }
-        Map<Integer, Long> forField = numericByField.get(fieldName);
-        if (forField == null) {
-            forField = reader.buildNumericTermIndex(fieldName);
-            numericByField.put(fieldName, forField);
+        NumericTermColumn forField;
+        try {
+            forField = numericColumns.byField.computeIfAbsent(fieldName, field -> {
+                try {
+                    return reader.buildNumericTermIndex(field);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
         }
         return forField.get(docId);
     }
@@ -203,8 +257,8 @@ public class SegmentTermIndex implements AutoCloseable {
                         e.getKey(), ex.toString());
             }
         }
+        numericColumns.release();
         streamingByField.clear();
-        numericByField.clear();
         multiTermStreamingByField.clear();
     }
 }
@@ -1,5 +1,6 @@
 package org.opensearch.migrations.bulkload.lucene;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.math.BigInteger;
 import java.net.InetAddress;
@@ -397,6 +398,70 @@ public class SourceReconstructor {
         }
     }
 
+    /**
+     * Reconstructs _source for a block of documents of one segment, reading each doc_values field as a
+     * column across the whole block rather than every field for one document at a time. Produces the
+     * same JSON as {@link #reconstructSource} for each document.
+     *
+     * @param docValueColumns a view of the segment whose doc_values iterators have been opened with
+     *                        {@link LuceneLeafReader#initDocValueIterators}; it must only ever be asked for
+     *                        ascending docIds, so use it for nothing else
+     * @param docIds          the block's docIds, in ascending order
+     * @param documents       the stored fields of each document in {@code docIds}
+     * @return the UTF-8 JSON of each document, with {@code null} where nothing could be reconstructed
+     */
+    public static byte[][] reconstructSourceBlock(LuceneLeafReader reader, LuceneLeafReader docValueColumns,
+            int[] docIds, LuceneDocument[] documents, FieldMappingContext mappingContext,
+            SegmentTermIndex termIndex) {
+        @SuppressWarnings("unchecked")
+        Map<String, Object>[] reconstructed = new Map[docIds.length];
+        boolean[] failed = new boolean[docIds.length];
+        for (int i = 0; i < docIds.length; i++) {
+            reconstructed[i] = new LinkedHashMap<>();
+            populateFromStoredFields(reconstructed[i], documents[i], mappingContext);
+        }
+        for (DocValueFieldInfo fieldInfo : docValueColumns.getDocValueFields()) {
+            for (int i = 0; i < docIds.length; i++) {
+                if (failed[i]) {
+                    continue;
+                }
+                try {
+                    populateFromDocValue(reconstructed[i], docValueColumns, docIds[i], fieldInfo, mappingContext);
+                } catch (IOException e) {
+                    log.atWarn().setCause(e).setMessage("Failed to reconstruct source for document {}")
+                        .addArgument(docIds[i]).log();
+                    failed[i] = true;
+                }
+            }
+        }
+
+        byte[][] result = new byte[docIds.length][];
+        var buffer = new ByteArrayOutputStream();
+        for (int i = 0; i < docIds.length; i++) {
+            if (failed[i]) {
+                continue;
+            }
+            try {
+                populateFromIndexAndCopyTo(reconstructed[i], reader, docIds[i], documents[i], mappingContext,
+                    termIndex);
+                if (reconstructed[i].isEmpty()) {
+                    log.atWarn().setMessage("No stored fields or doc_values found for document {}")
+                        .addArgument(docIds[i]).log();
+                    continue;
+                }
+                buffer.reset();
+                OBJECT_MAPPER.writeValue(buffer, reconstructed[i]);
+                result[i] = buffer.toByteArray();
+            } catch (IOException e) {
+                log.atWarn().setCause(e).setMessage("Failed to reconstruct source for document {}")
+                    .addArgument(docIds[i]).log();
+            } finally {
+                reconstructed[i] = null;
+            }
+        }
+        return result;
+    }
+
     /** Backwards-compatible overload for callers that don't supply a term index. */
     public static String reconstructSource(LuceneLeafReader reader, int docId, LuceneDocument document,
             FieldMappingContext mappingContext) {
@@ -491,8 +556,19 @@ public class SourceReconstructor {
      */
     private static boolean populateFromSegment(Map<String, Object> target, LuceneLeafReader reader, int docId,
             LuceneDocument document, FieldMappingContext mappingContext, SegmentTermIndex termIndex) throws IOException {
+        boolean modified = populateFromStoredFields(target, document, mappingContext);
+        // 2. Doc values (fast, lossless for typed fields)
+        for (DocValueFieldInfo fieldInfo : reader.getDocValueFields()) {
+            modified |= populateFromDocValue(target, reader, docId, fieldInfo, mappingContext);
+        }
+        modified |= populateFromIndexAndCopyTo(target, reader, docId, document, mappingContext, termIndex);
+        return modified;
+    }
+
+    /** Pass 1 of {@link #populateFromSegment}: stored fields (exact values when present). */
+    private static boolean populateFromStoredFields(Map<String, Object> target, LuceneDocument document,
+            FieldMappingContext mappingContext) {
         boolean modified = false;
-        // 1. Stored fields (exact values when present)
         for (var field : document.getFields()) {
             String fieldName = field.name();
             if ((shouldSkipField(fieldName, mappingContext)
@@ -506,29 +582,42 @@ public class SourceReconstructor {
                 modified |= putNested(target, fieldName, value);
             }
         }
+        return modified;
+    }
 
-        // 2. Doc values (fast, lossless for typed fields)
-        for (DocValueFieldInfo fieldInfo : reader.getDocValueFields()) {
-            String fieldName = fieldInfo.name();
-            if ((shouldSkipField(fieldName, mappingContext)
-                    && !descendsIntoExistingObjectArray(target, fieldName))
-                    || hasNested(target, fieldName)) {
-                continue;
-            }
-            FieldMappingInfo mappingInfo = mappingContext != null ? mappingContext.getFieldInfo(fieldName) : null;
-            // Skip if mapping says doc_values is disabled (ES 2.x may still have them internally)
-            if (mappingInfo != null && !mappingInfo.docValues()) {
-                continue;
-            }
-            Object value = reader.getDocValue(docId, fieldInfo);
-            if (value != null) {
-                Object converted = convertDocValue(value, fieldInfo, mappingInfo);
-                if (converted != null) {
-                    modified |= putNested(target, fieldName, converted);
-                }
+    /** Pass 2 of {@link #populateFromSegment}: one doc_values field of one document. */
+    private static boolean populateFromDocValue(Map<String, Object> target, LuceneLeafReader reader, int docId,
+            DocValueFieldInfo fieldInfo, FieldMappingContext mappingContext) throws IOException {
+        String fieldName = fieldInfo.name();
+        if ((shouldSkipField(fieldName, mappingContext)
+                && !descendsIntoExistingObjectArray(target, fieldName))
+                || hasNested(target, fieldName)) {
+            return false;
+        }
+        FieldMappingInfo mappingInfo = mappingContext != null ? mappingContext.getFieldInfo(fieldName) : null;
+        // Skip if mapping says doc_values is disabled (ES 2.x may still have them internally)
+        if (mappingInfo != null && !mappingInfo.docValues()) {
+            return false;
+        }
+        Object value = reader.getDocValue(docId, fieldInfo);
+        if (value != null) {
+            Object converted = convertDocValue(value, fieldInfo, mappingInfo);
+            if (converted != null) {
+                return putNested(target, fieldName, converted);
             }
         }
+        return false;
+    }
 
+    /**
+     * Passes 3 to 5 of {@link #populateFromSegment}: points/terms, mapping constants and copy_to
+     * reverse-derivation. These read through {@code termIndex}, whose cursors require that each
+     * document finishes these passes before the next one starts.
+     */
+    private static boolean populateFromIndexAndCopyTo(Map<String, Object> target, LuceneLeafReader reader,
+            int docId, LuceneDocument document, FieldMappingContext mappingContext, SegmentTermIndex termIndex)
+            throws IOException {
+        boolean modified = false;
         // 3 + 4. Points/indexed-terms fallback (recovers indexed-only numeric/boolean/keyword)
         // merged with mapping-level constant values (constant_keyword stores its value in the
         // mapping, not the segment). A single iteration over the mapping's field-name set:
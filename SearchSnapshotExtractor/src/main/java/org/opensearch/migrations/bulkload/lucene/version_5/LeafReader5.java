@@ -4,15 +4,14 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Base64;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 import org.opensearch.migrations.bulkload.lucene.BitSetConverter;
 import org.opensearch.migrations.bulkload.lucene.DocValueFieldInfo;
 import org.opensearch.migrations.bulkload.lucene.GenericStreamingFieldPostings;
 import org.opensearch.migrations.bulkload.lucene.GenericStreamingMultiTermPostings;
 import org.opensearch.migrations.bulkload.lucene.LuceneLeafReader;
+import org.opensearch.migrations.bulkload.lucene.NumericTermColumn;
 
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
@@ -288,27 +287,32 @@ public class LeafReader5 implements LuceneLeafReader {
      * Byte-length discriminates int-coded (6 bytes at shift=0) vs long-coded (11 bytes at
      * shift=0) terms. ES 1.x IP fields use long-coded terms even though the value is 32-bit.
      *
-     * Returns {@code docId -> decoded Long} (first value wins when multi-valued; multi-valued
-     * numeric fields are extremely rare in practice and the reconstructed JSON would need
-     * array support at a higher layer to benefit anyway).
+     * Returns a docId-indexed column of decoded values (first value wins when multi-valued;
+     * multi-valued numeric fields are extremely rare in practice and the reconstructed JSON would
+     * need array support at a higher layer to benefit anyway).
      */
     @Override
-    public Map<Integer, Long> buildNumericTermIndex(String fieldName) throws IOException {
+    public NumericTermColumn buildNumericTermIndex(String fieldName) throws IOException {
         Terms terms = wrapped.terms(fieldName);
-        if (terms == null) return Collections.emptyMap();
-        Map<Integer, Long> result = new HashMap<>();
-        TermsEnum termsEnum = terms.iterator();
-        BytesRef term;
-        while ((term = termsEnum.next()) != null) {
-            Long decoded = decodeShiftZeroTerm(term);
-            if (decoded == null) continue;
-            PostingsEnum postings = termsEnum.postings(null, PostingsEnum.NONE);
-            int doc;
-            while ((doc = postings.nextDoc()) != PostingsEnum.NO_MORE_DOCS) {
-                result.putIfAbsent(doc, decoded);
+        if (terms == null) return NumericTermColumn.EMPTY;
+        NumericTermColumn.Builder result = NumericTermColumn.builder(wrapped.maxDoc());
+        try {
+            TermsEnum termsEnum = terms.iterator();
+            BytesRef term;
+            while ((term = termsEnum.next()) != null) {
+                Long decoded = decodeShiftZeroTerm(term);
+                if (decoded == null) continue;
+                PostingsEnum postings = termsEnum.postings(null, PostingsEnum.NONE);
+                int doc;
+                while ((doc = postings.nextDoc()) != PostingsEnum.NO_MORE_DOCS) {
+                    result.putIfAbsent(doc, decoded);
+                }
             }
+        } catch (IOException | RuntimeException e) {
+            result.abandon();
+            throw e;
         }
-        return result;
+        return result.build();
     }
 
     /**
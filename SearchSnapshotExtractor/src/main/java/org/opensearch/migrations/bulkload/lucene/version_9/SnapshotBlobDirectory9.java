@@ -0,0 +1,134 @@
+package org.opensearch.migrations.bulkload.lucene.version_9;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.Set;
+
+import org.opensearch.migrations.bulkload.common.SnapshotBlobFile;
+import org.opensearch.migrations.bulkload.common.SnapshotShardBlobFiles;
+
+import shadow.lucene9.org.apache.lucene.store.BaseDirectory;
+import shadow.lucene9.org.apache.lucene.store.BufferedIndexInput;
+import shadow.lucene9.org.apache.lucene.store.IOContext;
+import shadow.lucene9.org.apache.lucene.store.IndexInput;
+import shadow.lucene9.org.apache.lucene.store.IndexOutput;
+import shadow.lucene9.org.apache.lucene.store.NoLockFactory;
+
+/**
+ * A read-only Lucene {@link shadow.lucene9.org.apache.lucene.store.Directory} whose files are read in
+ * place from snapshot blobs via {@link SnapshotShardBlobFiles}, instead of being unpacked to local disk first.
+ *
+ * <p>Only read operations are supported (this is for reading snapshots, not writing).
+ */
+public class SnapshotBlobDirectory9 extends BaseDirectory {
+
+    private final SnapshotShardBlobFiles blobFiles;
+
+    public SnapshotBlobDirectory9(SnapshotShardBlobFiles blobFiles) {
+        super(NoLockFactory.INSTANCE);
+        this.blobFiles = blobFiles;
+    }
+
+    @Override
+    public String[] listAll() throws IOException {
+        ensureOpen();
+        return blobFiles.listFileNames();
+    }
+
+    @Override
+    public long fileLength(String name) throws IOException {
+        ensureOpen();
+        return blobFiles.getFile(name).getLength();
+    }
+
+    @Override
+    public IndexInput openInput(String name, IOContext context) throws IOException {
+        ensureOpen();
+        var file = blobFiles.getFile(name);
+        return new SnapshotBlobIndexInput("SnapshotBlobIndexInput(shard=" + blobFiles.getIndexId() + "/"
+            + blobFiles.getShardId() + ", file=" + name + ")", file);
+    }
+
+    @Override
+    public void deleteFile(String name) {
+        throw new UnsupportedOperationException("SnapshotBlobDirectory9 is read-only");
+    }
+
+    @Override
+    public IndexOutput createOutput(String name, IOContext context) {
+        throw new UnsupportedOperationException("SnapshotBlobDirectory9 is read-only");
+    }
+
+    @Override
+    public IndexOutput createTempOutput(String prefix, String suffix, IOContext context) {
+        throw new UnsupportedOperationException("SnapshotBlobDirectory9 is read-only");
+    }
+
+    @Override
+    public void sync(Collection<String> names) {
+        throw new UnsupportedOperationException("SnapshotBlobDirectory9 is read-only");
+    }
+
+    @Override
+    public void syncMetaData() {
+        throw new UnsupportedOperationException("SnapshotBlobDirectory9 is read-only");
+    }
+
+    @Override
+    public void rename(String source, String dest) {
+        throw new UnsupportedOperationException("SnapshotBlobDirectory9 is read-only");
+    }
+
+    @Override
+    public Set<String> getPendingDeletions() {
+        return Set.of();
+    }
+
+    @Override
+    public void close() {
+        // Inputs opened before close stay readable; DirectoryReader outlives the directory in IndexReader9
+        isOpen = false;
+    }
+
+    private static class SnapshotBlobIndexInput extends BufferedIndexInput {
+        private final SnapshotBlobFile file;
+
+        SnapshotBlobIndexInput(String resourceDesc, SnapshotBlobFile file) {
+            super(resourceDesc, BufferedIndexInput.BUFFER_SIZE);
+            this.file = file;
+        }
+
+        @Override
+        protected void readInternal(ByteBuffer b) throws IOException {
+            long position = getFilePointer();
+            int length = b.remaining();
+            if (b.hasArray()) {
+                file.readBytes(position, b.array(), b.arrayOffset() + b.position(), length);
+                b.position(b.position() + length);
+            } else {
+                var bytes = new byte[length];
+                file.readBytes(position, bytes, 0, length);
+                b.put(bytes);
+            }
+        }
+
+        @Override
+        protected void seekInternal(long pos) throws IOException {
+            if (pos > length()) {
+                throw new EOFException("Seek past the end of " + this + ": " + pos + " > " + length());
+            }
+        }
+
+        @Override
+        public long length() {
+            return file.getLength();
+        }
+
+        @Override
+        public void close() {
+            // Nothing to release; blocks are owned by the shared SnapshotBlobBlockCache
+        }
+    }
+}
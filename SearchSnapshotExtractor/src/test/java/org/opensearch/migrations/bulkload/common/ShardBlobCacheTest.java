@@ -0,0 +1,142 @@
+package org.opensearch.migrations.bulkload.common;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.opensearch.migrations.bulkload.lucene.RfsTunables;
+import org.opensearch.migrations.bulkload.models.ShardFileInfo;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ShardBlobCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final AtomicInteger downloads = new AtomicInteger();
+
+    @AfterEach
+    void clearCacheSize() {
+        System.clearProperty(RfsTunables.BLOB_CACHE_MAX_BYTES_PROP);
+    }
+
+    private static ShardFileInfo file(String physicalName, int length, String checksum) {
+        var fileInfo = mock(ShardFileInfo.class);
+        when(fileInfo.getName()).thenReturn("__" + physicalName);
+        when(fileInfo.getPhysicalName()).thenReturn(physicalName);
+        when(fileInfo.getLength()).thenReturn((long) length);
+        when(fileInfo.getChecksum()).thenReturn(checksum);
+        return fileInfo;
+    }
+
+    private void download(ShardFileInfo fileMetadata, Path target) throws IOException {
+        downloads.incrementAndGet();
+        Files.write(target, new byte[(int) fileMetadata.getLength()]);
+    }
+
+    @Test
+    void fileSharedByTwoShardDirectoriesIsDownloadedOnce() throws Exception {
+        var cache = new ShardBlobCache(tempDir.resolve("lucene" + ShardBlobCache.CACHE_DIR_SUFFIX), 1024);
+        var segment = file("_0.cfs", 100, "abc");
+        var baseDir = Files.createDirectories(tempDir.resolve("base"));
+        var deltaDir = Files.createDirectories(tempDir.resolve("delta"));
+
+        assertFalse(cache.materialize(segment, baseDir.resolve("_0.cfs"), this::download));
+        assertTrue(cache.materialize(segment, deltaDir.resolve("_0.cfs"), this::download));
+
+        assertEquals(1, downloads.get());
+        assertEquals(100, cache.totalBytes());
+        assertArrayEquals(Files.readAllBytes(baseDir.resolve("_0.cfs")), Files.readAllBytes(deltaDir.resolve("_0.cfs")));
+    }
+
+    @Test
+    void retryRelinksOverFilesLeftInTheShardDirectory() throws Exception {
+        var cache = new ShardBlobCache(tempDir.resolve("lucene" + ShardBlobCache.CACHE_DIR_SUFFIX), 1024);
+        var segment = file("_0.cfs", 100, "abc");
+        var shardDir = Files.createDirectories(tempDir.resolve("shard"));
+        cache.materialize(segment, shardDir.resolve("_0.cfs"), this::download);
+
+        assertTrue(cache.materialize(segment, shardDir.resolve("_0.cfs"), this::download));
+
+        assertEquals(1, downloads.get());
+        assertEquals(100, Files.size(shardDir.resolve("_0.cfs")));
+    }
+
+    @Test
+    void leastRecentlyUsedEntriesAreEvictedPastTheBudget() throws Exception {
+        var cacheDir = tempDir.resolve("lucene" + ShardBlobCache.CACHE_DIR_SUFFIX);
+        var cache = new ShardBlobCache(cacheDir, 250);
+        var shardDir = Files.createDirectories(tempDir.resolve("shard"));
+        var first = file("_0.cfs", 100, "a");
+        var second = file("_1.cfs", 100, "b");
+        cache.materialize(first, shardDir.resolve("_0.cfs"), this::download);
+        cache.materialize(second, shardDir.resolve("_1.cfs"), this::download);
+        Files.setLastModifiedTime(cacheDir.resolve(ShardBlobCache.entryName(first)), FileTime.fromMillis(2_000));
+        Files.setLastModifiedTime(cacheDir.resolve(ShardBlobCache.entryName(second)), FileTime.fromMillis(1_000));
+
+        cache.materialize(file("_2.cfs", 100, "c"), shardDir.resolve("_2.cfs"), this::download);
+
+        assertEquals(200, cache.totalBytes());
+        assertTrue(Files.exists(cacheDir.resolve(ShardBlobCache.entryName(first))));
+        assertFalse(Files.exists(cacheDir.resolve(ShardBlobCache.entryName(second))));
+        // The shard's own link survives eviction
+        assertEquals(100, Files.size(shardDir.resolve("_1.cfs")));
+    }
+
+    @Test
+    void reopenedCacheCountsExistingEntriesAndDropsPartialDownloads() throws Exception {
+        var cacheDir = tempDir.resolve("lucene" + ShardBlobCache.CACHE_DIR_SUFFIX);
+        new ShardBlobCache(cacheDir, 1024)
+            .materialize(file("_0.cfs", 100, "a"), tempDir.resolve("_0.cfs"), this::download);
+        Files.write(cacheDir.resolve("_1.cfs-100-b.7.tmp"), new byte[40]);
+
+        var reopened = new ShardBlobCache(cacheDir, 1024);
+
+        assertEquals(100, reopened.totalBytes());
+        assertFalse(Files.exists(cacheDir.resolve("_1.cfs-100-b.7.tmp")));
+    }
+
+    @Test
+    void metadataOnlyAndUnchecksummedFilesAreNotCacheable() {
+        var virtual = file("_0.si", 10, "abc");
+        when(virtual.getName()).thenReturn("v__abc");
+
+        assertFalse(ShardBlobCache.isCacheable(virtual));
+        assertFalse(ShardBlobCache.isCacheable(file("_0.cfs", 10, null)));
+        assertTrue(ShardBlobCache.isCacheable(file("_0.cfs", 10, "abc")));
+    }
+
+    @Test
+    void noCacheIsOpenedUnlessASizeIsConfigured() {
+        assertNull(ShardBlobCache.forBasePath(tempDir.resolve("unsized-lucene")));
+    }
+
+    @Test
+    void configuredCacheSitsBesideTheLuceneDirectoryRatherThanInIt() throws Exception {
+        System.setProperty(RfsTunables.BLOB_CACHE_MAX_BYTES_PROP, "1024");
+        var luceneDir = tempDir.resolve("sized-lucene");
+        var cache = ShardBlobCache.forBasePath(luceneDir);
+        var shardDir = Files.createDirectories(luceneDir.resolve("index").resolve("0"));
+        cache.materialize(file("_0.cfs", 100, "abc"), shardDir.resolve("_0.cfs"), this::download);
+
+        var cacheDir = tempDir.resolve("sized-lucene" + ShardBlobCache.CACHE_DIR_SUFFIX);
+        assertEquals(cacheDir.toAbsolutePath().normalize(), ShardBlobCache.cacheDirectoryFor(luceneDir));
+        assertTrue(Files.exists(cacheDir.resolve(ShardBlobCache.entryName(file("_0.cfs", 100, "abc")))));
+        try (var luceneEntries = Files.list(luceneDir)) {
+            assertEquals(1, luceneEntries.count());
+        }
+    }
+}
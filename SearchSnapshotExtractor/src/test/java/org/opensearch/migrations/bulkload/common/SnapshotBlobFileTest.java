@@ -0,0 +1,112 @@
+package org.opensearch.migrations.bulkload.common;
+
+import java.io.EOFException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.opensearch.migrations.bulkload.models.ShardFileInfo;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SnapshotBlobFileTest {
+
+    /** Serves byte ranges from in-memory blobs and counts how many ranged reads were issued. */
+    private static class InMemoryRepoAccessor extends SourceRepoAccessor {
+        private final Map<String, byte[]> blobs = new HashMap<>();
+        private final AtomicInteger rangeReads = new AtomicInteger();
+
+        InMemoryRepoAccessor() {
+            super(mock(SourceRepo.class));
+        }
+
+        @Override
+        public byte[] getBlobFileRange(String indexId, int shardId, String blobName, long offset, int length) {
+            rangeReads.incrementAndGet();
+            var blob = blobs.get(blobName);
+            return Arrays.copyOfRange(blob, (int) offset, (int) offset + length);
+        }
+    }
+
+    private static byte[] sequentialBytes(int length) {
+        var bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) i;
+        }
+        return bytes;
+    }
+
+    private static ShardFileInfo multiPartFile(String name, long length, long partSize) {
+        var fileInfo = mock(ShardFileInfo.class);
+        long parts = partSize == Long.MAX_VALUE ? 1 : (length + partSize - 1) / partSize;
+        when(fileInfo.getName()).thenReturn(name);
+        when(fileInfo.getPhysicalName()).thenReturn("_0.cfs");
+        when(fileInfo.getLength()).thenReturn(length);
+        when(fileInfo.getPartSize()).thenReturn(partSize);
+        when(fileInfo.getNumberOfParts()).thenReturn(parts);
+        for (long p = 0; p < parts; p++) {
+            when(fileInfo.partName(p)).thenReturn(parts > 1 ? name + ".part" + p : name);
+        }
+        return fileInfo;
+    }
+
+    @Test
+    void readBytes_spansPartAndBlockBoundaries() throws Exception {
+        var content = sequentialBytes(1000);
+        var accessor = new InMemoryRepoAccessor();
+        accessor.blobs.put("__blob.part0", Arrays.copyOfRange(content, 0, 400));
+        accessor.blobs.put("__blob.part1", Arrays.copyOfRange(content, 400, 800));
+        accessor.blobs.put("__blob.part2", Arrays.copyOfRange(content, 800, 1000));
+        var file = new SnapshotBlobFile(accessor, multiPartFile("__blob", 1000, 400), "idx", 0,
+            new SnapshotBlobBlockCache(64, 1024 * 1024));
+
+        var dst = new byte[700];
+        file.readBytes(150, dst, 0, 700);
+
+        assertArrayEquals(Arrays.copyOfRange(content, 150, 850), dst);
+    }
+
+    @Test
+    void readBytes_servesRepeatedReadsFromCache() throws Exception {
+        var content = sequentialBytes(256);
+        var accessor = new InMemoryRepoAccessor();
+        accessor.blobs.put("__blob", content);
+        var file = new SnapshotBlobFile(accessor, multiPartFile("__blob", 256, Long.MAX_VALUE), "idx", 0,
+            new SnapshotBlobBlockCache(128, 1024));
+
+        var dst = new byte[16];
+        file.readBytes(10, dst, 0, 16);
+        file.readBytes(20, dst, 0, 16);
+        file.readBytes(100, dst, 0, 16);
+
+        assertEquals(1, accessor.rangeReads.get());
+        assertArrayEquals(Arrays.copyOfRange(content, 100, 116), dst);
+    }
+
+    @Test
+    void blockCache_evictsLeastRecentlyUsedBlocksOverBudget() {
+        var cache = new SnapshotBlobBlockCache(100, 250);
+        for (int i = 0; i < 5; i++) {
+            cache.getOrLoad(new SnapshotBlobBlockCache.BlockKey("idx", 0, "__blob", i), () -> new byte[100]);
+        }
+        assertTrue(cache.getCachedBytes() <= 250);
+    }
+
+    @Test
+    void readBytes_throwsWhenReadingPastEndOfFile() {
+        var accessor = new InMemoryRepoAccessor();
+        accessor.blobs.put("__blob", sequentialBytes(10));
+        var file = new SnapshotBlobFile(accessor, multiPartFile("__blob", 10, Long.MAX_VALUE), "idx", 0,
+            new SnapshotBlobBlockCache());
+
+        assertThrows(EOFException.class, () -> file.readBytes(5, new byte[10], 0, 10));
+    }
+}
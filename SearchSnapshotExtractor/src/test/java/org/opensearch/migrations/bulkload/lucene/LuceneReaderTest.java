@@ -0,0 +1,84 @@
+package org.opensearch.migrations.bulkload.lucene;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.opensearch.migrations.bulkload.common.DocumentChangeType;
+import org.opensearch.migrations.bulkload.common.LuceneDocumentChange;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LuceneReaderTest {
+    private static final int MAX_DOC = 100;
+
+    @AfterEach
+    void clearTunables() {
+        System.clearProperty(RfsTunables.READER_PARALLELISM_PROP);
+        System.clearProperty(RfsTunables.RECONSTRUCTION_BLOCK_SIZE_PROP);
+    }
+
+    private static LuceneField field(String name, String value) {
+        var field = mock(LuceneField.class);
+        when(field.name()).thenReturn(name);
+        when(field.asUid()).thenReturn(value);
+        when(field.stringValue()).thenReturn(value);
+        return field;
+    }
+
+    private static LuceneLeafReader sourcelessSegment() throws Exception {
+        var documents = new ArrayList<LuceneDocument>();
+        for (int docId = 0; docId < MAX_DOC; docId++) {
+            var document = mock(LuceneDocument.class);
+            List<? extends LuceneField> fields = List.of(field("_id", "doc-" + docId), field("n", "v" + docId));
+            org.mockito.Mockito.doReturn(fields).when(document).getFields();
+            documents.add(document);
+        }
+        var reader = mock(LuceneLeafReader.class);
+        when(reader.maxDoc()).thenReturn(MAX_DOC);
+        when(reader.getDocValueFields()).thenReturn(Collections.emptyList());
+        when(reader.document(anyInt())).thenAnswer(invocation -> documents.get(invocation.getArgument(0)));
+        when(reader.newView()).thenReturn(reader);
+        return reader;
+    }
+
+    @Test
+    void stripedSourcelessReadKeepsSegmentOrder() throws Exception {
+        System.setProperty(RfsTunables.READER_PARALLELISM_PROP, "4");
+        System.setProperty(RfsTunables.RECONSTRUCTION_BLOCK_SIZE_PROP, "8");
+        var reader = sourcelessSegment();
+
+        var changes = LuceneReader.readDocsFromSegment(new ReaderAndBase(reader, 1000, null), 0, null,
+            DocumentChangeType.INDEX, new FieldMappingContext(null), false).collectList().block();
+
+        assertEquals(IntStream.range(1000, 1000 + MAX_DOC).boxed().toList(),
+            changes.stream().map(c -> c.luceneDocNumber).toList());
+        LuceneDocumentChange last = changes.get(MAX_DOC - 1);
+        assertEquals("doc-99", last.id);
+        assertEquals("{\"n\":\"v99\"}", new String(last.source, StandardCharsets.UTF_8));
+        verify(reader, times(4)).newView();
+    }
+
+    @Test
+    void stripedSourcelessReadResumesMidSegment() throws Exception {
+        System.setProperty(RfsTunables.READER_PARALLELISM_PROP, "3");
+        System.setProperty(RfsTunables.RECONSTRUCTION_BLOCK_SIZE_PROP, "5");
+        var reader = sourcelessSegment();
+
+        var changes = LuceneReader.readDocsFromSegment(new ReaderAndBase(reader, 0, null), 42, null,
+            DocumentChangeType.INDEX, new FieldMappingContext(null), false).collectList().block();
+
+        assertEquals(IntStream.range(42, MAX_DOC).boxed().toList(),
+            changes.stream().map(c -> c.luceneDocNumber).toList());
+    }
+}
@@ -0,0 +1,60 @@
+package org.opensearch.migrations.bulkload.lucene;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NumericTermColumnTest {
+
+    private static NumericTermColumn column(long heapBudgetBytes) throws IOException {
+        var builder = NumericTermColumn.builder(200, heapBudgetBytes);
+        builder.putIfAbsent(0, -5L);
+        builder.putIfAbsent(63, Long.MAX_VALUE);
+        builder.putIfAbsent(64, 0L);
+        builder.putIfAbsent(64, 99L);
+        builder.putIfAbsent(199, 7L);
+        return builder.build();
+    }
+
+    private static void assertValues(NumericTermColumn column) {
+        assertEquals(-5L, column.get(0));
+        assertEquals(Long.MAX_VALUE, column.get(63));
+        assertEquals(0L, column.get(64), "first value for a doc wins");
+        assertEquals(7L, column.get(199));
+        assertNull(column.get(1), "a doc without a value is absent, not zero");
+        assertNull(column.get(200));
+    }
+
+    @Test
+    void columnWithinBudgetIsHeldOnHeapAndReleasesItsReservation() throws IOException {
+        long before = NumericTermColumn.reservedHeapBytes();
+        var column = column(Long.MAX_VALUE);
+
+        assertFalse(column.isMapped());
+        assertValues(column);
+        assertEquals(before + 200 * Long.BYTES, NumericTermColumn.reservedHeapBytes());
+        column.close();
+        assertEquals(before, NumericTermColumn.reservedHeapBytes());
+    }
+
+    @Test
+    void columnOverBudgetIsMemoryMapped() throws IOException {
+        long before = NumericTermColumn.reservedHeapBytes();
+        try (var column = column(0)) {
+            assertTrue(column.isMapped());
+            assertValues(column);
+            assertEquals(before, NumericTermColumn.reservedHeapBytes());
+        }
+    }
+
+    @Test
+    void emptyColumnHasNoValues() {
+        assertNull(NumericTermColumn.EMPTY.get(0));
+        NumericTermColumn.EMPTY.close();
+    }
+}
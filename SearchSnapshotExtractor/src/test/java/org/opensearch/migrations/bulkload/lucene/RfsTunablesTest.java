@@ -11,6 +11,8 @@ class RfsTunablesTest {
     @AfterEach
     void clearStopwordProp() {
         System.clearProperty(RfsTunables.POSITION_GAP_STOPWORD_PROP);
+        System.clearProperty(RfsTunables.RECONSTRUCTION_BLOCK_SIZE_PROP);
+        System.clearProperty(RfsTunables.READER_PARALLELISM_PROP);
     }
 
     @Test
@@ -23,6 +25,19 @@ class RfsTunablesTest {
         assertEquals("RFS_READER_PARALLELISM", RfsTunables.READER_PARALLELISM_ENV);
     }
 
+    @Test
+    void readerParallelismReadsSystemPropertyAndIsAtLeastOne() {
+        System.setProperty(RfsTunables.READER_PARALLELISM_PROP, "12");
+        assertEquals(12, RfsTunables.readerParallelism());
+        System.setProperty(RfsTunables.READER_PARALLELISM_PROP, "0");
+        assertEquals(1, RfsTunables.readerParallelism());
+    }
+
+    @Test
+    void readerParallelismDefaultsToOneWhenUnset() {
+        assertEquals(1, RfsTunables.readerParallelism());
+    }
+
     @Test
     void positionGapStopwordPropAndEnvHaveExpectedNames() {
         assertEquals("rfs.position.gap.stopword", RfsTunables.POSITION_GAP_STOPWORD_PROP);
@@ -45,4 +60,16 @@ class RfsTunablesTest {
         System.setProperty(RfsTunables.POSITION_GAP_STOPWORD_PROP, "   ");
         assertNull(RfsTunables.positionGapStopword());
     }
+
+    @Test
+    void reconstructionBlockSizeReadsSystemProperty() {
+        System.setProperty(RfsTunables.RECONSTRUCTION_BLOCK_SIZE_PROP, " 32 ");
+        assertEquals(32, RfsTunables.reconstructionBlockSize());
+    }
+
+    @Test
+    void reconstructionBlockSizeFallsBackToDefaultWhenUnparseable() {
+        System.setProperty(RfsTunables.RECONSTRUCTION_BLOCK_SIZE_PROP, "many");
+        assertEquals(RfsTunables.DEFAULT_RECONSTRUCTION_BLOCK_SIZE, RfsTunables.reconstructionBlockSize());
+    }
 }
@@ -114,9 +114,13 @@ class SegmentTermIndexTest {
         }
 
         @Override
-        public Map<Integer, Long> buildNumericTermIndex(String fieldName) {
+        public NumericTermColumn buildNumericTermIndex(String fieldName) throws IOException {
             buildNumericCalls++;
-            return numeric.getOrDefault(fieldName, Collections.emptyMap());
+            Map<Integer, Long> values = numeric.getOrDefault(fieldName, Collections.emptyMap());
+            var column = NumericTermColumn.builder(
+                values.keySet().stream().mapToInt(d -> d + 1).max().orElse(0), Long.MAX_VALUE);
+            values.forEach(column::putIfAbsent);
+            return column.build();
         }
 
         // ---- unused on this test path ----
@@ -284,6 +288,30 @@ class SegmentTermIndexTest {
         }
     }
 
+    @Test
+    void stripeView_sharesNumericColumns_untilLastViewIsClosed() throws IOException {
+        StubReader reader = new StubReader(
+            Map.of(),
+            Map.of(),
+            Map.of("score", Map.of(0, 42L, 1, 100L))
+        );
+
+        SegmentTermIndex idx = new SegmentTermIndex();
+        try (SegmentTermIndex stripe = idx.newStripeView()) {
+            assertEquals(42L, idx.getNumericForDocument(reader, 0, "score"));
+            assertEquals(100L, stripe.getNumericForDocument(reader, 1, "score"));
+            // Built once for the segment, not once per stripe
+            assertEquals(1, reader.buildNumericCalls);
+
+            idx.close();
+            assertThrows(IOException.class, () -> idx.getNumericForDocument(reader, 0, "score"));
+            // The stripe still reads the shared column after the first owner has closed
+            assertEquals(42L, stripe.getNumericForDocument(reader, 0, "score"));
+            assertEquals(1, reader.buildNumericCalls);
+        }
+        assertThrows(IllegalStateException.class, idx::newStripeView);
+    }
+
     @Test
     void getNumericForDocument_unknownDoc_returnsNull() throws IOException {
         StubReader reader = new StubReader(
@@ -328,6 +328,47 @@ class SourceReconstructorTest {
         return reader;
     }
 
+    @Test
+    void blockReconstructionReadsEachDocValueFieldAsAColumn() throws IOException {
+        var count = new DocValueFieldInfo.Simple("count", DocValueFieldInfo.DocValueType.NUMERIC, false);
+        var tag = new DocValueFieldInfo.Simple("tag", DocValueFieldInfo.DocValueType.SORTED_SET, false);
+        var reader = storedOnlyReader();
+        var columns = mock(LuceneLeafReader.class);
+        when(columns.getDocValueFields()).thenReturn(List.of(count, tag));
+        for (int docId = 0; docId < 3; docId++) {
+            when(columns.getDocValue(docId, count)).thenReturn((long) docId * 10);
+            when(columns.getDocValue(docId, tag)).thenReturn("t" + docId);
+        }
+        var ctx = new FieldMappingContext(null);
+
+        byte[][] sources = SourceReconstructor.reconstructSourceBlock(reader, columns, new int[] {0, 1, 2},
+            new LuceneDocument[] {document(), document(storedString("name", "one")), document()}, ctx, null);
+
+        assertEquals(3, sources.length);
+        var second = MAPPER.readTree(sources[1]);
+        assertEquals("one", second.path("name").asText());
+        assertEquals(10L, second.path("count").asLong());
+        assertEquals("t1", second.path("tag").asText());
+        var inOrder = org.mockito.Mockito.inOrder(columns);
+        for (var field : List.of(count, tag)) {
+            for (int docId = 0; docId < 3; docId++) {
+                inOrder.verify(columns).getDocValue(docId, field);
+            }
+        }
+        org.mockito.Mockito.verify(reader, org.mockito.Mockito.never())
+            .getDocValue(org.mockito.ArgumentMatchers.anyInt(), org.mockito.ArgumentMatchers.any());
+    }
+
+    @Test
+    void blockReconstructionLeavesEmptyDocumentsNull() {
+        var reader = storedOnlyReader();
+        byte[][] sources = SourceReconstructor.reconstructSourceBlock(reader, reader, new int[] {4, 5},
+            new LuceneDocument[] {document(), document(storedString("name", "five"))},
+            new FieldMappingContext(null), null);
+        assertNull(sources[0]);
+        assertNotNull(sources[1]);
+    }
+
     @Test
     void reconstructFromDocValues_booleanNumericZeroOne() throws IOException {
         var reader = docValueReader("enabled", DocValueFieldInfo.DocValueType.NUMERIC, true, 1L);
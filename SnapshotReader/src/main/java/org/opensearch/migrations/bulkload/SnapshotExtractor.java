@@ -5,8 +5,11 @@ import java.nio.file.Path;
 import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -16,9 +19,12 @@ import org.opensearch.migrations.Version;
 import org.opensearch.migrations.bulkload.common.DeltaMode;
 import org.opensearch.migrations.bulkload.common.FileSystemRepo;
 import org.opensearch.migrations.bulkload.common.LuceneDocumentChange;
+import org.opensearch.migrations.bulkload.common.SnapshotBlobBlockCache;
+import org.opensearch.migrations.bulkload.common.SnapshotShardBlobFiles;
 import org.opensearch.migrations.bulkload.common.SnapshotShardUnpacker;
 import org.opensearch.migrations.bulkload.common.SourceRepo;
 import org.opensearch.migrations.bulkload.common.SourceRepoAccessor;
+import org.opensearch.migrations.bulkload.delta.DeltaDocumentDeduplicator;
 import org.opensearch.migrations.bulkload.delta.DeltaLuceneReader;
 import org.opensearch.migrations.bulkload.lucene.FieldMappingContext;
 import org.opensearch.migrations.bulkload.lucene.LuceneDirectoryReader;
@@ -54,11 +60,38 @@ public class SnapshotExtractor {
     private final Version version;
     private final ClusterSnapshotReader snapshotReader;
     private final SourceRepo sourceRepo;
+    // When non-null, shards are read in place from the repository instead of unpacked to workDir
+    private final SnapshotBlobBlockCache rangeReadBlockCache;
+    // Shards opened for regular reads, by shard directory, so that counting, preparing and reading ranges of a
+    // shard opens it once. An entry lives while a read of the shard runs or while counting or preparing holds it
+    // for the next read, until that read starts or releaseOpenedShards drops the hold.
+    private final Map<Path, OpenedShard> openedShards = new ConcurrentHashMap<>();
+
+    /** A shard opened for regular reads and what still needs it; only changed inside its map entry's compute. */
+    private static final class OpenedShard {
+        final LuceneIndexReader indexReader;
+        int runningReads;
+        boolean heldForNextRead;
+
+        OpenedShard(LuceneIndexReader indexReader) {
+            this.indexReader = indexReader;
+        }
+
+        boolean isUnused() {
+            return runningReads == 0 && !heldForNextRead;
+        }
+    }
 
     private SnapshotExtractor(Version version, ClusterSnapshotReader snapshotReader, SourceRepo sourceRepo) {
+        this(version, snapshotReader, sourceRepo, null);
+    }
+
+    private SnapshotExtractor(Version version, ClusterSnapshotReader snapshotReader, SourceRepo sourceRepo,
+                              SnapshotBlobBlockCache rangeReadBlockCache) {
         this.version = version;
         this.snapshotReader = snapshotReader;
         this.sourceRepo = sourceRepo;
+        this.rangeReadBlockCache = rangeReadBlockCache;
     }
 
     /**
@@ -79,6 +112,25 @@ public class SnapshotExtractor {
         return new SnapshotExtractor(version, reader, sourceRepo);
     }
 
+    /**
+     * Returns a copy of this extractor that reads shard files in place from the snapshot repository
+     * through ranged blob reads instead of unpacking every file to the work directory first. Only
+     * Lucene 9+ snapshots support this; older formats fall back to unpacking.
+     *
+     * @param blockCache bounded cache for blocks read from snapshot blobs
+     */
+    public SnapshotExtractor withRangeReads(SnapshotBlobBlockCache blockCache) {
+        return new SnapshotExtractor(version, snapshotReader, sourceRepo, blockCache);
+    }
+
+    /**
+     * Whether shards are read in place rather than unpacked, i.e. whether reading a shard
+     * needs no local disk space.
+     */
+    public boolean readsShardsInPlace() {
+        return rangeReadBlockCache != null && new LuceneIndexReader.Factory(snapshotReader).supportsRangeReads();
+    }
+
     /**
      * Lists all shards for a given index in the snapshot.
      */
@@ -163,23 +215,55 @@ public class SnapshotExtractor {
 
     public Flux<LuceneDocumentChange> readDocuments(ShardEntry shard, Path workDir, int startDocIdx,
                                                      FieldMappingContext mappingContext, boolean useRecoverySource) {
-        var repoAccessor = new SourceRepoAccessor(sourceRepo);
-        var unpackerFactory = new SnapshotShardUnpacker.Factory(repoAccessor, workDir);
-        var readerFactory = new LuceneIndexReader.Factory(snapshotReader);
+        var shardKey = openedShardKey(shard, workDir);
+        LuceneIndexReader indexReader = startRead(shard, workDir);
 
-        // Unpack shard files
-        var unpacker = unpackerFactory.create(
-            new HashSet<>(shard.metadata().getFiles()),
-            shard.indexName(),
-            shard.indexId(),
-            shard.shardId()
-        );
-        unpacker.unpack();
+        // Read documents from startDocIdx (binary search to segment). The shard is evicted once no read of it is
+        // running and no later range of it has been counted or prepared, so ranges read back to back share it.
+        return LuceneReader.streamDocumentChanges(indexReader, shard.metadata().getSegmentFileName(), startDocIdx, mappingContext, useRecoverySource)
+            .doFinally(s -> endRead(shardKey));
+    }
+
+    /**
+     * Counts the document slots, live or deleted, in a shard: the exclusive upper bound of the Lucene doc
+     * indices that {@link #readDocuments} starts from. The opened shard is held for the next read.
+     */
+    public int countDocuments(ShardEntry shard, Path workDir) {
+        var indexReader = holdForNextRead(shard, workDir);
+        try (var reader = indexReader.getReader(shard.metadata().getSegmentFileName())) {
+            return reader.maxDoc();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to open reader for " + shard, e);
+        }
+    }
 
-        // Read documents from startDocIdx (binary search to segment)
-        Path shardPath = workDir.resolve(shard.indexName()).resolve(String.valueOf(shard.shardId()));
-        LuceneIndexReader indexReader = readerFactory.getReader(shardPath);
-        return LuceneReader.streamDocumentChanges(indexReader, shard.metadata().getSegmentFileName(), startDocIdx, mappingContext, useRecoverySource);
+    /**
+     * Unpacks (or, with range reads, opens) a shard ahead of reading it, so that a later
+     * {@link #readDocuments} or {@link #countDocuments} call for it starts straight away. Safe to call
+     * from another thread while a different shard is being read.
+     */
+    public void prepareShard(ShardEntry shard, Path workDir) {
+        holdForNextRead(shard, workDir);
+    }
+
+    /**
+     * Drops the holds of shards that were counted or prepared but never read, e.g. because their lease was lost.
+     * Shards that are still being read stay open until their reads end.
+     */
+    public void releaseOpenedShards() {
+        var released = new AtomicInteger();
+        openedShards.keySet().forEach(shardKey -> openedShards.computeIfPresent(shardKey, (key, opened) -> {
+            if (opened.heldForNextRead) {
+                opened.heldForNextRead = false;
+                released.incrementAndGet();
+            }
+            return opened.isUnused() ? null : opened;
+        }));
+        if (released.get() > 0) {
+            log.atInfo().setMessage("Released {} opened shards that were never read")
+                .addArgument(released::get)
+                .log();
+        }
     }
 
     /**
@@ -200,10 +284,6 @@ public class SnapshotExtractor {
         Path workDir,
         Supplier<IRfsContexts.IDeltaStreamContext> deltaContextFactory
     ) {
-        var repoAccessor = new SourceRepoAccessor(sourceRepo);
-        var unpackerFactory = new SnapshotShardUnpacker.Factory(repoAccessor, workDir);
-        var readerFactory = new LuceneIndexReader.Factory(snapshotReader);
-
         // Combine files from both snapshots for unpacking
         Set<ShardFileInfo> filesToUnpack = Stream.concat(
                 currentShard.metadata().getFiles().stream(),
@@ -211,17 +291,13 @@ public class SnapshotExtractor {
             .collect(Collectors.toCollection(
                 () -> new TreeSet<>(Comparator.comparing(ShardFileInfo::key))));
 
-        var unpacker = unpackerFactory.create(
+        LuceneIndexReader indexReader = openShard(
             filesToUnpack,
             currentShard.indexName(),
             currentShard.indexId(),
-            currentShard.shardId()
+            currentShard.shardId(),
+            workDir
         );
-        unpacker.unpack();
-
-        Path shardPath = workDir.resolve(currentShard.indexName())
-            .resolve(String.valueOf(currentShard.shardId()));
-        LuceneIndexReader indexReader = readerFactory.getReader(shardPath);
 
         LuceneDirectoryReader previousReader;
         LuceneDirectoryReader currentReader;
@@ -235,7 +311,8 @@ public class SnapshotExtractor {
         DeltaLuceneReader.DeltaResult deltaResult;
         try (var deltaContext = deltaContextFactory.get()) {
             deltaResult = DeltaLuceneReader.readDeltaDocsByLeavesFromStartingPosition(
-                previousReader, currentReader, 0, deltaContext);
+                previousReader, currentReader, 0, deltaContext,
+                new DeltaDocumentDeduplicator(workDir, DeltaDocumentDeduplicator.DEFAULT_RUN_BUFFER_BYTES));
         }
 
         var deletions = switch (deltaMode) {
@@ -252,6 +329,86 @@ public class SnapshotExtractor {
             .doFinally(s -> LuceneDirectoryReader.getCleanupRunnable(previousReader, currentReader).run());
     }
 
+    /** Opens the shard unless it is already open and keeps it open for the next read of it. */
+    private LuceneIndexReader holdForNextRead(ShardEntry shard, Path workDir) {
+        return openedShards.compute(openedShardKey(shard, workDir), (key, opened) -> {
+            var shardForRead = opened != null ? opened : new OpenedShard(openShardForRead(shard, workDir));
+            shardForRead.heldForNextRead = true;
+            return shardForRead;
+        }).indexReader;
+    }
+
+    /** Opens the shard unless it is already open, taking over any hold on it; {@link #endRead} must follow. */
+    private LuceneIndexReader startRead(ShardEntry shard, Path workDir) {
+        return openedShards.compute(openedShardKey(shard, workDir), (key, opened) -> {
+            var shardForRead = opened != null ? opened : new OpenedShard(openShardForRead(shard, workDir));
+            shardForRead.heldForNextRead = false;
+            shardForRead.runningReads++;
+            return shardForRead;
+        }).indexReader;
+    }
+
+    private void endRead(Path shardKey) {
+        openedShards.computeIfPresent(shardKey, (key, opened) -> {
+            opened.runningReads--;
+            return opened.isUnused() ? null : opened;
+        });
+    }
+
+    /**
+     * Makes a shard's Lucene files readable, either by unpacking them into workDir or, when range
+     * reads are enabled and supported, by wrapping them in a directory that reads from the repository.
+     */
+    private LuceneIndexReader openShardForRead(ShardEntry shard, Path workDir) {
+        return openShard(
+            new HashSet<>(shard.metadata().getFiles()),
+            shard.indexName(),
+            shard.indexId(),
+            shard.shardId(),
+            workDir
+        );
+    }
+
+    private static Path openedShardKey(ShardEntry shard, Path workDir) {
+        return workDir.resolve(shard.indexName()).resolve(String.valueOf(shard.shardId()));
+    }
+
+    private LuceneIndexReader openShard(
+        Set<ShardFileInfo> files,
+        String indexName,
+        String indexId,
+        int shardId,
+        Path workDir
+    ) {
+        var repoAccessor = new SourceRepoAccessor(sourceRepo);
+        var readerFactory = new LuceneIndexReader.Factory(snapshotReader);
+        Path shardPath = workDir.resolve(indexName).resolve(String.valueOf(shardId));
+
+        if (rangeReadBlockCache != null) {
+            if (readerFactory.supportsRangeReads()) {
+                var blobFiles = new SnapshotShardBlobFiles(repoAccessor, files, indexId, shardId, rangeReadBlockCache);
+                log.atInfo()
+                    .setMessage("Range-reading {} files ({} MB) for shard {} of {} without unpacking")
+                    .addArgument(files.size())
+                    .addArgument(() -> blobFiles.getTotalSizeBytes() / (1024 * 1024))
+                    .addArgument(shardId)
+                    .addArgument(indexName)
+                    .log();
+                return readerFactory.getRangeReadReader(shardPath, blobFiles);
+            }
+            log.atWarn()
+                .setMessage("Range reads are not supported for snapshot version {}; unpacking shard {} of {} instead")
+                .addArgument(version)
+                .addArgument(shardId)
+                .addArgument(indexName)
+                .log();
+        }
+
+        var unpackerFactory = new SnapshotShardUnpacker.Factory(repoAccessor, workDir);
+        unpackerFactory.create(files, indexName, indexId, shardId).unpack();
+        return readerFactory.getReader(shardPath);
+    }
+
     /**
      * Provides access to the underlying ClusterSnapshotReader for advanced use cases.
      */
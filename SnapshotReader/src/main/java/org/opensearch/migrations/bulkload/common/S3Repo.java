@@ -2,6 +2,7 @@ package org.opensearch.migrations.bulkload.common;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -24,12 +25,17 @@ public class S3Repo implements SourceRepo {
     private static final double S3_TARGET_THROUGHPUT_GIBPS = 8.0; // Arbitrarily chosen
     private static final long S3_MAX_MEMORY_BYTES = 1024L * 1024 * 1024; // Arbitrarily chosen
     private static final long S3_MINIMUM_PART_SIZE_BYTES = 8L * 1024 * 1024; // Default, but be explicit
+    // Snapshot parts opened ahead of the one being unpacked when streaming; each is a concurrent GET
+    private static final int STREAMING_PART_READ_AHEAD = 2;
 
     public static final String INDICES_PREFIX_STR = "indices/";
     private final Path s3LocalDir;
     private final S3AsyncClient s3Client;
     private final SnapshotFileFinder fileFinder;
     private final String s3Region;
+    // When true, shard blobs are streamed from S3 on read instead of downloaded under s3LocalDir
+    @Getter
+    private final boolean streamingBlobReads;
 
     @Getter
     private final S3Uri s3RepoUri;
@@ -99,11 +105,26 @@ public class S3Repo implements SourceRepo {
     }
 
     protected S3Repo(Path s3LocalDir, S3Uri s3Uri, String s3Region, S3AsyncClient s3Client, SnapshotFileFinder fileFinder) {
+        this(s3LocalDir, s3Uri, s3Region, s3Client, fileFinder, false);
+    }
+
+    protected S3Repo(Path s3LocalDir, S3Uri s3Uri, String s3Region, S3AsyncClient s3Client, SnapshotFileFinder fileFinder,
+                     boolean streamingBlobReads) {
         this.s3LocalDir = s3LocalDir;
         this.s3RepoUri = s3Uri;
         this.s3Region = s3Region;
         this.s3Client = s3Client;
         this.fileFinder = fileFinder;
+        this.streamingBlobReads = streamingBlobReads;
+    }
+
+    /**
+     * Returns a repo sharing this one's S3 client that streams shard blobs directly from ranged GetObject
+     * responses instead of downloading them under s3LocalDir. Unpacking then writes each byte to local disk
+     * once (into the Lucene directory) rather than twice. Repository metadata files are still downloaded.
+     */
+    public S3Repo withStreamingBlobReads() {
+        return new S3Repo(s3LocalDir, s3RepoUri, s3Region, s3Client, fileFinder, true);
     }
 
     @Override
@@ -149,7 +170,68 @@ public class S3Repo implements SourceRepo {
 
     @Override
     public Path getBlobFilePath(String indexId, int shardId, String blobName) {
-        return fetch(fileFinder.getBlobFilePath(s3LocalDir, indexId, shardId, blobName));
+        var blobPath = fileFinder.getBlobFilePath(s3LocalDir, indexId, shardId, blobName);
+        return streamingBlobReads ? blobPath : fetch(blobPath);
+    }
+
+    @Override
+    public BlobSource getBlobSource() {
+        return streamingBlobReads ? new StreamingBlobSource() : BlobSource.fromLocalFilesystem();
+    }
+
+    /**
+     * Reads paths under s3LocalDir from the local copy when one exists (repository metadata) and otherwise
+     * straight from the corresponding S3 object, without touching local disk.
+     */
+    private class StreamingBlobSource implements BlobSource {
+        private final BlobSource localFiles = BlobSource.fromLocalFilesystem();
+
+        @Override
+        public InputStream readBlob(Path path) {
+            if (doesFileExistLocally(path)) {
+                return localFiles.readBlob(path);
+            }
+            var s3Uri = makeS3Uri(path);
+            log.atDebug().setMessage("Streaming blob from S3: {}").addArgument(s3Uri.uri).log();
+            var request = GetObjectRequest.builder()
+                .bucket(s3Uri.bucketName)
+                .key(s3Uri.key)
+                .build();
+            try {
+                return s3Client.getObject(request, AsyncResponseTransformer.toBlockingInputStream()).join();
+            } catch (CompletionException e) {
+                throw new CouldNotReadFromS3(s3Uri.bucketName, s3Uri.key, e);
+            }
+        }
+
+        @Override
+        public byte[] readBlobRange(Path path, long offset, int length) {
+            if (doesFileExistLocally(path)) {
+                return localFiles.readBlobRange(path, offset, length);
+            }
+            var s3Uri = makeS3Uri(path);
+            var request = GetObjectRequest.builder()
+                .bucket(s3Uri.bucketName)
+                .key(s3Uri.key)
+                .range("bytes=" + offset + "-" + (offset + length - 1))
+                .build();
+            byte[] bytes;
+            try {
+                bytes = s3Client.getObject(request, AsyncResponseTransformer.toBytes()).join().asByteArray();
+            } catch (CompletionException e) {
+                throw new CouldNotReadFromS3(s3Uri.bucketName, s3Uri.key, e);
+            }
+            if (bytes.length != length) {
+                throw new CouldNotReadFromS3(s3Uri.bucketName, s3Uri.key, new IOException(
+                    "Ranged read at " + offset + " returned " + bytes.length + " of " + length + " requested bytes"));
+            }
+            return bytes;
+        }
+
+        @Override
+        public int getPartReadAhead() {
+            return STREAMING_PART_READ_AHEAD;
+        }
     }
 
 
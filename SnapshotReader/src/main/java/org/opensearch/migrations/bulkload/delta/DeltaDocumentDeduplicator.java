@@ -0,0 +1,276 @@
+package org.opensearch.migrations.bulkload.delta;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import org.opensearch.migrations.bulkload.common.LuceneDocumentChange;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+
+/**
+ * Document-level dedupe of a segment-level delta, backed by an external sort on local disk.
+ *
+ * <p>{@link DeltaLuceneReader} diffs snapshots by segment, so a segment merge between the two snapshots
+ * shows up as every merged document being deleted (from the old segment) and added again (in the new one).
+ * This class matches the two streams by document key ({@code _type} and {@code _id}):
+ * <ul>
+ *   <li>A deletion whose key is also added is suppressed — the document still exists, and the addition
+ *       (if any is sent) overwrites it.</li>
+ *   <li>An addition whose key was deleted with an identical {@code _source} and routing is suppressed —
+ *       the document is unchanged.</li>
+ * </ul>
+ *
+ * <p>Keys can be up to 512 bytes and a shard can hold 2^31 of each kind, so (key, digest, doc number)
+ * records are spilled to sorted run files under a temp directory and merge-joined from there. Only the
+ * result, one bit per doc number per stream like the segments' live-docs bitsets, is kept in memory.
+ * Run files are deleted when {@link #findSuppressed} returns.
+ */
+@Slf4j
+public class DeltaDocumentDeduplicator {
+
+    /** Default in-memory buffer before a sorted run is spilled to disk. */
+    public static final long DEFAULT_RUN_BUFFER_BYTES = 64L * 1024 * 1024;
+
+    private static final int DELETION = 0;
+    private static final int ADDITION = 1;
+    /** Approximate per-record overhead beyond the key bytes, used for the buffer budget. */
+    private static final int RECORD_OVERHEAD_BYTES = 96;
+
+    private final Path spillParentDir;
+    private final long runBufferBytes;
+    /** Reused for every change, as the streams are read one at a time; so one findSuppressed call at a time. */
+    private final MessageDigest sha;
+
+    /**
+     * @param spillParentDir directory to create the temporary run directory in, or null for the system
+     *                       temp directory
+     * @param runBufferBytes how many bytes of records to sort in memory before spilling a run
+     */
+    public DeltaDocumentDeduplicator(Path spillParentDir, long runBufferBytes) {
+        this.spillParentDir = spillParentDir;
+        this.runBufferBytes = runBufferBytes;
+        try {
+            this.sha = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** Doc numbers ({@link LuceneDocumentChange#luceneDocNumber}) of changes that need not be sent. */
+    public static class Suppressed {
+        public final BitSet deletions = new BitSet();
+        public final BitSet additions = new BitSet();
+    }
+
+    private record Entry(byte[] key, byte[] digest, int docNumber, int stream) {}
+
+    private static final Comparator<Entry> ENTRY_ORDER = Comparator
+        .<Entry, byte[]>comparing(Entry::key, Arrays::compareUnsigned)
+        .thenComparingInt(Entry::stream)
+        .thenComparingInt(Entry::docNumber);
+
+    /**
+     * Reads both streams to the end and works out which of their changes are redundant. Blocks, so call
+     * it from a thread that may.
+     */
+    public Suppressed findSuppressed(Flux<LuceneDocumentChange> deletions, Flux<LuceneDocumentChange> additions)
+        throws IOException {
+        Path runDir = spillParentDir == null
+            ? Files.createTempDirectory("rfs-delta-dedupe-")
+            : Files.createTempDirectory(Files.createDirectories(spillParentDir), "rfs-delta-dedupe-");
+        try {
+            var runs = new ArrayList<Path>();
+            var buffer = new RunBuffer(runDir, runs);
+            spill(deletions, DELETION, buffer);
+            spill(additions, ADDITION, buffer);
+            buffer.flush();
+            var suppressed = mergeJoin(runs);
+            log.atInfo().setMessage("Delta dedupe suppressed {} deletions and {} unchanged additions using {} runs")
+                .addArgument(suppressed.deletions::cardinality)
+                .addArgument(suppressed.additions::cardinality)
+                .addArgument(runs::size)
+                .log();
+            return suppressed;
+        } finally {
+            deleteRecursively(runDir);
+        }
+    }
+
+    private void spill(Flux<LuceneDocumentChange> changes, int stream, RunBuffer buffer) {
+        for (var change : changes.toIterable()) {
+            try {
+                buffer.add(new Entry(key(change), digest(change), change.luceneDocNumber, stream));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private static byte[] key(LuceneDocumentChange change) {
+        String type = change.type == null ? "" : change.type;
+        return (type + '\u0000' + change.id).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private byte[] digest(LuceneDocumentChange change) {
+        sha.reset();
+        if (change.routing != null) {
+            sha.update(change.routing.getBytes(StandardCharsets.UTF_8));
+        }
+        sha.update((byte) 0);
+        if (change.source != null) {
+            sha.update(change.source);
+        }
+        return sha.digest();
+    }
+
+    /** Collects entries in memory and writes them out as sorted runs. */
+    private class RunBuffer {
+        private final Path runDir;
+        private final List<Path> runs;
+        private final List<Entry> entries = new ArrayList<>();
+        private long bytes;
+
+        RunBuffer(Path runDir, List<Path> runs) {
+            this.runDir = runDir;
+            this.runs = runs;
+        }
+
+        void add(Entry entry) throws IOException {
+            entries.add(entry);
+            bytes += entry.key().length + RECORD_OVERHEAD_BYTES;
+            if (bytes >= runBufferBytes) {
+                flush();
+            }
+        }
+
+        void flush() throws IOException {
+            if (entries.isEmpty()) {
+                return;
+            }
+            entries.sort(ENTRY_ORDER);
+            Path run = runDir.resolve("run-" + runs.size());
+            try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(run)))) {
+                for (var entry : entries) {
+                    out.writeInt(entry.key().length);
+                    out.write(entry.key());
+                    out.write(entry.digest());
+                    out.writeInt(entry.docNumber());
+                    out.writeByte(entry.stream());
+                }
+            }
+            runs.add(run);
+            entries.clear();
+            bytes = 0;
+        }
+    }
+
+    /** Reads one sorted run back, one entry at a time. */
+    private static class RunReader implements AutoCloseable {
+        private static final int DIGEST_BYTES = 32;
+        private final DataInputStream in;
+        private Entry head;
+
+        RunReader(Path run) throws IOException {
+            this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(run)));
+            advance();
+        }
+
+        void advance() throws IOException {
+            int keyLength;
+            try {
+                keyLength = in.readInt();
+            } catch (EOFException e) {
+                head = null;
+                return;
+            }
+            byte[] key = in.readNBytes(keyLength);
+            byte[] digest = in.readNBytes(DIGEST_BYTES);
+            int docNumber = in.readInt();
+            int stream = in.readByte();
+            head = new Entry(key, digest, docNumber, stream);
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    private static Suppressed mergeJoin(List<Path> runs) throws IOException {
+        var suppressed = new Suppressed();
+        var readers = new ArrayList<RunReader>(runs.size());
+        try {
+            var queue = new PriorityQueue<RunReader>(Math.max(1, runs.size()),
+                Comparator.comparing(r -> r.head, ENTRY_ORDER));
+            for (var run : runs) {
+                var reader = new RunReader(run);
+                readers.add(reader);
+                if (reader.head != null) {
+                    queue.add(reader);
+                }
+            }
+            var group = new ArrayList<Entry>();
+            while (!queue.isEmpty()) {
+                var reader = queue.poll();
+                var entry = reader.head;
+                if (!group.isEmpty() && !Arrays.equals(group.get(0).key(), entry.key())) {
+                    resolveGroup(group, suppressed);
+                    group.clear();
+                }
+                group.add(entry);
+                reader.advance();
+                if (reader.head != null) {
+                    queue.add(reader);
+                }
+            }
+            resolveGroup(group, suppressed);
+        } finally {
+            for (var reader : readers) {
+                reader.close();
+            }
+        }
+        return suppressed;
+    }
+
+    /** All entries for one key, deletions before additions. */
+    private static void resolveGroup(List<Entry> group, Suppressed suppressed) {
+        if (group.isEmpty() || group.get(0).stream() != DELETION || group.get(group.size() - 1).stream() != ADDITION) {
+            return;
+        }
+        for (var entry : group) {
+            if (entry.stream() == DELETION) {
+                suppressed.deletions.set(entry.docNumber());
+            } else if (group.stream().anyMatch(d -> d.stream() == DELETION && Arrays.equals(d.digest(), entry.digest()))) {
+                suppressed.additions.set(entry.docNumber());
+            }
+        }
+    }
+
+    private static void deleteRecursively(Path dir) {
+        try (var files = Files.list(dir)) {
+            for (var file : (Iterable<Path>) files::iterator) {
+                Files.deleteIfExists(file);
+            }
+            Files.deleteIfExists(dir);
+        } catch (IOException e) {
+            log.atWarn().setCause(e).setMessage("Unable to delete delta dedupe spill directory {}").addArgument(dir).log();
+        }
+    }
+}
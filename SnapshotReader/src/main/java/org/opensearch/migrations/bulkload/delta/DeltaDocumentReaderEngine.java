@@ -1,6 +1,7 @@
 package org.opensearch.migrations.bulkload.delta;
 
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.Comparator;
 import java.util.Set;
 import java.util.TreeSet;
@@ -30,6 +31,8 @@ public class DeltaDocumentReaderEngine implements DocumentReaderEngine {
     private final BiFunction<String, Integer, ShardMetadata> shardMetadataFactory;
     private final DeltaMode deltaMode;
     private final Supplier<IRfsContexts.IDeltaStreamContext> deltaContextFactory;
+    /** Work directory the shards are unpacked under; delta dedupe spills its sorted runs here too. */
+    private final Path workDir;
 
     @Override
     public SnapshotShardUnpacker createUnpacker(
@@ -74,7 +77,8 @@ public class DeltaDocumentReaderEngine implements DocumentReaderEngine {
             DeltaLuceneReader.DeltaResult deltaResult;
             try (var deltaContext = deltaContextFactory.get()) {
                 deltaResult = DeltaLuceneReader.readDeltaDocsByLeavesFromStartingPosition(
-                    previousReader, currentReader, startingDocId, deltaContext);
+                    previousReader, currentReader, startingDocId, deltaContext,
+                    new DeltaDocumentDeduplicator(workDir, DeltaDocumentDeduplicator.DEFAULT_RUN_BUFFER_BYTES));
             }
 
             var deletions = switch (deltaMode) {
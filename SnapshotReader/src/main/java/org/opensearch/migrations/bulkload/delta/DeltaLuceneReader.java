@@ -17,6 +17,7 @@ import org.opensearch.migrations.bulkload.tracing.IRfsContexts;
 
 import lombok.extern.slf4j.Slf4j;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
 
 /**
@@ -33,12 +34,11 @@ import reactor.core.scheduler.Schedulers;
  *
  * <h3>Limitations</h3>
  * - BitSet cloning can be memory-heavy (Upper bound in low hundreds of MBs based on 2^31 doc upper bound in segment)
- * - Using Segment based diff for delta calculation. In the future, we should consider doc based diffs.
- *      For deletes, we can dedupe any deletes where the same document id appears in the additions stream.
- *      For additions, we can dedupe where the delete stream contains a doc with the same id and same source.
- *      Since we have an upper bound on shard doc changes of 2^31 deletions and 2^31 additions, this dedupe must be
- *      performed on Disk-backed data stores. This is different from the LiveDocs BitSet which uses 1 bit per doc
- *      whereas a document's id can be up to 512 bytes.
+ * - Using Segment based diff for delta calculation, so merged segments show up as deletes and re-adds of
+ *      unchanged docs. When given a {@link DeltaDocumentDeduplicator}, the segment-level streams are refined to
+ *      doc level: deletes whose document id appears in the additions stream are dropped, and additions whose id
+ *      was deleted with the same source are dropped. Since we have an upper bound on shard doc changes of 2^31
+ *      deletions and 2^31 additions, the ids are matched on disk; this costs one extra local read of both streams.
  *
  * <h3>Complexity</h3>
  * Real-world performance assumes the number of segments is reasonably bounded (O(1)).
@@ -97,6 +97,20 @@ public class DeltaLuceneReader {
         LuceneDirectoryReader currentReader, 
         int startDocId,
         IRfsContexts.IDeltaStreamContext deltaContext
+    ) {
+        return readDeltaDocsByLeavesFromStartingPosition(previousReader, currentReader, startDocId, deltaContext, null);
+    }
+
+    /**
+     * Read delta documents including both additions and deletions, dropping the redundant ones found by
+     * {@code deduplicator} (if not null). The dedupe runs when either stream is first subscribed to.
+     */
+    public static DeltaResult readDeltaDocsByLeavesFromStartingPosition(
+        LuceneDirectoryReader previousReader,
+        LuceneDirectoryReader currentReader,
+        int startDocId,
+        IRfsContexts.IDeltaStreamContext deltaContext,
+        DeltaDocumentDeduplicator deduplicator
     ) {
         log.atInfo()
             .setMessage("Starting delta backfill from position {}")
@@ -156,25 +170,36 @@ public class DeltaLuceneReader {
             .addArgument(totalDocsToAdd)
             .log();
 
-        var additionsStream = Flux.fromIterable(additions)
-            .concatMapDelayError( c ->
-                LuceneReader.readDocsFromSegment(c,
-                    startDocId,
-                    Path.of(c.getReader().getSegmentName()),
-                    DocumentChangeType.INDEX,
-                    null, false)
-            ).subscribeOn(Schedulers.boundedElastic());
+        if (deduplicator == null) {
+            return new DeltaResult(
+                readSegments(additions, startDocId, DocumentChangeType.INDEX),
+                readSegments(removes, startDocId, DocumentChangeType.DELETE));
+        }
 
-        var deletionsStream = Flux.fromIterable(removes)
+        var suppressed = Mono.fromCallable(() -> deduplicator.findSuppressed(
+                readSegments(removes, 0, DocumentChangeType.DELETE),
+                readSegments(additions, 0, DocumentChangeType.INDEX)))
+            .subscribeOn(Schedulers.boundedElastic())
+            .cache();
+        var additionsStream = suppressed.flatMapMany(s ->
+            readSegments(additions, startDocId, DocumentChangeType.INDEX)
+                .filter(c -> !s.additions.get(c.luceneDocNumber)));
+        var deletionsStream = suppressed.flatMapMany(s ->
+            readSegments(removes, startDocId, DocumentChangeType.DELETE)
+                .filter(c -> !s.deletions.get(c.luceneDocNumber)));
+        return new DeltaResult(additionsStream, deletionsStream);
+    }
+
+    private static Flux<LuceneDocumentChange> readSegments(List<ReaderAndBase> segments, int startDocId,
+                                                           DocumentChangeType operation) {
+        return Flux.fromIterable(segments)
             .concatMapDelayError( c ->
                 LuceneReader.readDocsFromSegment(c,
                     startDocId,
                     Path.of(c.getReader().getSegmentName()),
-                    DocumentChangeType.DELETE,
+                    operation,
                     null, false)
             ).subscribeOn(Schedulers.boundedElastic());
-
-        return new DeltaResult(additionsStream, deletionsStream);
     }
 
     private static List<ReaderAndBase> getAdditionsBetweenSnapshot(TreeMap<String, LuceneLeafReader>
@@ -1,9 +1,9 @@
 package org.opensearch.migrations.bulkload.pipeline.adapter;
 
 import java.nio.file.Path;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
@@ -29,6 +29,9 @@ import reactor.core.publisher.Flux;
  * <p>Supports optional delta mode: when {@code previousSnapshotName} and {@code deltaMode}
  * are set, reads delta changes between two snapshots.
  *
+ * <p>In regular mode, document offsets are Lucene doc indices across the shard's segments, so a shard can be
+ * read as independent {@code [start, end)} ranges of {@link #partitionDocCount} doc slots.
+ *
  * <p>Use {@link #builder(SnapshotExtractor, String, Path)} to construct instances.
  */
 @Slf4j
@@ -43,9 +46,9 @@ public class LuceneSnapshotSource implements DocumentSource {
     private final DeltaMode deltaMode;
     private final Supplier<IRfsContexts.IDeltaStreamContext> deltaContextFactory;
 
-    /** Cache ShardEntry lookups to avoid repeated metadata reads */
-    private final Map<EsShardPartition, SnapshotExtractor.ShardEntry> shardEntryCache = new HashMap<>();
-    private final Map<EsShardPartition, SnapshotExtractor.ShardEntry> previousShardEntryCache = new HashMap<>();
+    /** Cache ShardEntry lookups to avoid repeated metadata reads; concurrent because of {@link #preparePartition} */
+    private final Map<EsShardPartition, SnapshotExtractor.ShardEntry> shardEntryCache = new ConcurrentHashMap<>();
+    private final Map<EsShardPartition, SnapshotExtractor.ShardEntry> previousShardEntryCache = new ConcurrentHashMap<>();
 
     // Max shard size enforcement (0 = no limit)
     private final long maxShardSizeBytes;
@@ -187,14 +190,19 @@ public class LuceneSnapshotSource implements DocumentSource {
 
     @Override
     public Flux<Document> readDocuments(Partition partition, long startingDocOffset) {
+        return readDocuments(partition, startingDocOffset, Long.MAX_VALUE);
+    }
+
+    @Override
+    public Flux<Document> readDocuments(Partition partition, long startingDocOffset, long endingDocOffset) {
         var esPartition = (EsShardPartition) partition;
         var entry = resolveShardEntry(esPartition, shardEntryCache);
         if (entry == null) {
             return Flux.error(new IllegalArgumentException("Partition not found: " + partition));
         }
 
-        // Enforce shard size limit to prevent disk overflow
-        if (maxShardSizeBytes > 0) {
+        // Enforce shard size limit to prevent disk overflow; range-read shards never touch local disk
+        if (maxShardSizeBytes > 0 && !extractor.readsShardsInPlace()) {
             long shardSize = entry.metadata().getTotalSizeBytes();
             if (shardSize > maxShardSizeBytes) {
                 return Flux.error(new ShardTooLargeException(partition, shardSize, maxShardSizeBytes));
@@ -205,7 +213,11 @@ public class LuceneSnapshotSource implements DocumentSource {
             var previousEntry = resolveShardEntry(esPartition, previousShardEntryCache);
             if (previousEntry == null) {
                 log.info("No previous partition for {} — treating as full read (all additions)", partition);
-                return readRegularDocuments(entry, partition, startingDocOffset);
+                return readRegularDocuments(entry, partition, startingDocOffset, endingDocOffset);
+            }
+            if (endingDocOffset != Long.MAX_VALUE) {
+                return Flux.error(new UnsupportedOperationException(
+                    "Delta reads cannot be limited to a range of " + partition));
             }
             log.info("Reading delta documents from {} (mode={}, offset={})", partition, deltaMode, startingDocOffset);
             return extractor.readDeltaDocuments(entry, previousEntry, deltaMode, workDir, deltaContextFactory)
@@ -213,19 +225,61 @@ public class LuceneSnapshotSource implements DocumentSource {
                 .map(luceneAdapter::fromLucene);
         }
 
-        return readRegularDocuments(entry, partition, startingDocOffset);
+        return readRegularDocuments(entry, partition, startingDocOffset, endingDocOffset);
+    }
+
+    /** Returns the shard's Lucene doc slot count, or -1 in delta mode where offsets count changes instead. */
+    @Override
+    public long partitionDocCount(Partition partition) {
+        if (isDeltaMode()) {
+            return -1;
+        }
+        var entry = resolveShardEntry((EsShardPartition) partition, shardEntryCache);
+        if (entry == null) {
+            throw new IllegalArgumentException("Partition not found: " + partition);
+        }
+        return extractor.countDocuments(entry, workDir);
+    }
+
+    /**
+     * Unpacks the shard ahead of time when it fits in {@code maxLocalBytes}; shards read in place take no local
+     * disk. Delta reads open both snapshots' files together when read, so they are not prepared.
+     */
+    @Override
+    public boolean preparePartition(Partition partition, long maxLocalBytes) {
+        if (isDeltaMode()) {
+            return false;
+        }
+        var entry = resolveShardEntry((EsShardPartition) partition, shardEntryCache);
+        if (entry == null) {
+            throw new IllegalArgumentException("Partition not found: " + partition);
+        }
+        if (!extractor.readsShardsInPlace()) {
+            long shardSize = entry.metadata().getTotalSizeBytes();
+            if (shardSize > maxLocalBytes || (maxShardSizeBytes > 0 && shardSize > maxShardSizeBytes)) {
+                log.info("Not preparing {} ahead of time: its {} bytes exceed the local disk budget", partition, shardSize);
+                return false;
+            }
+        }
+        log.info("Preparing {} ahead of time", partition);
+        extractor.prepareShard(entry, workDir);
+        return true;
     }
 
     private Flux<Document> readRegularDocuments(
-        SnapshotExtractor.ShardEntry entry, Partition partition, long startingDocOffset
+        SnapshotExtractor.ShardEntry entry, Partition partition, long startingDocOffset, long endingDocOffset
     ) {
         log.info("Reading documents from {} starting at docIdx {}", partition, startingDocOffset);
         var esPartition = (EsShardPartition) partition;
         FieldMappingContext mappingContext = sourcelessMappingContextProvider != null
             ? sourcelessMappingContextProvider.apply(esPartition.indexName())
             : null;
-        return extractor.readDocuments(entry, workDir, Math.toIntExact(startingDocOffset), mappingContext, useRecoverySource)
-            .map(luceneAdapter::fromLucene);
+        var changes = extractor.readDocuments(entry, workDir, Math.toIntExact(startingDocOffset), mappingContext, useRecoverySource);
+        if (endingDocOffset != Long.MAX_VALUE) {
+            // Docs arrive in doc index order, so the first one past the range ends it
+            changes = changes.takeWhile(change -> change.getLuceneDocNumber() < endingDocOffset);
+        }
+        return changes.map(luceneAdapter::fromLucene);
     }
 
     private SnapshotExtractor.ShardEntry resolveShardEntry(
@@ -243,5 +297,6 @@ public class LuceneSnapshotSource implements DocumentSource {
     public void close() {
         shardEntryCache.clear();
         previousShardEntryCache.clear();
+        extractor.releaseOpenedShards();
     }
 }
@@ -0,0 +1,404 @@
+package org.opensearch.migrations.bulkload.pipeline.adapter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.opensearch.migrations.UnboundVersionMatchers;
+import org.opensearch.migrations.Version;
+import org.opensearch.migrations.bulkload.common.ObjectMapperFactory;
+import org.opensearch.migrations.bulkload.common.RestClient;
+import org.opensearch.migrations.bulkload.common.SnapshotRepo;
+import org.opensearch.migrations.bulkload.common.http.HttpResponse;
+import org.opensearch.migrations.bulkload.models.IndexMetadata;
+import org.opensearch.migrations.bulkload.pipeline.model.CollectionMetadata;
+import org.opensearch.migrations.bulkload.pipeline.model.Document;
+import org.opensearch.migrations.bulkload.pipeline.model.Partition;
+import org.opensearch.migrations.bulkload.pipeline.source.DocumentSource;
+import org.opensearch.migrations.bulkload.version_universal.RemoteReaderClient;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+/**
+ * {@link DocumentSource} that reads documents straight from a live Elasticsearch / OpenSearch cluster, for
+ * backfills from clusters that cannot take snapshots to shared storage.
+ *
+ * <p>Each index is split into {@code numberOfShards × slicesPerShard} slices of a sliced search, and every
+ * slice is a {@link RemoteSlicePartition} that gets its own work item, so the backfill scales with the number
+ * of workers up to the slice count. A slice is read with a point-in-time search paged with
+ * {@code search_after} on Elasticsearch 8+, and with a scroll on older Elasticsearch and on OpenSearch.
+ * Elasticsearch before 5.0 cannot slice, so its indices are read as a single partition.
+ *
+ * <p>A resumed slice is read again from its first document, on a new search. Neither a document count nor a
+ * {@code _shard_doc} sort value identifies the same place in a new search once the source cluster has taken
+ * writes or merged segments, and the search context that gave them meaning can't be carried over, since work
+ * items only persist a number and the worker that resumes a slice is usually a different process. Slices
+ * should therefore be small enough, via {@code slicesPerShard}, to finish within one lease.
+ *
+ * <p>Use {@link #builder(RestClient, Version, IndexMetadata.Factory)} to construct instances.
+ */
+@Slf4j
+public class RemoteClusterDocumentSource implements DocumentSource {
+    public static final int DEFAULT_PAGE_SIZE = 1000;
+    public static final Duration DEFAULT_KEEP_ALIVE = Duration.ofMinutes(5);
+    /** Largest page a cluster serves with default settings ({@code index.max_result_window}) */
+    static final int MAX_PAGE_SIZE = 10_000;
+
+    private static final ObjectMapper OBJECT_MAPPER = ObjectMapperFactory.createDefaultMapper();
+    private static final Retry SEARCH_RETRY = Retry.backoff(3, Duration.ofSeconds(1))
+        .maxBackoff(Duration.ofSeconds(10))
+        .filter(e -> !isMissingSearchContext(e));
+
+    private final RestClient client;
+    private final Version version;
+    private final IndexMetadata.Factory indexMetadataFactory;
+    private final int slicesPerShard;
+    private final int pageSize;
+    private final String keepAlive;
+    private final boolean emitDocType;
+    private final Map<String, Integer> sliceCounts = new ConcurrentHashMap<>();
+
+    private RemoteClusterDocumentSource(Builder builder) {
+        this.client = builder.client;
+        this.version = builder.version;
+        this.indexMetadataFactory = builder.indexMetadataFactory;
+        this.slicesPerShard = builder.slicesPerShard;
+        this.pageSize = builder.pageSize;
+        this.keepAlive = builder.keepAlive.toSeconds() + "s";
+        this.emitDocType = builder.emitDocType;
+    }
+
+    public static Builder builder(RestClient client, Version version, IndexMetadata.Factory indexMetadataFactory) {
+        return new Builder(client, version, indexMetadataFactory);
+    }
+
+    public static class Builder {
+        private final RestClient client;
+        private final Version version;
+        private final IndexMetadata.Factory indexMetadataFactory;
+        private int slicesPerShard = 1;
+        private int pageSize = DEFAULT_PAGE_SIZE;
+        private Duration keepAlive = DEFAULT_KEEP_ALIVE;
+        private boolean emitDocType;
+
+        private Builder(RestClient client, Version version, IndexMetadata.Factory indexMetadataFactory) {
+            this.client = client;
+            this.version = version;
+            this.indexMetadataFactory = indexMetadataFactory;
+        }
+
+        public Builder slicesPerShard(int slicesPerShard) {
+            if (slicesPerShard < 1) {
+                throw new IllegalArgumentException("slicesPerShard must be >= 1, got " + slicesPerShard);
+            }
+            this.slicesPerShard = slicesPerShard;
+            return this;
+        }
+
+        public Builder pageSize(int pageSize) {
+            if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+                throw new IllegalArgumentException("pageSize must be in [1, " + MAX_PAGE_SIZE + "], got " + pageSize);
+            }
+            this.pageSize = pageSize;
+            return this;
+        }
+
+        /** How long the cluster keeps a slice's search context open between two pages */
+        public Builder keepAlive(Duration keepAlive) {
+            this.keepAlive = keepAlive;
+            return this;
+        }
+
+        public Builder emitDocType(boolean emitDocType) {
+            this.emitDocType = emitDocType;
+            return this;
+        }
+
+        public RemoteClusterDocumentSource build() {
+            return new RemoteClusterDocumentSource(this);
+        }
+    }
+
+    boolean usesPointInTime() {
+        return UnboundVersionMatchers.anyES.test(version) && !UnboundVersionMatchers.isBelowES_8_X.test(version);
+    }
+
+    static boolean isMissingSearchContext(Throwable e) {
+        return e instanceof RemoteReaderClient.OperationFailed failed && failed.response.statusCode == 404;
+    }
+
+    boolean supportsSlicing() {
+        return !UnboundVersionMatchers.isBelowES_5_X.test(version);
+    }
+
+    @Override
+    public List<String> listCollections() {
+        return indexMetadataFactory.getRepoDataProvider().getIndicesInSnapshot(null).stream()
+            .map(SnapshotRepo.Index::getName)
+            .sorted()
+            .toList();
+    }
+
+    @Override
+    public List<Partition> listPartitions(String collectionName) {
+        int sliceCount = sliceCounts.computeIfAbsent(collectionName, name -> supportsSlicing()
+            ? indexMetadataFactory.fromRepo(null, name).getNumberOfShards() * slicesPerShard
+            : 1);
+        var partitions = new ArrayList<Partition>(sliceCount);
+        for (int sliceId = 0; sliceId < sliceCount; sliceId++) {
+            partitions.add(new RemoteSlicePartition(collectionName, sliceId, sliceCount));
+        }
+        return partitions;
+    }
+
+    @Override
+    public CollectionMetadata readCollectionMetadata(String collectionName) {
+        var indexMeta = IndexMetadataConverter.convert(collectionName, indexMetadataFactory.fromRepo(null, collectionName));
+        return IndexMetadataConverter.toCollectionMetadata(indexMeta);
+    }
+
+    @Override
+    public Flux<Document> readDocuments(Partition partition, long startingDocOffset) {
+        var slice = (RemoteSlicePartition) partition;
+        return Flux.usingWhen(
+            Mono.fromSupplier(() -> usesPointInTime() ? new PointInTimeSliceReader(slice) : new ScrollSliceReader(slice)),
+            reader -> {
+                if (startingDocOffset > 0) {
+                    log.atWarn().setMessage("A {} cannot resume part way through, so {} is read again from its "
+                            + "start rather than from document {}")
+                        .addArgument(reader::describe)
+                        .addArgument(slice)
+                        .addArgument(startingDocOffset)
+                        .log();
+                } else {
+                    log.atInfo().setMessage("Reading {} from the source cluster with a {}")
+                        .addArgument(slice)
+                        .addArgument(reader::describe)
+                        .log();
+                }
+                return reader.read();
+            },
+            SliceReader::close
+        );
+    }
+
+    /** One page of a slice's hits. */
+    record Page(List<Document> documents, int hitCount, JsonNode lastSort) {}
+
+    /** Reads one slice through a search context that is opened on the first page and closed at the end. */
+    private abstract class SliceReader {
+        protected final RemoteSlicePartition slice;
+
+        SliceReader(RemoteSlicePartition slice) {
+            this.slice = slice;
+        }
+
+        abstract String describe();
+
+        /** Reads the whole slice, from its first document. */
+        abstract Flux<Document> read();
+
+        abstract Mono<Void> close();
+
+        void addSlice(ObjectNode body) {
+            if (slice.sliceCount() > 1) {
+                body.putObject("slice").put("id", slice.sliceId()).put("max", slice.sliceCount());
+            }
+        }
+
+        Page toPage(JsonNode response) {
+            var hits = response.path("hits").path("hits");
+            var documents = new ArrayList<Document>(hits.size());
+            JsonNode lastSort = null;
+            for (var hit : hits) {
+                documents.add(toDocument(hit));
+                lastSort = hit.get("sort");
+            }
+            return new Page(documents, hits.size(), lastSort);
+        }
+
+        Document toDocument(JsonNode hit) {
+            var id = hit.path("_id").asText();
+            var source = hit.get("_source");
+            if (source == null) {
+                throw new IllegalStateException("Document " + id + " in " + slice.indexName() +
+                    " has no _source, which reading from a live cluster requires");
+            }
+            var hints = new HashMap<String, String>();
+            if (emitDocType && hit.hasNonNull("_type")) {
+                hints.put(Document.HINT_TYPE, hit.get("_type").asText());
+            }
+            var routing = hit.hasNonNull("_routing") ? hit.get("_routing") : hit.path("fields").get("_routing");
+            if (routing != null && !routing.isNull()) {
+                hints.put(Document.HINT_ROUTING, routing.asText());
+            }
+            try {
+                return new Document(id, OBJECT_MAPPER.writeValueAsBytes(source), Document.Operation.UPSERT, hints, Map.of());
+            } catch (Exception e) {
+                throw new IllegalStateException("Could not serialize the _source of document " + id, e);
+            }
+        }
+
+        Mono<JsonNode> toJson(HttpResponse response) {
+            if (response.statusCode != 200) {
+                return Mono.error(new RemoteReaderClient.OperationFailed(
+                    "Unexpected status code " + response.statusCode + " reading " + slice, response));
+            }
+            try {
+                return Mono.just(OBJECT_MAPPER.readTree(response.body));
+            } catch (Exception e) {
+                return Mono.error(new RemoteReaderClient.OperationFailed(
+                    "Unable to parse search response for " + slice + ": " + e.getMessage(), response));
+            }
+        }
+
+        Mono<Void> release(Mono<HttpResponse> request, String what) {
+            return request
+                .doOnNext(response -> {
+                    if (response.statusCode != 200) {
+                        log.atWarn().setMessage("Could not close the {} for {}; it expires after {}: {}")
+                            .addArgument(what).addArgument(slice).addArgument(keepAlive).addArgument(response).log();
+                    }
+                })
+                .onErrorResume(e -> {
+                    log.atWarn().setCause(e).setMessage("Could not close the {} for {}; it expires after {}")
+                        .addArgument(what).addArgument(slice).addArgument(keepAlive).log();
+                    return Mono.empty();
+                })
+                .then();
+        }
+    }
+
+    /** Pages a slice of a point-in-time with {@code search_after}, ordered by {@code _shard_doc}. */
+    private class PointInTimeSliceReader extends SliceReader {
+        private volatile String pitId;
+
+        PointInTimeSliceReader(RemoteSlicePartition slice) {
+            super(slice);
+        }
+
+        @Override
+        String describe() {
+            return "point-in-time search";
+        }
+
+        @Override
+        Flux<Document> read() {
+            return openPit()
+                .then(search(null))
+                .expand(page -> page.hitCount() < pageSize ? Mono.empty() : search(page.lastSort()))
+                .concatMapIterable(Page::documents);
+        }
+
+        private Mono<Void> openPit() {
+            return Mono.defer(() -> client.postAsync(slice.indexName() + "/_pit?keep_alive=" + keepAlive, null, null))
+                .flatMap(this::toJson)
+                .retryWhen(SEARCH_RETRY)
+                .doOnNext(json -> pitId = json.path("id").asText())
+                .then();
+        }
+
+        private Mono<Page> search(JsonNode searchAfter) {
+            var body = OBJECT_MAPPER.createObjectNode();
+            body.put("size", pageSize);
+            body.put("track_total_hits", false);
+            body.putArray("sort").addObject().put("_shard_doc", "asc");
+            addSlice(body);
+            if (searchAfter != null) {
+                body.set("search_after", searchAfter);
+            }
+            return Mono.defer(() -> {
+                    body.putObject("pit").put("id", pitId).put("keep_alive", keepAlive);
+                    return client.postAsync("_search", body.toString(), null);
+                })
+                .flatMap(this::toJson)
+                .retryWhen(SEARCH_RETRY)
+                .map(json -> {
+                    if (json.hasNonNull("pit_id")) {
+                        pitId = json.get("pit_id").asText();
+                    }
+                    return toPage(json);
+                });
+        }
+
+        @Override
+        Mono<Void> close() {
+            return Mono.defer(() -> {
+                if (pitId == null) {
+                    return Mono.empty();
+                }
+                var body = OBJECT_MAPPER.createObjectNode().put("id", pitId);
+                return release(client.deleteAsync("_pit", body.toString(), null), "point-in-time");
+            });
+        }
+    }
+
+    /**
+     * Reads a slice of a scroll ordered by {@code _doc}. Scroll pages cannot be re-requested, so unlike
+     * point-in-time pages they are not retried.
+     */
+    private class ScrollSliceReader extends SliceReader {
+        private volatile String scrollId;
+
+        ScrollSliceReader(RemoteSlicePartition slice) {
+            super(slice);
+        }
+
+        @Override
+        String describe() {
+            return "scroll";
+        }
+
+        @Override
+        Flux<Document> read() {
+            return firstPage()
+                .expand(page -> page.hitCount() == 0 ? Mono.empty() : nextPage())
+                .concatMapIterable(Page::documents);
+        }
+
+        private Mono<Page> firstPage() {
+            var body = OBJECT_MAPPER.createObjectNode();
+            body.put("size", pageSize);
+            body.putArray("sort").add("_doc");
+            addSlice(body);
+            return Mono.defer(() -> client.postAsync(slice.indexName() + "/_search?scroll=" + keepAlive, body.toString(), null))
+                .flatMap(this::toJson)
+                .map(this::toScrollPage);
+        }
+
+        private Mono<Page> nextPage() {
+            return Mono.defer(() -> client.postAsync("_search/scroll",
+                    OBJECT_MAPPER.createObjectNode().put("scroll", keepAlive).put("scroll_id", scrollId).toString(), null))
+                .flatMap(this::toJson)
+                .map(this::toScrollPage);
+        }
+
+        private Page toScrollPage(JsonNode json) {
+            if (json.hasNonNull("_scroll_id")) {
+                scrollId = json.get("_scroll_id").asText();
+            }
+            return toPage(json);
+        }
+
+        @Override
+        Mono<Void> close() {
+            return Mono.defer(() -> {
+                if (scrollId == null) {
+                    return Mono.empty();
+                }
+                var body = OBJECT_MAPPER.createObjectNode();
+                body.putArray("scroll_id").add(scrollId);
+                return release(client.deleteAsync("_search/scroll", body.toString(), null), "scroll");
+            });
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package org.opensearch.migrations.bulkload.pipeline.adapter;
+
+import java.util.Objects;
+
+import org.opensearch.migrations.bulkload.pipeline.model.Partition;
+
+/**
+ * One slice of a sliced search over an index of a live cluster, read by {@link RemoteClusterDocumentSource}.
+ *
+ * @param indexName  the index name, must not be null
+ * @param sliceId    the slice number, in {@code [0, sliceCount)}
+ * @param sliceCount how many slices the index is split into, at least 1
+ */
+public record RemoteSlicePartition(
+    String indexName,
+    int sliceId,
+    int sliceCount
+) implements Partition {
+
+    public RemoteSlicePartition {
+        Objects.requireNonNull(indexName, "indexName must not be null");
+        if (sliceCount < 1) {
+            throw new IllegalArgumentException("sliceCount must be >= 1, got " + sliceCount);
+        }
+        if (sliceId < 0 || sliceId >= sliceCount) {
+            throw new IllegalArgumentException("sliceId must be in [0, " + sliceCount + "), got " + sliceId);
+        }
+    }
+
+    @Override
+    public String name() {
+        return "remote/" + indexName + "/" + sliceId + "-of-" + sliceCount;
+    }
+
+    @Override
+    public String collectionName() {
+        return indexName;
+    }
+
+    @Override
+    public String toString() {
+        return name();
+    }
+}
@@ -14,6 +14,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.core.ResponseBytes;
 import software.amazon.awssdk.core.async.AsyncResponseTransformer;
 import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.model.*;
@@ -21,6 +22,7 @@ import software.amazon.awssdk.services.s3.model.*;
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
@@ -309,6 +311,33 @@ public class S3RepoTest {
         verify(mockS3Client).getObject(eq(expectedRequest), any(AsyncResponseTransformer.class));
     }
 
+    @Test
+    void streamingBlobReads_GetBlobFilePathDoesNotDownload_AndRangeReadsUseRangedGet() {
+        String blobFileName = "indices/123abc/7/bobloblaw";
+        Path expectedPath = testDir.resolve(blobFileName);
+        when(mockFileFinder.getBlobFilePath(testDir, "123abc", 7, "bobloblaw")).thenReturn(expectedPath);
+        byte[] rangeBytes = new byte[] { 1, 2, 3, 4 };
+        when(mockS3Client.getObject(any(GetObjectRequest.class), any(AsyncResponseTransformer.class)))
+            .thenReturn(CompletableFuture.completedFuture(
+                ResponseBytes.fromByteArray(GetObjectResponse.builder().build(), rangeBytes)));
+
+        var streamingRepo = testRepo.withStreamingBlobReads();
+        Path filePath = streamingRepo.getBlobFilePath("123abc", 7, "bobloblaw");
+
+        assertEquals(expectedPath, filePath);
+        verify(mockS3Client, never()).getObject(any(GetObjectRequest.class), any(AsyncResponseTransformer.class));
+
+        byte[] read = streamingRepo.getBlobSource().readBlobRange(filePath, 100, 4);
+
+        assertArrayEquals(rangeBytes, read);
+        GetObjectRequest expectedRequest = GetObjectRequest.builder()
+            .bucket(testRepoUri.bucketName)
+            .key(testRepoUri.key + "/" + blobFileName)
+            .range("bytes=100-103")
+            .build();
+        verify(mockS3Client).getObject(eq(expectedRequest), any(AsyncResponseTransformer.class));
+    }
+
     @Test
     void listFilesInS3Root_ReturnsStrippedKeys() throws IOException {
         // Mock S3 response with some keys under the prefix "directory/"
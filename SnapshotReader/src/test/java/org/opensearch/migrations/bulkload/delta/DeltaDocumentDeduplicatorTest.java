@@ -0,0 +1,68 @@
+package org.opensearch.migrations.bulkload.delta;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.BitSet;
+
+import org.opensearch.migrations.bulkload.common.DocumentChangeType;
+import org.opensearch.migrations.bulkload.common.LuceneDocumentChange;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.core.publisher.Flux;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DeltaDocumentDeduplicatorTest {
+
+    @TempDir
+    Path spillDir;
+
+    private static LuceneDocumentChange change(int docNumber, String id, String source, DocumentChangeType op) {
+        return new LuceneDocumentChange(docNumber, id, null, source.getBytes(StandardCharsets.UTF_8), null, op);
+    }
+
+    private static BitSet bits(int... docNumbers) {
+        var bits = new BitSet();
+        for (int docNumber : docNumbers) {
+            bits.set(docNumber);
+        }
+        return bits;
+    }
+
+    @Test
+    void mergedUnchangedDocsAreSuppressedAndUpdatedDocsOnlyLoseTheirDelete() throws Exception {
+        var deletions = Flux.just(
+            change(0, "unchanged", "{\"a\":1}", DocumentChangeType.DELETE),
+            change(1, "updated", "{\"a\":1}", DocumentChangeType.DELETE),
+            change(2, "removed", "{\"a\":1}", DocumentChangeType.DELETE));
+        var additions = Flux.just(
+            change(0, "new", "{\"a\":1}", DocumentChangeType.INDEX),
+            change(1, "updated", "{\"a\":2}", DocumentChangeType.INDEX),
+            change(2, "unchanged", "{\"a\":1}", DocumentChangeType.INDEX));
+
+        // A tiny buffer spills every record to its own run, exercising the merge
+        var suppressed = new DeltaDocumentDeduplicator(spillDir, 1).findSuppressed(deletions, additions);
+
+        assertEquals(bits(0, 1), suppressed.deletions);
+        assertEquals(bits(2), suppressed.additions);
+        try (var leftover = Files.list(spillDir)) {
+            assertEquals(0, leftover.count(), "run files are cleaned up");
+        }
+    }
+
+    @Test
+    void differentRoutingIsAChange() throws Exception {
+        var deletions = Flux.just(new LuceneDocumentChange(0, "doc", null,
+            "{}".getBytes(StandardCharsets.UTF_8), "r1", DocumentChangeType.DELETE));
+        var additions = Flux.just(new LuceneDocumentChange(5, "doc", null,
+            "{}".getBytes(StandardCharsets.UTF_8), "r2", DocumentChangeType.INDEX));
+
+        var suppressed = new DeltaDocumentDeduplicator(spillDir, DeltaDocumentDeduplicator.DEFAULT_RUN_BUFFER_BYTES)
+            .findSuppressed(deletions, additions);
+
+        assertEquals(bits(0), suppressed.deletions);
+        assertEquals(bits(), suppressed.additions);
+    }
+}
@@ -0,0 +1,170 @@
+package org.opensearch.migrations.bulkload.pipeline.adapter;
+
+import java.util.Map;
+
+import org.opensearch.migrations.Version;
+import org.opensearch.migrations.bulkload.common.RestClient;
+import org.opensearch.migrations.bulkload.common.http.HttpResponse;
+import org.opensearch.migrations.bulkload.models.IndexMetadata;
+import org.opensearch.migrations.bulkload.pipeline.model.Document;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RemoteClusterDocumentSourceTest {
+
+    private static final String INDEX = "logs";
+
+    private RestClient client;
+    private IndexMetadata.Factory indexMetadataFactory;
+
+    @BeforeEach
+    void setUp() {
+        client = mock(RestClient.class);
+        indexMetadataFactory = mock(IndexMetadata.Factory.class);
+        var indexMetadata = mock(IndexMetadata.class);
+        when(indexMetadata.getNumberOfShards()).thenReturn(2);
+        when(indexMetadataFactory.fromRepo(isNull(), eq(INDEX))).thenReturn(indexMetadata);
+    }
+
+    private static Mono<HttpResponse> ok(String body) {
+        return Mono.just(new HttpResponse(200, "OK", Map.of(), body));
+    }
+
+    private static String hits(String... hits) {
+        return "{\"_scroll_id\":\"scroll-1\",\"pit_id\":\"pit-2\",\"hits\":{\"hits\":[" + String.join(",", hits) + "]}}";
+    }
+
+    @Test
+    void eachShardIsSplitIntoTheConfiguredNumberOfSlices() {
+        var source = RemoteClusterDocumentSource.builder(client, Version.fromString("OS 2.11.0"), indexMetadataFactory)
+            .slicesPerShard(3)
+            .build();
+
+        var partitions = source.listPartitions(INDEX);
+
+        assertThat(partitions, hasSize(6));
+        assertThat(partitions.get(5), equalTo(new RemoteSlicePartition(INDEX, 5, 6)));
+    }
+
+    @Test
+    void versionsWithoutSlicedSearchReadEachIndexAsOnePartition() {
+        var source = RemoteClusterDocumentSource.builder(client, Version.fromString("ES 2.4.6"), indexMetadataFactory)
+            .slicesPerShard(3)
+            .build();
+
+        assertThat(source.listPartitions(INDEX), contains(new RemoteSlicePartition(INDEX, 0, 1)));
+    }
+
+    @Test
+    void scrollSliceIsReadUntilAnEmptyPageAndThenClearedAndRestartsWhenResumed() {
+        when(client.postAsync(eq(INDEX + "/_search?scroll=300s"),
+                argThat(body -> body != null && body.contains("\"slice\":{\"id\":1,\"max\":2}")), isNull()))
+            .thenReturn(ok(hits(
+                "{\"_id\":\"a\",\"_type\":\"doc\",\"_routing\":\"r1\",\"_source\":{\"n\":1}}",
+                "{\"_id\":\"b\",\"_type\":\"doc\",\"_source\":{\"n\":2}}")));
+        when(client.postAsync(eq("_search/scroll"), argThat(body -> body != null && body.contains("scroll-1")), isNull()))
+            .thenReturn(ok(hits()));
+        when(client.deleteAsync(eq("_search/scroll"), any(), isNull())).thenReturn(ok("{}"));
+        var source = RemoteClusterDocumentSource.builder(client, Version.fromString("ES 6.8.23"), indexMetadataFactory)
+            .emitDocType(true)
+            .build();
+
+        var documents = source.readDocuments(new RemoteSlicePartition(INDEX, 1, 2), 1).collectList().block();
+
+        assertThat(documents, hasSize(2));
+        assertThat(documents.get(0).id(), equalTo("a"));
+        var document = documents.get(1);
+        assertThat(document.id(), equalTo("b"));
+        assertThat(new String(document.source()), equalTo("{\"n\":2}"));
+        assertThat(document.operation(), equalTo(Document.Operation.UPSERT));
+        assertThat(document.hints(), equalTo(Map.of(Document.HINT_TYPE, "doc")));
+        verify(client).deleteAsync(eq("_search/scroll"), eq("{\"scroll_id\":[\"scroll-1\"]}"), isNull());
+    }
+
+    @Test
+    void pointInTimeSliceIsPagedWithSearchAfterAndThenClosed() {
+        when(client.postAsync(eq(INDEX + "/_pit?keep_alive=300s"), isNull(), isNull()))
+            .thenReturn(ok("{\"id\":\"pit-1\"}"));
+        when(client.postAsync(eq("_search"), argThat(body -> body != null && !body.contains("search_after")), isNull()))
+            .thenReturn(ok(hits(
+                "{\"_id\":\"a\",\"_source\":{\"n\":1},\"sort\":[4]}",
+                "{\"_id\":\"b\",\"_routing\":\"r2\",\"_source\":{\"n\":2},\"sort\":[9]}")));
+        when(client.postAsync(eq("_search"), argThat(body -> body != null && body.contains("search_after")), isNull()))
+            .thenReturn(ok(hits("{\"_id\":\"c\",\"_source\":{\"n\":3},\"sort\":[12]}")));
+        when(client.deleteAsync(eq("_pit"), any(), isNull())).thenReturn(ok("{}"));
+        var source = RemoteClusterDocumentSource.builder(client, Version.fromString("ES 8.15.0"), indexMetadataFactory)
+            .pageSize(2)
+            .build();
+
+        var documents = source.readDocuments(new RemoteSlicePartition(INDEX, 0, 1), 0).collectList().block();
+
+        assertThat(documents.stream().map(Document::id).toList(), contains("a", "b", "c"));
+        assertThat(documents.get(1).hints(), equalTo(Map.of(Document.HINT_ROUTING, "r2")));
+        verify(client).postAsync(eq("_search"), argThat(body -> body != null && body.contains("\"search_after\":[9]")
+            && body.contains("\"id\":\"pit-2\"") && !body.contains("\"slice\"")), isNull());
+        verify(client).deleteAsync(eq("_pit"), eq("{\"id\":\"pit-2\"}"), isNull());
+    }
+
+    @Test
+    void resumedPointInTimeSliceStartsOverOnANewPointInTimeAfterASegmentMerge() {
+        when(client.postAsync(eq(INDEX + "/_pit?keep_alive=300s"), isNull(), isNull()))
+            .thenReturn(ok("{\"id\":\"pit-1\"}"), ok("{\"id\":\"pit-3\"}"));
+        when(client.postAsync(eq("_search"), argThat(body -> body != null && body.contains("pit-1")), isNull()))
+            .thenReturn(ok("{\"pit_id\":\"pit-1\",\"hits\":{\"hits\":["
+                + "{\"_id\":\"a\",\"_source\":{},\"sort\":[4]},"
+                + "{\"_id\":\"b\",\"_source\":{},\"sort\":[5]}]}}"));
+        // after the merge, the same documents have other _shard_doc values and c sorts before the old offset
+        when(client.postAsync(eq("_search"), argThat(body -> body != null && body.contains("pit-3")), isNull()))
+            .thenReturn(ok("{\"pit_id\":\"pit-3\",\"hits\":{\"hits\":["
+                + "{\"_id\":\"c\",\"_source\":{},\"sort\":[0]},"
+                + "{\"_id\":\"a\",\"_source\":{},\"sort\":[1]},"
+                + "{\"_id\":\"b\",\"_source\":{},\"sort\":[2]}]}}"));
+        when(client.deleteAsync(eq("_pit"), any(), isNull())).thenReturn(ok("{}"));
+        var source = RemoteClusterDocumentSource.builder(client, Version.fromString("ES 8.15.0"), indexMetadataFactory)
+            .pageSize(5)
+            .build();
+        var slice = new RemoteSlicePartition(INDEX, 0, 1);
+
+        assertThat(source.readDocuments(slice, 0).take(1).collectList().block(), hasSize(1));
+        verify(client).deleteAsync(eq("_pit"), eq("{\"id\":\"pit-1\"}"), isNull());
+
+        var resumed = source.readDocuments(slice, 1).collectList().block();
+
+        assertThat(resumed.stream().map(Document::id).toList(), contains("c", "a", "b"));
+        verify(client, times(2)).postAsync(eq(INDEX + "/_pit?keep_alive=300s"), isNull(), isNull());
+        verify(client, never()).postAsync(eq("_search"), argThat(body -> body != null && body.contains("search_after")),
+            isNull());
+        verify(client).deleteAsync(eq("_pit"), eq("{\"id\":\"pit-3\"}"), isNull());
+    }
+
+    @Test
+    void failedSearchesAreNotTurnedIntoEmptySlices() {
+        when(client.postAsync(eq(INDEX + "/_search?scroll=300s"), any(), isNull()))
+            .thenReturn(Mono.just(new HttpResponse(404, "Not Found", Map.of(), "{}")));
+        var source = RemoteClusterDocumentSource.builder(client, Version.fromString("OS 1.3.0"), indexMetadataFactory)
+            .build();
+
+        var error = assertThrows(RuntimeException.class,
+            () -> source.readDocuments(new RemoteSlicePartition(INDEX, 0, 1), 0).collectList().block());
+
+        assertThat(error.getMessage(), containsString("404"));
+    }
+}
@@ -12,6 +12,7 @@ import java.util.stream.Stream;
 import org.opensearch.migrations.bulkload.common.DocumentChangeType;
 import org.opensearch.migrations.bulkload.common.LuceneDocumentChange;
 import org.opensearch.migrations.bulkload.lucene.FieldMappingContext;
+import org.opensearch.migrations.bulkload.lucene.LuceneDirectoryReader;
 import org.opensearch.migrations.bulkload.lucene.LuceneIndexReader;
 import org.opensearch.migrations.bulkload.lucene.LuceneReader;
 import org.opensearch.migrations.bulkload.lucene.version_6.IndexReader6;
@@ -130,11 +131,49 @@ public class SolrBackupSource implements DocumentSource {
 
     @Override
     public Flux<Document> readDocuments(Partition partition, long startingDocOffset) {
+        return readDocuments(partition, startingDocOffset, Long.MAX_VALUE);
+    }
+
+    /**
+     * Reads the Lucene doc slots {@code [startingDocOffset, endingDocOffset)} of a shard, with its segments
+     * ordered by name. Only the segments that overlap the range are read, so a large single-shard
+     * core can be split into ranges that are migrated independently. The whole core still has to be
+     * local to be opened, so splitting saves reading time but not download time; see
+     * {@link SolrMultiCollectionSource} for how splitting downloaded cores is gated.
+     */
+    @Override
+    public Flux<Document> readDocuments(Partition partition, long startingDocOffset, long endingDocOffset) {
         var solrPartition = (SolrShardPartition) partition;
-        if (solrPartition.fileNameMapping() != null) {
-            return readLuceneIndexMapped(solrPartition.indexPath(), solrPartition.fileNameMapping(), startingDocOffset);
+        if (solrPartition.fileNameMapping() != null && solrMajorVersion < 8) {
+            return Flux.error(new IllegalStateException(
+                "SolrCloud UUID-mapped (incremental) backups are not supported for Solr "
+                    + solrMajorVersion + ".x; SIP-12 was introduced in Solr 8.9. Use a non-incremental backup."));
+        }
+        LuceneDirectoryReader directoryReader;
+        try {
+            directoryReader = openDirectoryReader(solrPartition);
+        } catch (IOException e) {
+            return Flux.error(new RuntimeException("Failed to open Solr backup: " + solrPartition.indexPath(), e));
+        }
+        log.atInfo().setMessage("Reading Solr backup: {} docs in {} segments from {}, doc range [{}, {})")
+            .addArgument(directoryReader.maxDoc())
+            .addArgument(directoryReader.leaves().size())
+            .addArgument(solrPartition.indexPath())
+            .addArgument(startingDocOffset)
+            .addArgument(endingDocOffset == Long.MAX_VALUE ? "end" : endingDocOffset)
+            .log();
+        return readFromDirectoryReader(directoryReader, startingDocOffset, endingDocOffset)
+            .doFinally(s -> LuceneDirectoryReader.getCleanupRunnable(directoryReader).run());
+    }
+
+    /** Returns the shard's Lucene doc slot count, the bound of the ranges {@link #readDocuments} accepts. */
+    @Override
+    public long partitionDocCount(Partition partition) {
+        try (var directoryReader = openDirectoryReader((SolrShardPartition) partition)) {
+            return directoryReader.maxDoc();
+        } catch (IOException e) {
+            throw new SolrBackupReadException("Failed to open Solr backup: " + ((SolrShardPartition) partition).indexPath(), e);
         }
-        return readLuceneIndex(solrPartition.indexPath(), startingDocOffset);
     }
 
     /**
@@ -236,67 +275,45 @@ public class SolrBackupSource implements DocumentSource {
     }
 
     /**
-     * Read a Lucene index using a MappedDirectory (for SolrCloud UUID backups).
-     */
-    private Flux<Document> readLuceneIndexMapped(Path indexDir, Map<String, String> fileNameMapping, long startingDocOffset) {
-        if (solrMajorVersion < 8) {
-            return Flux.error(new IllegalStateException(
-                "SolrCloud UUID-mapped (incremental) backups are not supported for Solr "
-                    + solrMajorVersion + ".x; SIP-12 was introduced in Solr 8.9. Use a non-incremental backup."));
-        }
-        try {
-            var fsDir = FSDirectory.open(indexDir);
-            var mappedDir = new MappedDirectory(fsDir, fileNameMapping);
-
-            // Find the segments file from the mapping
-            var segmentsFile = fileNameMapping.keySet().stream()
-                .filter(name -> name.startsWith(SEGMENTS_FILE_PREFIX))
-                .findFirst()
-                .orElseThrow(() -> new IllegalStateException("No segments_N in shard mapping for " + indexDir));
-
-            var reader = new IndexReader9(indexDir, false, null);
-            var directoryReader = reader.getReader(mappedDir, segmentsFile);
-
-            log.atInfo().setMessage("Reading Solr backup (mapped): {} docs in {} segments from {}")
-                .addArgument(directoryReader.maxDoc()).addArgument(directoryReader.leaves().size()).addArgument(indexDir).log();
-
-            return readFromDirectoryReader(directoryReader, startingDocOffset);
-        } catch (IOException e) {
-            return Flux.error(new RuntimeException("Failed to open Solr backup: " + indexDir, e));
-        }
-    }
-
-    /**
-     * Read a Lucene index directly from filesystem (for standalone backups).
+     * Opens a shard's Lucene index, through a {@link MappedDirectory} for SolrCloud UUID backups and directly
+     * from the filesystem for standalone backups.
      */
-    private Flux<Document> readLuceneIndex(Path indexDir, long startingDocOffset) {
-        try {
-            var reader = newLuceneReader(indexDir);
-            var segmentsFile = findSegmentsFile(indexDir);
-            var directoryReader = reader.getReader(segmentsFile);
-
-            log.atInfo().setMessage("Reading Solr backup: {} docs in {} segments from {}")
-                .addArgument(directoryReader.maxDoc()).addArgument(directoryReader.leaves().size()).addArgument(indexDir).log();
-
-            return readFromDirectoryReader(directoryReader, startingDocOffset);
-        } catch (IOException e) {
-            return Flux.error(new RuntimeException("Failed to open Solr backup: " + indexDir, e));
+    private LuceneDirectoryReader openDirectoryReader(SolrShardPartition partition) throws IOException {
+        var indexDir = partition.indexPath();
+        var fileNameMapping = partition.fileNameMapping();
+        if (fileNameMapping == null) {
+            return newLuceneReader(indexDir).getReader(findSegmentsFile(indexDir));
         }
+        var mappedDir = new MappedDirectory(FSDirectory.open(indexDir), fileNameMapping);
+
+        // Find the segments file from the mapping
+        var segmentsFile = fileNameMapping.keySet().stream()
+            .filter(name -> name.startsWith(SEGMENTS_FILE_PREFIX))
+            .findFirst()
+            .orElseThrow(() -> new IllegalStateException("No segments_N in shard mapping for " + indexDir));
+        return new IndexReader9(indexDir, false, null).getReader(mappedDir, segmentsFile);
     }
 
     private Flux<Document> readFromDirectoryReader(
-        org.opensearch.migrations.bulkload.lucene.LuceneDirectoryReader directoryReader,
-        long startingDocOffset
+        LuceneDirectoryReader directoryReader,
+        long startingDocOffset,
+        long endingDocOffset
     ) {
         var scheduler = Schedulers.newBoundedElastic(10, Integer.MAX_VALUE, "solrReader");
 
-        return LuceneReader.getSegmentsFromStartingSegment(
+        var changes = LuceneReader.getSegmentsFromStartingSegment(
                 directoryReader.leaves(), (int) startingDocOffset)
+            .takeWhile(readerAndBase -> readerAndBase.getDocBaseInParent() < endingDocOffset)
             .concatMap(readerAndBase -> LuceneReader.<LuceneDocumentChange>readLiveDocsFromSegment(
                 readerAndBase, (int) startingDocOffset, 10, scheduler,
                 (reader, docIdx, segDocBase) -> Mono.justOrEmpty(
                     SolrLuceneDocReader.getDocument(
-                        reader, docIdx, true, segDocBase, DocumentChangeType.INDEX, mappingContext))))
+                        reader, docIdx, true, segDocBase, DocumentChangeType.INDEX, mappingContext))));
+        if (endingDocOffset != Long.MAX_VALUE) {
+            // Docs arrive in doc index order, so the first one past the range ends it
+            changes = changes.takeWhile(change -> change.getLuceneDocNumber() < endingDocOffset);
+        }
+        return changes
             .map(SolrBackupSource::toDocument)
             .doFinally(s -> scheduler.dispose());
     }
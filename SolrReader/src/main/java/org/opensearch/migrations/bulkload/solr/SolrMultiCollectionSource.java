@@ -27,8 +27,12 @@ import reactor.core.publisher.Flux;
  * without coupling to S3Repo.
  *
  * <p>When constructed with a {@code shardPreparer}, it is called once per
- * partition before {@link #readDocuments}. This enables per-shard S3 downloads
- * of only the Lucene segment files needed for that shard.
+ * partition before {@link #readDocuments} or {@link #partitionDocCount}. This enables
+ * per-shard S3 downloads of only the Lucene segment files needed for that shard. The whole
+ * shard is downloaded even when only a range of it is read, so each worker that reads a
+ * range of a shard pays for downloading all of it. Shards that need preparing are therefore
+ * only split into ranges when {@code splitPreparedShards} is set; otherwise
+ * {@link #partitionDocCount} reports that they cannot be read in ranges.
  */
 @Slf4j
 public class SolrMultiCollectionSource implements DocumentSource {
@@ -38,6 +42,7 @@ public class SolrMultiCollectionSource implements DocumentSource {
     private final Consumer<String> collectionPreparer;
     private final Consumer<SolrShardPartition> shardPreparer;
     private final int solrMajorVersion;
+    private final boolean splitPreparedShards;
     private final ConcurrentHashMap<String, SolrBackupSource> sources = new ConcurrentHashMap<>();
     private final ConcurrentHashMap<String, Boolean> preparedCollections = new ConcurrentHashMap<>();
     private final ConcurrentHashMap<String, Boolean> preparedShards = new ConcurrentHashMap<>();
@@ -54,12 +59,25 @@ public class SolrMultiCollectionSource implements DocumentSource {
         Path backupDir, Map<String, JsonNode> schemas,
         Consumer<String> collectionPreparer, Consumer<SolrShardPartition> shardPreparer,
         int solrMajorVersion
+    ) {
+        this(backupDir, schemas, collectionPreparer, shardPreparer, solrMajorVersion, false);
+    }
+
+    /**
+     * @param splitPreparedShards whether shards that the {@code shardPreparer} downloads may be read in ranges,
+     *                            each of which downloads the whole shard again on the worker that reads it.
+     */
+    public SolrMultiCollectionSource(
+        Path backupDir, Map<String, JsonNode> schemas,
+        Consumer<String> collectionPreparer, Consumer<SolrShardPartition> shardPreparer,
+        int solrMajorVersion, boolean splitPreparedShards
     ) {
         this.backupDir = backupDir;
         this.schemas = schemas;
         this.collectionPreparer = collectionPreparer;
         this.shardPreparer = shardPreparer;
         this.solrMajorVersion = solrMajorVersion;
+        this.splitPreparedShards = splitPreparedShards;
     }
 
     private void ensureCollectionPrepared(String collection) {
@@ -99,8 +117,7 @@ public class SolrMultiCollectionSource implements DocumentSource {
         return getSource(collectionName).readCollectionMetadata(collectionName);
     }
 
-    @Override
-    public Flux<Document> readDocuments(Partition partition, long startingDocOffset) {
+    private void ensureShardPrepared(Partition partition) {
         ensureCollectionPrepared(partition.collectionName());
         if (shardPreparer != null && partition instanceof SolrShardPartition solrPartition) {
             preparedShards.computeIfAbsent(solrPartition.name(), key -> {
@@ -109,7 +126,38 @@ public class SolrMultiCollectionSource implements DocumentSource {
                 return true;
             });
         }
-        return getSource(partition.collectionName()).readDocuments(partition, startingDocOffset);
+    }
+
+    @Override
+    public Flux<Document> readDocuments(Partition partition, long startingDocOffset) {
+        return readDocuments(partition, startingDocOffset, Long.MAX_VALUE);
+    }
+
+    @Override
+    public Flux<Document> readDocuments(Partition partition, long startingDocOffset, long endingDocOffset) {
+        if (shardPreparer != null && endingDocOffset != Long.MAX_VALUE) {
+            log.atInfo().setMessage("Reading doc range [{}, {}) of shard '{}' needs the whole shard downloaded")
+                .addArgument(startingDocOffset)
+                .addArgument(endingDocOffset)
+                .addArgument(partition::name)
+                .log();
+        }
+        ensureShardPrepared(partition);
+        return getSource(partition.collectionName()).readDocuments(partition, startingDocOffset, endingDocOffset);
+    }
+
+    /**
+     * Counting a shard's doc slots opens its index, so the shard is prepared (downloaded) first. Shards that
+     * need preparing are not split unless {@code splitPreparedShards} is set, since every range would download
+     * the whole shard.
+     */
+    @Override
+    public long partitionDocCount(Partition partition) {
+        if (shardPreparer != null && !splitPreparedShards) {
+            return -1;
+        }
+        ensureShardPrepared(partition);
+        return getSource(partition.collectionName()).partitionDocCount(partition);
     }
 
     @Override
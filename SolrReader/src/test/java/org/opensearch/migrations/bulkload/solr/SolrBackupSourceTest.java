@@ -12,8 +12,17 @@ import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import reactor.test.StepVerifier;
+import shadow.lucene9.org.apache.lucene.analysis.core.KeywordAnalyzer;
+import shadow.lucene9.org.apache.lucene.document.Document;
+import shadow.lucene9.org.apache.lucene.document.StoredField;
+import shadow.lucene9.org.apache.lucene.document.StringField;
+import shadow.lucene9.org.apache.lucene.index.IndexWriter;
+import shadow.lucene9.org.apache.lucene.index.IndexWriterConfig;
+import shadow.lucene9.org.apache.lucene.index.NoMergePolicy;
+import shadow.lucene9.org.apache.lucene.store.FSDirectory;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -262,6 +271,36 @@ class SolrBackupSourceTest {
             .verify();
     }
 
+    @Test
+    void readsIndependentDocRangesAcrossSegments() throws IOException {
+        // Three segments of two docs each, so [2, 5) starts at a segment boundary and ends inside one
+        try (var directory = FSDirectory.open(tempDir);
+             var writer = new IndexWriter(directory,
+                 new IndexWriterConfig(new KeywordAnalyzer()).setMergePolicy(NoMergePolicy.INSTANCE))) {
+            for (int i = 0; i < 6; i++) {
+                var doc = new Document();
+                doc.add(new StringField("id", "doc" + i, StringField.Store.YES));
+                doc.add(new StoredField("title", "title " + i));
+                writer.addDocument(doc);
+                if (i % 2 == 1) {
+                    writer.commit();
+                }
+            }
+        }
+        var source = new SolrBackupSource(tempDir, "test", null, 9);
+        var partition = source.listPartitions("test").get(0);
+
+        assertThat(source.partitionDocCount(partition), equalTo(6L));
+        var ids = source.readDocuments(partition, 2, 5)
+            .map(org.opensearch.migrations.bulkload.pipeline.model.Document::id)
+            .collectList().block();
+        assertThat(ids, contains("doc2", "doc3", "doc4"));
+        var rest = source.readDocuments(partition, 5, Long.MAX_VALUE)
+            .map(org.opensearch.migrations.bulkload.pipeline.model.Document::id)
+            .collectList().block();
+        assertThat(rest, contains("doc5"));
+    }
+
     private static com.fasterxml.jackson.databind.JsonNode emptySchema() {
         var schema = MAPPER.createObjectNode();
         schema.set("fields", MAPPER.createArrayNode());
@@ -7,6 +7,7 @@ import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -16,6 +17,7 @@ import org.junit.jupiter.api.io.TempDir;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 /**
  * Unit tests covering the version-aware constructors and the lazy collection/shard
@@ -104,6 +106,34 @@ class SolrMultiCollectionSourceTest {
         assertThat(shardCalls.get(), equalTo(2));
     }
 
+    @Test
+    void shardsThatNeedPreparingAreOnlyCountedForSplittingWhenAllowed() throws IOException {
+        seedSingleShardBackup(tempDir.resolve("collA"));
+        var schemas = Map.<String, JsonNode>of("collA", schemaWrapper());
+
+        var shardCalls = new AtomicInteger(0);
+        try (var source = new SolrMultiCollectionSource(tempDir, schemas, null, p -> shardCalls.incrementAndGet(), 8)) {
+            var partition = source.listPartitions("collA").get(0);
+            assertThat(source.partitionDocCount(partition), equalTo(-1L));
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+        assertThat(shardCalls.get(), equalTo(0));
+
+        Consumer<SolrShardPartition> failingPreparer = p -> {
+            shardCalls.incrementAndGet();
+            throw new IllegalStateException("prepared");
+        };
+        try (var source = new SolrMultiCollectionSource(tempDir, schemas, null, failingPreparer, 8, true)) {
+            var partition = source.listPartitions("collA").get(0);
+            var thrown = assertThrows(IllegalStateException.class, () -> source.partitionDocCount(partition));
+            assertThat(thrown.getMessage(), equalTo("prepared"));
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+        assertThat(shardCalls.get(), equalTo(1));
+    }
+
     @Test
     void fiveArgConstructorAcceptsExplicitSolrMajor() throws IOException {
         // Major version 6 is accepted — exercising the version-threading path.
@@ -1,8 +1,8 @@
 package org.opensearch.migrations.trafficcapture.kafkaoffloader;
 
 import java.nio.ByteBuffer;
+import java.time.Duration;
 import java.time.Instant;
-import java.util.Arrays;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ForkJoinPool;
 
@@ -12,18 +12,36 @@ import org.opensearch.migrations.trafficcapture.IChannelConnectionCaptureSeriali
 import org.opensearch.migrations.trafficcapture.IConnectionCaptureFactory;
 import org.opensearch.migrations.trafficcapture.OrderedStreamLifecyleManager;
 import org.opensearch.migrations.trafficcapture.StreamChannelConnectionCaptureSerializer;
+import org.opensearch.migrations.trafficcapture.compression.CaptureCompressionDictionary;
 import org.opensearch.migrations.trafficcapture.kafkaoffloader.tracing.IRootKafkaOffloaderContext;
+import org.opensearch.migrations.trafficcapture.protos.TrafficStreamBatchRecords;
 
 import com.google.protobuf.CodedOutputStream;
-import lombok.AllArgsConstructor;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.PooledByteBufAllocator;
 import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.producer.Producer;
 import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.kafka.clients.producer.RecordMetadata;
 
+/**
+ * Offloads each flushed TrafficStream as one Kafka record. Streams are serialized into direct buffers taken
+ * from a pooled allocator rather than into a freshly allocated array of the full message size, and a buffer
+ * goes back to the pool as soon as its bytes have been copied into the record. The producer still receives
+ * an exactly sized byte array, since Kafka serializers return arrays and the producer copies record values
+ * into its own batches anyway.
+ *
+ * <p>When constructed with a linger time, streams aren't sent as records of their own. They're packed, across
+ * connections, into TrafficStreamBatch records of up to the same size, which are marked with the
+ * {@link TrafficStreamBatchRecords#KAFKA_HEADER} header so that consumers know to unpack them. Streams still
+ * waiting for a batch are only sent once the factory is closed, so it must be closed before the producer is.
+ * Streams flushed after that are still sent, without waiting for others to share their record.
+ */
 @Slf4j
-public class KafkaCaptureFactory implements IConnectionCaptureFactory<RecordMetadata> {
+public class KafkaCaptureFactory implements IConnectionCaptureFactory<RecordMetadata>, AutoCloseable {
 
     public static final String DEFAULT_TOPIC_NAME_FOR_TRAFFIC = "logging-traffic-topic";
     // This value encapsulates overhead we should reserve for a given Producer record to account for record key bytes
@@ -33,10 +51,12 @@ public class KafkaCaptureFactory implements IConnectionCaptureFactory<RecordMeta
 
     private final IRootKafkaOffloaderContext rootScope;
     private final String nodeId;
-    // Potential future optimization here to use a direct buffer (e.g. nio) instead of byte array
     private final Producer<String, byte[]> producer;
     private final String topicNameForTraffic;
     private final int bufferSize;
+    private final ByteBufAllocator bufferAllocator;
+    private final TrafficStreamRecordCoalescer recordCoalescer;
+    private final CaptureCompressionDictionary compressionDictionary;
 
     public KafkaCaptureFactory(
         IRootKafkaOffloaderContext rootScope,
@@ -44,12 +64,63 @@ public class KafkaCaptureFactory implements IConnectionCaptureFactory<RecordMeta
         Producer<String, byte[]> producer,
         String topicNameForTraffic,
         int messageSize
+    ) {
+        this(rootScope, nodeId, producer, topicNameForTraffic, messageSize, PooledByteBufAllocator.DEFAULT);
+    }
+
+    /**
+     * @param bufferAllocator where the buffers that streams are serialized into come from
+     */
+    public KafkaCaptureFactory(
+        IRootKafkaOffloaderContext rootScope,
+        String nodeId,
+        Producer<String, byte[]> producer,
+        String topicNameForTraffic,
+        int messageSize,
+        ByteBufAllocator bufferAllocator
+    ) {
+        this(rootScope, nodeId, producer, topicNameForTraffic, messageSize, bufferAllocator, null);
+    }
+
+    /**
+     * @param coalescingLinger when non-null, streams are packed into TrafficStreamBatch records and a stream
+     *                         waits at most this long for other streams to share its record
+     */
+    public KafkaCaptureFactory(
+        IRootKafkaOffloaderContext rootScope,
+        String nodeId,
+        Producer<String, byte[]> producer,
+        String topicNameForTraffic,
+        int messageSize,
+        ByteBufAllocator bufferAllocator,
+        Duration coalescingLinger
+    ) {
+        this(rootScope, nodeId, producer, topicNameForTraffic, messageSize, bufferAllocator, coalescingLinger, null);
+    }
+
+    /**
+     * @param compressionDictionary when non-null, read and write payloads are compressed with this dictionary
+     */
+    public KafkaCaptureFactory(
+        IRootKafkaOffloaderContext rootScope,
+        String nodeId,
+        Producer<String, byte[]> producer,
+        String topicNameForTraffic,
+        int messageSize,
+        ByteBufAllocator bufferAllocator,
+        Duration coalescingLinger,
+        CaptureCompressionDictionary compressionDictionary
     ) {
         this.rootScope = rootScope;
         this.nodeId = nodeId;
         this.producer = producer;
         this.topicNameForTraffic = topicNameForTraffic;
         this.bufferSize = messageSize - KAFKA_MESSAGE_OVERHEAD_BYTES;
+        this.bufferAllocator = bufferAllocator;
+        this.recordCoalescer = coalescingLinger == null
+            ? null
+            : new TrafficStreamRecordCoalescer(producer, topicNameForTraffic, nodeId, bufferSize, coalescingLinger);
+        this.compressionDictionary = compressionDictionary;
     }
 
     public KafkaCaptureFactory(
@@ -66,14 +137,46 @@ public class KafkaCaptureFactory implements IConnectionCaptureFactory<RecordMeta
         return new StreamChannelConnectionCaptureSerializer<>(
             nodeId,
             ctx.getConnectionId(),
-            new StreamManager(rootScope, ctx)
+            new StreamManager(rootScope, ctx),
+            compressionDictionary
         );
     }
 
-    @AllArgsConstructor
+    /**
+     * Sends any streams that are still waiting for a batch record and stops coalescing; streams flushed after
+     * this are sent as soon as they are flushed. The producer is left open for its owner to close.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        if (recordCoalescer != null) {
+            recordCoalescer.close();
+        }
+        producer.flush();
+    }
+
+    /**
+     * Holds a pooled buffer along with the nio view of it that the output stream writes through. The stream
+     * manager owns the buffer and releases it as soon as the stream is closed, once its bytes are copied out.
+     */
+    @RequiredArgsConstructor
     static class CodedOutputStreamWrapper implements CodedOutputStreamHolder {
         private final CodedOutputStream codedOutputStream;
+        private final ByteBuf buffer;
         private final ByteBuffer byteBuffer;
+        private byte[] serializedStream;
+
+        /** Copies the written bytes out and releases the buffer the first time; later calls return the copy. */
+        byte[] copyOutAndRelease() {
+            if (serializedStream == null) {
+                try {
+                    serializedStream = new byte[byteBuffer.position()];
+                    byteBuffer.get(0, serializedStream);
+                } finally {
+                    buffer.release();
+                }
+            }
+            return serializedStream;
+        }
 
         @Override
         public int getOutputStreamBytesLimit() {
@@ -102,30 +205,59 @@ public class KafkaCaptureFactory implements IConnectionCaptureFactory<RecordMeta
         public CodedOutputStreamWrapper createStream() {
             telemetryContext.addEvent("streamCreated");
 
-            ByteBuffer bb = ByteBuffer.allocate(bufferSize);
-            return new CodedOutputStreamWrapper(CodedOutputStream.newInstance(bb), bb);
+            var buffer = bufferAllocator.directBuffer(bufferSize, bufferSize);
+            var bb = buffer.nioBuffer(0, bufferSize);
+            return new CodedOutputStreamWrapper(CodedOutputStream.newInstance(bb), buffer, bb);
         }
 
-        @Override
-        public CompletableFuture<RecordMetadata> kickoffCloseStream(
-            CodedOutputStreamHolder outputStreamHolder,
-            int index
-        ) {
+        private CodedOutputStreamWrapper asWrapper(CodedOutputStreamHolder outputStreamHolder) {
             if (!(outputStreamHolder instanceof CodedOutputStreamWrapper)) {
                 throw new IllegalArgumentException(
                     "Unknown outputStreamHolder sent back to StreamManager: " + outputStreamHolder
                 );
             }
-            var osh = (CodedOutputStreamWrapper) outputStreamHolder;
+            return (CodedOutputStreamWrapper) outputStreamHolder;
+        }
+
+        /**
+         * Releases the stream's buffer before the close is chained behind earlier ones, since kickoffCloseStream
+         * is never called for any later stream of the connection once an earlier close has failed.
+         */
+        @Override
+        public CompletableFuture<RecordMetadata> closeStream(
+            CodedOutputStreamHolder outputStreamHolder,
+            int index,
+            boolean sendNow
+        ) {
+            asWrapper(outputStreamHolder).copyOutAndRelease();
+            return super.closeStream(outputStreamHolder, index, sendNow);
+        }
+
+        @Override
+        public CompletableFuture<RecordMetadata> kickoffCloseStream(
+            CodedOutputStreamHolder outputStreamHolder,
+            int index
+        ) {
+            return kickoffCloseStream(outputStreamHolder, index, false);
+        }
 
+        @Override
+        public CompletableFuture<RecordMetadata> kickoffCloseStream(
+            CodedOutputStreamHolder outputStreamHolder,
+            int index,
+            boolean sendNow
+        ) {
             final var connectionId = telemetryContext.getConnectionId();
 
             String recordId = String.format("%s.%d", connectionId, index);
-            var byteBuffer = osh.byteBuffer;
+            byte[] recordValue = asWrapper(outputStreamHolder).copyOutAndRelease();
+            if (recordCoalescer != null && recordCoalescer.canCoalesce(recordValue)) {
+                return sendCoalesced(recordId, recordValue, sendNow);
+            }
             ProducerRecord<String, byte[]> kafkaRecord = new ProducerRecord<>(
                 topicNameForTraffic,
                 recordId,
-                Arrays.copyOfRange(byteBuffer.array(), 0, byteBuffer.position())
+                recordValue
             );
             log.debug("Sending Kafka producer record: {} for topic: {}", recordId, topicNameForTraffic);
 
@@ -160,6 +292,23 @@ public class KafkaCaptureFactory implements IConnectionCaptureFactory<RecordMeta
                 flushContext.close();
             }));
         }
+
+        private CompletableFuture<RecordMetadata> sendCoalesced(String recordId, byte[] recordValue, boolean sendNow) {
+            log.debug("Adding TrafficStream: {} to the next batch record for topic: {}", recordId, topicNameForTraffic);
+            var flushContext = rootScope.createKafkaRecordContext(
+                telemetryContext,
+                topicNameForTraffic,
+                recordId,
+                recordValue.length
+            );
+            return recordCoalescer.add(recordValue, sendNow).whenComplete((recordMetadata, throwable) -> {
+                if (throwable != null) {
+                    flushContext.addTraceException(throwable, true);
+                    log.error("Error sending batch record containing TrafficStream: {}", recordId, throwable);
+                }
+                flushContext.close();
+            });
+        }
     }
 
     // Producer Send will block on actions such as retrieving cluster metadata, allows running fully async
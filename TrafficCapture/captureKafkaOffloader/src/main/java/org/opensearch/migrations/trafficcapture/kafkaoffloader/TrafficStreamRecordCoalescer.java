@@ -0,0 +1,215 @@
+package org.opensearch.migrations.trafficcapture.kafkaoffloader;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.opensearch.migrations.trafficcapture.protos.TrafficStreamBatch;
+import org.opensearch.migrations.trafficcapture.protos.TrafficStreamBatchRecords;
+
+import com.google.protobuf.CodedOutputStream;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+
+/**
+ * Packs serialized TrafficStreams from any number of connections into TrafficStreamBatch records. A batch is
+ * sent once adding another stream would take it past the record size limit, or once the oldest stream in it
+ * has waited for the linger time, or as soon as a stream that someone is waiting on is added. Every stream's
+ * future completes with the metadata of the record that carried it. {@link #close()} sends whatever is still
+ * waiting and stops the linger timer; a stream added after that, e.g. by a connection whose close was still
+ * chained behind earlier ones, is sent in a batch of its own.
+ */
+@Slf4j
+class TrafficStreamRecordCoalescer {
+    private final Producer<String, byte[]> producer;
+    private final String topicNameForTraffic;
+    private final String recordKeyPrefix;
+    private final int maxRecordBytes;
+    private final Duration linger;
+    private final ScheduledExecutorService lingerScheduler;
+    private final AtomicLong batchesSent = new AtomicLong();
+
+    private final Object pendingLock = new Object();
+    private List<byte[]> pendingStreams = new ArrayList<>();
+    private List<CompletableFuture<RecordMetadata>> pendingFutures = new ArrayList<>();
+    private int pendingBytes;
+    private ScheduledFuture<?> pendingLingerFlush;
+    private boolean closed;
+
+    private static class Batch {
+        final List<byte[]> streams;
+        final List<CompletableFuture<RecordMetadata>> futures;
+        final int serializedSize;
+
+        Batch(List<byte[]> streams, List<CompletableFuture<RecordMetadata>> futures, int serializedSize) {
+            this.streams = streams;
+            this.futures = futures;
+            this.serializedSize = serializedSize;
+        }
+    }
+
+    TrafficStreamRecordCoalescer(
+        Producer<String, byte[]> producer,
+        String topicNameForTraffic,
+        String nodeId,
+        int maxRecordBytes,
+        Duration linger
+    ) {
+        if (linger.isNegative() || linger.isZero()) {
+            throw new IllegalArgumentException("The linger time for coalesced records must be positive: " + linger);
+        }
+        this.producer = producer;
+        this.topicNameForTraffic = topicNameForTraffic;
+        this.recordKeyPrefix = nodeId + ".batch.";
+        this.maxRecordBytes = maxRecordBytes;
+        this.linger = linger;
+        this.lingerScheduler = Executors.newSingleThreadScheduledExecutor(
+            new DefaultThreadFactory("kafkaRecordCoalescer", true)
+        );
+    }
+
+    private static int entrySize(byte[] serializedTrafficStream) {
+        return CodedOutputStream.computeByteArraySize(
+            TrafficStreamBatch.TRAFFICSTREAMS_FIELD_NUMBER,
+            serializedTrafficStream
+        );
+    }
+
+    /**
+     * @return false when the stream is too large to share a record, in which case it should be sent on its own
+     */
+    boolean canCoalesce(byte[] serializedTrafficStream) {
+        return entrySize(serializedTrafficStream) <= maxRecordBytes;
+    }
+
+    /**
+     * @param sendNow when true, the batch that the stream joins is sent right away instead of lingering
+     */
+    CompletableFuture<RecordMetadata> add(byte[] serializedTrafficStream, boolean sendNow) {
+        var size = entrySize(serializedTrafficStream);
+        if (size > maxRecordBytes) {
+            throw new IllegalArgumentException(
+                "A TrafficStream of " + serializedTrafficStream.length + " bytes can't fit within a batch record"
+            );
+        }
+        var future = new CompletableFuture<RecordMetadata>();
+        Batch fullBatch = null;
+        Batch batchToSendNow = null;
+        synchronized (pendingLock) {
+            if (closed) {
+                batchToSendNow = new Batch(List.of(serializedTrafficStream), List.of(future), size);
+            } else {
+                if (pendingBytes + size > maxRecordBytes) {
+                    fullBatch = takePendingBatch();
+                }
+                pendingStreams.add(serializedTrafficStream);
+                pendingFutures.add(future);
+                pendingBytes += size;
+                if (sendNow) {
+                    // Whatever else was waiting rides along
+                    batchToSendNow = takePendingBatch();
+                } else if (pendingLingerFlush == null) {
+                    pendingLingerFlush = lingerScheduler.schedule(this::flush, linger.toNanos(), TimeUnit.NANOSECONDS);
+                }
+            }
+        }
+        if (fullBatch != null) {
+            send(fullBatch);
+        }
+        if (batchToSendNow != null) {
+            send(batchToSendNow);
+        }
+        return future;
+    }
+
+    /**
+     * Sends whatever streams are waiting for a batch now.
+     */
+    void flush() {
+        Batch batch;
+        synchronized (pendingLock) {
+            batch = takePendingBatch();
+        }
+        if (batch != null) {
+            send(batch);
+        }
+    }
+
+    /**
+     * Sends the streams that are still waiting for a batch, waits until the producer has acknowledged or failed
+     * that last record, and stops the linger timer. Streams added afterward are sent right away, one per record.
+     */
+    void close() throws InterruptedException {
+        Batch batch;
+        synchronized (pendingLock) {
+            closed = true;
+            batch = takePendingBatch();
+        }
+        lingerScheduler.shutdown();
+        if (!lingerScheduler.awaitTermination(1, TimeUnit.MINUTES)) {
+            log.atWarn().setMessage("The linger timer of the record coalescer did not stop within a minute").log();
+        }
+        if (batch != null) {
+            send(batch).handle((recordMetadata, throwable) -> null).join();
+        }
+    }
+
+    private Batch takePendingBatch() {
+        if (pendingLingerFlush != null) {
+            pendingLingerFlush.cancel(false);
+            pendingLingerFlush = null;
+        }
+        if (pendingStreams.isEmpty()) {
+            return null;
+        }
+        var batch = new Batch(pendingStreams, pendingFutures, pendingBytes);
+        pendingStreams = new ArrayList<>();
+        pendingFutures = new ArrayList<>();
+        pendingBytes = 0;
+        return batch;
+    }
+
+    private CompletableFuture<RecordMetadata> send(Batch batch) {
+        var recordValue = new byte[batch.serializedSize];
+        try {
+            var codedOutputStream = CodedOutputStream.newInstance(recordValue);
+            for (var stream : batch.streams) {
+                codedOutputStream.writeByteArray(TrafficStreamBatch.TRAFFICSTREAMS_FIELD_NUMBER, stream);
+            }
+            codedOutputStream.checkNoSpaceLeft();
+        } catch (IOException | IllegalStateException e) {
+            batch.futures.forEach(f -> f.completeExceptionally(e));
+            return CompletableFuture.failedFuture(e);
+        }
+
+        var recordId = recordKeyPrefix + batchesSent.getAndIncrement();
+        var kafkaRecord = new ProducerRecord<>(topicNameForTraffic, recordId, recordValue);
+        kafkaRecord.headers().add(
+            TrafficStreamBatchRecords.KAFKA_HEADER,
+            Integer.toString(batch.streams.size()).getBytes(StandardCharsets.UTF_8)
+        );
+        log.atDebug().setMessage("Sending Kafka producer record: {} with {} TrafficStreams for topic: {}")
+            .addArgument(recordId)
+            .addArgument(batch.streams::size)
+            .addArgument(topicNameForTraffic)
+            .log();
+        return KafkaCaptureFactory.sendFullyAsync(producer, kafkaRecord).whenComplete((recordMetadata, throwable) -> {
+            if (throwable != null) {
+                batch.futures.forEach(f -> f.completeExceptionally(throwable));
+            } else {
+                batch.futures.forEach(f -> f.complete(recordMetadata));
+            }
+        });
+    }
+}
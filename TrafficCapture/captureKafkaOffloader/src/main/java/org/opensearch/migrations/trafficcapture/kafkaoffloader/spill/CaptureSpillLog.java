@@ -0,0 +1,448 @@
+package org.opensearch.migrations.trafficcapture.kafkaoffloader.spill;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32C;
+
+import lombok.NonNull;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * An append-only log of captured records on local disk, split into fixed-size, memory-mapped segment files.
+ * Appending copies a record into the mapped pages of the current segment, so it costs about as much as a
+ * memory copy no matter how slow whatever drains the log is, and the operating system writes the pages back
+ * to disk in the background.  An appended record survives the process dying, though not the host losing
+ * power before its pages have been written back.
+ *
+ * <p>Records are read back in the order that they were appended, starting from the last committed checkpoint.
+ * Committing a checkpoint persists it and unmaps and deletes every segment before the one it points into,
+ * which is the only way that disk space is reclaimed.  Once there are {@code maxSegments} segments, an append
+ * that needs a new segment waits up to {@code maxWaitForSpace} for a commit to release one and then fails, so
+ * that a full disk costs captured traffic rather than proxy latency.
+ *
+ * <p>Each record is laid out as [body length][key length][CRC32C of the body][body], where the body is the
+ * UTF-8 key followed by the value.  The body length is written last and a zero length marks the end of what
+ * has been written to a segment, so a reader never sees a partially written record.
+ */
+@Slf4j
+public class CaptureSpillLog implements AutoCloseable {
+    static final String SEGMENT_FILE_SUFFIX = ".segment";
+    static final String CHECKPOINT_FILE_NAME = "checkpoint";
+    static final int RECORD_HEADER_BYTES = 3 * Integer.BYTES;
+
+    /**
+     * Unmaps a mapped buffer right away.  A deleted segment's pages otherwise stay mapped, and its disk space
+     * stays allocated, until the garbage collector gets around to the buffer.  Null when the JVM doesn't offer
+     * sun.misc.Unsafe.invokeCleaner, in which case that's what happens.
+     */
+    private static final MethodHandle UNMAPPER = findUnmapper();
+
+    /**
+     * The location of a record in the log.  Positions order the same way as the records they point to.
+     */
+    @Value
+    public static class Position implements Comparable<Position> {
+        long segment;
+        int offset;
+
+        @Override
+        public int compareTo(Position other) {
+            var segmentComparison = Long.compare(segment, other.segment);
+            return segmentComparison != 0 ? segmentComparison : Integer.compare(offset, other.offset);
+        }
+    }
+
+    @Value
+    public static class SpilledRecord {
+        Position position;
+        /** Where the record after this one starts, which is the checkpoint to commit once this one is handled */
+        Position nextPosition;
+        String key;
+        byte[] value;
+    }
+
+    private static class Segment {
+        final long sequence;
+        final Path path;
+        final MappedByteBuffer buffer;
+
+        Segment(long sequence, Path path, MappedByteBuffer buffer) {
+            this.sequence = sequence;
+            this.path = path;
+            this.buffer = buffer;
+        }
+    }
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final int maxSegments;
+    private final Duration maxWaitForSpace;
+    private final ConcurrentSkipListMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final Condition segmentReleased = appendLock.newCondition();
+
+    // guarded by appendLock
+    private Segment writeSegment;
+    private int writeOffset;
+    private boolean closed;
+
+    /** The end of the last complete append, published after the record's bytes have been written */
+    private volatile Position appendedUpTo;
+    private volatile Position checkpoint;
+
+    /**
+     * Opens the log in the directory, creating it if necessary.  Segments left behind by an earlier process
+     * are kept for reading from the last checkpoint onward, and new records go into a new segment.
+     */
+    public CaptureSpillLog(
+        @NonNull Path directory,
+        int segmentBytes,
+        int maxSegments,
+        @NonNull Duration maxWaitForSpace
+    ) throws IOException {
+        if (segmentBytes <= RECORD_HEADER_BYTES) {
+            throw new IllegalArgumentException(
+                "Spill log segments must be larger than " + RECORD_HEADER_BYTES + " bytes"
+            );
+        }
+        if (maxSegments < 2) {
+            throw new IllegalArgumentException("A spill log needs room for at least 2 segments, not " + maxSegments);
+        }
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.maxSegments = maxSegments;
+        this.maxWaitForSpace = maxWaitForSpace;
+
+        Files.createDirectories(directory);
+        this.checkpoint = readCheckpoint();
+        recoverSegments();
+        var nextSequence = segments.isEmpty()
+            ? checkpoint.getSegment()
+            : Math.max(segments.lastKey() + 1, checkpoint.getSegment());
+        this.writeSegment = createSegment(nextSequence);
+        this.writeOffset = 0;
+        this.appendedUpTo = new Position(nextSequence, 0);
+    }
+
+    private static MethodHandle findUnmapper() {
+        try {
+            var unsafeClass = Class.forName("sun.misc.Unsafe");
+            var theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            return MethodHandles.lookup()
+                .findVirtual(unsafeClass, "invokeCleaner", MethodType.methodType(void.class, ByteBuffer.class))
+                .bindTo(theUnsafe.get(null));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            log.atWarn().setCause(e)
+                .setMessage("Released capture spill log segments will stay mapped until they are garbage collected")
+                .log();
+            return null;
+        }
+    }
+
+    private static void unmap(Segment segment) {
+        if (UNMAPPER == null) {
+            return;
+        }
+        try {
+            UNMAPPER.invokeExact((ByteBuffer) segment.buffer);
+        } catch (Throwable t) {
+            log.atWarn().setCause(t).setMessage("Couldn't unmap capture spill log segment {}")
+                .addArgument(segment.path)
+                .log();
+        }
+    }
+
+    private Path segmentPath(long sequence) {
+        return directory.resolve(String.format("%020d%s", sequence, SEGMENT_FILE_SUFFIX));
+    }
+
+    private Position readCheckpoint() throws IOException {
+        var checkpointPath = directory.resolve(CHECKPOINT_FILE_NAME);
+        if (!Files.exists(checkpointPath)) {
+            return new Position(0, 0);
+        }
+        try (var input = new DataInputStream(Files.newInputStream(checkpointPath))) {
+            return new Position(input.readLong(), input.readInt());
+        }
+    }
+
+    private void recoverSegments() throws IOException {
+        var recovered = new ArrayList<Path>();
+        try (var files = Files.list(directory)) {
+            files.filter(p -> p.getFileName().toString().endsWith(SEGMENT_FILE_SUFFIX)).forEach(recovered::add);
+        }
+        for (var path : recovered) {
+            var fileName = path.getFileName().toString();
+            long sequence;
+            try {
+                sequence = Long.parseLong(fileName.substring(0, fileName.length() - SEGMENT_FILE_SUFFIX.length()));
+            } catch (NumberFormatException e) {
+                log.atWarn().setMessage("Ignoring file {} in the capture spill log directory").addArgument(path).log();
+                continue;
+            }
+            if (sequence < checkpoint.getSegment()) {
+                Files.delete(path);
+                continue;
+            }
+            try (var channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                var buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+                segments.put(sequence, new Segment(sequence, path, buffer));
+            }
+        }
+        if (!segments.isEmpty()) {
+            log.atInfo().setMessage("Recovered {} capture spill log segments to ship from {}")
+                .addArgument(segments::size)
+                .addArgument(checkpoint)
+                .log();
+        }
+    }
+
+    private Segment createSegment(long sequence) throws IOException {
+        var path = segmentPath(sequence);
+        try (
+            var channel = FileChannel.open(
+                path,
+                StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE
+            )
+        ) {
+            // mapping past the end of the file grows it to the full segment size, filled with zeros
+            var segment = new Segment(sequence, path, channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes));
+            segments.put(sequence, segment);
+            return segment;
+        }
+    }
+
+    /**
+     * Copies the record into the log.  The value is read from its position to its limit, without moving them.
+     *
+     * @return where the record was written
+     * @throws IllegalStateException if the log is closed, or is still full after waiting {@code maxWaitForSpace}
+     */
+    public Position append(@NonNull String key, @NonNull ByteBuffer value) throws InterruptedException, IOException {
+        var keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        var bodyLength = keyBytes.length + value.remaining();
+        if (keyBytes.length == 0 || RECORD_HEADER_BYTES + (long) bodyLength > segmentBytes) {
+            throw new IllegalArgumentException(
+                "A record with a " + keyBytes.length + " byte key and " + value.remaining()
+                    + " byte value can't be written to a spill log with " + segmentBytes + " byte segments"
+            );
+        }
+        var crc = new CRC32C();
+        crc.update(keyBytes);
+        crc.update(value.duplicate());
+
+        appendLock.lockInterruptibly();
+        try {
+            if (closed) {
+                throw new IllegalStateException("The capture spill log has been closed");
+            }
+            if (writeOffset + RECORD_HEADER_BYTES + bodyLength > segmentBytes) {
+                rollSegment();
+            }
+            var buffer = writeSegment.buffer;
+            var offset = writeOffset;
+            buffer.putInt(offset + Integer.BYTES, keyBytes.length);
+            buffer.putInt(offset + 2 * Integer.BYTES, (int) crc.getValue());
+            buffer.put(offset + RECORD_HEADER_BYTES, keyBytes);
+            buffer.put(offset + RECORD_HEADER_BYTES + keyBytes.length, value, value.position(), value.remaining());
+            buffer.putInt(offset, bodyLength);
+            writeOffset = offset + RECORD_HEADER_BYTES + bodyLength;
+            appendedUpTo = new Position(writeSegment.sequence, writeOffset);
+            return new Position(writeSegment.sequence, offset);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    private void rollSegment() throws InterruptedException, IOException {
+        if (segments.size() >= maxSegments) {
+            log.atWarn().setMessage("The capture spill log has filled {} segments, waiting up to {} for one to ship")
+                .addArgument(maxSegments)
+                .addArgument(maxWaitForSpace)
+                .log();
+            var remainingNanos = maxWaitForSpace.toNanos();
+            while (segments.size() >= maxSegments && !closed) {
+                if (remainingNanos <= 0) {
+                    throw new IllegalStateException(
+                        "The capture spill log is full; " + maxSegments + " segments are waiting to be shipped"
+                    );
+                }
+                remainingNanos = segmentReleased.awaitNanos(remainingNanos);
+            }
+            if (closed) {
+                throw new IllegalStateException("The capture spill log has been closed");
+            }
+        }
+        writeSegment = createSegment(writeSegment.sequence + 1);
+        writeOffset = 0;
+    }
+
+    /**
+     * Persists the position as the place to resume reading from and unmaps and deletes the segments that are
+     * entirely before it.  No reader that another thread might be using may still be positioned before it,
+     * since reading an unmapped segment crashes the JVM.
+     */
+    public void commit(@NonNull Position position) throws IOException {
+        var checkpointPath = directory.resolve(CHECKPOINT_FILE_NAME);
+        var tempPath = directory.resolve(CHECKPOINT_FILE_NAME + ".tmp");
+        try (var output = new DataOutputStream(Files.newOutputStream(tempPath))) {
+            output.writeLong(position.getSegment());
+            output.writeInt(position.getOffset());
+        }
+        Files.move(tempPath, checkpointPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        checkpoint = position;
+
+        var released = segments.headMap(position.getSegment()).values();
+        if (released.isEmpty()) {
+            return;
+        }
+        for (var segment : new ArrayList<>(released)) {
+            segments.remove(segment.sequence);
+            unmap(segment);
+            Files.deleteIfExists(segment.path);
+        }
+        appendLock.lock();
+        try {
+            segmentReleased.signalAll();
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    public Position getCheckpoint() {
+        return checkpoint;
+    }
+
+    public Reader readFromCheckpoint() {
+        return readFrom(checkpoint);
+    }
+
+    public Reader readFrom(@NonNull Position position) {
+        return new Reader(position);
+    }
+
+    /**
+     * Forces the pages of the segment being written back to disk and stops accepting appends.
+     */
+    @Override
+    public void close() {
+        appendLock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            segmentReleased.signalAll();
+            writeSegment.buffer.force();
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Reads records in the order they were appended.  A reader may be used by one thread at a time, which
+     * can run concurrently with appends.  Another thread must not commit past a reader while it is in use.
+     */
+    public class Reader {
+        private Position position;
+
+        private Reader(Position position) {
+            this.position = position;
+        }
+
+        /**
+         * @return where the next record will be read from
+         */
+        public Position getPosition() {
+            return position;
+        }
+
+        /**
+         * @return the next record, or null if every record appended so far has been read
+         */
+        public SpilledRecord next() {
+            while (true) {
+                var appended = appendedUpTo;
+                var entry = segments.ceilingEntry(position.getSegment());
+                if (entry == null || entry.getKey() > appended.getSegment()) {
+                    return null;
+                }
+                var segment = entry.getValue();
+                var offset = entry.getKey() == position.getSegment() ? position.getOffset() : 0;
+                if (segment.sequence == appended.getSegment() && offset >= appended.getOffset()) {
+                    position = new Position(segment.sequence, offset);
+                    return null;
+                }
+                var record = readRecordAt(segment, offset);
+                if (record != null) {
+                    position = record.getNextPosition();
+                    return record;
+                }
+                // everything in earlier segments was appended before the one being written was created
+                position = new Position(segment.sequence + 1, 0);
+            }
+        }
+
+        private SpilledRecord readRecordAt(Segment segment, int offset) {
+            var buffer = segment.buffer;
+            if (offset + RECORD_HEADER_BYTES > buffer.capacity()) {
+                return null;
+            }
+            var bodyLength = buffer.getInt(offset);
+            if (bodyLength == 0) {
+                return null;
+            }
+            var keyLength = buffer.getInt(offset + Integer.BYTES);
+            var expectedCrc = buffer.getInt(offset + 2 * Integer.BYTES);
+            if (bodyLength < 0
+                || keyLength <= 0
+                || keyLength > bodyLength
+                || (long) offset + RECORD_HEADER_BYTES + bodyLength > buffer.capacity()) {
+                log.atWarn().setMessage("Skipping the rest of spill log segment {} after a malformed record at {}")
+                    .addArgument(segment.path)
+                    .addArgument(offset)
+                    .log();
+                return null;
+            }
+            var body = new byte[bodyLength];
+            buffer.get(offset + RECORD_HEADER_BYTES, body);
+            var crc = new CRC32C();
+            crc.update(body);
+            if ((int) crc.getValue() != expectedCrc) {
+                log.atWarn().setMessage("Skipping the rest of spill log segment {} after a corrupt record at {}")
+                    .addArgument(segment.path)
+                    .addArgument(offset)
+                    .log();
+                return null;
+            }
+            return new SpilledRecord(
+                new Position(segment.sequence, offset),
+                new Position(segment.sequence, offset + RECORD_HEADER_BYTES + bodyLength),
+                new String(body, 0, keyLength, StandardCharsets.UTF_8),
+                Arrays.copyOfRange(body, keyLength, bodyLength)
+            );
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package org.opensearch.migrations.trafficcapture.kafkaoffloader.spill;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.netty.util.concurrent.DefaultThreadFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+
+/**
+ * Drains a {@link CaptureSpillLog} into a Kafka topic from a thread of its own, so that a producer blocked on
+ * cluster metadata or a full send buffer holds up this thread rather than the proxy.  At most
+ * {@code maxInFlightRecords} records are sent without having been acknowledged, and the log's checkpoint is
+ * advanced past a record only once it and every record before it have been acknowledged.
+ *
+ * <p>When a send fails after the producer's own retries, shipping pauses until the other sends in flight
+ * finish and then resumes from the first unacknowledged record.  Records are delivered at least once, so
+ * records acknowledged after the failure, or acknowledged but not yet checkpointed when the process stopped,
+ * are sent again.
+ */
+@Slf4j
+public class CaptureSpillLogShipper implements AutoCloseable {
+    public static final int DEFAULT_MAX_IN_FLIGHT_RECORDS = 1024;
+    public static final Duration DEFAULT_CHECKPOINT_INTERVAL = Duration.ofSeconds(1);
+    private static final Duration IDLE_POLL_INTERVAL = Duration.ofMillis(5);
+    private static final Duration RETRY_BACKOFF = Duration.ofSeconds(1);
+
+    private final CaptureSpillLog spillLog;
+    private final Producer<String, byte[]> producer;
+    private final String topicNameForTraffic;
+    private final int maxInFlightRecords;
+    private final Semaphore inFlightPermits;
+    private final Duration checkpointInterval;
+    private final Thread shipperThread;
+    private final CountDownLatch stopSignal = new CountDownLatch(1);
+    private final AtomicBoolean sendFailed = new AtomicBoolean();
+
+    // guarded by itself; every record that has been sent but isn't yet covered by acknowledgedUpTo
+    private final ArrayDeque<InFlightRecord> inFlightRecords = new ArrayDeque<>();
+    private volatile CaptureSpillLog.Position acknowledgedUpTo;
+
+    private static class InFlightRecord {
+        final CaptureSpillLog.Position nextPosition;
+        boolean acknowledged;
+
+        InFlightRecord(CaptureSpillLog.Position nextPosition) {
+            this.nextPosition = nextPosition;
+        }
+    }
+
+    public CaptureSpillLogShipper(
+        CaptureSpillLog spillLog,
+        Producer<String, byte[]> producer,
+        String topicNameForTraffic
+    ) {
+        this(spillLog, producer, topicNameForTraffic, DEFAULT_MAX_IN_FLIGHT_RECORDS, DEFAULT_CHECKPOINT_INTERVAL);
+    }
+
+    /**
+     * Starts shipping from the log's last checkpoint.
+     */
+    public CaptureSpillLogShipper(
+        CaptureSpillLog spillLog,
+        Producer<String, byte[]> producer,
+        String topicNameForTraffic,
+        int maxInFlightRecords,
+        Duration checkpointInterval
+    ) {
+        if (maxInFlightRecords <= 0) {
+            throw new IllegalArgumentException("maxInFlightRecords must be positive: " + maxInFlightRecords);
+        }
+        this.spillLog = spillLog;
+        this.producer = producer;
+        this.topicNameForTraffic = topicNameForTraffic;
+        this.maxInFlightRecords = maxInFlightRecords;
+        this.inFlightPermits = new Semaphore(maxInFlightRecords);
+        this.checkpointInterval = checkpointInterval;
+        this.acknowledgedUpTo = spillLog.getCheckpoint();
+        this.shipperThread = new DefaultThreadFactory("captureSpillLogShipper", true).newThread(this::run);
+        this.shipperThread.start();
+    }
+
+    /**
+     * @return the position before which every record has been acknowledged by Kafka
+     */
+    public CaptureSpillLog.Position getAcknowledgedPosition() {
+        return acknowledgedUpTo;
+    }
+
+    private void run() {
+        var reader = spillLog.readFrom(acknowledgedUpTo);
+        var committed = acknowledgedUpTo;
+        var lastCheckpointNanos = System.nanoTime();
+        try {
+            while (stopSignal.getCount() > 0) {
+                if (sendFailed.get()) {
+                    reader = resumeFromFirstUnacknowledged();
+                    continue;
+                }
+                var record = reader.next();
+                if (record == null) {
+                    stopSignal.await(IDLE_POLL_INTERVAL.toNanos(), TimeUnit.NANOSECONDS);
+                } else {
+                    send(record);
+                }
+                if (System.nanoTime() - lastCheckpointNanos >= checkpointInterval.toNanos()) {
+                    committed = commitAcknowledged(committed);
+                    lastCheckpointNanos = System.nanoTime();
+                }
+            }
+            waitForInFlightSends();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        commitAcknowledged(committed);
+    }
+
+    private void send(CaptureSpillLog.SpilledRecord record) throws InterruptedException {
+        inFlightPermits.acquire();
+        var inFlightRecord = new InFlightRecord(record.getNextPosition());
+        synchronized (inFlightRecords) {
+            inFlightRecords.add(inFlightRecord);
+        }
+        log.atDebug().setMessage("Shipping spilled record: {} to topic: {}")
+            .addArgument(record::getKey)
+            .addArgument(topicNameForTraffic)
+            .log();
+        try {
+            producer.send(
+                new ProducerRecord<>(topicNameForTraffic, record.getKey(), record.getValue()),
+                (metadata, exception) -> onSendCompleted(inFlightRecord, record.getKey(), exception)
+            );
+        } catch (RuntimeException e) {
+            onSendCompleted(inFlightRecord, record.getKey(), e);
+        }
+    }
+
+    private void onSendCompleted(InFlightRecord inFlightRecord, String recordKey, Exception exception) {
+        if (exception != null) {
+            log.atWarn().setCause(exception).setMessage("Error shipping spilled record: {}, it will be resent")
+                .addArgument(recordKey)
+                .log();
+            sendFailed.set(true);
+        } else {
+            synchronized (inFlightRecords) {
+                inFlightRecord.acknowledged = true;
+                while (!inFlightRecords.isEmpty() && inFlightRecords.peek().acknowledged) {
+                    acknowledgedUpTo = inFlightRecords.poll().nextPosition;
+                }
+            }
+        }
+        inFlightPermits.release();
+    }
+
+    private CaptureSpillLog.Reader resumeFromFirstUnacknowledged() throws InterruptedException {
+        waitForInFlightSends();
+        synchronized (inFlightRecords) {
+            inFlightRecords.clear();
+        }
+        sendFailed.set(false);
+        var resumePosition = acknowledgedUpTo;
+        log.atWarn().setMessage("Resending spilled records from {} in {}")
+            .addArgument(resumePosition)
+            .addArgument(RETRY_BACKOFF)
+            .log();
+        stopSignal.await(RETRY_BACKOFF.toNanos(), TimeUnit.NANOSECONDS);
+        return spillLog.readFrom(resumePosition);
+    }
+
+    private void waitForInFlightSends() throws InterruptedException {
+        inFlightPermits.acquire(maxInFlightRecords);
+        inFlightPermits.release(maxInFlightRecords);
+    }
+
+    private CaptureSpillLog.Position commitAcknowledged(CaptureSpillLog.Position committed) {
+        var acknowledged = acknowledgedUpTo;
+        if (acknowledged.equals(committed)) {
+            return committed;
+        }
+        try {
+            spillLog.commit(acknowledged);
+            return acknowledged;
+        } catch (IOException e) {
+            log.atError().setCause(e).setMessage("Couldn't checkpoint the capture spill log at {}")
+                .addArgument(acknowledged)
+                .log();
+            return committed;
+        }
+    }
+
+    /**
+     * Stops shipping once the records in flight have been acknowledged, leaving the rest in the log to be
+     * shipped the next time it is opened.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        stopSignal.countDown();
+        shipperThread.join();
+    }
+}
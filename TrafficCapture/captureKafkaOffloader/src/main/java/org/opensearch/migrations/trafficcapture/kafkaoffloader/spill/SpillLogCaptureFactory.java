@@ -0,0 +1,223 @@
+package org.opensearch.migrations.trafficcapture.kafkaoffloader.spill;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.opensearch.migrations.tracing.commoncontexts.IConnectionContext;
+import org.opensearch.migrations.trafficcapture.CodedOutputStreamHolder;
+import org.opensearch.migrations.trafficcapture.IChannelConnectionCaptureSerializer;
+import org.opensearch.migrations.trafficcapture.IConnectionCaptureFactory;
+import org.opensearch.migrations.trafficcapture.OrderedStreamLifecyleManager;
+import org.opensearch.migrations.trafficcapture.StreamChannelConnectionCaptureSerializer;
+import org.opensearch.migrations.trafficcapture.compression.CaptureCompressionDictionary;
+import org.opensearch.migrations.trafficcapture.kafkaoffloader.KafkaCaptureFactory;
+import org.opensearch.migrations.trafficcapture.kafkaoffloader.tracing.IRootKafkaOffloaderContext;
+import org.opensearch.migrations.trafficcapture.kafkaoffloader.tracing.KafkaRecordContext;
+
+import com.google.protobuf.CodedOutputStream;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import lombok.AllArgsConstructor;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.Producer;
+
+/**
+ * Offloads each flushed TrafficStream into a {@link CaptureSpillLog}, keyed the same way that
+ * {@link KafkaCaptureFactory} keys its records.  A stream's future completes as soon as it has been copied into
+ * the log, so how quickly a {@link CaptureSpillLogShipper} gets it into Kafka never delays the proxy.  Streams
+ * are limited to the same size as Kafka records so that every spilled stream can be shipped as-is.
+ *
+ * <p>Streams are appended from a thread of the factory's own, in the order that they were flushed, since an
+ * append to a full log may wait for the shipper to free a segment and must not hold up a netty event loop.
+ *
+ * <p>A stream that can't be spilled, most often because the log is full, is dropped and counted, and its
+ * future completes with a null position rather than failing.  A failed future would keep every later stream
+ * of the connection from being spilled, or from having its buffer released.
+ *
+ * <p>The factory owns the log along with the shipper and producer that it is given, and closes them all.
+ */
+@Slf4j
+public class SpillLogCaptureFactory implements IConnectionCaptureFactory<CaptureSpillLog.Position>, AutoCloseable {
+    private final IRootKafkaOffloaderContext rootScope;
+    private final String nodeId;
+    private final CaptureSpillLog spillLog;
+    private final CaptureSpillLogShipper shipper;
+    private final Producer<String, byte[]> producer;
+    private final int bufferSize;
+    private final ByteBufAllocator bufferAllocator;
+    private final CaptureCompressionDictionary compressionDictionary;
+    private final AtomicLong droppedStreams = new AtomicLong();
+    private final ExecutorService appendExecutor = Executors.newSingleThreadExecutor(
+        new DefaultThreadFactory("captureSpillLogAppender", true)
+    );
+
+    /**
+     * Spills into a log that nothing ships from, e.g. for a caller that reads the log itself.
+     */
+    public SpillLogCaptureFactory(
+        IRootKafkaOffloaderContext rootScope,
+        String nodeId,
+        CaptureSpillLog spillLog,
+        int messageSize,
+        ByteBufAllocator bufferAllocator,
+        CaptureCompressionDictionary compressionDictionary
+    ) {
+        this(rootScope, nodeId, spillLog, null, null, messageSize, bufferAllocator, compressionDictionary);
+    }
+
+    /**
+     * @param shipper when non-null, the shipper draining the log, which is stopped when the factory is closed
+     * @param producer when non-null, the producer that the shipper sends with, which is closed after the shipper
+     * @param messageSize the largest Kafka record that the shipper will send
+     * @param compressionDictionary when non-null, read and write payloads are compressed with this dictionary
+     */
+    public SpillLogCaptureFactory(
+        IRootKafkaOffloaderContext rootScope,
+        String nodeId,
+        CaptureSpillLog spillLog,
+        CaptureSpillLogShipper shipper,
+        Producer<String, byte[]> producer,
+        int messageSize,
+        ByteBufAllocator bufferAllocator,
+        CaptureCompressionDictionary compressionDictionary
+    ) {
+        this.rootScope = rootScope;
+        this.nodeId = nodeId;
+        this.spillLog = spillLog;
+        this.shipper = shipper;
+        this.producer = producer;
+        this.bufferSize = messageSize - KafkaCaptureFactory.KAFKA_MESSAGE_OVERHEAD_BYTES;
+        this.bufferAllocator = bufferAllocator;
+        this.compressionDictionary = compressionDictionary;
+    }
+
+    /**
+     * @return how many streams have been dropped because they couldn't be spilled, which is also counted by the
+     * {@value KafkaRecordContext#SPILLED_STREAMS_DROPPED} metric
+     */
+    public long getDroppedStreamCount() {
+        return droppedStreams.get();
+    }
+
+    /**
+     * Finishes the appends that are waiting, stops the shipper once the records it has in flight are
+     * acknowledged, then closes the log and the producer.  Whatever hasn't been shipped stays in the log and is
+     * shipped the next time it is opened.  Connections must have stopped flushing by now, since streams flushed
+     * after this are dropped.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        try {
+            appendExecutor.shutdown();
+            appendExecutor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            if (shipper != null) {
+                shipper.close();
+            }
+        } finally {
+            spillLog.close();
+            if (producer != null) {
+                producer.close();
+            }
+        }
+    }
+
+    @Override
+    public IChannelConnectionCaptureSerializer<CaptureSpillLog.Position> createOffloader(IConnectionContext ctx) {
+        return new StreamChannelConnectionCaptureSerializer<>(
+            nodeId,
+            ctx.getConnectionId(),
+            new StreamManager(ctx),
+            compressionDictionary
+        );
+    }
+
+    @AllArgsConstructor
+    static class CodedOutputStreamWrapper implements CodedOutputStreamHolder {
+        private final CodedOutputStream codedOutputStream;
+        private final ByteBuf buffer;
+        private final ByteBuffer byteBuffer;
+
+        @Override
+        public int getOutputStreamBytesLimit() {
+            return byteBuffer.limit();
+        }
+
+        @Override
+        public @NonNull CodedOutputStream getOutputStream() {
+            return codedOutputStream;
+        }
+    }
+
+    class StreamManager extends OrderedStreamLifecyleManager<CaptureSpillLog.Position> {
+        private final IConnectionContext telemetryContext;
+
+        StreamManager(IConnectionContext ctx) {
+            this.telemetryContext = ctx;
+        }
+
+        @Override
+        public CodedOutputStreamWrapper createStream() {
+            telemetryContext.addEvent("streamCreated");
+
+            var buffer = bufferAllocator.directBuffer(bufferSize, bufferSize);
+            var bb = buffer.nioBuffer(0, bufferSize);
+            return new CodedOutputStreamWrapper(CodedOutputStream.newInstance(bb), buffer, bb);
+        }
+
+        @Override
+        public CompletableFuture<CaptureSpillLog.Position> kickoffCloseStream(
+            CodedOutputStreamHolder outputStreamHolder,
+            int index
+        ) {
+            if (!(outputStreamHolder instanceof CodedOutputStreamWrapper)) {
+                throw new IllegalArgumentException(
+                    "Unknown outputStreamHolder sent back to StreamManager: " + outputStreamHolder
+                );
+            }
+            var osh = (CodedOutputStreamWrapper) outputStreamHolder;
+            var recordId = String.format("%s.%d", telemetryContext.getConnectionId(), index);
+            try {
+                return CompletableFuture.supplyAsync(() -> append(recordId, osh), appendExecutor);
+            } catch (RejectedExecutionException e) {
+                osh.buffer.release();
+                return CompletableFuture.completedFuture(dropStream(recordId, e));
+            }
+        }
+
+        private CaptureSpillLog.Position append(String recordId, CodedOutputStreamWrapper osh) {
+            try {
+                var position = spillLog.append(recordId, osh.byteBuffer.duplicate().flip());
+                log.atTrace().setMessage("Spilled TrafficStream: {} at {}")
+                    .addArgument(recordId)
+                    .addArgument(position)
+                    .log();
+                return position;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return dropStream(recordId, e);
+            } catch (Exception e) {
+                return dropStream(recordId, e);
+            } finally {
+                osh.buffer.release();
+            }
+        }
+
+        private CaptureSpillLog.Position dropStream(String recordId, Exception cause) {
+            var dropped = droppedStreams.incrementAndGet();
+            rootScope.onSpilledStreamDropped(telemetryContext);
+            log.atWarn().setCause(cause)
+                .setMessage("Dropped TrafficStream: {} because it couldn't be spilled ({} dropped so far)")
+                .addArgument(recordId)
+                .addArgument(dropped)
+                .log();
+            return null;
+        }
+    }
+}
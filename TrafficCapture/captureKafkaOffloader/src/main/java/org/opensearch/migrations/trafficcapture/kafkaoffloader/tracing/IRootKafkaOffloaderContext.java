@@ -14,4 +14,8 @@ public interface IRootKafkaOffloaderContext extends IInstrumentConstructor {
     ) {
         return new KafkaRecordContext(this, telemetryContext, topicNameForTraffic, recordId, length);
     }
+
+    default void onSpilledStreamDropped(IConnectionContext telemetryContext) {
+        telemetryContext.meterIncrementEvent(getKafkaOffloadingInstruments().spilledStreamsDroppedCounter);
+    }
 }
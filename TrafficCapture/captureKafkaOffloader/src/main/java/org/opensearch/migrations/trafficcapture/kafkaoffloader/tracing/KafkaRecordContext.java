@@ -7,6 +7,7 @@ import org.opensearch.migrations.tracing.commoncontexts.IConnectionContext;
 
 import io.opentelemetry.api.common.AttributeKey;
 import io.opentelemetry.api.common.AttributesBuilder;
+import io.opentelemetry.api.metrics.LongCounter;
 import io.opentelemetry.api.metrics.Meter;
 import lombok.Getter;
 import lombok.NonNull;
@@ -15,6 +16,7 @@ public class KafkaRecordContext extends BaseNestedSpanContext<IRootKafkaOffloade
     implements
         IScopedInstrumentationAttributes {
     public static final String ACTIVITY_NAME = "kafkaCommit";
+    public static final String SPILLED_STREAMS_DROPPED = "spilledStreamsDropped";
 
     static final AttributeKey<String> TOPIC_ATTR = AttributeKey.stringKey("topic");
     static final AttributeKey<String> RECORD_ID_ATTR = AttributeKey.stringKey("recordId");
@@ -40,8 +42,11 @@ public class KafkaRecordContext extends BaseNestedSpanContext<IRootKafkaOffloade
     }
 
     public static class MetricInstruments extends CommonScopedMetricInstruments {
+        public final LongCounter spilledStreamsDroppedCounter;
+
         private MetricInstruments(Meter meter, String activityName) {
             super(meter, activityName);
+            spilledStreamsDroppedCounter = meter.counterBuilder(SPILLED_STREAMS_DROPPED).setUnit("count").build();
         }
     }
 
@@ -3,10 +3,12 @@ package org.opensearch.migrations.trafficcapture.kafkaoffloader;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.time.Clock;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.FutureTask;
@@ -15,8 +17,12 @@ import java.util.concurrent.TimeoutException;
 import java.util.concurrent.locks.ReentrantLock;
 
 import org.opensearch.migrations.trafficcapture.kafkaoffloader.tracing.TestRootKafkaOffloaderContext;
+import org.opensearch.migrations.trafficcapture.protos.TrafficStream;
+import org.opensearch.migrations.trafficcapture.protos.TrafficStreamBatch;
+import org.opensearch.migrations.trafficcapture.protos.TrafficStreamBatchRecords;
 import org.opensearch.migrations.trafficcapture.tracing.ConnectionContext;
 
+import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.buffer.Unpooled;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
@@ -89,6 +95,209 @@ public class KafkaCaptureFactoryTest {
         producer.close();
     }
 
+    @Test
+    public void testStreamBuffersAreReturnedToThePool() throws Exception {
+        var allocator = new PooledByteBufAllocator(true);
+        MockProducer<String, byte[]> producer = new MockProducer<>(
+            true,
+            null,
+            new StringSerializer(),
+            new ByteArraySerializer()
+        );
+        KafkaCaptureFactory kafkaCaptureFactory = new KafkaCaptureFactory(
+            TestRootKafkaOffloaderContext.noTracking(),
+            TEST_NODE_ID_STRING,
+            producer,
+            topic,
+            1024 * 1024,
+            allocator
+        );
+        var offloader = kafkaCaptureFactory.createOffloader(createCtx());
+
+        var bb = Unpooled.wrappedBuffer("FakeData".getBytes(StandardCharsets.UTF_8));
+        offloader.addReadEvent(Instant.now(), bb);
+        offloader.flushCommitAndResetStream(false).get();
+        offloader.addReadEvent(Instant.now(), bb);
+        offloader.flushCommitAndResetStream(true).get();
+        bb.release();
+
+        Assertions.assertEquals(2, producer.history().size());
+        for (var record : producer.history()) {
+            Assertions.assertEquals(TEST_NODE_ID_STRING, TrafficStream.parseFrom(record.value()).getNodeId());
+        }
+        Assertions.assertEquals(0,
+            allocator.metric().directArenas().stream().mapToLong(a -> a.numActiveAllocations()).sum());
+        producer.close();
+    }
+
+    @Test
+    public void testStreamBuffersAreReturnedToThePoolAfterASendFails() throws Exception {
+        var allocator = new PooledByteBufAllocator(true);
+        MockProducer<String, byte[]> producer = new MockProducer<>(
+            false,
+            null,
+            new StringSerializer(),
+            new ByteArraySerializer()
+        );
+        KafkaCaptureFactory kafkaCaptureFactory = new KafkaCaptureFactory(
+            TestRootKafkaOffloaderContext.noTracking(),
+            TEST_NODE_ID_STRING,
+            producer,
+            topic,
+            1024 * 1024,
+            allocator
+        );
+        var offloader = kafkaCaptureFactory.createOffloader(createCtx());
+
+        var bb = Unpooled.wrappedBuffer("FakeData".getBytes(StandardCharsets.UTF_8));
+        offloader.addReadEvent(Instant.now(), bb);
+        var failedFlush = offloader.flushCommitAndResetStream(false);
+        var deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!producer.errorNext(new RuntimeException("Simulated send failure"))) {
+            Assertions.assertTrue(System.nanoTime() < deadline, "the first stream was never sent");
+            Thread.sleep(1);
+        }
+        Assertions.assertThrows(ExecutionException.class, failedFlush::get);
+
+        offloader.addReadEvent(Instant.now(), bb);
+        var skippedFlush = offloader.flushCommitAndResetStream(true);
+        Assertions.assertThrows(ExecutionException.class, skippedFlush::get);
+        bb.release();
+
+        Assertions.assertEquals(1, producer.history().size());
+        Assertions.assertEquals(0,
+            allocator.metric().directArenas().stream().mapToLong(a -> a.numActiveAllocations()).sum());
+        producer.close();
+    }
+
+    @Test
+    public void testStreamsFromDifferentConnectionsShareABatchRecord() throws Exception {
+        MockProducer<String, byte[]> producer = new MockProducer<>(
+            true,
+            null,
+            new StringSerializer(),
+            new ByteArraySerializer()
+        );
+        KafkaCaptureFactory kafkaCaptureFactory = new KafkaCaptureFactory(
+            TestRootKafkaOffloaderContext.noTracking(),
+            TEST_NODE_ID_STRING,
+            producer,
+            topic,
+            1024 * 1024,
+            PooledByteBufAllocator.DEFAULT,
+            Duration.ofMillis(50)
+        );
+        var bb = Unpooled.wrappedBuffer("FakeData".getBytes(StandardCharsets.UTF_8));
+        var flushFutures = new ArrayList<CompletableFuture<?>>();
+        for (int i = 0; i < 2; i++) {
+            var offloader = kafkaCaptureFactory.createOffloader(
+                new ConnectionContext(new TestRootKafkaOffloaderContext(), "conn" + i, "test")
+            );
+            offloader.addReadEvent(Instant.now(), bb);
+            flushFutures.add(offloader.flushCommitAndResetStream(true));
+        }
+        for (var flushFuture : flushFutures) {
+            flushFuture.get(10, TimeUnit.SECONDS);
+        }
+        bb.release();
+
+        Assertions.assertEquals(1, producer.history().size());
+        var record = producer.history().get(0);
+        Assertions.assertEquals(TEST_NODE_ID_STRING + ".batch.0", record.key());
+        Assertions.assertNotNull(record.headers().lastHeader(TrafficStreamBatchRecords.KAFKA_HEADER));
+        var batch = TrafficStreamBatch.parseFrom(record.value());
+        Assertions.assertEquals(
+            List.of("conn0", "conn1"),
+            batch.getTrafficStreamsList().stream().map(TrafficStream::getConnectionId).toList()
+        );
+        producer.close();
+    }
+
+    @Test
+    public void testAStreamThatIsWaitedOnIsSentWithoutLingering() throws Exception {
+        MockProducer<String, byte[]> producer = new MockProducer<>(
+            true,
+            null,
+            new StringSerializer(),
+            new ByteArraySerializer()
+        );
+        KafkaCaptureFactory kafkaCaptureFactory = new KafkaCaptureFactory(
+            TestRootKafkaOffloaderContext.noTracking(),
+            TEST_NODE_ID_STRING,
+            producer,
+            topic,
+            1024 * 1024,
+            PooledByteBufAllocator.DEFAULT,
+            Duration.ofHours(1)
+        );
+        var bb = Unpooled.wrappedBuffer("FakeData".getBytes(StandardCharsets.UTF_8));
+        var lingeringOffloader = kafkaCaptureFactory.createOffloader(
+            new ConnectionContext(new TestRootKafkaOffloaderContext(), "conn0", "test")
+        );
+        lingeringOffloader.addReadEvent(Instant.now(), bb);
+        var lingeringFlush = lingeringOffloader.flushCommitAndResetStream(false);
+        Assertions.assertFalse(lingeringFlush.isDone());
+
+        var blockingOffloader = kafkaCaptureFactory.createOffloader(
+            new ConnectionContext(new TestRootKafkaOffloaderContext(), "conn1", "test")
+        );
+        blockingOffloader.addReadEvent(Instant.now(), bb);
+        blockingOffloader.flushCommitAndResetStream(false, true).get(10, TimeUnit.SECONDS);
+        lingeringFlush.get(10, TimeUnit.SECONDS);
+        bb.release();
+
+        Assertions.assertEquals(1, producer.history().size());
+        var batch = TrafficStreamBatch.parseFrom(producer.history().get(0).value());
+        Assertions.assertEquals(
+            List.of("conn0", "conn1"),
+            batch.getTrafficStreamsList().stream().map(TrafficStream::getConnectionId).toList()
+        );
+        kafkaCaptureFactory.close();
+        producer.close();
+    }
+
+    @Test
+    public void testClosingSendsTheWaitingBatchAndThenSendsLaterStreamsRightAway() throws Exception {
+        MockProducer<String, byte[]> producer = new MockProducer<>(
+            true,
+            null,
+            new StringSerializer(),
+            new ByteArraySerializer()
+        );
+        KafkaCaptureFactory kafkaCaptureFactory = new KafkaCaptureFactory(
+            TestRootKafkaOffloaderContext.noTracking(),
+            TEST_NODE_ID_STRING,
+            producer,
+            topic,
+            1024 * 1024,
+            PooledByteBufAllocator.DEFAULT,
+            Duration.ofHours(1)
+        );
+        var bb = Unpooled.wrappedBuffer("FakeData".getBytes(StandardCharsets.UTF_8));
+        var offloader = kafkaCaptureFactory.createOffloader(createCtx());
+        offloader.addReadEvent(Instant.now(), bb);
+        var waitingFlush = offloader.flushCommitAndResetStream(false);
+        Assertions.assertFalse(waitingFlush.isDone());
+
+        kafkaCaptureFactory.close();
+        waitingFlush.get(10, TimeUnit.SECONDS);
+        Assertions.assertEquals(1, producer.history().size());
+        var record = producer.history().get(0);
+        Assertions.assertNotNull(record.headers().lastHeader(TrafficStreamBatchRecords.KAFKA_HEADER));
+
+        offloader.addReadEvent(Instant.now(), bb);
+        offloader.flushCommitAndResetStream(true).get(10, TimeUnit.SECONDS);
+        bb.release();
+        Assertions.assertEquals(2, producer.history().size());
+        var lateRecord = producer.history().get(1);
+        Assertions.assertEquals("1", new String(
+            lateRecord.headers().lastHeader(TrafficStreamBatchRecords.KAFKA_HEADER).value(),
+            StandardCharsets.UTF_8
+        ));
+        Assertions.assertEquals(1, TrafficStreamBatch.parseFrom(lateRecord.value()).getTrafficStreamsCount());
+        producer.close();
+    }
+
     private static ConnectionContext createCtx() {
         return new ConnectionContext(new TestRootKafkaOffloaderContext(), "test", "test");
     }
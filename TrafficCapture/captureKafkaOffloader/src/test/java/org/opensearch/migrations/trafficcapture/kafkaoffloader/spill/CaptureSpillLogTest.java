@@ -0,0 +1,164 @@
+package org.opensearch.migrations.trafficcapture.kafkaoffloader.spill;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class CaptureSpillLogTest {
+    private static final int SEGMENT_BYTES = 256;
+
+    @TempDir
+    Path spillDirectory;
+
+    private static ByteBuffer valueFor(int i) {
+        return ByteBuffer.wrap(("value-" + i).repeat(4).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<CaptureSpillLog.SpilledRecord> readAll(CaptureSpillLog.Reader reader) {
+        var records = new ArrayList<CaptureSpillLog.SpilledRecord>();
+        for (var record = reader.next(); record != null; record = reader.next()) {
+            records.add(record);
+        }
+        return records;
+    }
+
+    private long segmentFileCount() throws Exception {
+        try (var files = Files.list(spillDirectory)) {
+            return files.filter(p -> p.toString().endsWith(CaptureSpillLog.SEGMENT_FILE_SUFFIX)).count();
+        }
+    }
+
+    @Test
+    public void testRecordsAreReadBackAcrossSegmentsAndRestartsFromTheCheckpoint() throws Exception {
+        CaptureSpillLog.SpilledRecord lastCommitted;
+        try (var spillLog = new CaptureSpillLog(spillDirectory, SEGMENT_BYTES, 16, Duration.ZERO)) {
+            var reader = spillLog.readFromCheckpoint();
+            for (int i = 0; i < 10; i++) {
+                spillLog.append("connection." + i, valueFor(i));
+            }
+            var records = readAll(reader);
+            Assertions.assertEquals(10, records.size());
+            for (int i = 0; i < 10; i++) {
+                Assertions.assertEquals("connection." + i, records.get(i).getKey());
+                Assertions.assertEquals(valueFor(i), ByteBuffer.wrap(records.get(i).getValue()));
+            }
+            Assertions.assertTrue(records.get(9).getPosition().getSegment() > 0, "records should span segments");
+
+            lastCommitted = records.get(5);
+            var segmentsBefore = segmentFileCount();
+            spillLog.commit(lastCommitted.getNextPosition());
+            Assertions.assertEquals(
+                segmentsBefore - lastCommitted.getNextPosition().getSegment(),
+                segmentFileCount()
+            );
+        }
+
+        try (var reopened = new CaptureSpillLog(spillDirectory, SEGMENT_BYTES, 16, Duration.ZERO)) {
+            reopened.append("connection.10", valueFor(10));
+            var keys = readAll(reopened.readFromCheckpoint()).stream()
+                .map(CaptureSpillLog.SpilledRecord::getKey)
+                .toList();
+            Assertions.assertEquals(
+                List.of("connection.6", "connection.7", "connection.8", "connection.9", "connection.10"),
+                keys
+            );
+        }
+    }
+
+    @Test
+    public void testAppendFailsRatherThanWaitingWhenTheLogIsFull() throws Exception {
+        try (var spillLog = new CaptureSpillLog(spillDirectory, SEGMENT_BYTES, 2, Duration.ZERO)) {
+            var value = ByteBuffer.wrap(new byte[SEGMENT_BYTES / 2]);
+            spillLog.append("connection.0", value);
+            var second = spillLog.append("connection.1", value);
+            Assertions.assertThrows(IllegalStateException.class, () -> spillLog.append("connection.2", value));
+
+            spillLog.commit(new CaptureSpillLog.Position(second.getSegment(), 0));
+            Assertions.assertEquals(second.getSegment() + 1, spillLog.append("connection.2", value).getSegment());
+        }
+    }
+
+    @Test
+    public void testShipperSendsRecordsInOrderAndCheckpointsThem() throws Exception {
+        var producer = new MockProducer<>(true, null, new StringSerializer(), new ByteArraySerializer());
+        try (var spillLog = new CaptureSpillLog(spillDirectory, SEGMENT_BYTES, 16, Duration.ZERO)) {
+            for (int i = 0; i < 10; i++) {
+                spillLog.append("connection." + i, valueFor(i));
+            }
+            var end = readAll(spillLog.readFromCheckpoint()).get(9).getNextPosition();
+
+            var shipper = new CaptureSpillLogShipper(spillLog, producer, "test_topic", 4, Duration.ofMillis(1));
+            var deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+            while (!end.equals(shipper.getAcknowledgedPosition()) && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            shipper.close();
+
+            Assertions.assertEquals(end, spillLog.getCheckpoint());
+            var sent = producer.history();
+            Assertions.assertEquals(10, sent.size());
+            for (int i = 0; i < 10; i++) {
+                Assertions.assertEquals("test_topic", sent.get(i).topic());
+                Assertions.assertEquals("connection." + i, sent.get(i).key());
+                Assertions.assertEquals(valueFor(i), ByteBuffer.wrap(sent.get(i).value()));
+            }
+        }
+    }
+
+    @Test
+    public void testCheckpointNeverPassesARecordWhoseSendFailed() throws Exception {
+        var producer = new MockProducer<>(false, null, new StringSerializer(), new ByteArraySerializer());
+        try (var spillLog = new CaptureSpillLog(spillDirectory, SEGMENT_BYTES, 16, Duration.ZERO)) {
+            for (int i = 0; i < 10; i++) {
+                spillLog.append("connection." + i, valueFor(i));
+            }
+            var records = readAll(spillLog.readFromCheckpoint());
+            var failedRecord = records.get(3);
+            var end = records.get(9).getNextPosition();
+
+            var shipper = new CaptureSpillLogShipper(spillLog, producer, "test_topic", 4, Duration.ofMillis(1));
+            var sendsHandled = 0;
+            var failedOnce = false;
+            var resendAcknowledged = false;
+            var deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+            while (!end.equals(shipper.getAcknowledgedPosition()) && System.nanoTime() < deadline) {
+                if (!resendAcknowledged) {
+                    Assertions.assertTrue(spillLog.getCheckpoint().compareTo(failedRecord.getPosition()) <= 0,
+                        "checkpointed past the failed record at " + spillLog.getCheckpoint());
+                }
+                if (producer.history().size() <= sendsHandled) {
+                    Thread.sleep(1);
+                    continue;
+                }
+                var isFailedRecord = failedRecord.getKey().equals(producer.history().get(sendsHandled).key());
+                if (isFailedRecord && !failedOnce) {
+                    Assertions.assertTrue(producer.errorNext(new RuntimeException("Simulated send failure")));
+                    failedOnce = true;
+                } else {
+                    Assertions.assertTrue(producer.completeNext());
+                    resendAcknowledged |= isFailedRecord;
+                }
+                sendsHandled++;
+            }
+            shipper.close();
+
+            Assertions.assertTrue(resendAcknowledged, "the failed record was never resent");
+            Assertions.assertEquals(end, spillLog.getCheckpoint());
+            var sentKeys = producer.history().stream().map(ProducerRecord::key).toList();
+            Assertions.assertEquals(2, sentKeys.stream().filter(failedRecord.getKey()::equals).count());
+            Assertions.assertEquals("connection.9", sentKeys.get(sentKeys.size() - 1));
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package org.opensearch.migrations.trafficcapture.kafkaoffloader.spill;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+import org.opensearch.migrations.tracing.InMemoryInstrumentationBundle;
+import org.opensearch.migrations.trafficcapture.kafkaoffloader.tracing.KafkaRecordContext;
+import org.opensearch.migrations.trafficcapture.kafkaoffloader.tracing.TestRootKafkaOffloaderContext;
+import org.opensearch.migrations.trafficcapture.tracing.ConnectionContext;
+
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class SpillLogCaptureFactoryTest {
+    private static final int SEGMENT_BYTES = 2048;
+    private static final int MESSAGE_SIZE = 1024;
+
+    @TempDir
+    Path spillDirectory;
+
+    @Test
+    public void testAConnectionKeepsSpillingAfterItsStreamsAreDroppedByAFullLog() throws Exception {
+        var allocator = new PooledByteBufAllocator(true);
+        var rootContext = TestRootKafkaOffloaderContext.withTracking();
+        try (
+            var spillLog = new CaptureSpillLog(spillDirectory, SEGMENT_BYTES, 2, Duration.ZERO);
+            var factory = new SpillLogCaptureFactory(rootContext, "test_node_id", spillLog, MESSAGE_SIZE, allocator,
+                null)
+        ) {
+            var offloader = factory.createOffloader(new ConnectionContext(rootContext, "conn0", "test"));
+            var bb = Unpooled.wrappedBuffer("FakeData".repeat(8).getBytes(StandardCharsets.UTF_8));
+
+            var reader = spillLog.readFromCheckpoint();
+            CaptureSpillLog.Position lastSpilledEnd = null;
+            for (int i = 0; i < 100; i++) {
+                offloader.addReadEvent(Instant.now(), bb);
+                var position = offloader.flushCommitAndResetStream(false).get(10, TimeUnit.SECONDS);
+                if (position == null) {
+                    continue;
+                }
+                var record = reader.next();
+                Assertions.assertEquals(position, record.getPosition());
+                lastSpilledEnd = record.getNextPosition();
+            }
+            Assertions.assertTrue(factory.getDroppedStreamCount() > 0, "the log should have filled up");
+            Assertions.assertEquals(factory.getDroppedStreamCount(), InMemoryInstrumentationBundle.getMetricValueOrZero(
+                rootContext.getInMemoryInstrumentationBundle().getFinishedMetrics(),
+                KafkaRecordContext.SPILLED_STREAMS_DROPPED
+            ));
+            Assertions.assertNotNull(lastSpilledEnd);
+
+            spillLog.commit(lastSpilledEnd);
+            offloader.addReadEvent(Instant.now(), bb);
+            Assertions.assertNotNull(offloader.flushCommitAndResetStream(true).get(10, TimeUnit.SECONDS));
+            bb.release();
+
+            Assertions.assertEquals(0,
+                allocator.metric().directArenas().stream().mapToLong(a -> a.numActiveAllocations()).sum());
+        }
+    }
+
+    @Test
+    public void testAFlushDoesNotWaitForRoomInAFullLog() throws Exception {
+        try (
+            var spillLog = new CaptureSpillLog(spillDirectory, SEGMENT_BYTES, 2, Duration.ofSeconds(30));
+            var factory = new SpillLogCaptureFactory(new TestRootKafkaOffloaderContext(), "test_node_id", spillLog,
+                MESSAGE_SIZE, PooledByteBufAllocator.DEFAULT, null)
+        ) {
+            var offloader = factory.createOffloader(
+                new ConnectionContext(new TestRootKafkaOffloaderContext(), "conn0", "test")
+            );
+            var bb = Unpooled.wrappedBuffer("FakeData".repeat(8).getBytes(StandardCharsets.UTF_8));
+            var filler = new byte[SEGMENT_BYTES / 2];
+            spillLog.append("filler.0", ByteBuffer.wrap(filler));
+            var lastFiller = spillLog.append("filler.1", ByteBuffer.wrap(filler));
+
+            offloader.addReadEvent(Instant.now(), bb);
+            var flushed = offloader.flushCommitAndResetStream(false);
+            Thread.sleep(100);
+            Assertions.assertFalse(flushed.isDone(), "the append should still be waiting for room");
+
+            spillLog.commit(new CaptureSpillLog.Position(lastFiller.getSegment(), 0));
+            Assertions.assertNotNull(flushed.get(10, TimeUnit.SECONDS));
+            bb.release();
+        }
+    }
+
+    @Test
+    public void testClosingTheFactoryStopsTheShipperAndClosesTheLogAndTheProducer() throws Exception {
+        var producer = new MockProducer<>(true, null, new StringSerializer(), new ByteArraySerializer());
+        var spillLog = new CaptureSpillLog(spillDirectory, SEGMENT_BYTES, 16, Duration.ZERO);
+        var shipper = new CaptureSpillLogShipper(spillLog, producer, "test_topic", 4, Duration.ofMillis(1));
+        var factory = new SpillLogCaptureFactory(new TestRootKafkaOffloaderContext(), "test_node_id", spillLog,
+            shipper, producer, MESSAGE_SIZE, PooledByteBufAllocator.DEFAULT, null);
+        var offloader = factory.createOffloader(
+            new ConnectionContext(new TestRootKafkaOffloaderContext(), "conn0", "test")
+        );
+        var bb = Unpooled.wrappedBuffer("FakeData".getBytes(StandardCharsets.UTF_8));
+        offloader.addReadEvent(Instant.now(), bb);
+        var position = offloader.flushCommitAndResetStream(false).get(10, TimeUnit.SECONDS);
+        Assertions.assertNotNull(position);
+
+        factory.close();
+
+        Assertions.assertTrue(producer.closed());
+        Assertions.assertThrows(IllegalStateException.class,
+            () -> spillLog.append("conn0.1", bb.nioBuffer()));
+        bb.release();
+    }
+}
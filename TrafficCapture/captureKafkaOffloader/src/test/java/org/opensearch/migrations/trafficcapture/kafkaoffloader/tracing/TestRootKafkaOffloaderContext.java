@@ -16,6 +16,7 @@ public class TestRootKafkaOffloaderContext extends RootOtelContext
     @Getter
     public final ConnectionContext.MetricInstruments connectionInstruments;
 
+    @Getter
     private final InMemoryInstrumentationBundle inMemoryInstrumentationBundle;
 
     public static TestRootKafkaOffloaderContext withTracking() {
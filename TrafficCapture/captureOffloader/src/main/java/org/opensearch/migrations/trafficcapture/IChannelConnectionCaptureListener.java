@@ -59,5 +59,13 @@ public interface IChannelConnectionCaptureListener<T> {
         return CompletableFuture.completedFuture(null);
     }
 
+    /**
+     * As {@link #flushCommitAndResetStream(boolean)}, where {@code sendNow} is set by callers that hold up traffic
+     * until the returned future completes, so that the stream isn't left waiting to be batched with others.
+     */
+    default CompletableFuture<T> flushCommitAndResetStream(boolean isFinal, boolean sendNow) throws IOException {
+        return flushCommitAndResetStream(isFinal);
+    }
+
     default void cancelCaptureForCurrentRequest(Instant timestamp) throws IOException {}
 }
@@ -6,9 +6,27 @@ public abstract class OrderedStreamLifecyleManager<T> implements StreamLifecycle
     CompletableFuture<T> futureForLastClose = CompletableFuture.completedFuture(null);
 
     public CompletableFuture<T> closeStream(CodedOutputStreamHolder outputStreamHolder, int index) {
-        futureForLastClose = futureForLastClose.thenCompose(v -> kickoffCloseStream(outputStreamHolder, index));
+        return closeStream(outputStreamHolder, index, false);
+    }
+
+    @Override
+    public CompletableFuture<T> closeStream(CodedOutputStreamHolder outputStreamHolder, int index, boolean sendNow) {
+        futureForLastClose = futureForLastClose.thenCompose(
+            v -> kickoffCloseStream(outputStreamHolder, index, sendNow)
+        );
         return futureForLastClose;
     }
 
     protected abstract CompletableFuture<T> kickoffCloseStream(CodedOutputStreamHolder outputStreamHolder, int index);
+
+    /**
+     * Managers that batch streams override this to send a stream that someone is waiting on right away.
+     */
+    protected CompletableFuture<T> kickoffCloseStream(
+        CodedOutputStreamHolder outputStreamHolder,
+        int index,
+        boolean sendNow
+    ) {
+        return kickoffCloseStream(outputStreamHolder, index);
+    }
 }
@@ -9,6 +9,7 @@ import java.time.Instant;
 import java.util.concurrent.CompletableFuture;
 import java.util.stream.IntStream;
 
+import org.opensearch.migrations.trafficcapture.compression.CaptureCompressionDictionary;
 import org.opensearch.migrations.trafficcapture.protos.CloseObservation;
 import org.opensearch.migrations.trafficcapture.protos.ConnectionExceptionObservation;
 import org.opensearch.migrations.trafficcapture.protos.EndOfMessageIndication;
@@ -27,6 +28,7 @@ import com.google.protobuf.Descriptors;
 import com.google.protobuf.Timestamp;
 import com.google.protobuf.WireFormat;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 
@@ -64,12 +66,18 @@ import lombok.extern.slf4j.Slf4j;
  * 3: 1
  * }
  * </pre>
+ * When given a {@link CaptureCompressionDictionary}, read and write payloads are compressed with it whenever
+ * that makes them smaller and the compressed observation fits within a single stream.
  */
 @Slf4j
 public class StreamChannelConnectionCaptureSerializer<T> implements IChannelConnectionCaptureSerializer<T> {
 
     // 100 is the default size of netty connectionId and kafka nodeId along with serializationTags
     private static final int MAX_ID_SIZE = 100;
+    // Payloads smaller than this rarely shrink by enough to be worth the work of compressing them
+    private static final int MIN_BYTES_TO_COMPRESS = 64;
+    // Room for the priorRequestsReceived and lastObservationWasUnterminatedRead fields of a new stream
+    private static final int MAX_STREAM_PREAMBLE_SIZE_BEYOND_IDS = 16;
 
     private boolean readObservationsAreWaitingForEom;
     private int eomsSoFar;
@@ -81,14 +89,28 @@ public class StreamChannelConnectionCaptureSerializer<T> implements IChannelConn
     private final StreamLifecycleManager<T> streamManager;
     private final String nodeIdString;
     private final String connectionIdString;
+    private final CaptureCompressionDictionary compressionDictionary;
     private CodedOutputStreamHolder currentCodedOutputStreamHolderOrNull;
 
     public StreamChannelConnectionCaptureSerializer(
         String nodeId,
         String connectionId,
         @NonNull StreamLifecycleManager<T> streamLifecycleManager
+    ) {
+        this(nodeId, connectionId, streamLifecycleManager, null);
+    }
+
+    /**
+     * @param compressionDictionary dictionary to compress read and write payloads with, or null to write them as-is
+     */
+    public StreamChannelConnectionCaptureSerializer(
+        String nodeId,
+        String connectionId,
+        @NonNull StreamLifecycleManager<T> streamLifecycleManager,
+        CaptureCompressionDictionary compressionDictionary
     ) {
         this.streamManager = streamLifecycleManager;
+        this.compressionDictionary = compressionDictionary;
         assert (nodeId == null ? 0 : CodedOutputStream.computeStringSize(TrafficStream.NODEID_FIELD_NUMBER, nodeId))
             + CodedOutputStream.computeStringSize(TrafficStream.CONNECTIONID_FIELD_NUMBER, connectionId) <= MAX_ID_SIZE;
         this.connectionIdString = connectionId;
@@ -200,11 +222,11 @@ public class StreamChannelConnectionCaptureSerializer<T> implements IChannelConn
         int captureTagFieldNumber,
         int captureTagLengthAndContentSize
     ) throws IOException {
-        final var tsContentSize = CodedOutputStreamSizeUtil.getSizeOfTimestamp(timestamp);
-        final var tsTagSize = CodedOutputStream.computeInt32Size(TrafficObservation.TS_FIELD_NUMBER, tsContentSize);
-        final var captureTagNoLengthSize = CodedOutputStream.computeTagSize(captureTagFieldNumber);
-        final var observationContentSize = tsTagSize + tsContentSize + captureTagNoLengthSize
-            + captureTagLengthAndContentSize;
+        final var observationContentSize = computeObservationContentSize(
+            timestamp,
+            captureTagFieldNumber,
+            captureTagLengthAndContentSize
+        );
         // Ensure space is available before starting an observation
         flushIfNeeded(
             CodedOutputStreamSizeUtil.bytesNeededForObservationAndClosingIndex(
@@ -220,6 +242,17 @@ public class StreamChannelConnectionCaptureSerializer<T> implements IChannelConn
         writeTimestampForNowToCurrentStream(timestamp);
     }
 
+    private static int computeObservationContentSize(
+        Instant timestamp,
+        int captureTagFieldNumber,
+        int captureTagLengthAndContentSize
+    ) {
+        final var tsContentSize = CodedOutputStreamSizeUtil.getSizeOfTimestamp(timestamp);
+        final var tsTagSize = CodedOutputStream.computeInt32Size(TrafficObservation.TS_FIELD_NUMBER, tsContentSize);
+        final var captureTagNoLengthSize = CodedOutputStream.computeTagSize(captureTagFieldNumber);
+        return tsTagSize + tsContentSize + captureTagNoLengthSize + captureTagLengthAndContentSize;
+    }
+
     private void writeTimestampForNowToCurrentStream(Instant timestamp) throws IOException {
         writeObservationTag(TrafficObservation.TS_FIELD_NUMBER);
         getOrCreateCodedOutputStream().writeUInt32NoTag(CodedOutputStreamSizeUtil.getSizeOfTimestamp(timestamp));
@@ -297,6 +330,11 @@ public class StreamChannelConnectionCaptureSerializer<T> implements IChannelConn
 
     @Override
     public CompletableFuture<T> flushCommitAndResetStream(boolean isFinal) throws IOException {
+        return flushCommitAndResetStream(isFinal, false);
+    }
+
+    @Override
+    public CompletableFuture<T> flushCommitAndResetStream(boolean isFinal, boolean sendNow) throws IOException {
         if (streamHasBeenClosed || (currentCodedOutputStreamHolderOrNull == null && !isFinal)) {
             return CompletableFuture.completedFuture(null);
         }
@@ -311,7 +349,7 @@ public class StreamChannelConnectionCaptureSerializer<T> implements IChannelConn
             currentStream.flush();
             assert currentStream == currentCodedOutputStreamHolderOrNull.getOutputStream() : "Expected the stream that "
                 + "is being finalized to be the same stream contained by currentCodedOutputStreamHolderOrNull";
-            return streamManager.closeStream(currentCodedOutputStreamHolderOrNull, numFlushesSoFar);
+            return streamManager.closeStream(currentCodedOutputStreamHolderOrNull, numFlushesSoFar, sendNow);
         } finally {
             currentCodedOutputStreamHolderOrNull = null;
             if (isFinal) {
@@ -380,6 +418,11 @@ public class StreamChannelConnectionCaptureSerializer<T> implements IChannelConn
 
     private void addDataMessage(int captureFieldNumber, int dataFieldNumber, Instant timestamp, ByteBuf buf)
         throws IOException {
+        if (compressionDictionary != null
+            && buf.readableBytes() >= MIN_BYTES_TO_COMPRESS
+            && addCompressedDataMessage(captureFieldNumber, dataFieldNumber, timestamp, buf)) {
+            return;
+        }
         int segmentFieldNumber;
         int segmentDataFieldNumber;
         if (captureFieldNumber == TrafficObservation.READ_FIELD_NUMBER) {
@@ -438,6 +481,53 @@ public class StreamChannelConnectionCaptureSerializer<T> implements IChannelConn
         }
     }
 
+    /**
+     * Writes the payload as one observation holding a zstd frame compressed with the compression dictionary.
+     * Compressed payloads are never segmented since a reader would have to reassemble every segment before it
+     * could decompress any of them, so this gives up when the compressed observation wouldn't fit in one stream.
+     *
+     * @return false when nothing was written because compressing didn't pay off or the result was too large
+     */
+    private boolean addCompressedDataMessage(
+        int captureFieldNumber,
+        int dataFieldNumber,
+        Instant timestamp,
+        ByteBuf buf
+    ) throws IOException {
+        final int dataSize = buf.readableBytes();
+        var compressed = compressionDictionary.compress(ByteBufUtil.getBytes(buf, buf.readerIndex(), dataSize, false));
+        var dictionaryIdFieldNumber = captureFieldNumber == TrafficObservation.READ_FIELD_NUMBER
+            ? ReadObservation.ZSTDDICTIONARYID_FIELD_NUMBER
+            : WriteObservation.ZSTDDICTIONARYID_FIELD_NUMBER;
+        var contentSize = CodedOutputStream.computeByteArraySize(dataFieldNumber, compressed)
+            + CodedOutputStream.computeUInt32Size(dictionaryIdFieldNumber, compressionDictionary.getId());
+        if (contentSize >= dataSize) {
+            return false;
+        }
+        var captureTagLengthAndContentSize = CodedOutputStream.computeUInt32SizeNoTag(contentSize) + contentSize;
+        var bytesNeeded = CodedOutputStreamSizeUtil.bytesNeededForObservationAndClosingIndex(
+            computeObservationContentSize(timestamp, captureFieldNumber, captureTagLengthAndContentSize),
+            numFlushesSoFar + 1
+        );
+        var streamBytesLimit = getOrCreateCodedOutputStreamHolder().getOutputStreamBytesLimit();
+        if (streamBytesLimit != -1
+            && bytesNeeded > streamBytesLimit - MAX_ID_SIZE - MAX_STREAM_PREAMBLE_SIZE_BEYOND_IDS) {
+            return false;
+        }
+
+        beginSubstreamObservation(timestamp, captureFieldNumber, captureTagLengthAndContentSize);
+        // e.g. <pre> 4 { </pre>
+        writeObservationTag(captureFieldNumber);
+        var codedOutputStream = getOrCreateCodedOutputStream();
+        codedOutputStream.writeUInt32NoTag(contentSize);
+        codedOutputStream.writeByteArray(dataFieldNumber, compressed);
+        codedOutputStream.writeUInt32(dictionaryIdFieldNumber, compressionDictionary.getId());
+        if (captureFieldNumber == TrafficObservation.READ_FIELD_NUMBER) {
+            this.readObservationsAreWaitingForEom = true;
+        }
+        return true;
+    }
+
     private void addSubstreamMessage(
         int captureFieldNumber,
         int dataFieldNumber,
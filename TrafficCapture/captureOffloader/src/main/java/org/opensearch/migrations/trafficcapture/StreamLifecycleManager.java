@@ -6,4 +6,12 @@ public interface StreamLifecycleManager<T> {
     CodedOutputStreamHolder createStream();
 
     CompletableFuture<T> closeStream(CodedOutputStreamHolder outputStreamHolder, int index);
+
+    /**
+     * @param sendNow true when a caller is waiting on the returned future, so the stream shouldn't wait to be
+     *                batched with others
+     */
+    default CompletableFuture<T> closeStream(CodedOutputStreamHolder outputStreamHolder, int index, boolean sendNow) {
+        return closeStream(outputStreamHolder, index);
+    }
 }
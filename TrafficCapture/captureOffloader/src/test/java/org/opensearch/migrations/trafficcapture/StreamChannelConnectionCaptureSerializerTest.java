@@ -4,6 +4,7 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Base64;
@@ -15,6 +16,8 @@ import java.util.concurrent.ExecutionException;
 
 import org.opensearch.migrations.testutils.WrapWithNettyLeakDetection;
 import org.opensearch.migrations.trafficcapture.StreamChannelConnectionCaptureSerializerTest.StreamManager.NullStreamManager;
+import org.opensearch.migrations.trafficcapture.compression.CaptureCompressionDictionaries;
+import org.opensearch.migrations.trafficcapture.compression.CaptureCompressionDictionary;
 import org.opensearch.migrations.trafficcapture.protos.CloseObservation;
 import org.opensearch.migrations.trafficcapture.protos.ConnectionExceptionObservation;
 import org.opensearch.migrations.trafficcapture.protos.EndOfMessageIndication;
@@ -476,6 +479,75 @@ class StreamChannelConnectionCaptureSerializerTest {
         Assertions.assertEquals(groundTruth, reconstitutedTrafficStream);
     }
 
+    @Test
+    public void testPayloadsAreCompressedWithTheDictionary() throws IOException, ExecutionException,
+        InterruptedException {
+        var samples = new ArrayList<byte[]>();
+        for (int i = 0; i < 2000; ++i) {
+            samples.add(makeSearchRequest(i).getBytes(StandardCharsets.UTF_8));
+        }
+        var dictionary = CaptureCompressionDictionary.train(samples, 16 * 1024);
+        var outputBuffersCreated = new ConcurrentLinkedQueue<ByteBuffer>();
+        var serializer = new StreamChannelConnectionCaptureSerializer<>(
+            TEST_NODE_ID_STRING,
+            TEST_TRAFFIC_STREAM_ID_STRING,
+            new StreamManager(1024 * 1024, outputBuffersCreated),
+            dictionary
+        );
+
+        var request = makeSearchRequest(123_456).getBytes(StandardCharsets.UTF_8);
+        var requestBuf = Unpooled.wrappedBuffer(request);
+        serializer.addReadEvent(REFERENCE_TIMESTAMP, requestBuf);
+        var shortResponseBuf = Unpooled.wrappedBuffer(FAKE_READ_PACKET_DATA.getBytes(StandardCharsets.UTF_8));
+        serializer.addWriteEvent(REFERENCE_TIMESTAMP, shortResponseBuf);
+        serializer.flushCommitAndResetStream(true).get();
+        requestBuf.release();
+        shortResponseBuf.release();
+
+        var trafficStream = TrafficStream.parseFrom(outputBuffersCreated.peek());
+        var read = trafficStream.getSubStream(0).getRead();
+        Assertions.assertEquals(dictionary.getId(), read.getZstdDictionaryId());
+        Assertions.assertTrue(read.getData().size() < request.length);
+        Assertions.assertFalse(trafficStream.getSubStream(1).getWrite().hasZstdDictionaryId());
+
+        var decompressed = CaptureCompressionDictionaries.of(List.of(dictionary)).decompressObservations(trafficStream);
+        Assertions.assertArrayEquals(request, decompressed.getSubStream(0).getRead().getData().toByteArray());
+        Assertions.assertFalse(decompressed.getSubStream(0).getRead().hasZstdDictionaryId());
+        Assertions.assertEquals(trafficStream.getSubStream(1), decompressed.getSubStream(1));
+    }
+
+    @Test
+    public void testDifferentDictionariesWithTheSameIdAreRefused() throws IOException {
+        var samples = new ArrayList<byte[]>();
+        for (int i = 0; i < 2000; ++i) {
+            samples.add(makeSearchRequest(i).getBytes(StandardCharsets.UTF_8));
+        }
+        var dictionary = CaptureCompressionDictionary.train(samples, 16 * 1024);
+        var dictionaryFile = Files.createTempFile("capture", ".dict");
+        byte[] dictionaryBytes;
+        try {
+            dictionary.save(dictionaryFile);
+            dictionaryBytes = Files.readAllBytes(dictionaryFile);
+        } finally {
+            Files.delete(dictionaryFile);
+        }
+        // The id lives in the header, so changing the trailing content keeps it
+        dictionaryBytes[dictionaryBytes.length - 1] ^= 1;
+        var sameId = CaptureCompressionDictionary.fromBytes(dictionaryBytes);
+        Assertions.assertEquals(dictionary.getId(), sameId.getId());
+
+        Assertions.assertDoesNotThrow(() -> CaptureCompressionDictionaries.of(List.of(dictionary, dictionary)));
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> CaptureCompressionDictionaries.of(List.of(dictionary, sameId)));
+    }
+
+    private static String makeSearchRequest(int i) {
+        return "POST /logs-" + (i % 7) + "/_search HTTP/1.1\r\n"
+            + "Host: localhost:9200\r\nContent-Type: application/json\r\nContent-Length: 128\r\n\r\n"
+            + "{\"query\":{\"bool\":{\"filter\":[{\"term\":{\"service.name\":\"svc-" + (i % 13) + "\"}},"
+            + "{\"range\":{\"@timestamp\":{\"gte\":\"now-" + (i % 60) + "m\"}}}]}},\"size\":" + (i % 100) + "}";
+    }
+
     @Test
     public void testEndOfSegmentsIndicationAddedWhenChunking() throws IOException, ExecutionException,
         InterruptedException {
@@ -0,0 +1,99 @@
+package org.opensearch.migrations.trafficcapture.compression;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.opensearch.migrations.trafficcapture.protos.ReadObservation;
+import org.opensearch.migrations.trafficcapture.protos.TrafficObservation;
+import org.opensearch.migrations.trafficcapture.protos.TrafficStream;
+import org.opensearch.migrations.trafficcapture.protos.WriteObservation;
+
+import com.google.protobuf.ByteString;
+
+/**
+ * The dictionaries that a consumer of captured traffic can decode compressed observations with, keyed by their
+ * ids.  Capture proxies may move to a newly trained dictionary at any time, so a consumer should be given every
+ * dictionary that was in use while the traffic it reads was being captured.
+ */
+public final class CaptureCompressionDictionaries {
+    public static final CaptureCompressionDictionaries NONE = new CaptureCompressionDictionaries(Map.of());
+
+    private final Map<Integer, CaptureCompressionDictionary> dictionariesById;
+
+    private CaptureCompressionDictionaries(Map<Integer, CaptureCompressionDictionary> dictionariesById) {
+        this.dictionariesById = dictionariesById;
+    }
+
+    /**
+     * @throws IllegalArgumentException if two different dictionaries share an id, since observations compressed
+     * with either couldn't be told apart
+     */
+    public static CaptureCompressionDictionaries of(Collection<CaptureCompressionDictionary> dictionaries) {
+        var byId = new HashMap<Integer, CaptureCompressionDictionary>();
+        for (var dictionary : dictionaries) {
+            var existing = byId.putIfAbsent(dictionary.getId(), dictionary);
+            if (existing != null && existing != dictionary && !existing.hasSameBytesAs(dictionary)) {
+                throw new IllegalArgumentException(
+                    "Two different capture compression dictionaries have the id "
+                        + Integer.toUnsignedString(dictionary.getId())
+                );
+            }
+        }
+        return new CaptureCompressionDictionaries(Map.copyOf(byId));
+    }
+
+    /** @see #of */
+    public static CaptureCompressionDictionaries load(Collection<Path> paths) throws IOException {
+        var dictionaries = new ArrayList<CaptureCompressionDictionary>();
+        for (var path : paths) {
+            dictionaries.add(CaptureCompressionDictionary.load(path));
+        }
+        return of(dictionaries);
+    }
+
+    /**
+     * @return the stream with the data of every compressed read and write observation decompressed, or the
+     * stream itself when it has no compressed observations
+     * @throws IllegalStateException if an observation was compressed with a dictionary that isn't available
+     */
+    public TrafficStream decompressObservations(TrafficStream trafficStream) {
+        TrafficStream.Builder builder = null;
+        for (int i = 0; i < trafficStream.getSubStreamCount(); i++) {
+            var observation = trafficStream.getSubStream(i);
+            TrafficObservation decompressed = null;
+            if (observation.hasRead() && observation.getRead().hasZstdDictionaryId()) {
+                var read = observation.getRead();
+                decompressed = observation.toBuilder()
+                    .setRead(ReadObservation.newBuilder().setData(decompress(read.getZstdDictionaryId(), read.getData())))
+                    .build();
+            } else if (observation.hasWrite() && observation.getWrite().hasZstdDictionaryId()) {
+                var write = observation.getWrite();
+                decompressed = observation.toBuilder()
+                    .setWrite(WriteObservation.newBuilder().setData(decompress(write.getZstdDictionaryId(), write.getData())))
+                    .build();
+            }
+            if (decompressed != null) {
+                if (builder == null) {
+                    builder = trafficStream.toBuilder();
+                }
+                builder.setSubStream(i, decompressed);
+            }
+        }
+        return builder == null ? trafficStream : builder.build();
+    }
+
+    private ByteString decompress(int dictionaryId, ByteString data) {
+        var dictionary = dictionariesById.get(dictionaryId);
+        if (dictionary == null) {
+            throw new IllegalStateException(
+                "Captured data was compressed with dictionary " + Integer.toUnsignedString(dictionaryId)
+                    + ", which hasn't been loaded"
+            );
+        }
+        return ByteString.copyFrom(dictionary.decompress(data.toByteArray()));
+    }
+}
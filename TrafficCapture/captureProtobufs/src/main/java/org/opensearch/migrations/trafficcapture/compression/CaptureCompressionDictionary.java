@@ -0,0 +1,116 @@
+package org.opensearch.migrations.trafficcapture.compression;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import com.github.luben.zstd.Zstd;
+import com.github.luben.zstd.ZstdCompressCtx;
+import com.github.luben.zstd.ZstdDecompressCtx;
+import com.github.luben.zstd.ZstdDictCompress;
+import com.github.luben.zstd.ZstdDictDecompress;
+import com.github.luben.zstd.ZstdDictTrainer;
+
+/**
+ * A zstd dictionary for compressing captured read and write payloads.  Dictionaries are trained from a sample
+ * of the payloads that a cluster actually receives and sends, so that the JSON keys, headers and paths that
+ * repeat across requests cost next to nothing once compressed.
+ * <p>
+ * Every dictionary carries the id that zstd assigned to it when it was trained.  Compressed observations record
+ * that id, which lets a replayer that has been given several dictionaries pick the one an observation needs, so
+ * the id must be nonzero and no two dictionaries in use together may share one.
+ * <p>
+ * Deployed dictionaries are trained offline with the zstd command line, which writes the same format that
+ * {@link #load} reads and assigns a random id unless one is given with {@code --dictID}; see the capture proxy's
+ * README.  {@link #train} does the same from code, for tools and tests that already hold the samples in memory.
+ */
+public final class CaptureCompressionDictionary {
+    public static final int COMPRESSION_LEVEL = 3;
+
+    private final int id;
+    private final byte[] dictionaryBytes;
+    private final ThreadLocal<ZstdCompressCtx> compressContexts;
+    private final ThreadLocal<ZstdDecompressCtx> decompressContexts;
+
+    private CaptureCompressionDictionary(int id, byte[] dictionaryBytes) {
+        this.id = id;
+        this.dictionaryBytes = dictionaryBytes;
+        var compressDictionary = new ZstdDictCompress(dictionaryBytes, COMPRESSION_LEVEL);
+        var decompressDictionary = new ZstdDictDecompress(dictionaryBytes);
+        // zstd contexts aren't thread-safe, but capture and replay each touch them from a fixed set of threads
+        this.compressContexts = ThreadLocal.withInitial(() -> {
+            var ctx = new ZstdCompressCtx();
+            ctx.setLevel(COMPRESSION_LEVEL);
+            ctx.loadDict(compressDictionary);
+            return ctx;
+        });
+        this.decompressContexts = ThreadLocal.withInitial(() -> {
+            var ctx = new ZstdDecompressCtx();
+            ctx.loadDict(decompressDictionary);
+            return ctx;
+        });
+    }
+
+    /**
+     * @param samples payloads representative of the traffic that will be compressed
+     * @param maxDictionarySize upper bound on the size of the trained dictionary, typically 16-112KB
+     */
+    public static CaptureCompressionDictionary train(Iterable<byte[]> samples, int maxDictionarySize) {
+        long totalSampleBytes = 0;
+        for (var sample : samples) {
+            totalSampleBytes += sample.length;
+        }
+        if (totalSampleBytes == 0 || totalSampleBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Can't train a dictionary from " + totalSampleBytes + " sample bytes");
+        }
+        var trainer = new ZstdDictTrainer((int) totalSampleBytes, maxDictionarySize);
+        for (var sample : samples) {
+            trainer.addSample(sample);
+        }
+        return fromBytes(trainer.trainSamples());
+    }
+
+    public static CaptureCompressionDictionary fromBytes(byte[] dictionaryBytes) {
+        var id = Zstd.getDictIdFromDict(dictionaryBytes);
+        if (id == 0) {
+            throw new IllegalArgumentException(
+                "Capture compression dictionaries must be trained zstd dictionaries with a dictionary id"
+            );
+        }
+        return new CaptureCompressionDictionary((int) id, dictionaryBytes);
+    }
+
+    public static CaptureCompressionDictionary load(Path path) throws IOException {
+        return fromBytes(Files.readAllBytes(path));
+    }
+
+    public void save(Path path) throws IOException {
+        Files.write(path, dictionaryBytes);
+    }
+
+    boolean hasSameBytesAs(CaptureCompressionDictionary other) {
+        return Arrays.equals(dictionaryBytes, other.dictionaryBytes);
+    }
+
+    /**
+     * @return the id that zstd assigned to this dictionary, as an unsigned 32-bit value
+     */
+    public int getId() {
+        return id;
+    }
+
+    public byte[] compress(byte[] data) {
+        return compressContexts.get().compress(data);
+    }
+
+    public byte[] decompress(byte[] zstdFrame) {
+        var originalSize = Zstd.getFrameContentSize(zstdFrame);
+        if (originalSize < 0 || originalSize > Integer.MAX_VALUE) {
+            throw new IllegalStateException(
+                "Compressed capture payload doesn't declare a usable content size (" + originalSize + ")"
+            );
+        }
+        return decompressContexts.get().decompress(zstdFrame, (int) originalSize);
+    }
+}
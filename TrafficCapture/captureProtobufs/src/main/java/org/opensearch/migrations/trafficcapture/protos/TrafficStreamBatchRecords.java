@@ -0,0 +1,14 @@
+package org.opensearch.migrations.trafficcapture.protos;
+
+/**
+ * How a {@link TrafficStreamBatch} is told apart from a single {@link TrafficStream} when both share a Kafka topic.
+ */
+public final class TrafficStreamBatchRecords {
+    /**
+     * Header on Kafka records whose value is a TrafficStreamBatch rather than a single TrafficStream.  Its value
+     * is the number of TrafficStreams in the batch.
+     */
+    public static final String KAFKA_HEADER = "trafficStreamBatch";
+
+    private TrafficStreamBatchRecords() {}
+}
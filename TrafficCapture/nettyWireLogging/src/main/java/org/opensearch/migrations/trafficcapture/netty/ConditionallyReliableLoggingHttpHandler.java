@@ -40,7 +40,8 @@ public class ConditionallyReliableLoggingHttpHandler<T> extends LoggingHttpHandl
         if (shouldCapture && shouldBlockPredicate.test(httpRequest)) {
             ((IWireCaptureContexts.IRequestContext) messageContext).onBlockingRequest();
             messageContext = messageContext.createBlockingContext();
-            trafficOffloader.flushCommitAndResetStream(false).whenComplete((result, t) -> {
+            // The request is held until this completes, so it shouldn't wait to be batched with other streams
+            trafficOffloader.flushCommitAndResetStream(false, true).whenComplete((result, t) -> {
                 log.atInfo().setMessage("Done flushing").log();
 
                 if (t != null) {
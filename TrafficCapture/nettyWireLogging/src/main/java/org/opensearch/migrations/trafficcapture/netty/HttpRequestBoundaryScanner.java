@@ -0,0 +1,394 @@
+package org.opensearch.migrations.trafficcapture.netty;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.handler.codec.http.DefaultHttpRequest;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpUtil;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.util.ByteProcessor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Finds where each HTTP/1.x request on a connection starts, where its headers end and where its body ends,
+ * without decoding the requests into HttpObjects.  The request line is always parsed, but only the headers
+ * named by {@link PassThruHttpHeaders.HttpHeadersToPreserve} are copied out of the stream; every other header
+ * line is skipped over as soon as its name can't match.  Bodies are skipped by arithmetic on the
+ * Content-Length and chunk sizes rather than by reading them, and trailers are skipped the same way as
+ * unpreserved headers.
+ *
+ * <p>Lengths and limits follow HttpObjectDecoder's defaults so that the same requests are accepted and the
+ * same initial line and header sizes are reported.  Once a request is malformed, the rest of the connection
+ * is ignored, just as HttpObjectDecoder ignores everything after a bad message.
+ *
+ * <p>Scanning never moves the reader index of the buffers that it's given.
+ */
+@Slf4j
+class HttpRequestBoundaryScanner implements ByteProcessor {
+    static final int MAX_INITIAL_LINE_LENGTH = 4096;
+    static final int MAX_HEADER_SIZE = 8192;
+    private static final int INITIAL_LINE_BUFFER_SIZE = 256;
+
+    interface Listener {
+        /**
+         * Called once the headers of a request have been read.
+         * @param initialLineLength the length of the request line, excluding its line terminator
+         * @param headersLength the total length of the header lines, excluding their line terminators
+         */
+        void onRequestHeaders(HttpRequest request, int initialLineLength, int headersLength);
+
+        /** Called once the last byte of the request that was last passed to onRequestHeaders has been scanned */
+        void onRequestComplete();
+
+        /** Called when the stream stops being valid HTTP, after which nothing more is reported */
+        void onMalformedRequest(String reason);
+    }
+
+    private enum State {
+        SKIP_CONTROL_CHARS,
+        REQUEST_LINE,
+        HEADER_LINE_START,
+        HEADER_NAME,
+        HEADER_VALUE,
+        SKIP_HEADER_LINE,
+        FIXED_LENGTH_BODY,
+        CHUNK_SIZE,
+        CHUNK_EXTENSION,
+        CHUNK_DATA,
+        CHUNK_DATA_END,
+        TRAILER_LINE_START,
+        SKIP_TRAILER_LINE,
+        BAD_MESSAGE
+    }
+
+    private final PassThruHttpHeaders.HttpHeadersToPreserve headersToPreserve;
+    /** The lower-cased names of the headers to preserve, which are all that header names are compared with */
+    private final byte[][] preservedHeaderNames;
+    private final int longestPreservedHeaderName;
+    private final Listener listener;
+
+    private State state = State.SKIP_CONTROL_CHARS;
+    private byte[] lineBuffer = new byte[INITIAL_LINE_BUFFER_SIZE];
+    private int lineBufferLength;
+    private int lineLength;
+    private boolean previousByteWasCr;
+
+    private String method;
+    private String uri;
+    private String protocolVersion;
+    private PassThruHttpHeaders headers;
+    private int initialLineLength;
+    private int headersLength;
+    private String pendingHeaderName;
+    private String pendingHeaderValue;
+    private long remainingBodyBytes;
+    private int chunkSizeDigits;
+
+    HttpRequestBoundaryScanner(PassThruHttpHeaders.HttpHeadersToPreserve headersToPreserve, Listener listener) {
+        this.headersToPreserve = headersToPreserve;
+        this.listener = listener;
+        this.preservedHeaderNames = headersToPreserve.getHeaderNames().stream()
+            .map(name -> toLowerCaseAscii(name.getBytes(StandardCharsets.ISO_8859_1)))
+            .toArray(byte[][]::new);
+        this.longestPreservedHeaderName = Arrays.stream(preservedHeaderNames).mapToInt(n -> n.length).max().orElse(0);
+    }
+
+    private static byte[] toLowerCaseAscii(byte[] bytes) {
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = toLowerCaseAscii(bytes[i]);
+        }
+        return bytes;
+    }
+
+    private static byte toLowerCaseAscii(byte b) {
+        return b >= 'A' && b <= 'Z' ? (byte) (b + ('a' - 'A')) : b;
+    }
+
+    /**
+     * Scans the readable bytes of the buffer, which must directly follow the bytes of the previous call.
+     */
+    void scan(ByteBuf buffer) {
+        var index = buffer.readerIndex();
+        var end = buffer.writerIndex();
+        while (index < end && state != State.BAD_MESSAGE) {
+            if (state == State.FIXED_LENGTH_BODY || state == State.CHUNK_DATA) {
+                var skipped = (int) Math.min(remainingBodyBytes, end - (long) index);
+                index += skipped;
+                remainingBodyBytes -= skipped;
+                if (remainingBodyBytes == 0) {
+                    if (state == State.FIXED_LENGTH_BODY) {
+                        completeRequest();
+                    } else {
+                        startLine(State.CHUNK_DATA_END);
+                    }
+                }
+            } else {
+                var stoppedAt = buffer.forEachByte(index, end - index, this);
+                if (stoppedAt < 0) {
+                    return;
+                }
+                index = stoppedAt + 1;
+            }
+        }
+    }
+
+    /**
+     * @return false once the byte moves the scanner into a state that isn't scanned byte-by-byte
+     */
+    @Override
+    public boolean process(byte value) {
+        if (state == State.SKIP_CONTROL_CHARS) {
+            if (Character.isISOControl(value) || Character.isWhitespace(value)) {
+                return true;
+            }
+            startLine(State.REQUEST_LINE);
+        }
+        if (value != '\n') {
+            lineLength++;
+            previousByteWasCr = value == '\r';
+            return processLineByte(value);
+        }
+        var completedLineLength = previousByteWasCr ? lineLength - 1 : lineLength;
+        previousByteWasCr = false;
+        return processEndOfLine(completedLineLength);
+    }
+
+    private boolean processLineByte(byte value) {
+        switch (state) {
+            case REQUEST_LINE:
+                if (lineLength > MAX_INITIAL_LINE_LENGTH) {
+                    return malformed("the request line is longer than " + MAX_INITIAL_LINE_LENGTH + " bytes");
+                }
+                appendToLine(value);
+                return true;
+            case HEADER_LINE_START:
+                return processHeaderLineStart(value);
+            case HEADER_NAME:
+                return processHeaderNameByte(value);
+            case HEADER_VALUE:
+                appendToLine(value);
+                return checkHeadersLength();
+            case SKIP_HEADER_LINE:
+                return checkHeadersLength();
+            case CHUNK_SIZE:
+                return processChunkSizeByte(value);
+            default:
+                // the rest of chunk-size lines, the CRLF after chunk data, and trailer lines are all skipped
+                if (state == State.TRAILER_LINE_START && value != '\r') {
+                    state = State.SKIP_TRAILER_LINE;
+                }
+                return true;
+        }
+    }
+
+    private boolean processHeaderLineStart(byte value) {
+        if (value == '\r') {
+            return true;
+        }
+        if (value == ' ' || value == '\t') {
+            // an obsolete folded continuation of the previous header's value
+            state = pendingHeaderName != null ? State.HEADER_VALUE : State.SKIP_HEADER_LINE;
+            lineBufferLength = 0;
+            return checkHeadersLength();
+        }
+        commitPendingHeader();
+        state = State.HEADER_NAME;
+        lineBufferLength = 0;
+        return processHeaderNameByte(value);
+    }
+
+    private boolean processHeaderNameByte(byte value) {
+        if (value == ':') {
+            var preservedName = findPreservedHeaderName();
+            if (preservedName == null) {
+                state = State.SKIP_HEADER_LINE;
+            } else {
+                pendingHeaderName = preservedName;
+                pendingHeaderValue = "";
+                state = State.HEADER_VALUE;
+                lineBufferLength = 0;
+            }
+        } else if (lineBufferLength >= longestPreservedHeaderName) {
+            // longer than any name being looked for, so it can't be one of them
+            state = State.SKIP_HEADER_LINE;
+        } else {
+            appendToLine(toLowerCaseAscii(value));
+        }
+        return checkHeadersLength();
+    }
+
+    private String findPreservedHeaderName() {
+        for (var name : preservedHeaderNames) {
+            if (Arrays.equals(name, 0, name.length, lineBuffer, 0, lineBufferLength)) {
+                return new String(name, StandardCharsets.ISO_8859_1);
+            }
+        }
+        return null;
+    }
+
+    private boolean processChunkSizeByte(byte value) {
+        if (value == ';' || value == ' ' || value == '\t') {
+            state = State.CHUNK_EXTENSION;
+            return true;
+        } else if (value == '\r') {
+            return true;
+        }
+        var digit = Character.digit(value, 16);
+        if (digit < 0) {
+            return malformed("a chunk size contains '" + (char) (value & 0xff) + "'");
+        } else if (remainingBodyBytes > (Long.MAX_VALUE >> 4)) {
+            return malformed("a chunk size overflows");
+        }
+        remainingBodyBytes = (remainingBodyBytes << 4) + digit;
+        chunkSizeDigits++;
+        return true;
+    }
+
+    private boolean processEndOfLine(int completedLineLength) {
+        switch (state) {
+            case REQUEST_LINE:
+                return processRequestLine(completedLineLength);
+            case HEADER_LINE_START:
+                if (completedLineLength > 0) {
+                    return malformed("a header line contains a bare carriage return");
+                }
+                return processEndOfHeaders();
+            case HEADER_NAME:
+            case SKIP_HEADER_LINE:
+                headersLength += completedLineLength;
+                startLine(State.HEADER_LINE_START);
+                return true;
+            case HEADER_VALUE:
+                headersLength += completedLineLength;
+                var valuePart = new String(lineBuffer, 0, lineBufferLength, StandardCharsets.ISO_8859_1).strip();
+                pendingHeaderValue = pendingHeaderValue.isEmpty() || valuePart.isEmpty()
+                    ? pendingHeaderValue + valuePart
+                    : pendingHeaderValue + " " + valuePart;
+                startLine(State.HEADER_LINE_START);
+                return true;
+            case CHUNK_SIZE:
+            case CHUNK_EXTENSION:
+                if (chunkSizeDigits == 0) {
+                    return malformed("a chunk size line has no size");
+                }
+                if (remainingBodyBytes == 0) {
+                    startLine(State.TRAILER_LINE_START);
+                    return true;
+                }
+                state = State.CHUNK_DATA;
+                return false;
+            case CHUNK_DATA_END:
+                startChunkSizeLine();
+                return true;
+            case TRAILER_LINE_START:
+                completeRequest();
+                return true;
+            case SKIP_TRAILER_LINE:
+                startLine(State.TRAILER_LINE_START);
+                return true;
+            default:
+                throw new IllegalStateException("Unexpected end of line while in state " + state);
+        }
+    }
+
+    private boolean processRequestLine(int completedLineLength) {
+        var requestLine = new String(lineBuffer, 0, lineBufferLength, StandardCharsets.ISO_8859_1).strip();
+        var parts = requestLine.split("[ \t]+", 3);
+        if (parts.length < 3) {
+            return malformed("the request line isn't a method, uri and version: " + requestLine);
+        }
+        method = parts[0];
+        uri = parts[1];
+        protocolVersion = parts[2];
+        initialLineLength = completedLineLength;
+        headersLength = 0;
+        headers = new PassThruHttpHeaders(headersToPreserve);
+        startLine(State.HEADER_LINE_START);
+        return true;
+    }
+
+    private boolean processEndOfHeaders() {
+        commitPendingHeader();
+        HttpRequest request;
+        long contentLength;
+        try {
+            request = new DefaultHttpRequest(
+                HttpVersion.valueOf(protocolVersion),
+                HttpMethod.valueOf(method),
+                uri,
+                headers
+            );
+            contentLength = HttpUtil.getContentLength(request, -1L);
+        } catch (IllegalArgumentException e) {
+            return malformed(e.getMessage());
+        }
+        headers = null;
+        listener.onRequestHeaders(request, initialLineLength, headersLength);
+
+        if (HttpUtil.isTransferEncodingChunked(request)) {
+            startChunkSizeLine();
+            return true;
+        } else if (contentLength > 0) {
+            remainingBodyBytes = contentLength;
+            state = State.FIXED_LENGTH_BODY;
+            return false;
+        }
+        completeRequest();
+        return true;
+    }
+
+    private void commitPendingHeader() {
+        if (pendingHeaderName != null) {
+            headers.add(pendingHeaderName, pendingHeaderValue);
+            pendingHeaderName = null;
+            pendingHeaderValue = null;
+        }
+    }
+
+    private boolean checkHeadersLength() {
+        if (headersLength + lineLength > MAX_HEADER_SIZE) {
+            return malformed("the headers are longer than " + MAX_HEADER_SIZE + " bytes");
+        }
+        return true;
+    }
+
+    private void startChunkSizeLine() {
+        remainingBodyBytes = 0;
+        chunkSizeDigits = 0;
+        startLine(State.CHUNK_SIZE);
+    }
+
+    private void startLine(State lineState) {
+        state = lineState;
+        lineLength = 0;
+        lineBufferLength = 0;
+        previousByteWasCr = false;
+    }
+
+    private void appendToLine(byte value) {
+        if (lineBufferLength == lineBuffer.length) {
+            lineBuffer = Arrays.copyOf(lineBuffer, lineBuffer.length * 2);
+        }
+        lineBuffer[lineBufferLength++] = value;
+    }
+
+    private void completeRequest() {
+        state = State.SKIP_CONTROL_CHARS;
+        remainingBodyBytes = 0;
+        listener.onRequestComplete();
+    }
+
+    private boolean malformed(String reason) {
+        log.atDebug().setMessage("Ignoring the rest of a connection after a malformed request: {}")
+            .addArgument(reason)
+            .log();
+        state = State.BAD_MESSAGE;
+        headers = null;
+        pendingHeaderName = null;
+        listener.onMalformedRequest(reason);
+        return false;
+    }
+}
@@ -11,18 +11,8 @@ import org.opensearch.migrations.trafficcapture.netty.tracing.IWireCaptureContex
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelDuplexHandler;
 import io.netty.channel.ChannelHandlerContext;
-import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.channel.ChannelPromise;
-import io.netty.channel.embedded.EmbeddedChannel;
-import io.netty.handler.codec.http.DefaultHttpRequest;
-import io.netty.handler.codec.http.HttpContent;
-import io.netty.handler.codec.http.HttpMessage;
-import io.netty.handler.codec.http.HttpMessageDecoderResult;
-import io.netty.handler.codec.http.HttpMethod;
 import io.netty.handler.codec.http.HttpRequest;
-import io.netty.handler.codec.http.HttpRequestDecoder;
-import io.netty.handler.codec.http.HttpVersion;
-import io.netty.handler.codec.http.LastHttpContent;
 import lombok.Getter;
 import lombok.Lombok;
 import lombok.NonNull;
@@ -58,50 +48,20 @@ public class LoggingHttpHandler<T> extends ChannelDuplexHandler {
         }
     }
 
-    static class SimpleHttpRequestDecoder extends HttpRequestDecoder {
-        private final PassThruHttpHeaders.HttpHeadersToPreserve headersToPreserve;
-        private final CaptureState captureState;
-
-        public SimpleHttpRequestDecoder(
-            @NonNull PassThruHttpHeaders.HttpHeadersToPreserve headersToPreserve,
-            CaptureState captureState
-        ) {
-            this.headersToPreserve = headersToPreserve;
-            this.captureState = captureState;
-        }
-
-        /**
-         * Override this so that the HttpHeaders object can be a cheaper one.  PassThruHeaders
-         * only stores a handful of headers that are required for parsing the payload portion
-         * of an HTTP Message.
-         */
-        @Override
-        public HttpMessage createMessage(String[] initialLine) throws Exception {
-            return new DefaultHttpRequest(
-                HttpVersion.valueOf(initialLine[2]),
-                HttpMethod.valueOf(initialLine[0]),
-                initialLine[1],
-                new PassThruHttpHeaders(headersToPreserve)
-            );
-        }
-
-        @Override
-        public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
-            if (captureState.captureIgnoreState == CaptureIgnoreState.IGNORE_RESPONSE) {
-                captureState.captureIgnoreState = CaptureIgnoreState.CAPTURE;
-            }
-            super.channelRead(ctx, msg);
-        }
-    }
-
-    static class SimpleDecodedHttpRequestHandler extends ChannelInboundHandlerAdapter {
+    /**
+     * Tracks the request that the scanner is in the middle of and applies the capture predicate to it as soon
+     * as its headers have been read.
+     */
+    static class ScannedHttpRequestHandler implements HttpRequestBoundaryScanner.Listener {
         @Getter
         private HttpRequest currentRequest;
         final RequestCapturePredicate requestCapturePredicate;
         boolean haveParsedFullRequest;
+        int initialLineLength;
+        int headersLength;
         final CaptureState captureState;
 
-        SimpleDecodedHttpRequestHandler(RequestCapturePredicate requestCapturePredicate, CaptureState captureState) {
+        ScannedHttpRequestHandler(RequestCapturePredicate requestCapturePredicate, CaptureState captureState) {
             this.requestCapturePredicate = requestCapturePredicate;
             this.currentRequest = null;
             this.haveParsedFullRequest = false;
@@ -109,19 +69,26 @@ public class LoggingHttpHandler<T> extends ChannelDuplexHandler {
         }
 
         @Override
-        public void channelRead(@NonNull ChannelHandlerContext ctx, @NonNull Object msg) throws Exception {
-            if (msg instanceof HttpRequest) {
-                currentRequest = (HttpRequest) msg;
-                captureState.setShouldCaptureForRequest(
-                    RequestCapturePredicate.CaptureDirective.CAPTURE == requestCapturePredicate.apply((HttpRequest) msg)
-                );
-            } else if (msg instanceof HttpContent) {
-                ((HttpContent) msg).release();
-                if (msg instanceof LastHttpContent) {
-                    haveParsedFullRequest = true;
-                }
-            } else {
-                super.channelRead(ctx, msg);
+        public void onRequestHeaders(HttpRequest request, int initialLineLength, int headersLength) {
+            currentRequest = request;
+            this.initialLineLength = initialLineLength;
+            this.headersLength = headersLength;
+            captureState.setShouldCaptureForRequest(
+                RequestCapturePredicate.CaptureDirective.CAPTURE == requestCapturePredicate.apply(request)
+            );
+        }
+
+        @Override
+        public void onRequestComplete() {
+            haveParsedFullRequest = true;
+        }
+
+        @Override
+        public void onMalformedRequest(String reason) {
+            // A request whose headers were read keeps the predicate's decision.  One that broke before then was
+            // never matched, so record what arrives to show what the client actually sent.
+            if (currentRequest == null) {
+                captureState.setShouldCaptureForRequest(true);
             }
         }
 
@@ -135,7 +102,9 @@ public class LoggingHttpHandler<T> extends ChannelDuplexHandler {
 
     protected final IChannelConnectionCaptureSerializer<T> trafficOffloader;
 
-    protected final EmbeddedChannel httpDecoderChannel;
+    private final ScannedHttpRequestHandler requestParsingHandler;
+
+    private final HttpRequestBoundaryScanner requestScanner;
 
     protected IWireCaptureContexts.IHttpMessageContext messageContext;
 
@@ -150,10 +119,10 @@ public class LoggingHttpHandler<T> extends ChannelDuplexHandler {
         this.messageContext = parentContext.createInitialRequestContext();
 
         this.trafficOffloader = trafficOffloaderFactory.createOffloader(parentContext);
-        var captureState = new CaptureState();
-        httpDecoderChannel = new EmbeddedChannel(
-            new SimpleHttpRequestDecoder(httpHeadersCapturePredicate.getHeadersRequiredForMatcher(), captureState),
-            new SimpleDecodedHttpRequestHandler(httpHeadersCapturePredicate, captureState)
+        this.requestParsingHandler = new ScannedHttpRequestHandler(httpHeadersCapturePredicate, new CaptureState());
+        this.requestScanner = new HttpRequestBoundaryScanner(
+            httpHeadersCapturePredicate.getHeadersRequiredForMatcher(),
+            requestParsingHandler
         );
     }
 
@@ -161,10 +130,6 @@ public class LoggingHttpHandler<T> extends ChannelDuplexHandler {
         return messageContext.getLogicalEnclosingScope();
     }
 
-    private SimpleDecodedHttpRequestHandler getHandlerThatHoldsParsedHttpRequest() {
-        return (SimpleDecodedHttpRequestHandler) httpDecoderChannel.pipeline().last();
-    }
-
     @Override
     public void channelUnregistered(ChannelHandlerContext ctx) throws Exception {
         trafficOffloader.addCloseEvent(Instant.now());
@@ -231,11 +196,13 @@ public class LoggingHttpHandler<T> extends ChannelDuplexHandler {
         }
 
         var timestamp = Instant.now();
-        var requestParsingHandler = getHandlerThatHoldsParsedHttpRequest();
         var bb = ((ByteBuf) msg);
-        httpDecoderChannel.writeInbound(bb.retainedDuplicate()); // the ByteBuf is consumed/release by this method
-
         var captureState = requestParsingHandler.captureState;
+        if (captureState.captureIgnoreState == CaptureIgnoreState.IGNORE_RESPONSE) {
+            captureState.captureIgnoreState = CaptureIgnoreState.CAPTURE;
+        }
+        requestScanner.scan(bb);
+
         var shouldCapture = captureState.shouldCapture();
         if (shouldCapture) {
             captureState.liveReadObservationsInOffloader = true;
@@ -255,18 +222,8 @@ public class LoggingHttpHandler<T> extends ChannelDuplexHandler {
             captureState.advanceStateModelIntoResponseGather();
 
             if (shouldCapture) {
-                var decoderResultLoose = httpRequest.decoderResult();
-                if (decoderResultLoose instanceof HttpMessageDecoderResult) {
-                    var decoderResult = (HttpMessageDecoderResult) decoderResultLoose;
-                    trafficOffloader.addEndOfFirstLineIndicator(decoderResult.initialLineLength());
-                    trafficOffloader.addEndOfHeadersIndicator(decoderResult.headerSize());
-                } else {
-                    log.atWarn().setMessage("HttpRequest decoder result was not an HttpMessageDecoderResult "
-                        + "(was {}). EOM will have -1 for firstLineByteLength and headersByteLength. "
-                        + "This may indicate a missing header in PassThruHttpHeaders.")
-                        .addArgument(() -> decoderResultLoose.getClass().getName())
-                        .log();
-                }
+                trafficOffloader.addEndOfFirstLineIndicator(requestParsingHandler.initialLineLength);
+                trafficOffloader.addEndOfHeadersIndicator(requestParsingHandler.headersLength);
                 trafficOffloader.commitEndOfHttpMessageIndicator(timestamp);
             }
             channelFinishedReadingAnHttpMessage(ctx, msg, shouldCapture, httpRequest);
@@ -285,7 +242,7 @@ public class LoggingHttpHandler<T> extends ChannelDuplexHandler {
         }
 
         var bb = (ByteBuf) msg;
-        if (getHandlerThatHoldsParsedHttpRequest().captureState.shouldCapture()) {
+        if (requestParsingHandler.captureState.shouldCapture()) {
             trafficOffloader.addWriteEvent(Instant.now(), bb);
         }
         responseContext.onBytesWritten(bb.readableBytes());
@@ -297,7 +254,6 @@ public class LoggingHttpHandler<T> extends ChannelDuplexHandler {
     public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) throws Exception {
         trafficOffloader.addExceptionCaughtEvent(Instant.now(), cause);
         messageContext.addCaughtException(cause);
-        httpDecoderChannel.close();
         super.exceptionCaught(ctx, cause);
     }
 
@@ -2,6 +2,7 @@ package org.opensearch.migrations.trafficcapture.netty;
 
 import java.util.Arrays;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Stream;
 
 import io.netty.handler.codec.http.DefaultHttpHeaders;
@@ -30,6 +31,10 @@ public class PassThruHttpHeaders extends DefaultHttpHeaders {
                 Optional.ofNullable(extraHeaderNames).stream().flatMap(Arrays::stream)
             ).forEach(h -> caseInsensitiveHeadersMap.add(h, ""));
         }
+
+        public Set<String> getHeaderNames() {
+            return caseInsensitiveHeadersMap.names();
+        }
     }
 
     public PassThruHttpHeaders(@NonNull HttpHeadersToPreserve headersToPreserve) {
@@ -0,0 +1,142 @@
+package org.opensearch.migrations.trafficcapture.netty;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.HttpRequest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class HttpRequestBoundaryScannerTest {
+
+    static class RecordingListener implements HttpRequestBoundaryScanner.Listener {
+        final List<HttpRequest> requests = new ArrayList<>();
+        final List<String> events = new ArrayList<>();
+
+        @Override
+        public void onRequestHeaders(HttpRequest request, int initialLineLength, int headersLength) {
+            requests.add(request);
+            events.add(
+                "headers " + request.method() + " " + request.uri() + " " + initialLineLength + " " + headersLength
+            );
+        }
+
+        @Override
+        public void onRequestComplete() {
+            events.add("complete");
+        }
+
+        @Override
+        public void onMalformedRequest(String reason) {
+            events.add("malformed");
+        }
+    }
+
+    private static RecordingListener scanInPiecesOf(int pieceSize, String traffic, String... preservedHeaders) {
+        var listener = new RecordingListener();
+        var scanner = new HttpRequestBoundaryScanner(
+            new PassThruHttpHeaders.HttpHeadersToPreserve(preservedHeaders),
+            listener
+        );
+        var bytes = traffic.getBytes(StandardCharsets.ISO_8859_1);
+        for (int i = 0; i < bytes.length; i += pieceSize) {
+            var piece = Unpooled.wrappedBuffer(bytes, i, Math.min(pieceSize, bytes.length - i));
+            scanner.scan(piece);
+            Assertions.assertEquals(0, piece.readerIndex());
+        }
+        return listener;
+    }
+
+    @Test
+    public void testContentLengthRequestIsFoundRegardlessOfHowItIsSplit() {
+        var request = "POST /idx/_doc HTTP/1.1\r\n"
+            + "Host: localhost\r\n"
+            + "Content-Length: 5\r\n"
+            + "X-Tenant: blue\r\n"
+            + "\r\n"
+            + "hello";
+        for (int pieceSize : new int[] { 1, 2, 7, request.length() }) {
+            var listener = scanInPiecesOf(pieceSize, request, "x-tenant");
+            Assertions.assertEquals(List.of("headers POST /idx/_doc 23 46", "complete"), listener.events);
+            var headers = listener.requests.get(0).headers();
+            Assertions.assertEquals("blue", headers.get("X-Tenant"));
+            Assertions.assertEquals("5", headers.get("content-length"));
+            Assertions.assertNull(headers.get("Host"));
+        }
+    }
+
+    @Test
+    public void testChunkedRequestsAndPipelinedRequestsAreDelimited() {
+        var traffic = "\r\nPUT /idx HTTP/1.1\r\n"
+            + "Transfer-Encoding: chunked\r\n"
+            + "\r\n"
+            + "4;name=value\r\n"
+            + "abcd\r\n"
+            + "A\r\n"
+            + "0123456789\r\n"
+            + "0\r\n"
+            + "X-Checksum: 1234\r\n"
+            + "\r\n"
+            + "GET /_cat/indices HTTP/1.1\n"
+            + "Host: localhost\n"
+            + "\n";
+        for (int pieceSize : new int[] { 1, 3, 16, traffic.length() }) {
+            var listener = scanInPiecesOf(pieceSize, traffic);
+            Assertions.assertEquals(
+                List.of("headers PUT /idx 17 26", "complete", "headers GET /_cat/indices 26 15", "complete"),
+                listener.events
+            );
+            Assertions.assertEquals("chunked", listener.requests.get(0).headers().get("transfer-encoding"));
+        }
+    }
+
+    @Test
+    public void testNothingIsReportedAfterAMalformedRequest() {
+        var traffic = "GARBAGE\r\n\r\nGET / HTTP/1.1\r\n\r\n";
+        var listener = scanInPiecesOf(4, traffic);
+        Assertions.assertEquals(List.of("malformed"), listener.events);
+    }
+
+    @Test
+    public void testAnInvalidChunkSizeAfterTheHeadersIsMalformed() {
+        var traffic = "POST /idx/_bulk HTTP/1.1\r\n"
+            + "Transfer-Encoding: chunked\r\n"
+            + "\r\n"
+            + "4\r\n"
+            + "abcd\r\n"
+            + "zz\r\n"
+            + "0123\r\n"
+            + "0\r\n"
+            + "\r\n"
+            + "GET / HTTP/1.1\r\n\r\n";
+        for (int pieceSize : new int[] { 1, 5, traffic.length() }) {
+            var listener = scanInPiecesOf(pieceSize, traffic);
+            Assertions.assertEquals(List.of("headers POST /idx/_bulk 24 26", "malformed"), listener.events);
+        }
+    }
+
+    @Test
+    public void testAMalformedRequestKeepsThePredicatesDecisionOnceItsHeadersWereRead() {
+        var dropEverything = new RequestCapturePredicate() {
+            @Override
+            public CaptureDirective apply(HttpRequest request) {
+                return CaptureDirective.DROP;
+            }
+        };
+        var captureState = new LoggingHttpHandler.CaptureState();
+        var handler = new LoggingHttpHandler.ScannedHttpRequestHandler(dropEverything, captureState);
+        var scanner = new HttpRequestBoundaryScanner(dropEverything.getHeadersRequiredForMatcher(), handler);
+        var traffic = "POST /idx/_bulk HTTP/1.1\r\nTransfer-Encoding: chunked\r\n\r\nzz\r\n";
+        scanner.scan(Unpooled.wrappedBuffer(traffic.getBytes(StandardCharsets.ISO_8859_1)));
+        Assertions.assertFalse(captureState.shouldCapture());
+
+        captureState = new LoggingHttpHandler.CaptureState();
+        handler = new LoggingHttpHandler.ScannedHttpRequestHandler(dropEverything, captureState);
+        scanner = new HttpRequestBoundaryScanner(dropEverything.getHeadersRequiredForMatcher(), handler);
+        captureState.setShouldCaptureForRequest(false);
+        scanner.scan(Unpooled.wrappedBuffer("GARBAGE\r\n".getBytes(StandardCharsets.ISO_8859_1)));
+        Assertions.assertTrue(captureState.shouldCapture());
+    }
+}
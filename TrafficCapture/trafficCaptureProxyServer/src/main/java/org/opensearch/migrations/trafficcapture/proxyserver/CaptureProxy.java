@@ -9,6 +9,7 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -33,9 +34,13 @@ import org.opensearch.migrations.trafficcapture.FileConnectionCaptureFactory;
 import org.opensearch.migrations.trafficcapture.IConnectionCaptureFactory;
 import org.opensearch.migrations.trafficcapture.StreamChannelConnectionCaptureSerializer;
 import org.opensearch.migrations.trafficcapture.StreamLifecycleManager;
+import org.opensearch.migrations.trafficcapture.compression.CaptureCompressionDictionary;
 import org.opensearch.migrations.trafficcapture.kafkaoffloader.KafkaCaptureFactory;
 import org.opensearch.migrations.trafficcapture.kafkaoffloader.KafkaConfig;
 import org.opensearch.migrations.trafficcapture.kafkaoffloader.KafkaConfig.KafkaParameters;
+import org.opensearch.migrations.trafficcapture.kafkaoffloader.spill.CaptureSpillLog;
+import org.opensearch.migrations.trafficcapture.kafkaoffloader.spill.CaptureSpillLogShipper;
+import org.opensearch.migrations.trafficcapture.kafkaoffloader.spill.SpillLogCaptureFactory;
 import org.opensearch.migrations.trafficcapture.netty.HeaderValueFilteringCapturePredicate;
 import org.opensearch.migrations.trafficcapture.netty.RequestCapturePredicate;
 import org.opensearch.migrations.trafficcapture.proxyserver.netty.BacksideConnectionPool;
@@ -52,6 +57,7 @@ import com.beust.jcommander.ParametersDelegate;
 import com.google.protobuf.CodedOutputStream;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.handler.ssl.SslContext;
@@ -60,9 +66,12 @@ import io.netty.handler.ssl.util.InsecureTrustManagerFactory;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.Producer;
 
 @Slf4j
 public class CaptureProxy {
+    /** Spill log segments are memory-mapped whole, so their size in bytes has to fit in an int */
+    static final int MAX_CAPTURE_SPILL_SEGMENT_MB = Integer.MAX_VALUE / (1024 * 1024);
 
     public static class Parameters {
         @Parameter(required = false,
@@ -199,6 +208,46 @@ public class CaptureProxy {
             arity = 1,
             description = "Name of the topic to write captured traffic to.")
         public String kafakTopicName = KafkaCaptureFactory.DEFAULT_TOPIC_NAME_FOR_TRAFFIC;
+        @Parameter(required = false,
+            names = { "--kafkaRecordCoalescingLingerMs" },
+            arity = 1,
+            description = "When greater than 0, TrafficStreams from all connections are packed into shared Kafka "
+                + "records of up to --maxTrafficBufferSize bytes, with each stream waiting at most this many "
+                + "milliseconds for others to join its record.  Requires a replayer that can unpack these records.")
+        public int kafkaRecordCoalescingLingerMs = 0;
+        @Parameter(required = false,
+            names = { "--captureCompressionDictionary" },
+            arity = 1,
+            description = "Path to a zstd dictionary trained from a sample of this cluster's traffic, e.g. with "
+                + "'zstd --train -r <sample dir> --maxdict=65536 -o <dictionary>'.  When set, captured request and "
+                + "response payloads sent to Kafka are compressed with it and tagged with its dictionary id, which "
+                + "must be nonzero and must differ from the id of every other dictionary the replayer is given.  "
+                + "The replayer must be given the same dictionary to decode them.  See the README.")
+        public String captureCompressionDictionaryPath;
+        @Parameter(required = false,
+            names = { "--captureSpillDirectory" },
+            arity = 1,
+            description = "Directory for a local, memory-mapped log that captured traffic is written to before a "
+                + "background shipper sends it on to Kafka.  When set, slow or unavailable brokers no longer add "
+                + "latency to proxied requests, and traffic that hasn't been shipped is sent when the proxy restarts.")
+        public String captureSpillDirectory;
+        @Parameter(required = false,
+            names = { "--captureSpillSegmentMb" },
+            arity = 1,
+            description = "Size in MiB of each segment file of the capture spill log, at most "
+                + MAX_CAPTURE_SPILL_SEGMENT_MB + ".")
+        public int captureSpillSegmentMb = 64;
+        @Parameter(required = false,
+            names = { "--captureSpillMaxSegments" },
+            arity = 1,
+            description = "The most segment files that the capture spill log may hold while waiting for Kafka.")
+        public int captureSpillMaxSegments = 64;
+        @Parameter(required = false,
+            names = { "--captureSpillMaxWaitForSpaceMs" },
+            arity = 1,
+            description = "How long a request may wait for room in a full capture spill log before its traffic "
+                + "is dropped from the capture rather than delayed further.")
+        public int captureSpillMaxWaitForSpaceMs = 0;
         @ParametersDelegate
         public KafkaParameters kafkaParameters = new KafkaParameters();
     }
@@ -218,6 +267,14 @@ public class CaptureProxy {
                         + "'--noCapture' to be set"
                 );
             }
+            if (p.captureSpillDirectory != null && p.kafkaParameters.kafkaBrokers == null) {
+                throw new ParameterException("'--captureSpillDirectory' can only be used when capturing to Kafka");
+            }
+            if (p.captureSpillSegmentMb < 1 || p.captureSpillSegmentMb > MAX_CAPTURE_SPILL_SEGMENT_MB) {
+                throw new ParameterException(
+                    "'--captureSpillSegmentMb' must be between 1 and " + MAX_CAPTURE_SPILL_SEGMENT_MB
+                );
+            }
             return p;
         } catch (ParameterException e) {
             System.err.println(e.getMessage());
@@ -275,12 +332,24 @@ public class CaptureProxy {
         if (params.traceDirectory != null) {
             return new FileConnectionCaptureFactory(nodeId, params.traceDirectory, params.maximumTrafficStreamSize);
         } else if (params.kafkaParameters.kafkaBrokers != null) {
+            var compressionDictionary = params.captureCompressionDictionaryPath != null
+                ? CaptureCompressionDictionary.load(Path.of(params.captureCompressionDictionaryPath))
+                : null;
+            var producer = new KafkaProducer<String, byte[]>(KafkaConfig.buildKafkaProperties(params.kafkaParameters));
+            if (params.captureSpillDirectory != null) {
+                return getSpillLogCaptureFactory(params, rootContext, nodeId, producer, compressionDictionary);
+            }
             return new KafkaCaptureFactory(
                 rootContext,
                 nodeId,
-                new KafkaProducer<>(KafkaConfig.buildKafkaProperties(params.kafkaParameters)),
+                producer,
                 params.kafakTopicName,
-                params.maximumTrafficStreamSize
+                params.maximumTrafficStreamSize,
+                PooledByteBufAllocator.DEFAULT,
+                params.kafkaRecordCoalescingLingerMs > 0
+                    ? Duration.ofMillis(params.kafkaRecordCoalescingLingerMs)
+                    : null,
+                compressionDictionary
             );
         } else if (params.noCapture) {
             return getNullConnectionCaptureFactory();
@@ -289,6 +358,33 @@ public class CaptureProxy {
         }
     }
 
+    private static IConnectionCaptureFactory<?> getSpillLogCaptureFactory(
+        Parameters params,
+        RootCaptureContext rootContext,
+        String nodeId,
+        Producer<String, byte[]> producer,
+        CaptureCompressionDictionary compressionDictionary
+    ) throws IOException {
+        var spillLog = new CaptureSpillLog(
+            Path.of(params.captureSpillDirectory),
+            Math.toIntExact(params.captureSpillSegmentMb * 1024L * 1024L),
+            params.captureSpillMaxSegments,
+            Duration.ofMillis(params.captureSpillMaxWaitForSpaceMs)
+        );
+        // Closed along with the log and the producer by the factory, from the shutdown hook once the proxy stops
+        var shipper = new CaptureSpillLogShipper(spillLog, producer, params.kafakTopicName);
+        return new SpillLogCaptureFactory(
+            rootContext,
+            nodeId,
+            spillLog,
+            shipper,
+            producer,
+            params.maximumTrafficStreamSize,
+            PooledByteBufAllocator.DEFAULT,
+            compressionDictionary
+        );
+    }
+
     // Utility method for converting uri string to an actual URI object. Similar logic is placed in the trafficReplayer
     // module: TrafficReplayer.java
     protected static URI convertStringToUri(String uriString) {
@@ -414,6 +510,7 @@ public class CaptureProxy {
 
         var sslEngineSupplier = buildSslEngineSupplier(params);
         var proxy = new NettyScanningHttpProxy(params.frontsidePort);
+        final IConnectionCaptureFactory<?> connectionCaptureFactory;
         try {
             var pooledConnectionTimeout = params.destinationConnectionPoolSize == 0
                 ? Duration.ZERO
@@ -431,9 +528,10 @@ public class CaptureProxy {
                 .protocolPattern("HTTP/2.*")
                 .suppressCaptureHeaderPairs(convertPairListToMap(params.suppressCaptureHeaderPairs))
                 .build();
+            connectionCaptureFactory = getConnectionCaptureFactory(params, ctx);
             var proxyChannelInitializer =
                 buildProxyChannelInitializer(ctx, backsideConnectionPool, sslEngineSupplier, headerCapturePredicate,
-                    params.headerOverrides, getConnectionCaptureFactory(params, ctx));
+                    params.headerOverrides, connectionCaptureFactory);
             proxy.start(proxyChannelInitializer, params.numThreads);
         } catch (Exception e) {
             log.atError().setCause(e).setMessage("Caught exception while setting up the server and rethrowing").log();
@@ -444,9 +542,15 @@ public class CaptureProxy {
                 System.err.println("Received shutdown signal.  Trying to shutdown cleanly");
                 proxy.stop();
                 System.err.println("Done stopping the proxy.");
+                // Only once no connection can flush any more, send whatever the factory is still holding
+                if (connectionCaptureFactory instanceof AutoCloseable closeableFactory) {
+                    closeableFactory.close();
+                }
             } catch (InterruptedException e) {
                 System.err.println("Caught InterruptedException while shutting down, resetting interrupt status: " + e);
                 Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                System.err.println("Caught exception while closing the capture factory: " + e);
             }
         }));
         // This loop just gives the main() function something to do while the netty event loops
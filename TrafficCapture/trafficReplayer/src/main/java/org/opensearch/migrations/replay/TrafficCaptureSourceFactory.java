@@ -44,6 +44,7 @@ public class TrafficCaptureSourceFactory {
             );
         }
 
+        var compressionDictionaries = appParams.loadCaptureCompressionDictionaries();
         if (isKafkaActive) {
             return KafkaTrafficCaptureSource.buildKafkaSource(
                 ctx,
@@ -55,12 +56,14 @@ public class TrafficCaptureSourceFactory {
                 appParams.kafkaTrafficPassword,
                 appParams.kafkaTrafficPropertyFile,
                 Clock.systemUTC(),
-                new KafkaBehavioralPolicy()
+                new KafkaBehavioralPolicy(),
+                compressionDictionaries
             );
         } else {
             return new InputStreamOfTraffic(
                 ctx,
-                isInputFileActive ? new FileInputStream(appParams.inputFilename) : System.in
+                isInputFileActive ? new FileInputStream(appParams.inputFilename) : System.in,
+                compressionDictionaries
             );
         }
     }
@@ -1,8 +1,10 @@
 package org.opensearch.migrations.replay;
 
+import java.io.IOException;
 import java.lang.ref.WeakReference;
 import java.net.URI;
 import java.nio.charset.Charset;
+import java.nio.file.Path;
 import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
@@ -12,6 +14,7 @@ import java.util.Optional;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.opensearch.migrations.arguments.ArgLogUtils;
@@ -31,6 +34,7 @@ import org.opensearch.migrations.tracing.ActiveContextTrackerByActivityType;
 import org.opensearch.migrations.tracing.CompositeContextTracker;
 import org.opensearch.migrations.tracing.OtelCollectorEndpoints;
 import org.opensearch.migrations.tracing.RootOtelContext;
+import org.opensearch.migrations.trafficcapture.compression.CaptureCompressionDictionaries;
 import org.opensearch.migrations.transform.IAuthTransformerFactory;
 import org.opensearch.migrations.transform.IJsonTransformer;
 import org.opensearch.migrations.transform.PredicateLoader;
@@ -415,6 +419,24 @@ public class TrafficReplayer {
                 + "Example: --non-retryable-doc-exception-types version_conflict_engine_exception")
         List<String> nonRetryableDocExceptionTypes;
 
+        @Parameter(
+            required = false,
+            names = { "--capture-compression-dictionary", "--captureCompressionDictionary" },
+            arity = 1,
+            description = "Path to a zstd dictionary that the capture proxy compressed payloads with.  May be "
+                + "repeated so that traffic captured before and after a proxy switched dictionaries can be decoded; "
+                + "payloads are matched to dictionaries by dictionary id, so every dictionary needs a distinct id.")
+        List<String> captureCompressionDictionaryPaths;
+
+        CaptureCompressionDictionaries loadCaptureCompressionDictionaries() throws IOException {
+            if (captureCompressionDictionaryPaths == null || captureCompressionDictionaryPaths.isEmpty()) {
+                return CaptureCompressionDictionaries.NONE;
+            }
+            return CaptureCompressionDictionaries.load(
+                captureCompressionDictionaryPaths.stream().map(Path::of).collect(Collectors.toList())
+            );
+        }
+
         void validateKafkaAuthFlags() {
             if (kafkaTrafficAuthType != null && !kafkaTrafficAuthType.isBlank()) {
                 if (Boolean.TRUE.equals(kafkaTrafficEnableMSKAuth)
@@ -583,7 +605,7 @@ public class TrafficReplayer {
             new CompositeContextTracker(new ActiveContextTracker(), new ActiveContextTrackerByActivityType())
         );
 
-        var runner = new KafkaTopicDumper();
+        var runner = new KafkaTopicDumper(params.loadCaptureCompressionDictionaries());
 
         if (params.inputFilename != null) {
             try (var source = TrafficCaptureSourceFactory.createUnbufferedTrafficCaptureSource(topContext, params)) {
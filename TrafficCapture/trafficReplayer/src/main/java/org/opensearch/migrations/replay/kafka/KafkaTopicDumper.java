@@ -10,6 +10,7 @@ import org.opensearch.migrations.replay.datatypes.PojoTrafficStreamAndKey;
 import org.opensearch.migrations.replay.tracing.ChannelContextManager;
 import org.opensearch.migrations.replay.tracing.RootReplayerContext;
 import org.opensearch.migrations.replay.traffic.source.ISimpleTrafficCaptureSource;
+import org.opensearch.migrations.trafficcapture.compression.CaptureCompressionDictionaries;
 import org.opensearch.migrations.trafficcapture.protos.TrafficStream;
 
 import com.google.protobuf.InvalidProtocolBufferException;
@@ -27,8 +28,17 @@ import org.apache.kafka.common.TopicPartition;
 @Slf4j
 public class KafkaTopicDumper {
 
+    private final CaptureCompressionDictionaries compressionDictionaries;
     private long baseEpoch = -1;
 
+    public KafkaTopicDumper() {
+        this(CaptureCompressionDictionaries.NONE);
+    }
+
+    public KafkaTopicDumper(CaptureCompressionDictionaries compressionDictionaries) {
+        this.compressionDictionaries = compressionDictionaries;
+    }
+
     private long getBaseEpoch(TrafficStream ts) {
         if (baseEpoch < 0 && !ts.getSubStreamList().isEmpty()) {
             baseEpoch = ts.getSubStreamList().get(0).getTs().getSeconds();
@@ -152,9 +162,10 @@ public class KafkaTopicDumper {
             for (var rec : polled) {
                 if (pastEnd(rec, endOffset, endTime, endOffsets)) return;
                 try {
-                    var ts = TrafficStream.parseFrom(rec.value());
-                    System.out.println(TrafficStreamDumper.format(
-                        ts, rec.partition(), rec.offset(), previewBytesRead, previewBytesWrite, getBaseEpoch(ts)));
+                    for (var ts : KafkaTrafficCaptureSource.parseTrafficStreams(rec, compressionDictionaries)) {
+                        System.out.println(TrafficStreamDumper.format(
+                            ts, rec.partition(), rec.offset(), previewBytesRead, previewBytesWrite, getBaseEpoch(ts)));
+                    }
                 } catch (InvalidProtocolBufferException e) {
                     log.warn("Skipping unparseable record at p:{} o:{}", rec.partition(), rec.offset());
                 }
@@ -227,24 +238,25 @@ public class KafkaTopicDumper {
         for (var rec : records) {
             if (pastEnd(rec, endOffset, endTime, endOffsets)) return true;
             try {
-                var trafficStream = TrafficStream.parseFrom(rec.value());
-                getBaseEpoch(trafficStream);
-                dumper.setBaseEpochSeconds(baseEpoch);
-                if (emitRaw) {
-                    System.out.println("RAW " + TrafficStreamDumper.format(
-                        trafficStream, rec.partition(), rec.offset(), previewBytesRead, previewBytesWrite, baseEpoch));
-                }
-                accumulator.accept(new PojoTrafficStreamAndKey(
-                    trafficStream,
-                    new TrafficStreamKeyWithKafkaRecordId(
-                        tsk -> {
-                            var channelCtx = channelContextManager.retainOrCreateContext(tsk);
-                            return topContext.createTrafficStreamContextForKafkaSource(channelCtx, rec.key(), 0);
-                        },
+                for (var trafficStream : KafkaTrafficCaptureSource.parseTrafficStreams(rec, compressionDictionaries)) {
+                    getBaseEpoch(trafficStream);
+                    dumper.setBaseEpochSeconds(baseEpoch);
+                    if (emitRaw) {
+                        System.out.println("RAW " + TrafficStreamDumper.format(
+                            trafficStream, rec.partition(), rec.offset(), previewBytesRead, previewBytesWrite, baseEpoch));
+                    }
+                    accumulator.accept(new PojoTrafficStreamAndKey(
                         trafficStream,
-                        new PojoKafkaCommitOffsetData(0, rec.partition(), rec.offset())
-                    )
-                ));
+                        new TrafficStreamKeyWithKafkaRecordId(
+                            tsk -> {
+                                var channelCtx = channelContextManager.retainOrCreateContext(tsk);
+                                return topContext.createTrafficStreamContextForKafkaSource(channelCtx, rec.key(), 0);
+                            },
+                            trafficStream,
+                            new PojoKafkaCommitOffsetData(0, rec.partition(), rec.offset())
+                        )
+                    ));
+                }
             } catch (InvalidProtocolBufferException e) {
                 log.warn("Skipping unparseable record at p:{} o:{}", rec.partition(), rec.offset());
             }
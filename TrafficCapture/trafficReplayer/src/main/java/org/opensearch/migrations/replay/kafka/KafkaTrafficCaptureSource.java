@@ -10,7 +10,6 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.Properties;
 import java.util.Queue;
@@ -36,8 +35,11 @@ import org.opensearch.migrations.replay.tracing.RootReplayerContext;
 import org.opensearch.migrations.replay.traffic.expiration.ScopedConnectionIdKey;
 import org.opensearch.migrations.replay.traffic.source.ISimpleTrafficCaptureSource;
 import org.opensearch.migrations.replay.traffic.source.ITrafficStreamWithKey;
+import org.opensearch.migrations.trafficcapture.compression.CaptureCompressionDictionaries;
 import org.opensearch.migrations.trafficcapture.protos.TrafficObservation;
 import org.opensearch.migrations.trafficcapture.protos.TrafficStream;
+import org.opensearch.migrations.trafficcapture.protos.TrafficStreamBatch;
+import org.opensearch.migrations.trafficcapture.protos.TrafficStreamBatchRecords;
 
 import com.google.protobuf.InvalidProtocolBufferException;
 import io.netty.util.concurrent.DefaultThreadFactory;
@@ -46,6 +48,7 @@ import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.consumer.Consumer;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.consumer.KafkaConsumer;
 
 /**
@@ -87,7 +90,6 @@ public class KafkaTrafficCaptureSource implements ISimpleTrafficCaptureSource {
     // override via {@link #defaultPollIntervalMs()} (note: a static field would be hidden, not
     // overridden — the value is exposed through a method so subclass intent is honored).
     public static final String DEFAULT_POLL_INTERVAL_MS = "300000";
-
     /**
      * Default value for {@code max.poll.interval.ms} when no operator-supplied properties file
      * sets it. Subclasses may override to vary the broker-enforced fence threshold.
@@ -107,6 +109,7 @@ public class KafkaTrafficCaptureSource implements ISimpleTrafficCaptureSource {
     private final AtomicLong trafficStreamsRead;
     private final KafkaBehavioralPolicy behavioralPolicy;
     private final ChannelContextManager channelContextManager;
+    private final CaptureCompressionDictionaries compressionDictionaries;
     private final AtomicBoolean isClosed;
     /** Active connections per Kafka partition. Entries removed when connections are closed */
     final ConcurrentHashMap<Integer, Set<ScopedConnectionIdKey>> partitionToActiveConnections =
@@ -149,6 +152,26 @@ public class KafkaTrafficCaptureSource implements ISimpleTrafficCaptureSource {
         Duration keepAliveInterval,
         Clock clock,
         @NonNull KafkaBehavioralPolicy behavioralPolicy
+    ) {
+        this(
+            globalContext,
+            kafkaConsumer,
+            topic,
+            keepAliveInterval,
+            clock,
+            behavioralPolicy,
+            CaptureCompressionDictionaries.NONE
+        );
+    }
+
+    public KafkaTrafficCaptureSource(
+        @NonNull RootReplayerContext globalContext,
+        Consumer<String, byte[]> kafkaConsumer,
+        @NonNull String topic,
+        Duration keepAliveInterval,
+        Clock clock,
+        @NonNull KafkaBehavioralPolicy behavioralPolicy,
+        @NonNull CaptureCompressionDictionaries compressionDictionaries
     ) {
         this.channelContextManager = new ChannelContextManager(globalContext);
         trackingKafkaConsumer = new TrackingKafkaConsumer(
@@ -161,6 +184,7 @@ public class KafkaTrafficCaptureSource implements ISimpleTrafficCaptureSource {
         );
         trafficStreamsRead = new AtomicLong();
         this.behavioralPolicy = behavioralPolicy;
+        this.compressionDictionaries = compressionDictionaries;
         kafkaConsumer.subscribe(Collections.singleton(topic), trackingKafkaConsumer);
         kafkaExecutor = Executors.newSingleThreadExecutor(new DefaultThreadFactory("kafkaConsumerThread"));
         isClosed = new AtomicBoolean(false);
@@ -252,7 +276,8 @@ public class KafkaTrafficCaptureSource implements ISimpleTrafficCaptureSource {
         String kafkaPassword,
         String propertyFilePath,
         @NonNull Clock clock,
-        @NonNull KafkaBehavioralPolicy behavioralPolicy
+        @NonNull KafkaBehavioralPolicy behavioralPolicy,
+        @NonNull CaptureCompressionDictionaries compressionDictionaries
     ) throws IOException {
         var kafkaProps = buildKafkaProperties(brokers, groupId, authType, kafkaUserName, kafkaPassword, propertyFilePath);
         kafkaProps.putIfAbsent(MAX_POLL_INTERVAL_KEY, defaultPollIntervalMs());
@@ -262,7 +287,8 @@ public class KafkaTrafficCaptureSource implements ISimpleTrafficCaptureSource {
             topic,
             DEFAULT_KEEP_ALIVE_PERIOD,
             clock,
-            behavioralPolicy
+            behavioralPolicy,
+            compressionDictionaries
         );
     }
 
@@ -348,56 +374,97 @@ public class KafkaTrafficCaptureSource implements ISimpleTrafficCaptureSource {
         try {
             return trackingKafkaConsumer.getNextBatchOfRecords(context, (offsetData, kafkaRecord) -> {
                 try {
-                    TrafficStream ts = TrafficStream.parseFrom(kafkaRecord.value());
-                    var trafficStreamsSoFar = trafficStreamsRead.incrementAndGet();
-                    log.atTrace().setMessage("Parsed traffic stream #{}: {} {}")
-                        .addArgument(trafficStreamsSoFar)
-                        .addArgument(offsetData)
-                        .addArgument(ts)
-                        .log();
-                    var key = new TrafficStreamKeyWithKafkaRecordId(tsk -> {
-                        var channelKeyCtx = channelContextManager.retainOrCreateContext(tsk);
-                        return channelContextManager.getGlobalContext()
-                            .createTrafficStreamContextForKafkaSource(
-                                channelKeyCtx,
-                                kafkaRecord.key(),
-                                kafkaRecord.serializedKeySize() + kafkaRecord.serializedValueSize()
-                            );
-                    }, ts, offsetData);
-                    // Track active connections per partition for synthetic close injection
-                    var connKey = new ScopedConnectionIdKey(
-                        ts.getNodeId(), ts.getConnectionId());
-                    var activeSet = partitionToActiveConnections
-                        .computeIfAbsent(offsetData.getPartition(),
-                            p -> Collections.newSetFromMap(new ConcurrentHashMap<>()));
-                    boolean isNewConnection = activeSet.add(connKey);
-                    // Handoff: first time we see this connection on this partition AND no READ observation
-                    // (another replayer was mid-connection). Continuation streams for known connections are not resumeds.
-                    boolean startsWithRead = ts.getSubStreamList().stream()
-                        .findFirst()
-                        .map(TrafficObservation::hasRead)
-                        .orElse(false);
-                    final boolean resumed = isNewConnection && !startsWithRead;
-                    return (ITrafficStreamWithKey) new PojoTrafficStreamAndKey(ts, key) {
-                        @Override
-                        public boolean isResumedConnection() { return resumed; }
-                    };
+                    var trafficStreams = parseTrafficStreams(kafkaRecord, compressionDictionaries);
+                    if (trafficStreams.size() > 1) {
+                        trackingKafkaConsumer.setStreamCountForRecord(offsetData, trafficStreams.size());
+                    }
+                    var keySize = kafkaRecord.serializedKeySize();
+                    return trafficStreams.stream()
+                        .map(ts -> toTrafficStreamWithKey(
+                            offsetData,
+                            kafkaRecord.key(),
+                            trafficStreams.size() == 1
+                                ? keySize + kafkaRecord.serializedValueSize()
+                                : keySize + ts.getSerializedSize(),
+                            ts
+                        ))
+                        .collect(Collectors.toList());
                 } catch (InvalidProtocolBufferException e) {
                     // Assume the behavioralPolicy instance does any logging that the host may be interested in
                     RuntimeException recordError = behavioralPolicy.onInvalidKafkaRecord(kafkaRecord, e);
                     if (recordError != null) {
                         throw recordError;
                     } else {
-                        return null;
+                        return List.<ITrafficStreamWithKey>of();
                     }
                 }
-            }).filter(Objects::nonNull).collect(Collectors.<ITrafficStreamWithKey>toList());
+            }).flatMap(List::stream).collect(Collectors.<ITrafficStreamWithKey>toList());
         } catch (Exception e) {
             log.atError().setCause(e).setMessage("Terminating Kafka traffic stream due to exception").log();
             throw e;
         }
     }
 
+    /**
+     * @return the TrafficStreams within a record, which is either a single TrafficStream or, when it carries
+     * the {@link TrafficStreamBatchRecords#KAFKA_HEADER} header, a TrafficStreamBatch holding several of them,
+     * from any of the proxy's connections.  Each of those streams is committed on its own, and the record's
+     * offset only advances once all of them have been.  Any compressed payloads within them have been
+     * decompressed.
+     */
+    static List<TrafficStream> parseTrafficStreams(
+        ConsumerRecord<String, byte[]> kafkaRecord,
+        CaptureCompressionDictionaries compressionDictionaries
+    ) throws InvalidProtocolBufferException {
+        if (kafkaRecord.headers().lastHeader(TrafficStreamBatchRecords.KAFKA_HEADER) == null) {
+            return List.of(compressionDictionaries.decompressObservations(TrafficStream.parseFrom(kafkaRecord.value())));
+        }
+        var trafficStreams = TrafficStreamBatch.parseFrom(kafkaRecord.value()).getTrafficStreamsList();
+        if (trafficStreams.isEmpty()) {
+            throw new InvalidProtocolBufferException("TrafficStreamBatch record has no TrafficStreams");
+        }
+        return trafficStreams.stream()
+            .map(compressionDictionaries::decompressObservations)
+            .collect(Collectors.toList());
+    }
+
+    private ITrafficStreamWithKey toTrafficStreamWithKey(
+        KafkaCommitOffsetData offsetData,
+        String recordKey,
+        int sizeInRecord,
+        TrafficStream ts
+    ) {
+        var trafficStreamsSoFar = trafficStreamsRead.incrementAndGet();
+        log.atTrace().setMessage("Parsed traffic stream #{}: {} {}")
+            .addArgument(trafficStreamsSoFar)
+            .addArgument(offsetData)
+            .addArgument(ts)
+            .log();
+        var key = new TrafficStreamKeyWithKafkaRecordId(tsk -> {
+            var channelKeyCtx = channelContextManager.retainOrCreateContext(tsk);
+            return channelContextManager.getGlobalContext()
+                .createTrafficStreamContextForKafkaSource(channelKeyCtx, recordKey, sizeInRecord);
+        }, ts, offsetData);
+        // Track active connections per partition for synthetic close injection
+        var connKey = new ScopedConnectionIdKey(
+            ts.getNodeId(), ts.getConnectionId());
+        var activeSet = partitionToActiveConnections
+            .computeIfAbsent(offsetData.getPartition(),
+                p -> Collections.newSetFromMap(new ConcurrentHashMap<>()));
+        boolean isNewConnection = activeSet.add(connKey);
+        // Handoff: first time we see this connection on this partition AND no READ observation
+        // (another replayer was mid-connection). Continuation streams for known connections are not resumeds.
+        boolean startsWithRead = ts.getSubStreamList().stream()
+            .findFirst()
+            .map(TrafficObservation::hasRead)
+            .orElse(false);
+        final boolean resumed = isNewConnection && !startsWithRead;
+        return new PojoTrafficStreamAndKey(ts, key) {
+            @Override
+            public boolean isResumedConnection() { return resumed; }
+        };
+    }
+
     @Override
     public CommitResult commitTrafficStream(ITrafficStreamKey trafficStreamKey) {
         if (!(trafficStreamKey instanceof TrafficStreamKeyWithKafkaRecordId)) {
@@ -16,7 +16,9 @@ import lombok.extern.slf4j.Slf4j;
  * removeAndReturnNewHead may be called in any order.  removeAndReturnNewHead returns
  * the new commit offset for the partition that this object is associated with.
  * It's also assumed that callers MUST call removeAndReturnNewHead for every offset
- * that was previously added for commit points to be advanced.
+ * that was previously added for commit points to be advanced.  When a record carries more than
+ * one TrafficStream, setStreamCount() raises the number of removeAndReturnNewHead calls that its
+ * offset needs before it stops holding back the commit point.
  */
 @Slf4j
 class OffsetLifecycleTracker {
@@ -29,6 +31,7 @@ class OffsetLifecycleTracker {
     static class OffsetMetadata {
         final String connectionId;
         final Instant addedAt;
+        int outstandingStreams = 1;
 
         OffsetMetadata(String connectionId, Instant addedAt) {
             this.connectionId = connectionId;
@@ -65,6 +68,16 @@ class OffsetLifecycleTracker {
         }
     }
 
+    void setStreamCount(long offset, int streamCount) {
+        synchronized (pQueue) {
+            var metadata = offsetMetadataMap.get(offset);
+            if (metadata == null) {
+                throw new IllegalStateException("No record has been added for offset " + offset);
+            }
+            metadata.outstandingStreams = streamCount;
+        }
+    }
+
     Optional<Long> removeAndReturnNewHead(long offsetToRemove) {
         synchronized (pQueue) {
             var topCursor = pQueue.peek();
@@ -73,6 +86,15 @@ class OffsetLifecycleTracker {
                     "pQueue looks to have been empty by the time we tried to remove " + offsetToRemove
                 );
             }
+            var metadata = offsetMetadataMap.get(offsetToRemove);
+            if (metadata != null && metadata.outstandingStreams > 1) {
+                metadata.outstandingStreams--;
+                log.atDebug().setMessage("Commit called for {}, which still has {} streams outstanding")
+                    .addArgument(offsetToRemove)
+                    .addArgument(metadata.outstandingStreams)
+                    .log();
+                return Optional.empty();
+            }
             var didRemove = pQueue.remove(offsetToRemove);
             if (!didRemove) {
                 throw new IllegalStateException(
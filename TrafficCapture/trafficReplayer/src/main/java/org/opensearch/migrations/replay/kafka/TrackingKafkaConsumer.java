@@ -368,6 +368,18 @@ public class TrackingKafkaConsumer implements ConsumerRebalanceListener {
         });
     }
 
+    /**
+     * Declares that the record at offsetData holds streamCount TrafficStreams, each of which will be
+     * committed separately.  The record's offset isn't committed until all of them have been.
+     */
+    void setStreamCountForRecord(KafkaCommitOffsetData offsetData, int streamCount) {
+        var offsetTracker = partitionToOffsetLifecycleTrackerMap.get(offsetData.getPartition());
+        if (offsetTracker == null || offsetTracker.consumerConnectionGeneration != offsetData.getGeneration()) {
+            throw new IllegalStateException("Record " + offsetData + " isn't being tracked by this consumer");
+        }
+        offsetTracker.setStreamCount(offsetData.getOffset(), streamCount);
+    }
+
     private ConsumerRecords<String, byte[]> safePollWithSwallowedRuntimeExceptions(
         ITrafficSourceContexts.IReadChunkContext context
     ) {
@@ -19,6 +19,7 @@ import org.opensearch.migrations.replay.tracing.IReplayContexts;
 import org.opensearch.migrations.replay.tracing.ITrafficSourceContexts;
 import org.opensearch.migrations.replay.tracing.ReplayContexts;
 import org.opensearch.migrations.replay.tracing.RootReplayerContext;
+import org.opensearch.migrations.trafficcapture.compression.CaptureCompressionDictionaries;
 import org.opensearch.migrations.trafficcapture.protos.TrafficStream;
 
 import lombok.Lombok;
@@ -29,9 +30,19 @@ public class InputStreamOfTraffic implements ISimpleTrafficCaptureSource, AutoCl
     private final BufferedReader bufferedReader;
     private final AtomicInteger trafficStreamsRead = new AtomicInteger();
     private final ChannelContextManager channelContextManager;
+    private final CaptureCompressionDictionaries compressionDictionaries;
 
     public InputStreamOfTraffic(RootReplayerContext context, InputStream inputStream) {
+        this(context, inputStream, CaptureCompressionDictionaries.NONE);
+    }
+
+    public InputStreamOfTraffic(
+        RootReplayerContext context,
+        InputStream inputStream,
+        CaptureCompressionDictionaries compressionDictionaries
+    ) {
         this.channelContextManager = new ChannelContextManager(context);
+        this.compressionDictionaries = compressionDictionaries;
         var isr = new InputStreamReader(inputStream);
         try {
             this.bufferedReader = new BufferedReader(isr);
@@ -73,7 +84,9 @@ public class InputStreamOfTraffic implements ISimpleTrafficCaptureSource, AutoCl
                 if (line == null) {
                     throw new EOFException();
                 }
-                ts = TrafficStream.parseFrom(Base64.getDecoder().decode(line));
+                ts = compressionDictionaries.decompressObservations(
+                    TrafficStream.parseFrom(Base64.getDecoder().decode(line))
+                );
             } catch (Exception e) {
                 throw Lombok.sneakyThrow(e);
             }
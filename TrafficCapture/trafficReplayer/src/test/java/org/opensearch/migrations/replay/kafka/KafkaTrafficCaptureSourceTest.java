@@ -17,11 +17,14 @@ import java.util.function.Supplier;
 
 import org.opensearch.migrations.replay.tracing.ChannelContextManager;
 import org.opensearch.migrations.replay.tracing.ReplayContexts;
+import org.opensearch.migrations.replay.traffic.source.ITrafficCaptureSource;
 import org.opensearch.migrations.replay.traffic.source.ITrafficStreamWithKey;
 import org.opensearch.migrations.tracing.InstrumentationTest;
 import org.opensearch.migrations.trafficcapture.protos.ReadObservation;
 import org.opensearch.migrations.trafficcapture.protos.TrafficObservation;
 import org.opensearch.migrations.trafficcapture.protos.TrafficStream;
+import org.opensearch.migrations.trafficcapture.protos.TrafficStreamBatch;
+import org.opensearch.migrations.trafficcapture.protos.TrafficStreamBatchRecords;
 
 import com.google.protobuf.ByteString;
 import com.google.protobuf.Timestamp;
@@ -363,4 +366,46 @@ class KafkaTrafficCaptureSourceTest extends InstrumentationTest {
                 "all 3 connections must be tracked in partitionToActiveConnections");
         }
     }
+
+    /**
+     * A record packing streams from several connections is unpacked into one stream per connection, and its
+     * offset is only committed once every one of those streams has been.
+     */
+    @Test
+    public void batchRecordsAreUnpackedAndCommittedOnceEveryStreamIs() throws Exception {
+        MockConsumer<String, byte[]> mockConsumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+        try (var source = new KafkaTrafficCaptureSource(rootContext, mockConsumer, TEST_TOPIC_NAME, Duration.ofHours(1))) {
+            initializeMockConsumerTopic(mockConsumer);
+            mockConsumer.schedulePollTask(() -> {
+                mockConsumer.rebalance(Collections.singletonList(new TopicPartition(TEST_TOPIC_NAME, 0)));
+                var batch = TrafficStreamBatch.newBuilder();
+                for (int i = 0; i < 2; i++) {
+                    batch.addTrafficStreams(TrafficStream.newBuilder()
+                        .setNodeId("node1").setConnectionId("conn" + i).setNumber(1)
+                        .addSubStream(TrafficObservation.newBuilder()
+                            .setTs(Timestamp.newBuilder().setSeconds(1).build())
+                            .setRead(ReadObservation.newBuilder()
+                                .setData(ByteString.copyFromUtf8("GET / HTTP/1.1\r\n\r\n"))
+                                .build())
+                            .build()));
+                }
+                var record = new ConsumerRecord<>(TEST_TOPIC_NAME, 0, 0, "node1.batch.0",
+                    batch.build().toByteArray());
+                record.headers().add(TrafficStreamBatchRecords.KAFKA_HEADER,
+                    "2".getBytes(StandardCharsets.UTF_8));
+                mockConsumer.addRecord(record);
+            });
+
+            var streams = source.readNextTrafficStreamChunk(rootContext::createReadChunkContext).get();
+
+            Assertions.assertEquals(2, streams.size());
+            Assertions.assertEquals("conn0", streams.get(0).getKey().getConnectionId());
+            Assertions.assertEquals("conn1", streams.get(1).getKey().getConnectionId());
+            Assertions.assertEquals(2, source.partitionToActiveConnections.get(0).size());
+            Assertions.assertEquals(ITrafficCaptureSource.CommitResult.BLOCKED_BY_OTHER_COMMITS,
+                source.commitTrafficStream(streams.get(1).getKey()));
+            Assertions.assertEquals(ITrafficCaptureSource.CommitResult.AFTER_NEXT_READ,
+                source.commitTrafficStream(streams.get(0).getKey()));
+        }
+    }
 }
@@ -5,10 +5,16 @@ import java.io.FilterOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import lombok.extern.slf4j.Slf4j;
 import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Engine;
 import org.graalvm.polyglot.HostAccess;
 import org.graalvm.polyglot.Source;
 import org.graalvm.polyglot.Value;
@@ -23,9 +29,28 @@ import org.slf4j.event.Level;
  * logging stream redirection, and the transformJson lifecycle.
  *
  * <p><strong>Not thread-safe.</strong> Each thread should use its own instance.
+ *
+ * <p>In engine-sharing mode, the contexts of all instances for a language are created on one
+ * JVM-wide {@link Engine} and evaluate one cached {@link Source} per script. Graal then parses and
+ * JIT-compiles a script once and reuses that code in every thread's context, instead of warming up
+ * each per-thread instance from scratch. Each instance still has its own context, so script globals
+ * are not shared between threads.
+ *
+ * <p>{@link #transformJsonBatch} hands the whole batch to the script in one call. Host maps and lists are
+ * accessed by the script in place, so fields it doesn't touch are never converted to guest values, and
+ * {@link ILazyJsonObject} documents it doesn't read are never parsed. Only the values the script created
+ * are copied back into Java collections.
  */
 @Slf4j
 public abstract class GraalTransformer implements IJsonTransformer {
+    /** Engine options applied to every engine; per-instance engines set them on their own builders. */
+    public static final Map<String, String> ENGINE_OPTIONS = Map.of("engine.WarnInterpreterOnly", "false");
+
+    private static final Map<String, Engine> SHARED_ENGINES = new ConcurrentHashMap<>();
+    private static final Map<SourceKey, Source> SHARED_SOURCES = new ConcurrentHashMap<>();
+
+    private record SourceKey(String languageId, String script) {}
+
     private Value mainTransformFunction;
     private final Context polyglotContext;
     private final OutputStream infoStream;
@@ -39,11 +64,24 @@ public abstract class GraalTransformer implements IJsonTransformer {
      */
     protected GraalTransformer(String languageId, String script, Object bindings,
                                Context.Builder contextBuilder) {
+        this(languageId, script, bindings, contextBuilder, false);
+    }
+
+    /**
+     * @param shareEngine create the context on the JVM-wide engine for {@code languageId} and evaluate a
+     *                    cached source, so compiled code is reused across instances. The context builder
+     *                    must not set an engine or engine options of its own.
+     */
+    protected GraalTransformer(String languageId, String script, Object bindings,
+                               Context.Builder contextBuilder, boolean shareEngine) {
         var loggerName = getClass().getSimpleName();
         var scriptLogger = LoggerFactory.getLogger(loggerName);
         this.infoStream = new LoggingOutputStream(scriptLogger, Level.INFO);
         this.errorStream = new LoggingOutputStream(scriptLogger, Level.ERROR);
 
+        if (shareEngine) {
+            contextBuilder.engine(sharedEngine(languageId));
+        }
         this.polyglotContext = contextBuilder
             .allowHostAccess(HostAccess.newBuilder()
                 .allowAccessAnnotatedBy(HostAccess.Export.class)
@@ -57,7 +95,11 @@ public abstract class GraalTransformer implements IJsonTransformer {
             .err(errorStream)
             .build();
 
-        var sourceCodeValue = this.polyglotContext.eval(Source.create(languageId, script));
+        var source = shareEngine
+            ? SHARED_SOURCES.computeIfAbsent(new SourceKey(languageId, script),
+                key -> Source.newBuilder(languageId, script, "transformation").cached(true).buildLiteral())
+            : Source.create(languageId, script);
+        var sourceCodeValue = this.polyglotContext.eval(source);
         if (bindings != null) {
             this.mainTransformFunction = sourceCodeValue.execute(this.polyglotContext.asValue(bindings));
         } else {
@@ -65,6 +107,17 @@ public abstract class GraalTransformer implements IJsonTransformer {
         }
     }
 
+    /**
+     * Returns the engine that every engine-sharing context for {@code languageId} is created on. It lives
+     * as long as the JVM, so that code compiled for one transformer instance survives it being closed.
+     */
+    static Engine sharedEngine(String languageId) {
+        return SHARED_ENGINES.computeIfAbsent(languageId, id -> {
+            log.atInfo().setMessage("Creating shared {} polyglot engine for transformers").addArgument(id).log();
+            return Engine.newBuilder(id).options(ENGINE_OPTIONS).build();
+        });
+    }
+
     @Override
     public Object transformJson(Object incomingJson) {
         var convertedArgs = Arrays.stream(new Object[] { incomingJson })
@@ -74,6 +127,92 @@ public abstract class GraalTransformer implements IJsonTransformer {
         return valueToJavaObject(result);
     }
 
+    @Override
+    public List<Object> transformJsonBatch(List<?> documents) {
+        var result = toHostJson(transformJson(documents));
+        if (result instanceof List<?> list) {
+            @SuppressWarnings("unchecked")
+            var transformed = (List<Object>) list;
+            return transformed;
+        }
+        throw new IllegalStateException("Batch transformation must return a list, but returned "
+            + (result == null ? "null" : result.getClass().getName()));
+    }
+
+    /**
+     * Detaches a script result from the polyglot context. Host collections are updated in place, replacing
+     * any guest values the script stored in them, and guest objects and arrays are copied into
+     * {@link LinkedHashMap}s and {@link ArrayList}s. Unread {@link ILazyJsonObject}s are left as they are.
+     */
+    @SuppressWarnings("unchecked")
+    private Object toHostJson(Object object) {
+        if (object == null || object instanceof String || object instanceof Number || object instanceof Boolean
+            || (object instanceof ILazyJsonObject lazy && !lazy.isMaterialized())) {
+            return object;
+        }
+        var value = object instanceof Value v ? v : polyglotContext.asValue(object);
+        if (!value.isHostObject()) {
+            return guestToHostJson(value);
+        }
+        var hostObject = value.asHostObject();
+        if (hostObject instanceof Map<?, ?> map) {
+            for (var entry : ((Map<Object, Object>) map).entrySet()) {
+                var detached = toHostJson(entry.getValue());
+                if (detached != entry.getValue()) {
+                    entry.setValue(detached);
+                }
+            }
+        } else if (hostObject instanceof List<?> list) {
+            for (var elements = ((List<Object>) list).listIterator(); elements.hasNext(); ) {
+                var element = elements.next();
+                var detached = toHostJson(element);
+                if (detached != element) {
+                    elements.set(detached);
+                }
+            }
+        }
+        return hostObject;
+    }
+
+    private Object guestToHostJson(Value value) {
+        if (value.isNull()) {
+            return null;
+        } else if (value.isBoolean()) {
+            return value.asBoolean();
+        } else if (value.isString()) {
+            return value.asString();
+        } else if (value.isNumber()) {
+            if (value.fitsInInt()) {
+                return value.asInt();
+            }
+            return value.fitsInLong() ? value.asLong() : value.asDouble();
+        } else if (value.isHostObject()) {
+            return toHostJson(value.asHostObject());
+        } else if (value.hasArrayElements()) {
+            var list = new ArrayList<>((int) value.getArraySize());
+            for (long i = 0; i < value.getArraySize(); i++) {
+                list.add(guestToHostJson(value.getArrayElement(i)));
+            }
+            return list;
+        } else if (value.hasHashEntries()) {
+            var map = new LinkedHashMap<String, Object>();
+            var entries = value.getHashEntriesIterator();
+            while (entries.hasIteratorNextElement()) {
+                var entry = entries.getIteratorNextElement();
+                var key = entry.getArrayElement(0);
+                map.put(key.isString() ? key.asString() : key.toString(), guestToHostJson(entry.getArrayElement(1)));
+            }
+            return map;
+        } else if (value.hasMembers()) {
+            var map = new LinkedHashMap<String, Object>();
+            for (var key : value.getMemberKeys()) {
+                map.put(key, guestToHostJson(value.getMember(key)));
+            }
+            return map;
+        }
+        return value.as(Object.class);
+    }
+
     /** Access the polyglot context for subclass-specific operations. */
     protected Context getPolyglotContext() {
         return polyglotContext;
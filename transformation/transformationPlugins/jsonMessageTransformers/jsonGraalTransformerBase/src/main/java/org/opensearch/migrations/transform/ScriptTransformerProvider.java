@@ -32,6 +32,7 @@ public abstract class ScriptTransformerProvider implements IJsonTransformerProvi
     public static final String BINDINGS_OBJECT = "bindingsObject";
     public static final String BINDINGS_OBJECT_DIRS = "bindingsObjectDirs";
     public static final String BINDINGS_OBJECT_FILES = "bindingsObjectFiles";
+    public static final String SHARE_ENGINE_KEY = "shareEngine";
     private static final String PATH_KEY = "path";
 
     public record ResolvedScript(String source, Path sourceFile) {}
@@ -164,6 +165,21 @@ public abstract class ScriptTransformerProvider implements IJsonTransformerProvi
         return mergedBindings;
     }
 
+    /** Whether the config opts into running all instances of the script on one shared polyglot engine. */
+    protected boolean isEngineShared(Map<String, Object> config) {
+        var value = config.get(SHARE_ENGINE_KEY);
+        if (value == null) {
+            return false;
+        }
+        if (value instanceof Boolean) {
+            return (Boolean) value;
+        }
+        if (value instanceof String && ("true".equalsIgnoreCase((String) value) || "false".equalsIgnoreCase((String) value))) {
+            return Boolean.parseBoolean((String) value);
+        }
+        throw new IllegalArgumentException(SHARE_ENGINE_KEY + " must be a boolean. " + getConfigUsageStr());
+    }
+
     protected Object parseBindingsObject(Map<String, Object> config) {
         if (!config.containsKey(BINDINGS_OBJECT) || config.get(BINDINGS_OBJECT) == null) {
             return Collections.emptyMap();
@@ -256,6 +272,8 @@ public abstract class ScriptTransformerProvider implements IJsonTransformerProvi
             + " and returns a transform function.\n"
             + BINDINGS_OBJECT + " is optional and may be a JSON object or a string which can be deserialized with Jackson ObjectMapper.\n"
             + BINDINGS_OBJECT_FILES + " and " + BINDINGS_OBJECT_DIRS
-            + " are optional file-backed binding sources resolved before the transformer is created.";
+            + " are optional file-backed binding sources resolved before the transformer is created.\n"
+            + SHARE_ENGINE_KEY + " is optional (default false). When true, every thread's transformer for the script"
+            + " runs on one shared engine, so the script is parsed and JIT-compiled once per JVM.";
     }
 }
@@ -0,0 +1,272 @@
+package org.opensearch.migrations.transform;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A JMESPath expression compiled into a tree of direct field accessors, for the subset that routing
+ * predicates and simple projections use: field paths ({@code a.b."c-d"}), string, boolean and null
+ * literals, {@code ==} and {@code !=}, {@code &&}, {@code ||} and {@code !( ... )}. Results match what
+ * the JMESPath runtime returns for Java collections, including the value-returning {@code &&}/{@code ||}.
+ *
+ * <p>Any other syntax isn't compiled, and the caller evaluates the expression with the JMESPath runtime.
+ */
+@Slf4j
+final class CompiledJmesPathExpression {
+
+    private interface Node {
+        Object evaluate(Object input);
+    }
+
+    /** Thrown while parsing when an expression uses something other than the supported subset. */
+    private static final class NotCompilableException extends Exception {
+        NotCompilableException(String message) {
+            super(message, null, false, false);
+        }
+    }
+
+    private final Node root;
+
+    private CompiledJmesPathExpression(Node root) {
+        this.root = root;
+    }
+
+    /**
+     * @return the compiled expression, or empty if it uses syntax outside the supported subset
+     */
+    static Optional<CompiledJmesPathExpression> compile(String expression) {
+        try {
+            var parser = new Parser(expression);
+            var root = parser.parseOr();
+            parser.skipWhitespace();
+            if (!parser.atEnd()) {
+                throw new NotCompilableException("unexpected input at offset " + parser.position);
+            }
+            return Optional.of(new CompiledJmesPathExpression(root));
+        } catch (NotCompilableException e) {
+            log.atDebug().setMessage("Interpreting JMESPath expression because it can't be compiled: {}")
+                .addArgument(e::getMessage).log();
+            return Optional.empty();
+        }
+    }
+
+    Object search(Object input) {
+        return root.evaluate(input);
+    }
+
+    static boolean isTruthy(Object value) {
+        if (value == null || Boolean.FALSE.equals(value)) {
+            return false;
+        } else if (value instanceof String s) {
+            return !s.isEmpty();
+        } else if (value instanceof List<?> list) {
+            return !list.isEmpty();
+        } else if (value instanceof Map<?, ?> map) {
+            return !map.isEmpty();
+        }
+        return true;
+    }
+
+    static boolean jsonEquals(Object left, Object right) {
+        if (left instanceof Number leftNumber && right instanceof Number rightNumber) {
+            return leftNumber.doubleValue() == rightNumber.doubleValue();
+        } else if (left instanceof List<?> leftList && right instanceof List<?> rightList) {
+            if (leftList.size() != rightList.size()) {
+                return false;
+            }
+            for (int i = 0; i < leftList.size(); i++) {
+                if (!jsonEquals(leftList.get(i), rightList.get(i))) {
+                    return false;
+                }
+            }
+            return true;
+        } else if (left instanceof Map<?, ?> leftMap && right instanceof Map<?, ?> rightMap) {
+            if (!leftMap.keySet().equals(rightMap.keySet())) {
+                return false;
+            }
+            for (var entry : leftMap.entrySet()) {
+                if (!jsonEquals(entry.getValue(), rightMap.get(entry.getKey()))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return Objects.equals(left, right);
+    }
+
+    private static final class Parser {
+        private final String expression;
+        private int position;
+
+        Parser(String expression) {
+            this.expression = expression;
+        }
+
+        boolean atEnd() {
+            return position >= expression.length();
+        }
+
+        void skipWhitespace() {
+            while (!atEnd() && Character.isWhitespace(expression.charAt(position))) {
+                position++;
+            }
+        }
+
+        boolean consume(String token) {
+            skipWhitespace();
+            if (expression.startsWith(token, position)) {
+                position += token.length();
+                return true;
+            }
+            return false;
+        }
+
+        Node parseOr() throws NotCompilableException {
+            var left = parseAnd();
+            while (consume("||")) {
+                var l = left;
+                var r = parseAnd();
+                left = input -> {
+                    var value = l.evaluate(input);
+                    return isTruthy(value) ? value : r.evaluate(input);
+                };
+            }
+            return left;
+        }
+
+        Node parseAnd() throws NotCompilableException {
+            var left = parseNot();
+            while (consume("&&")) {
+                var l = left;
+                var r = parseNot();
+                left = input -> {
+                    var value = l.evaluate(input);
+                    return isTruthy(value) ? r.evaluate(input) : value;
+                };
+            }
+            return left;
+        }
+
+        Node parseNot() throws NotCompilableException {
+            skipWhitespace();
+            if (consume("!")) {
+                // '!' binds tighter than '.', so only the parenthesized form is unambiguous
+                if (!consume("(")) {
+                    throw new NotCompilableException("'!' without parentheses");
+                }
+                var operand = parseParenthesized();
+                return input -> !isTruthy(operand.evaluate(input));
+            }
+            return parseComparison();
+        }
+
+        Node parseComparison() throws NotCompilableException {
+            var left = parsePrimary();
+            if (consume("==")) {
+                var right = parsePrimary();
+                return input -> jsonEquals(left.evaluate(input), right.evaluate(input));
+            } else if (consume("!=")) {
+                var right = parsePrimary();
+                return input -> !jsonEquals(left.evaluate(input), right.evaluate(input));
+            }
+            return left;
+        }
+
+        Node parseParenthesized() throws NotCompilableException {
+            var inner = parseOr();
+            if (!consume(")")) {
+                throw new NotCompilableException("unclosed parenthesis");
+            }
+            return inner;
+        }
+
+        Node parsePrimary() throws NotCompilableException {
+            skipWhitespace();
+            if (consume("(")) {
+                return parseParenthesized();
+            } else if (consume("'")) {
+                var value = readUntil('\'');
+                return input -> value;
+            } else if (consume("`")) {
+                var literal = parseJsonLiteral(readUntil('`').strip());
+                return input -> literal;
+            }
+            return parsePath();
+        }
+
+        private static Object parseJsonLiteral(String literal) throws NotCompilableException {
+            switch (literal) {
+                case "true":
+                    return Boolean.TRUE;
+                case "false":
+                    return Boolean.FALSE;
+                case "null":
+                    return null;
+                default:
+                    if (literal.length() >= 2 && literal.startsWith("\"") && literal.endsWith("\"")
+                        && literal.indexOf('"', 1) == literal.length() - 1) {
+                        return literal.substring(1, literal.length() - 1);
+                    }
+                    throw new NotCompilableException("JSON literal " + literal);
+            }
+        }
+
+        Node parsePath() throws NotCompilableException {
+            var fields = new ArrayList<String>();
+            fields.add(parseField());
+            while (!atEnd() && expression.charAt(position) == '.') {
+                position++;
+                fields.add(parseField());
+            }
+            var path = fields.toArray(String[]::new);
+            return input -> {
+                var current = input;
+                for (var field : path) {
+                    if (!(current instanceof Map<?, ?> map)) {
+                        return null;
+                    }
+                    current = map.get(field);
+                }
+                return current;
+            };
+        }
+
+        private String parseField() throws NotCompilableException {
+            skipWhitespace();
+            if (consume("\"")) {
+                return readUntil('"');
+            }
+            int start = position;
+            while (!atEnd() && isIdentifierChar(expression.charAt(position), position == start)) {
+                position++;
+            }
+            if (start == position) {
+                throw new NotCompilableException("expected a field at offset " + start);
+            }
+            return expression.substring(start, position);
+        }
+
+        private static boolean isIdentifierChar(char c, boolean first) {
+            return c == '_' || (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (!first && c >= '0' && c <= '9');
+        }
+
+        /** Reads up to the closing delimiter; escapes aren't supported. */
+        private String readUntil(char delimiter) throws NotCompilableException {
+            int end = expression.indexOf(delimiter, position);
+            if (end < 0) {
+                throw new NotCompilableException("unterminated " + delimiter);
+            }
+            var value = expression.substring(position, end);
+            if (value.indexOf('\\') >= 0) {
+                throw new NotCompilableException("escape sequence in " + value);
+            }
+            position = end + 1;
+            return value;
+        }
+    }
+}
@@ -9,14 +9,18 @@ import lombok.extern.slf4j.Slf4j;
 public class JsonJMESPathPredicate implements IJsonPredicate {
 
     Expression<Object> expression;
+    CompiledJmesPathExpression compiledExpression;
 
     public JsonJMESPathPredicate(BaseRuntime<Object> runtime, String script) {
         this.expression = runtime.compile(script);
+        this.compiledExpression = CompiledJmesPathExpression.compile(script).orElse(null);
     }
 
     @Override
     public boolean test(Object incomingJson) {
-        var output = expression.search(incomingJson);
+        var output = compiledExpression != null
+            ? compiledExpression.search(incomingJson)
+            : expression.search(incomingJson);
         log.atDebug().setMessage("output={}").addArgument(output).log();
         return (Boolean) output;
     }
@@ -8,14 +8,18 @@ import lombok.extern.slf4j.Slf4j;
 public class JsonJMESPathTransformer implements IJsonTransformer {
 
     Expression<Object> expression;
+    CompiledJmesPathExpression compiledExpression;
 
     public JsonJMESPathTransformer(BaseRuntime<Object> runtime, String script) {
         this.expression = runtime.compile(script);
+        this.compiledExpression = CompiledJmesPathExpression.compile(script).orElse(null);
     }
 
     @Override
     public Object transformJson(Object incomingJson) {
-        var output = expression.search(incomingJson);
+        var output = compiledExpression != null
+            ? compiledExpression.search(incomingJson)
+            : expression.search(incomingJson);
         log.atInfo().setMessage("output={}").addArgument(output).log();
         return output;
     }
@@ -0,0 +1,47 @@
+package org.opensearch.migrations.transform;
+
+import java.util.List;
+import java.util.Map;
+
+import io.burt.jmespath.jcf.JcfRuntime;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class CompiledJmesPathExpressionTest {
+    private static final Map<String, Object> INPUT = Map.of(
+        "method", "PUT",
+        "headers", Map.of("host", "127.0.0.1", "content-type", "application/json"),
+        "payload", Map.of("inlinedJsonBody", Map.of("enabled", true, "tags", List.of())));
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "method",
+        "headers.\"content-type\"",
+        "payload.inlinedJsonBody.missing.deeper",
+        "method == 'PUT'",
+        "method != 'PUT'",
+        "payload.inlinedJsonBody.enabled == `true`",
+        "headers.host == `\"127.0.0.1\"` && method",
+        "payload.inlinedJsonBody.tags || method",
+        "!(method == 'GET') && (headers.host != `null`)"
+    })
+    void compiledExpressionsMatchTheRuntime(String expression) {
+        var compiled = CompiledJmesPathExpression.compile(expression);
+        Assertions.assertTrue(compiled.isPresent(), expression);
+        Assertions.assertEquals(new JcfRuntime().compile(expression).search(INPUT), compiled.get().search(INPUT));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "length(method)",
+        "headers.*",
+        "payload | method",
+        "!method",
+        "method == `1`",
+        "{m: method}"
+    })
+    void unsupportedSyntaxIsLeftToTheRuntime(String expression) {
+        Assertions.assertTrue(CompiledJmesPathExpression.compile(expression).isEmpty(), expression);
+    }
+}
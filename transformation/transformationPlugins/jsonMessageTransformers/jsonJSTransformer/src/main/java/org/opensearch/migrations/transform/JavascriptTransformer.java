@@ -19,12 +19,23 @@ public class JavascriptTransformer extends GraalTransformer {
     private static final String LANGUAGE_ID = "js";
 
     public JavascriptTransformer(String script, Object bindings) {
-        super(LANGUAGE_ID, script, bindings, createContextBuilder());
+        this(script, bindings, false);
     }
 
-    private static Context.Builder createContextBuilder() {
+    /**
+     * @param shareEngine run on the JVM-wide JavaScript engine so compiled code is shared with the other
+     *                    instances for the same script, see {@link GraalTransformer}
+     */
+    public JavascriptTransformer(String script, Object bindings, boolean shareEngine) {
+        super(LANGUAGE_ID, script, bindings, createContextBuilder(shareEngine), shareEngine);
+    }
+
+    private static Context.Builder createContextBuilder(boolean shareEngine) {
+        if (shareEngine) {
+            return Context.newBuilder();
+        }
         var engine = Engine.newBuilder(LANGUAGE_ID)
-            .option("engine.WarnInterpreterOnly", "false")
+            .options(ENGINE_OPTIONS)
             .build();
         return Context.newBuilder().engine(engine);
     }
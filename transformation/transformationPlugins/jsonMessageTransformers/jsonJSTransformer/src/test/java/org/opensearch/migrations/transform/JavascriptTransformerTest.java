@@ -2,6 +2,7 @@ package org.opensearch.migrations.transform;
 
 import java.time.Duration;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -59,6 +60,60 @@ public class JavascriptTransformerTest {
         }
     }
 
+    @Test
+    public void testSharedEngineInstancesKeepSeparateGlobals() throws Exception {
+        var countingScript = "var calls = 0; ((context) => (document) => ({calls: ++calls, prefix: context.prefix}))";
+        var results = new java.util.concurrent.ConcurrentLinkedQueue<Object>();
+        var threads = new java.util.ArrayList<Thread>();
+        for (int t = 0; t < 4; ++t) {
+            var prefix = "thread" + t;
+            threads.add(Thread.ofPlatform().start(() -> {
+                try (var transformer = new JavascriptTransformer(countingScript, Map.of("prefix", prefix), true)) {
+                    transformer.transformJson(Map.of());
+                    // Copy out of the polyglot map while this thread's context is still open
+                    results.add(new HashMap<>((Map<?, ?>) transformer.transformJson(Map.of())));
+                } catch (Exception e) {
+                    results.add(e);
+                }
+            }));
+        }
+        for (var thread : threads) {
+            thread.join();
+        }
+
+        Assertions.assertEquals(4, results.size());
+        var prefixes = new java.util.HashSet<Object>();
+        for (var result : results) {
+            var resultMap = Assertions.assertInstanceOf(Map.class, result);
+            Assertions.assertEquals(2, resultMap.get("calls"), "each instance counts only its own calls");
+            prefixes.add(resultMap.get("prefix"));
+        }
+        Assertions.assertEquals(4, prefixes.size(), "each instance keeps its own bindings");
+        Assertions.assertSame(GraalTransformer.sharedEngine("js"), GraalTransformer.sharedEngine("js"));
+    }
+
+    @Test
+    public void testBatchKeepsHostMapsAndCopiesGuestObjects() throws Exception {
+        var script = "((context) => (documents) => {" +
+            "  const out = [];" +
+            "  for (const doc of documents) {" +
+            "    out.push(doc.get('keep') ? doc : { id: doc.get('id'), tags: ['a', { n: 2 }] });" +
+            "  }" +
+            "  return out;" +
+            "})";
+        var kept = new HashMap<String, Object>(Map.of("keep", true, "id", "1"));
+        var replaced = new HashMap<String, Object>(Map.of("keep", false, "id", "2"));
+        List<Object> result;
+        try (var testTransformer = new JavascriptTransformer(script, Map.of())) {
+            result = testTransformer.transformJsonBatch(List.of(kept, replaced));
+        }
+
+        // The results are read after the context has been closed
+        Assertions.assertSame(kept, result.get(0));
+        Assertions.assertEquals(LinkedHashMap.class, result.get(1).getClass());
+        Assertions.assertEquals(Map.of("id", "2", "tags", List.of("a", Map.of("n", 2))), result.get(1));
+    }
+
     @Test
     public void testCustomMap() throws Exception {
         var scriptCallsHas = "((ignored) => (map) => (map.has('missing')))";
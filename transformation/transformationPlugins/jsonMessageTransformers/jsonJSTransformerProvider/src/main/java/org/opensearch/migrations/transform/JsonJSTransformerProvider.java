@@ -12,6 +12,6 @@ public class JsonJSTransformerProvider extends ScriptTransformerProvider {
     @Override
     protected IJsonTransformer buildTransformer(
             ResolvedScript script, Object bindingsObject, Map<String, Object> config) {
-        return new JavascriptTransformer(script.source(), bindingsObject);
+        return new JavascriptTransformer(script.source(), bindingsObject, isEngineShared(config));
     }
 }
@@ -126,6 +126,29 @@ public class JsonJSTransformerProviderTest {
         assertThat(result.getOrDefault("configured", null), equalTo("from-object"));
     }
 
+    @Test
+    public void testCreateTransformer_sharedEngine() throws Exception {
+        var config = Map.of(
+                "bindingsObject", Map.of("configured", "from-object"),
+                "initializationScript", CONTEXT_JS_TRANSFORM,
+                "shareEngine", "true");
+        try (var first = provider.createTransformer(config);
+             var second = provider.createTransformer(config)) {
+            var result = (Map) second.transformJson(new HashMap<>(TEST_DOC));
+
+            assertThat(result.getOrDefault("configured", null), equalTo("from-object"));
+        }
+    }
+
+    @Test
+    public void testCreateTransformer_invalidShareEngine() {
+        var config = Map.of(
+                "initializationScript", SIMPLE_JS_TRANSFORM,
+                "shareEngine", "yes");
+        var exception = assertThrows(IllegalArgumentException.class, () -> provider.createTransformer(config));
+        assertThat(exception.getMessage(), containsString("shareEngine must be a boolean"));
+    }
+
     @Test
     public void testCreateTransformer_fileBackedBindings() throws Exception {
         var tempDir = Files.createTempDirectory("json-js-context-dir");
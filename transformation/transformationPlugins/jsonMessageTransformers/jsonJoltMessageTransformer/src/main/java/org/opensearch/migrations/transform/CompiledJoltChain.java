@@ -0,0 +1,343 @@
+package org.opensearch.migrations.transform;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A Jolt chain whose operations have been compiled into trees of direct field accessors, for the
+ * literal-key subset of {@code shift}, {@code remove}, {@code default}, {@code modify-overwrite-beta} and
+ * {@code modify-default-beta} specs that renames, strips and defaults fields. Keys are looked up with
+ * {@link Map#get} instead of being matched against every spec key, so that case-insensitive header maps
+ * behave as they do for Jolt's own literal keys.
+ *
+ * <p>Specs using wildcards (other than a {@code "*": "&"} style catch-all in a shift), references,
+ * functions, array syntax or any other operation are not compiled, and {@link JsonJoltTransformer}
+ * interprets them with Jolt instead. At runtime, a document whose shape the compiled operations don't
+ * handle, such as a list where the spec expects an object, makes {@link #transform} throw
+ * {@link UnsupportedInputException} so that the caller can interpret the spec on that document. Every
+ * compiled operation is idempotent, so that is safe even after some of them have modified the document.
+ */
+@Slf4j
+final class CompiledJoltChain {
+    private static final String OPERATION_KEY = "operation";
+    private static final String SPEC_KEY = "spec";
+    private static final String CATCH_ALL_KEY = "*";
+    private static final String SPECIAL_KEY_CHARACTERS = "*&@$#|[]\\?%";
+
+    /** Thrown when a document has a shape that the compiled operations don't handle. */
+    static final class UnsupportedInputException extends RuntimeException {
+        private static final UnsupportedInputException INSTANCE = new UnsupportedInputException();
+
+        private UnsupportedInputException() {
+            super("Input is not supported by the compiled Jolt chain", null, false, false);
+        }
+    }
+
+    /** Thrown while compiling when a spec uses something other than the supported subset. */
+    private static final class NotCompilableException extends Exception {
+        NotCompilableException(String message) {
+            super(message, null, false, false);
+        }
+    }
+
+    private interface Operation {
+        Object apply(Object input);
+    }
+
+    private final List<Operation> operations;
+
+    private CompiledJoltChain(List<Operation> operations) {
+        this.operations = operations;
+    }
+
+    /**
+     * @return the compiled chain, or empty if any operation in it uses something outside the supported subset
+     */
+    static Optional<CompiledJoltChain> compile(List<Object> chainSpec) {
+        try {
+            var operations = new ArrayList<Operation>(chainSpec.size());
+            for (var entry : chainSpec) {
+                operations.add(compileOperation(entry));
+            }
+            return Optional.of(new CompiledJoltChain(operations));
+        } catch (NotCompilableException e) {
+            log.atDebug().setMessage("Interpreting Jolt spec because it can't be compiled: {}")
+                .addArgument(e::getMessage).log();
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * @throws UnsupportedInputException if the input has a shape that the compiled operations don't handle
+     */
+    Object transform(Object input) {
+        var current = input;
+        for (var operation : operations) {
+            current = operation.apply(current);
+        }
+        return current;
+    }
+
+    private static Operation compileOperation(Object entry) throws NotCompilableException {
+        if (!(entry instanceof Map<?, ?> entryMap) || !(entryMap.get(SPEC_KEY) instanceof Map<?, ?> spec)) {
+            throw new NotCompilableException("operation without an object spec");
+        }
+        var operationName = entryMap.get(OPERATION_KEY);
+        if ("shift".equals(operationName)) {
+            var node = compileShift(spec, 0);
+            return input -> shift(node, asObject(input));
+        } else if ("remove".equals(operationName)) {
+            var node = compileRemove(spec);
+            return input -> {
+                remove(node, asObject(input));
+                return input;
+            };
+        } else if ("default".equals(operationName) || "modify-default-beta".equals(operationName)) {
+            var node = compileWrite(spec, false);
+            return input -> {
+                write(node, asObject(input));
+                return input;
+            };
+        } else if ("modify-overwrite-beta".equals(operationName)) {
+            var node = compileWrite(spec, true);
+            return input -> {
+                write(node, asObject(input));
+                return input;
+            };
+        }
+        throw new NotCompilableException("operation " + operationName);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> asObject(Object value) {
+        if (value instanceof Map<?, ?> map) {
+            return (Map<String, Object>) map;
+        }
+        throw UnsupportedInputException.INSTANCE;
+    }
+
+    private static String literalKey(Object key) throws NotCompilableException {
+        var keyString = (String) key;
+        if (keyString.chars().anyMatch(c -> SPECIAL_KEY_CHARACTERS.indexOf(c) >= 0) || keyString.startsWith("=")) {
+            throw new NotCompilableException("non-literal key " + keyString);
+        }
+        return keyString;
+    }
+
+    // ---- shift ----
+
+    /**
+     * A shift spec level: the outputs for each literal key, plus an optional catch-all for the other keys.
+     * Leaves write the matched value to one or more output paths, made of literal segments and
+     * {@code &}/{@code &N} references to the keys matched on the way down.
+     */
+    private record ShiftNode(Map<String, ShiftNode> children, List<List<String>> outputPaths, ShiftNode catchAll) {
+        boolean isLeaf() {
+            return outputPaths != null;
+        }
+    }
+
+    private static ShiftNode compileShift(Object spec, int depth) throws NotCompilableException {
+        if (spec instanceof String outputPath) {
+            return new ShiftNode(null, List.of(compileOutputPath(outputPath, depth)), null);
+        } else if (spec instanceof List<?> outputPaths) {
+            var compiled = new ArrayList<List<String>>();
+            for (var outputPath : outputPaths) {
+                if (!(outputPath instanceof String outputPathString)) {
+                    throw new NotCompilableException("shift output " + outputPath);
+                }
+                compiled.add(compileOutputPath(outputPathString, depth));
+            }
+            return new ShiftNode(null, compiled, null);
+        } else if (spec instanceof Map<?, ?> specMap) {
+            var children = new LinkedHashMap<String, ShiftNode>();
+            ShiftNode catchAll = null;
+            for (var entry : specMap.entrySet()) {
+                if (CATCH_ALL_KEY.equals(entry.getKey())) {
+                    catchAll = compileShift(entry.getValue(), depth + 1);
+                } else {
+                    children.put(literalKey(entry.getKey()), compileShift(entry.getValue(), depth + 1));
+                }
+            }
+            return new ShiftNode(children, null, catchAll);
+        }
+        throw new NotCompilableException("shift spec " + spec);
+    }
+
+    /**
+     * Segments are kept as literals, except for references, which are stored as {@code "&N"} with N
+     * resolved against the matched keys when writing.
+     */
+    private static List<String> compileOutputPath(String outputPath, int depth) throws NotCompilableException {
+        var segments = new ArrayList<String>();
+        for (var segment : outputPath.split("\\.", -1)) {
+            if (segment.equals("&")) {
+                segments.add("&0");
+            } else if (segment.matches("&\\d+")) {
+                if (Integer.parseInt(segment.substring(1)) >= depth) {
+                    throw new NotCompilableException("reference above the root " + segment);
+                }
+                segments.add(segment);
+            } else if (segment.isEmpty()) {
+                throw new NotCompilableException("empty output path segment in " + outputPath);
+            } else {
+                segments.add(literalKey(segment));
+            }
+        }
+        return segments;
+    }
+
+    private static Object shift(ShiftNode root, Map<String, Object> input) {
+        var output = new LinkedHashMap<String, Object>();
+        shiftChildren(root, input, new ArrayList<>(), output);
+        // As with Jolt, a shift that writes nothing produces null rather than an empty object
+        return output.isEmpty() ? null : output;
+    }
+
+    private static void shiftChildren(ShiftNode node, Map<String, Object> input, List<String> matchedKeys,
+                                      Map<String, Object> output) {
+        for (var entry : node.children().entrySet()) {
+            if (input.containsKey(entry.getKey())) {
+                shiftValue(entry.getValue(), entry.getKey(), input.get(entry.getKey()), matchedKeys, output);
+            }
+        }
+        if (node.catchAll() != null) {
+            for (var entry : input.entrySet()) {
+                if (!node.children().containsKey(entry.getKey())) {
+                    shiftValue(node.catchAll(), entry.getKey(), entry.getValue(), matchedKeys, output);
+                }
+            }
+        }
+    }
+
+    private static void shiftValue(ShiftNode node, String key, Object value, List<String> matchedKeys,
+                                   Map<String, Object> output) {
+        matchedKeys.add(key);
+        try {
+            if (node.isLeaf()) {
+                for (var outputPath : node.outputPaths()) {
+                    writeShiftOutput(output, outputPath, matchedKeys, value);
+                }
+            } else if (value instanceof Map<?, ?>) {
+                shiftChildren(node, asObject(value), matchedKeys, output);
+            } else if (value instanceof List<?>) {
+                throw UnsupportedInputException.INSTANCE;
+            }
+        } finally {
+            matchedKeys.remove(matchedKeys.size() - 1);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void writeShiftOutput(Map<String, Object> output, List<String> outputPath,
+                                         List<String> matchedKeys, Object value) {
+        var container = output;
+        for (int i = 0; i < outputPath.size(); i++) {
+            var segment = outputPath.get(i);
+            var key = segment.startsWith("&")
+                ? matchedKeys.get(matchedKeys.size() - 1 - Integer.parseInt(segment.substring(1)))
+                : segment;
+            if (i == outputPath.size() - 1) {
+                // Jolt collects values shifted to the same place into a list
+                var existing = container.get(key);
+                if (existing == null && !container.containsKey(key)) {
+                    container.put(key, value);
+                } else if (existing instanceof List<?> existingList) {
+                    ((List<Object>) existingList).add(value);
+                } else {
+                    var collected = new ArrayList<>();
+                    collected.add(existing);
+                    collected.add(value);
+                    container.put(key, collected);
+                }
+            } else {
+                var next = container.computeIfAbsent(key, k -> new LinkedHashMap<String, Object>());
+                if (!(next instanceof Map<?, ?>)) {
+                    throw UnsupportedInputException.INSTANCE;
+                }
+                container = (Map<String, Object>) next;
+            }
+        }
+    }
+
+    // ---- remove ----
+
+    /** A remove spec level: keys to remove, and keys whose objects have their own keys removed. */
+    private record RemoveNode(List<String> removals, Map<String, RemoveNode> children) {}
+
+    private static RemoveNode compileRemove(Map<?, ?> spec) throws NotCompilableException {
+        var removals = new ArrayList<String>();
+        var children = new LinkedHashMap<String, RemoveNode>();
+        for (var entry : spec.entrySet()) {
+            var key = literalKey(entry.getKey());
+            if (entry.getValue() instanceof Map<?, ?> childSpec) {
+                children.put(key, compileRemove(childSpec));
+            } else if (entry.getValue() instanceof String) {
+                removals.add(key);
+            } else {
+                throw new NotCompilableException("remove spec value " + entry.getValue());
+            }
+        }
+        return new RemoveNode(removals, children);
+    }
+
+    private static void remove(RemoveNode node, Map<String, Object> input) {
+        for (var key : node.removals()) {
+            input.remove(key);
+        }
+        for (var entry : node.children().entrySet()) {
+            var value = input.get(entry.getKey());
+            if (value instanceof Map<?, ?>) {
+                remove(entry.getValue(), asObject(value));
+            } else if (value instanceof List<?>) {
+                throw UnsupportedInputException.INSTANCE;
+            }
+        }
+    }
+
+    // ---- default and modify ----
+
+    /** A default or overwrite spec level: literal values to write, and objects to descend into. */
+    private record WriteNode(Map<String, Object> values, Map<String, WriteNode> children, boolean overwrite) {}
+
+    private static WriteNode compileWrite(Map<?, ?> spec, boolean overwrite) throws NotCompilableException {
+        var values = new LinkedHashMap<String, Object>();
+        var children = new LinkedHashMap<String, WriteNode>();
+        for (var entry : spec.entrySet()) {
+            var key = literalKey(entry.getKey());
+            var value = entry.getValue();
+            if (value instanceof Map<?, ?> childSpec) {
+                children.put(key, compileWrite(childSpec, overwrite));
+            } else if (value instanceof Number || value instanceof Boolean
+                || (value instanceof String s && !s.startsWith("=") && !s.startsWith("@"))) {
+                values.put(key, value);
+            } else {
+                throw new NotCompilableException("default or modify spec value " + value);
+            }
+        }
+        return new WriteNode(values, children, overwrite);
+    }
+
+    private static void write(WriteNode node, Map<String, Object> input) {
+        for (var entry : node.values().entrySet()) {
+            if (node.overwrite() || input.get(entry.getKey()) == null) {
+                input.put(entry.getKey(), entry.getValue());
+            }
+        }
+        for (var entry : node.children().entrySet()) {
+            var value = input.get(entry.getKey());
+            if (value == null) {
+                value = new LinkedHashMap<String, Object>();
+                input.put(entry.getKey(), value);
+            } else if (!(value instanceof Map<?, ?>)) {
+                throw UnsupportedInputException.INSTANCE;
+            }
+            write(entry.getValue(), asObject(value));
+        }
+    }
+}
@@ -4,12 +4,19 @@ import java.util.List;
 
 import com.bazaarvoice.jolt.Chainr;
 
+/**
+ * Applies a chain of Jolt operations. Chains that only rename, strip and default literal fields run as a
+ * {@link CompiledJoltChain}; everything else, and any document the compiled chain can't handle, is
+ * interpreted by Jolt.
+ */
 public class JsonJoltTransformer implements IJsonTransformer {
 
     Chainr spec;
+    CompiledJoltChain compiledSpec;
 
     public JsonJoltTransformer(List<Object> joltOperationsSpecList) {
         this.spec = Chainr.fromSpec(joltOperationsSpecList);
+        this.compiledSpec = CompiledJoltChain.compile(joltOperationsSpecList).orElse(null);
     }
 
     public static JsonJoltTransformBuilder newBuilder() {
@@ -18,6 +25,13 @@ public class JsonJoltTransformer implements IJsonTransformer {
 
     @Override
     public Object transformJson(Object incomingJson) {
+        if (compiledSpec != null) {
+            try {
+                return compiledSpec.transform(incomingJson);
+            } catch (CompiledJoltChain.UnsupportedInputException e) {
+                // fall through to the interpreter
+            }
+        }
         return this.spec.transform(incomingJson);
     }
 }
@@ -0,0 +1,72 @@
+package org.opensearch.migrations.transform;
+
+import java.util.List;
+
+import com.bazaarvoice.jolt.Chainr;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class CompiledJoltChainTest {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static Object json(String json) throws Exception {
+        return MAPPER.readValue(json, new TypeReference<Object>() {});
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Object> chain(String json) throws Exception {
+        return (List<Object>) json(json);
+    }
+
+    private static void assertMatchesJolt(String chainSpec, String input) throws Exception {
+        var compiled = CompiledJoltChain.compile(chain(chainSpec));
+        Assertions.assertTrue(compiled.isPresent());
+        var expected = Chainr.fromSpec(chain(chainSpec)).transform(json(input));
+        Assertions.assertEquals(expected, compiled.get().transform(json(input)));
+    }
+
+    @Test
+    void renameWithPassThroughMatchesJolt() throws Exception {
+        assertMatchesJolt(
+            "[{\"operation\":\"shift\",\"spec\":{\"_source\":\"document\",\"headers\":{\"Host\":\"headers.host\","
+                + "\"*\":\"headers.&\"},\"*\":\"&\"}}]",
+            "{\"_source\":{\"a\":1},\"headers\":{\"Host\":\"h\",\"x\":\"y\"},\"method\":\"GET\"}");
+    }
+
+    @Test
+    void removeAndOverwriteMatchJolt() throws Exception {
+        assertMatchesJolt(
+            "[{\"operation\":\"remove\",\"spec\":{\"_type\":\"\",\"headers\":{\"content-encoding\":\"\"}}},"
+                + "{\"operation\":\"modify-overwrite-beta\",\"spec\":{\"headers\":{\"transfer-encoding\":\"chunked\"}}}]",
+            "{\"_type\":\"doc\",\"headers\":{\"content-encoding\":\"gzip\",\"transfer-encoding\":\"identity\"}}");
+    }
+
+    @Test
+    void defaultsOnlyFillMissingFields() throws Exception {
+        assertMatchesJolt(
+            "[{\"operation\":\"default\",\"spec\":{\"headers\":{\"x-present\":\"new\",\"x-missing\":\"new\"}}}]",
+            "{\"headers\":{\"x-present\":\"old\"}}");
+    }
+
+    @Test
+    void wildcardsAndFunctionsAreLeftToTheInterpreter() throws Exception {
+        Assertions.assertTrue(CompiledJoltChain.compile(
+            chain("[{\"operation\":\"shift\",\"spec\":{\"foo*\":\"&\"}}]")).isEmpty());
+        Assertions.assertTrue(CompiledJoltChain.compile(
+            chain("[{\"operation\":\"modify-overwrite-beta\",\"spec\":{\"a\":\"=toUpper(@0)\"}}]")).isEmpty());
+        Assertions.assertTrue(CompiledJoltChain.compile(
+            chain("[{\"operation\":\"sort\"}]")).isEmpty());
+    }
+
+    @Test
+    void inputsTheCompiledChainDoesNotHandleAreInterpreted() throws Exception {
+        var spec = chain("[{\"operation\":\"shift\",\"spec\":{\"items\":{\"*\":\"&\"}}}]");
+        var transformer = new JsonJoltTransformer(spec);
+        Assertions.assertNotNull(transformer.compiledSpec);
+
+        var input = "{\"items\":[{\"a\":1},{\"b\":2}]}";
+        Assertions.assertEquals(Chainr.fromSpec(spec).transform(json(input)), transformer.transformJson(json(input)));
+    }
+}
@@ -1,5 +1,7 @@
 package org.opensearch.migrations.transform;
 
+import java.util.List;
+
 /**
  * This is a simple interface to convert a JSON object (String, Map, or Array) into another
  * JSON object.  Any changes to datastructures, nesting, order, etc should be intentional.
@@ -7,6 +9,28 @@ package org.opensearch.migrations.transform;
 public interface IJsonTransformer extends AutoCloseable {
     Object transformJson(Object incomingJson);
 
+    /**
+     * Transforms a batch of documents with a single invocation.  The documents are presented to the
+     * transformer as one JSON array, exactly as {@link #transformJson} would see them, and may include
+     * {@link ILazyJsonObject} views that are only parsed if the transformer reads them.
+     *
+     * <p>The returned list holds plain Java values (Maps, Lists, Strings, Numbers, Booleans) that stay valid
+     * after the transformer is used again or closed.  Elements that the transformer passed through unchanged
+     * may be the same instances that were given to it.
+     *
+     * @throws IllegalStateException if the transformer returns something other than a list
+     */
+    default List<Object> transformJsonBatch(List<?> documents) {
+        var result = transformJson(documents);
+        if (result instanceof List<?> list) {
+            @SuppressWarnings("unchecked")
+            var transformed = (List<Object>) list;
+            return transformed;
+        }
+        throw new IllegalStateException("Batch transformation must return a list, but returned "
+            + (result == null ? "null" : result.getClass().getName()));
+    }
+
     @Override
     default void close() throws Exception {}
 }
@@ -0,0 +1,15 @@
+package org.opensearch.migrations.transform;
+
+import java.util.Map;
+
+/**
+ * A JSON object that keeps its serialized form and is only parsed the first time any of its contents are
+ * read or changed.  A batch that passes such an object through a transformer untouched can be written out
+ * from the original bytes without ever being parsed or re-serialized.
+ */
+public interface ILazyJsonObject extends Map<String, Object> {
+    /**
+     * @return true once the object has been parsed, after which its serialized form may no longer match
+     */
+    boolean isMaterialized();
+}
@@ -17,4 +17,15 @@ public class JsonCompositeTransformer implements IJsonTransformer {
         return lastOutput.get();
     }
 
+    @Override
+    public List<Object> transformJsonBatch(List<?> documents) {
+        List<?> lastOutput = documents;
+        for (var transformer : jsonTransformerList) {
+            lastOutput = transformer.transformJsonBatch(lastOutput);
+        }
+        @SuppressWarnings("unchecked")
+        var transformed = (List<Object>) lastOutput;
+        return transformed;
+    }
+
 }
@@ -1,6 +1,7 @@
 package org.opensearch.migrations.transform;
 
 import java.lang.ref.Cleaner;
+import java.util.List;
 import java.util.function.Supplier;
 
 import lombok.extern.slf4j.Slf4j;
@@ -53,6 +54,11 @@ public class ThreadSafeTransformerWrapper implements IJsonTransformer {
         return threadLocalHolder.get().transformJson(input);
     }
 
+    @Override
+    public List<Object> transformJsonBatch(List<?> documents) {
+        return threadLocalHolder.get().transformJsonBatch(documents);
+    }
+
     /**
      * Manually closes the transformer associated with the current thread.
      * This must be called prior to any calling thread being shutdown.
@@ -109,6 +115,14 @@ public class ThreadSafeTransformerWrapper implements IJsonTransformer {
             return delegate.transformJson(input);
         }
 
+        @Override
+        public List<Object> transformJsonBatch(List<?> documents) {
+            if (closed) {
+                throw new IllegalStateException("Transformer is closed");
+            }
+            return delegate.transformJsonBatch(documents);
+        }
+
         /**
          * Explicitly closes the transformer, deregisters the cleaner, and marks the instance as closed.
          */
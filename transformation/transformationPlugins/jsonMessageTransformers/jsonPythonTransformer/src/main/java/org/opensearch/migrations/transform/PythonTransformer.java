@@ -26,7 +26,17 @@ public class PythonTransformer extends GraalTransformer {
     }
 
     public PythonTransformer(String script, Object bindings, Path venvPath, Path scriptParentPath) {
-        super(LANGUAGE_ID, withScriptParentOnPath(script, scriptParentPath), bindings, createContextBuilder(venvPath));
+        this(script, bindings, venvPath, scriptParentPath, false);
+    }
+
+    /**
+     * @param shareEngine run on the JVM-wide Python engine so compiled code is shared with the other
+     *                    instances for the same script, see {@link GraalTransformer}
+     */
+    public PythonTransformer(String script, Object bindings, Path venvPath, Path scriptParentPath,
+                             boolean shareEngine) {
+        super(LANGUAGE_ID, withScriptParentOnPath(script, scriptParentPath), bindings,
+            createContextBuilder(venvPath, shareEngine), shareEngine);
     }
 
     private static String withScriptParentOnPath(String script, Path scriptParentPath) {
@@ -41,7 +51,7 @@ public class PythonTransformer extends GraalTransformer {
             + script;
     }
 
-    private static Context.Builder createContextBuilder(Path venvPath) {
+    private static Context.Builder createContextBuilder(Path venvPath, boolean shareEngine) {
         Context.Builder builder;
         if (venvPath != null) {
             log.atInfo().setMessage("Using external Python venv: {}").addArgument(venvPath).log();
@@ -53,6 +63,7 @@ public class PythonTransformer extends GraalTransformer {
                     .build()
             );
         }
-        return builder.option("engine.WarnInterpreterOnly", "false");
+        // Engine options can only be set on a context that creates its own engine
+        return shareEngine ? builder : builder.options(ENGINE_OPTIONS);
     }
 }
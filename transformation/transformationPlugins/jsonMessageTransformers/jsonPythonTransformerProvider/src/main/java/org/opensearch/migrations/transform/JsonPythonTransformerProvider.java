@@ -25,7 +25,8 @@ public class JsonPythonTransformerProvider extends ScriptTransformerProvider {
             ResolvedScript script, Object bindingsObject, Map<String, Object> config) throws IOException {
         var venvPath = resolveVenvPath(config);
         var scriptParentPath = script.sourceFile() == null ? null : script.sourceFile().getParent();
-        return new PythonTransformer(script.source(), bindingsObject, venvPath, scriptParentPath);
+        return new PythonTransformer(script.source(), bindingsObject, venvPath, scriptParentPath,
+            isEngineShared(config));
     }
 
     @Override